@@ -0,0 +1,89 @@
+package com.banking.benchmark;
+
+import com.banking.model.Account;
+import com.banking.model.SavingsAccount;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.repository.Page;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountRepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int accountCount;
+
+    private InMemoryAccountRepository repository;
+    private String[] accountIds;
+    private String[] holderNames;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryAccountRepository();
+        accountIds = new String[accountCount];
+        holderNames = new String[accountCount];
+        for (int i = 0; i < accountCount; i++) {
+            accountIds[i] = "SA" + i;
+            holderNames[i] = "Holder " + i;
+            repository.save(new SavingsAccount.Builder(accountIds[i], holderNames[i])
+                    .balance(1000)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public Optional<Account> findById() {
+        return repository.findById(accountIds[ThreadLocalRandom.current().nextInt(accountCount)]);
+    }
+
+    @Benchmark
+    public List<Account> findByHolderName() {
+        return repository.findByHolderName(holderNames[ThreadLocalRandom.current().nextInt(accountCount)]);
+    }
+
+    // First page of a type-ahead lookup such as "holder 12".
+    @Benchmark
+    public Page<Account> findByHolderNamePrefix() {
+        String name = holderNames[ThreadLocalRandom.current().nextInt(accountCount)];
+        return repository.findByHolderNamePrefix(name.substring(0, Math.min(name.length(), 9)), null, 20);
+    }
+
+    // Whole-book scans: copying findAll() versus streaming the map sequentially and in parallel.
+    @Benchmark
+    public long sumBalancesFromCopy() {
+        long total = 0;
+        for (Account account : repository.findAll()) {
+            total += account.getBalanceCents();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long sumBalancesStreamed() {
+        return repository.stream().mapToLong(Account::getBalanceCents).sum();
+    }
+
+    @Benchmark
+    public long sumBalancesParallel() {
+        return repository.stream().parallel().mapToLong(Account::getBalanceCents).sum();
+    }
+}
@@ -0,0 +1,89 @@
+package com.banking.benchmark;
+
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.Transaction;
+import com.banking.observer.AsyncObserverDispatcher;
+import com.banking.observer.BackpressurePolicy;
+import com.banking.observer.TransactionObserver;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Deposit latency with one deliberately slow observer, called inline ("SYNC") or through an
+// AsyncObserverDispatcher under each backpressure policy that keeps memory bounded.
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncObserverBenchmark {
+
+    @Param({"SYNC", "BLOCK", "DROP"})
+    private String dispatch;
+
+    @Param({"2000"})
+    private int observerWork;
+
+    private BankingService service;
+    private AsyncObserverDispatcher dispatcher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new BankingService(new InMemoryAccountRepository());
+        service.createAccount(AccountType.CURRENT, "CA001", "Holder", 0);
+        TransactionObserver slow = new SlowObserver(observerWork);
+        if (dispatch.equals("SYNC")) {
+            service.addObserver(slow);
+        } else {
+            dispatcher = new AsyncObserverDispatcher.Builder()
+                    .observer(slow)
+                    .backpressure(BackpressurePolicy.valueOf(dispatch))
+                    .build();
+            service.addObserver(dispatcher);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (dispatcher != null) {
+            System.out.println();
+            dispatcher.getStats().forEach(System.out::println);
+            dispatcher.close();
+        }
+    }
+
+    @Benchmark
+    public void deposit() {
+        service.depositCents("CA001", 1);
+    }
+
+    private static class SlowObserver implements TransactionObserver {
+        private final int work;
+
+        SlowObserver(int work) {
+            this.work = work;
+        }
+
+        @Override
+        public void onTransaction(Account account, Transaction transaction) {
+            Blackhole.consumeCPU(work);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.banking.benchmark;
+
+import com.banking.audit.FileAuditSink;
+import com.banking.factory.AccountType;
+import com.banking.observer.AuditLogObserver;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Deposit cost with no audit trail ("NONE"), the in-memory String-formatting AuditLogObserver
+// ("STRINGS") and the FileAuditSink writing to a temporary directory ("FILE"). The sink prints
+// how many records and bytes it wrote per iteration, to check the writer kept up.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditSinkBenchmark {
+
+    @Param({"NONE", "STRINGS", "FILE"})
+    private String audit;
+
+    private BankingService service;
+    private FileAuditSink sink;
+    private Path directory;
+
+    // Accounts and logs are recreated every iteration so neither grows across the run.
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        service = new BankingService(new InMemoryAccountRepository());
+        service.createAccount(AccountType.CURRENT, "CA001", "Holder", 0);
+        switch (audit) {
+            case "STRINGS" -> service.addObserver(new AuditLogObserver());
+            case "FILE" -> {
+                directory = Files.createTempDirectory("audit-bench");
+                sink = new FileAuditSink.Builder(directory).build();
+                service.addObserver(sink);
+            }
+            default -> { }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        if (sink != null) {
+            sink.awaitIdle(Duration.ofSeconds(30));
+            sink.close();
+            System.out.printf("%nwritten=%d bytes=%d%n", sink.getWritten(), sink.getBytesWritten());
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+            sink = null;
+        }
+    }
+
+    @Benchmark
+    public void deposit() {
+        service.depositCents("CA001", 1);
+    }
+}
@@ -0,0 +1,112 @@
+package com.banking.benchmark;
+
+import com.banking.exception.InsufficientFundsException;
+import com.banking.factory.AccountType;
+import com.banking.model.PostingOutcome;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import com.banking.strategy.CompoundInterestStrategy;
+import com.banking.strategy.SimpleInterestStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BankingServiceBenchmark {
+    private static final double LARGE_BALANCE = 1_000_000_000_000.0;
+    private static final long REJECTED_AMOUNT = 100_000_000;
+
+    private final AtomicInteger nextAccount = new AtomicInteger();
+    private BankingService service;
+    private BankingService simpleInterestService;
+    private BankingService compoundInterestService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryAccountRepository repository = new InMemoryAccountRepository();
+        service = new BankingService(repository);
+        simpleInterestService = new BankingService(repository);
+        simpleInterestService.setInterestStrategy(new SimpleInterestStrategy());
+        compoundInterestService = new BankingService(repository);
+        compoundInterestService.setInterestStrategy(new CompoundInterestStrategy(12));
+    }
+
+    // Each benchmark thread posts to its own accounts so the single-threaded and
+    // multi-threaded runs measure the same work without artificial contention.
+    @State(Scope.Thread)
+    public static class ThreadAccounts {
+        String currentId;
+        String otherCurrentId;
+        String savingsId;
+
+        // Accounts are recreated every iteration so the transaction history stays bounded.
+        @Setup(Level.Iteration)
+        public void setUp(BankingServiceBenchmark benchmark) {
+            int n = benchmark.nextAccount.getAndIncrement();
+            currentId = "CA" + n;
+            otherCurrentId = "CB" + n;
+            savingsId = "SA" + n;
+            benchmark.service.createAccount(AccountType.CURRENT, currentId, "Holder " + n, LARGE_BALANCE);
+            benchmark.service.createAccount(AccountType.CURRENT, otherCurrentId, "Holder " + n, LARGE_BALANCE);
+            benchmark.service.createAccount(AccountType.SAVINGS, savingsId, "Holder " + n, 10_000);
+        }
+    }
+
+    @Benchmark
+    public void deposit(ThreadAccounts accounts) {
+        service.deposit(accounts.currentId, 1);
+    }
+
+    @Benchmark
+    public void withdraw(ThreadAccounts accounts) {
+        service.withdraw(accounts.currentId, 1);
+    }
+
+    @Benchmark
+    public void transfer(ThreadAccounts accounts) {
+        service.transfer(accounts.currentId, accounts.otherCurrentId, 1);
+    }
+
+    // A withdrawal the savings account always refuses, through the throwing API and the
+    // outcome-returning one.
+    @Benchmark
+    public Object rejectedWithdraw(ThreadAccounts accounts) {
+        try {
+            service.withdrawCents(accounts.savingsId, REJECTED_AMOUNT);
+            return null;
+        } catch (InsufficientFundsException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public PostingOutcome rejectedTryWithdraw(ThreadAccounts accounts) {
+        return service.tryWithdrawCents(accounts.savingsId, REJECTED_AMOUNT);
+    }
+
+    @Benchmark
+    public double calculateSimpleInterest(ThreadAccounts accounts) {
+        return simpleInterestService.calculateInterest(accounts.savingsId);
+    }
+
+    @Benchmark
+    public double calculateCompoundInterest(ThreadAccounts accounts) {
+        return compoundInterestService.calculateInterest(accounts.savingsId);
+    }
+}
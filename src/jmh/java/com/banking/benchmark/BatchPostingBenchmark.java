@@ -0,0 +1,129 @@
+package com.banking.benchmark;
+
+import com.banking.factory.AccountType;
+import com.banking.journal.MappedJournal;
+import com.banking.model.Account;
+import com.banking.model.Transaction;
+import com.banking.model.TransactionType;
+import com.banking.observer.TransactionObserver;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import com.banking.service.BatchResult;
+import com.banking.service.Posting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Postings per second for a clearing file applied one depositCents/withdrawCents call at a
+// time against one applyBatch call. "sink" adds the per-posting side effects the batch path
+// amortizes: a counting observer, or a journal that syncs on commit.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchPostingBenchmark {
+    private static final int BATCH = 1000;
+
+    @Param({"NONE", "OBSERVER", "JOURNAL"})
+    private String sink;
+
+    @Param({"100"})
+    private int accounts;
+
+    private BankingService service;
+    private MappedJournal journal;
+    private Path journalDirectory;
+    private List<Posting> postings;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        service = new BankingService(new InMemoryAccountRepository());
+        for (int i = 0; i < accounts; i++) {
+            service.createAccount(AccountType.CURRENT, "CA" + i, "Holder " + i, 1_000_000_000.0);
+        }
+        if (sink.equals("OBSERVER")) {
+            service.addObserver(new CountingObserver());
+        } else if (sink.equals("JOURNAL")) {
+            journalDirectory = Files.createTempDirectory("batch-journal");
+            journal = new MappedJournal.Builder(journalDirectory).build();
+            service.setJournal(journal);
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        postings = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            String id = "CA" + random.nextInt(accounts);
+            postings.add(random.nextBoolean()
+                    ? Posting.depositCents(id, 1 + random.nextInt(10_000))
+                    : Posting.withdrawalCents(id, 1 + random.nextInt(10_000)));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+            try (Stream<Path> files = Files.walk(journalDirectory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+            journal = null;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void perCall() {
+        for (Posting posting : postings) {
+            if (posting.getType() == TransactionType.DEPOSIT) {
+                service.depositCents(posting.getAccountId(), posting.getAmountCents());
+            } else {
+                service.withdrawCents(posting.getAccountId(), posting.getAmountCents());
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void batch(Blackhole blackhole) {
+        BatchResult result = service.applyBatch(postings);
+        blackhole.consume(result);
+    }
+
+    // Counts postings the way a metrics observer would, without materializing them.
+    private static class CountingObserver implements TransactionObserver {
+        long postings;
+
+        @Override
+        public void onTransaction(Account account, Transaction transaction) {
+            postings++;
+        }
+
+        @Override
+        public void onTransactions(Account account, List<Transaction> transactions) {
+            postings += transactions.size();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.banking.benchmark;
+
+import com.banking.strategy.CompoundInterestStrategy;
+import com.banking.strategy.InterestStrategy;
+import com.banking.strategy.SimpleInterestStrategy;
+import com.banking.strategy.TieredInterestStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Interest for one accrual page of `count` accounts: one virtual call per account (the old
+// path), the bulk method on the Vector API, and the bulk method with the vector path disabled.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class BulkInterestBenchmark {
+
+    @Param({"SIMPLE", "COMPOUND", "TIERED"})
+    private String strategyName;
+
+    @Param({"1024"})
+    private int count;
+
+    private InterestStrategy strategy;
+    private long[] balances;
+    private double[] rates;
+    private long[] interest;
+
+    @Setup
+    public void setUp() {
+        strategy = switch (strategyName) {
+            case "SIMPLE" -> new SimpleInterestStrategy();
+            case "COMPOUND" -> new CompoundInterestStrategy(12);
+            default -> new TieredInterestStrategy(10000, 0.02, 50000, 0.035, 0.05);
+        };
+        Random random = new Random(7);
+        double[] bookRates = {0.01, 0.025, 0.04, 0.0725};
+        balances = new long[count];
+        rates = new double[count];
+        interest = new long[count];
+        for (int i = 0; i < count; i++) {
+            balances[i] = random.nextLong(10_000_000L);
+            rates[i] = bookRates[i / 256 % bookRates.length];
+        }
+    }
+
+    @Benchmark
+    public long[] perAccount() {
+        for (int i = 0; i < count; i++) {
+            interest[i] = strategy.calculateInterestCents(balances[i], rates[i]);
+        }
+        return interest;
+    }
+
+    @Benchmark
+    public long[] bulkVector() {
+        strategy.calculateInterestCents(balances, rates, interest, count);
+        return interest;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dbanking.vector.disabled=true")
+    public long[] bulkScalar() {
+        strategy.calculateInterestCents(balances, rates, interest, count);
+        return interest;
+    }
+}
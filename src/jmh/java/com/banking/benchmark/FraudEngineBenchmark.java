@@ -0,0 +1,78 @@
+package com.banking.benchmark;
+
+import com.banking.factory.AccountType;
+import com.banking.fraud.FraudEngine;
+import com.banking.observer.FraudDetectionObserver;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Withdrawal latency with no fraud checks ("NONE"), the per-transaction FraudDetectionObserver
+// ("INLINE") and the streaming FraudEngine ("ENGINE"). Withdrawals rotate over many accounts so
+// the engine keeps realistic window state; the engine prints how much it processed and dropped.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FraudEngineBenchmark {
+    private static final int ACCOUNTS = 1024;
+    private static final double LARGE_BALANCE = 1_000_000_000_000.0;
+
+    @Param({"NONE", "INLINE", "ENGINE"})
+    private String fraudChecks;
+
+    private BankingService service;
+    private FraudEngine engine;
+    private String[] accountIds;
+    private int next;
+
+    // Accounts are recreated every iteration so the transaction history stays bounded.
+    @Setup(Level.Iteration)
+    public void setUp() {
+        service = new BankingService(new InMemoryAccountRepository());
+        accountIds = new String[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds[i] = "CA" + i;
+            service.createAccount(AccountType.CURRENT, accountIds[i], "Holder", LARGE_BALANCE);
+        }
+        switch (fraudChecks) {
+            case "INLINE" -> service.addObserver(new FraudDetectionObserver(1_000_000));
+            case "ENGINE" -> {
+                engine = new FraudEngine.Builder(alert -> { }).build();
+                service.addObserver(engine);
+            }
+            default -> { }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (engine != null) {
+            engine.close();
+            System.out.printf("%nprocessed=%d dropped=%d alerts=%d tracked=%d%n", engine.getProcessed(),
+                    engine.getDropped(), engine.getAlerts(), engine.getTrackedAccounts());
+            engine = null;
+        }
+    }
+
+    @Benchmark
+    public void withdraw() {
+        service.withdrawCents(accountIds[next++ & (ACCOUNTS - 1)], 1);
+    }
+}
@@ -0,0 +1,92 @@
+package com.banking.benchmark;
+
+import com.banking.model.Transaction;
+import com.banking.model.TransactionLedger;
+import com.banking.model.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// "Withdrawals in the last 30 days" and "last 20 postings" over one account with `postings`
+// spread evenly across a year, one in ten a withdrawal: filtering the full history list the
+// way callers had to before ("scan"), against the ledger's range search and type bitmaps.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HistoryQueryBenchmark {
+    private static final long YEAR_NANOS = 365L * 24 * 3_600_000_000_000L;
+    private static final long MONTH_NANOS = 30L * 24 * 3_600_000_000_000L;
+    private static final int WITHDRAWALS = 1 << TransactionType.WITHDRAWAL.ordinal();
+
+    @Param({"1000000"})
+    private int postings;
+
+    private TransactionLedger ledger;
+    private long end;
+    private LocalDateTime monthAgo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ledger = new TransactionLedger("CA001");
+        long start = TransactionLedger.currentEpochNanos() - YEAR_NANOS;
+        long step = YEAR_NANOS / postings;
+        for (int i = 0; i < postings; i++) {
+            TransactionType type = i % 10 == 0 ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT;
+            ledger.append(i, start + i * step, type, 100, i, type.getDisplayName());
+        }
+        end = start + postings * step;
+        monthAgo = LocalDateTime.ofInstant(Instant.ofEpochSecond(0, end - MONTH_NANOS),
+                ZoneId.systemDefault());
+    }
+
+    @Benchmark
+    public long monthOfWithdrawalsScan() {
+        return ledger.view().stream()
+                .filter(txn -> txn.getType() == TransactionType.WITHDRAWAL)
+                .filter(txn -> !txn.getTimestamp().isBefore(monthAgo))
+                .count();
+    }
+
+    @Benchmark
+    public int monthOfWithdrawalsIndexed() {
+        int[] indices = ledger.select(end - MONTH_NANOS, Long.MAX_VALUE, WITHDRAWALS, false, 0, Integer.MAX_VALUE);
+        return ledger.getAll(indices).size();
+    }
+
+    @Benchmark
+    public Object monthOfWithdrawalsFirstPage() {
+        int[] indices = ledger.select(end - MONTH_NANOS, Long.MAX_VALUE, WITHDRAWALS, true, Integer.MAX_VALUE, 50);
+        return ledger.getAll(indices);
+    }
+
+    @Benchmark
+    public Object lastTwentyScan() {
+        List<Transaction> all = ledger.view();
+        return List.copyOf(all.subList(all.size() - 20, all.size()));
+    }
+
+    @Benchmark
+    public Object lastTwentyIndexed() {
+        int[] indices = ledger.select(Long.MIN_VALUE, Long.MAX_VALUE, TransactionLedger.ALL_TYPES, true,
+                Integer.MAX_VALUE, 20);
+        return ledger.getAll(indices);
+    }
+}
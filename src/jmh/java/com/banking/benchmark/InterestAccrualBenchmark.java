@@ -0,0 +1,81 @@
+package com.banking.benchmark;
+
+import com.banking.factory.AccountType;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.AccrualReport;
+import com.banking.service.BankingService;
+import com.banking.service.InterestAccrualJob;
+import com.banking.strategy.CompoundInterestStrategy;
+import com.banking.strategy.SimpleInterestStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// One end-of-day accrual run over `accounts` accounts, single-threaded versus a pool sized to
+// the machine. Each iteration accrues for a new date so every account is posted again.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class InterestAccrualBenchmark {
+
+    @Param({"1000000"})
+    private int accounts;
+
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private ForkJoinPool pool;
+    private InterestAccrualJob job;
+    private LocalDate date = LocalDate.of(2026, 1, 1);
+    private AccrualReport lastReport;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BankingService service = new BankingService(new InMemoryAccountRepository());
+        for (int i = 0; i < accounts; i++) {
+            AccountType type = i % 2 == 0 ? AccountType.SAVINGS : AccountType.LOAN;
+            service.createAccount(type, "AC" + i, "Holder " + i, 1000 + i % 5000);
+        }
+        pool = new ForkJoinPool(parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism);
+        job = new InterestAccrualJob.Builder(service)
+                .strategy(AccountType.SAVINGS, new SimpleInterestStrategy())
+                .strategy(AccountType.LOAN, new CompoundInterestStrategy(12))
+                .pool(pool)
+                .build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        System.out.println();
+        System.out.println(lastReport);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public AccrualReport accrue() {
+        date = date.plusDays(1);
+        lastReport = job.run(date);
+        return lastReport;
+    }
+}
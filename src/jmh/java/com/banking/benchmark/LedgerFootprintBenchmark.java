@@ -0,0 +1,79 @@
+package com.banking.benchmark;
+
+import com.banking.model.SnowflakeIdGenerator;
+import com.banking.model.Transaction;
+import com.banking.model.TransactionLedger;
+import com.banking.model.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Builds one account history of `postings` entries as the old ArrayList<Transaction> and as a
+// TransactionLedger. The timed part is the append cost; at the end of each iteration the
+// retained heap per posting is measured with JOL and printed, which is the footprint figure.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djdk.attach.allowAttachSelf=true"})
+@State(Scope.Benchmark)
+public class LedgerFootprintBenchmark {
+
+    @Param({"1000000"})
+    private int postings;
+
+    private final SnowflakeIdGenerator ids = new SnowflakeIdGenerator(1);
+    private Object built;
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        built = null;
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        long bytes = GraphLayout.parseInstance(built).totalSize();
+        System.out.printf("%n%s: %.1f retained bytes per posting%n",
+                built.getClass().getSimpleName(), bytes / (double) postings);
+    }
+
+    @Benchmark
+    public Object transactionList() {
+        List<Transaction> list = new ArrayList<>();
+        long balance = 0;
+        for (int i = 0; i < postings; i++) {
+            balance += 100;
+            list.add(new Transaction(ids.nextId(), TransactionType.DEPOSIT, 100, "CA001", balance, "Deposit"));
+        }
+        built = list;
+        return list;
+    }
+
+    @Benchmark
+    public Object columnarLedger() {
+        TransactionLedger ledger = new TransactionLedger("CA001");
+        long balance = 0;
+        for (int i = 0; i < postings; i++) {
+            balance += 100;
+            ledger.append(ids.nextId(), TransactionLedger.currentEpochNanos(), TransactionType.DEPOSIT, 100,
+                    balance, "Deposit");
+        }
+        built = ledger;
+        return ledger;
+    }
+}
@@ -0,0 +1,64 @@
+package com.banking.benchmark;
+
+import com.banking.factory.AccountType;
+import com.banking.metrics.BankingMetrics;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of BankingService instrumentation on the posting path: "0" runs without metrics,
+// otherwise metrics time one call in `sampling`.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+    private static final double LARGE_BALANCE = 1_000_000_000_000.0;
+
+    @Param({"0", "1", "16"})
+    private int sampling;
+
+    private BankingService service;
+
+    // Accounts are recreated every iteration so the transaction history stays bounded.
+    @Setup(Level.Iteration)
+    public void setUp() {
+        service = new BankingService(new InMemoryAccountRepository());
+        if (sampling > 0) {
+            service.setMetrics(new BankingMetrics.Builder().sampleEvery(sampling).build());
+        }
+        service.createAccount(AccountType.CURRENT, "CA001", "Holder", LARGE_BALANCE);
+        service.createAccount(AccountType.CURRENT, "CA002", "Holder", LARGE_BALANCE);
+        service.createAccount(AccountType.SAVINGS, "SA001", "Holder", 10_000);
+    }
+
+    @Benchmark
+    public void deposit() {
+        service.depositCents("CA001", 1);
+    }
+
+    @Benchmark
+    public void transfer() {
+        service.transferCents("CA001", "CA002", 1);
+    }
+
+    @Benchmark
+    public Object rejectedWithdraw() {
+        return service.tryWithdrawCents("SA001", 100_000_000);
+    }
+}
@@ -0,0 +1,72 @@
+package com.banking.benchmark;
+
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.Transaction;
+import com.banking.observer.TransactionObserver;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObserverFanOutBenchmark {
+
+    @Param({"0", "1", "3"})
+    private int observerCount;
+
+    private final AtomicInteger nextAccount = new AtomicInteger();
+    private BankingService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new BankingService(new InMemoryAccountRepository());
+        for (int i = 0; i < observerCount; i++) {
+            service.addObserver(new CountingObserver());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadAccount {
+        String accountId;
+
+        @Setup(Level.Iteration)
+        public void setUp(ObserverFanOutBenchmark benchmark) {
+            accountId = "CA" + benchmark.nextAccount.getAndIncrement();
+            benchmark.service.createAccount(AccountType.CURRENT, accountId, "Holder", 0);
+        }
+    }
+
+    @Benchmark
+    public void depositWithObservers(ThreadAccount account) {
+        service.deposit(account.accountId, 1);
+    }
+
+    // Cheapest possible observer, so the benchmark measures dispatch cost only.
+    private static class CountingObserver implements TransactionObserver {
+        private long seen;
+
+        @Override
+        public void onTransaction(Account account, Transaction transaction) {
+            seen++;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.banking.benchmark;
+
+import com.banking.factory.AccountType;
+import com.banking.journal.Checkpointer;
+import com.banking.journal.JournalReplayer;
+import com.banking.journal.MappedJournal;
+import com.banking.journal.ReplayResult;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Startup cost of rebuilding `accounts` accounts after `postings` deposits: a full journal
+// replay against loading a snapshot taken at 90% of the postings and replaying the tail.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class RecoveryBenchmark {
+
+    @Param({"10000"})
+    private int accounts;
+
+    @Param({"1000000"})
+    private int postings;
+
+    private Path fullJournal;
+    private Path checkpointed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fullJournal = Files.createTempDirectory("recovery-full");
+        checkpointed = Files.createTempDirectory("recovery-checkpointed");
+        write(fullJournal, false);
+        write(checkpointed, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        delete(fullJournal);
+        delete(checkpointed);
+    }
+
+    @Benchmark
+    public ReplayResult fullReplay() {
+        return new JournalReplayer(new InMemoryAccountRepository()).replay(fullJournal);
+    }
+
+    @Benchmark
+    public ReplayResult snapshotAndTail() {
+        return new JournalReplayer(new InMemoryAccountRepository()).recover(checkpointed);
+    }
+
+    private void write(Path directory, boolean checkpoint) {
+        InMemoryAccountRepository repository = new InMemoryAccountRepository();
+        BankingService service = new BankingService(repository);
+        try (MappedJournal journal = new MappedJournal.Builder(directory).syncOnCommit(false).build()) {
+            service.setJournal(journal);
+            for (int i = 0; i < accounts; i++) {
+                service.createAccount(AccountType.CURRENT, accountId(i), "Holder " + i, 0);
+            }
+            for (int i = 0; i < postings; i++) {
+                service.depositCents(accountId(i % accounts), 100);
+                if (checkpoint && i == postings / 10 * 9) {
+                    new Checkpointer(journal, repository).checkpoint();
+                }
+            }
+        }
+    }
+
+    private static String accountId(int i) {
+        return "CA" + i;
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
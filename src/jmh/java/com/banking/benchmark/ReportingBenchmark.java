@@ -0,0 +1,119 @@
+package com.banking.benchmark;
+
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.Transaction;
+import com.banking.model.TransactionType;
+import com.banking.reporting.BookAggregates;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// End-of-day figures for a book of `accounts` accounts with `postings` deposits each: balances
+// by account type and today's deposit total, computed by scanning every account (and, for
+// deposits, every posting) the way reports had to, against reading BookAggregates. The
+// deposit benchmarks show what keeping the aggregates current adds to a posting.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportingBenchmark {
+
+    @Param({"100000"})
+    private int accounts;
+
+    @Param({"5"})
+    private int postings;
+
+    private BankingService service;
+    private BankingService aggregatedService;
+    private BookAggregates aggregates;
+    private LocalDate today;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = book();
+        aggregatedService = book();
+        aggregates = new BookAggregates.Builder().build();
+        aggregatedService.setAggregates(aggregates);
+        today = LocalDate.now();
+    }
+
+    private BankingService book() {
+        BankingService book = new BankingService(new InMemoryAccountRepository());
+        AccountType[] types = {AccountType.SAVINGS, AccountType.CURRENT};
+        for (int i = 0; i < accounts; i++) {
+            String id = String.format("AC%07d", i);
+            book.createAccount(types[i % 2], id, "Holder " + i, 1000);
+            for (int p = 0; p < postings; p++) {
+                book.depositCents(id, 100 + p);
+            }
+        }
+        return book;
+    }
+
+    @Benchmark
+    public Object balancesByTypeScan() {
+        Map<AccountType, Long> totals = new EnumMap<>(AccountType.class);
+        service.streamAccounts().forEach(account ->
+                totals.merge(AccountType.of(account), account.getBalanceCents(), Long::sum));
+        return totals;
+    }
+
+    @Benchmark
+    public Object balancesByTypeAggregated() {
+        Map<AccountType, Long> totals = new EnumMap<>(AccountType.class);
+        for (AccountType type : AccountType.values()) {
+            totals.put(type, aggregates.getBalanceCents(type));
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public long depositsTodayScan() {
+        long total = 0;
+        for (Account account : service.getAllAccounts()) {
+            for (Transaction transaction : account.getTransactions()) {
+                if (transaction.getType() == TransactionType.DEPOSIT
+                        && transaction.getTimestamp().toLocalDate().equals(today)) {
+                    total += transaction.getAmountCents();
+                }
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long depositsTodayAggregated() {
+        return aggregates.getDailyAmountCents(today, TransactionType.DEPOSIT);
+    }
+
+    @Benchmark
+    public void deposit() {
+        service.depositCents(String.format("AC%07d", next++ % accounts), 1);
+    }
+
+    @Benchmark
+    public void depositAggregated() {
+        aggregatedService.depositCents(String.format("AC%07d", next++ % accounts), 1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.banking.benchmark;
+
+import com.banking.cluster.LoopbackTransport;
+import com.banking.cluster.ShardedBankingService;
+import com.banking.factory.AccountType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Throughput of a sharded bank over the loopback transport as the shard count grows. Each
+// operation is a deposit or a transfer between two random accounts; transfers whose accounts
+// land on different shards go through the two-phase protocol. All shards share this JVM, so
+// the numbers show routing and two-phase overhead rather than cross-host scaling.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class ShardScalingBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    private int shards;
+
+    @Param({"1024"})
+    private int accounts;
+
+    // Percentage of operations that are transfers; the rest are deposits.
+    @Param({"50"})
+    private int transferPercent;
+
+    private ShardedBankingService service;
+    private String[] accountIds;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        service = new ShardedBankingService(LoopbackTransport.inMemory(shards));
+        accountIds = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = "CA" + i;
+            service.createAccount(AccountType.CURRENT, accountIds[i], "Holder " + i, 1_000_000_000.0);
+        }
+    }
+
+    @Benchmark
+    public void mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accounts);
+        if (random.nextInt(100) >= transferPercent) {
+            service.depositCents(accountIds[from], 1);
+            return;
+        }
+        int to = random.nextInt(accounts - 1);
+        if (to >= from) {
+            to++;
+        }
+        service.transferCents(accountIds[from], accountIds[to], 1);
+    }
+}
@@ -0,0 +1,124 @@
+package com.banking.benchmark;
+
+import com.banking.archive.ArchiveStore;
+import com.banking.factory.AccountType;
+import com.banking.model.TransactionLedger;
+import com.banking.model.TransactionType;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// A book of `accounts` accounts with a year of `postings` each, fully in memory ("HOT") or
+// with everything but the newest 512 postings archived, read back through a cache that holds
+// the whole cold tier ("COLD_CACHED") or only a few blocks ("COLD_UNCACHED", every statement
+// reads and inflates its blocks). Statements for recent activity should not notice the cold
+// tier; statements for an old month pay for the blocks they touch. Setup prints the heap
+// held by the ledgers in each configuration.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TieredHistoryBenchmark {
+    private static final long YEAR_NANOS = 365L * 24 * 3_600_000_000_000L;
+    private static final long MONTH_NANOS = 30L * 24 * 3_600_000_000_000L;
+
+    @Param({"HOT", "COLD_CACHED", "COLD_UNCACHED"})
+    private String tier;
+
+    @Param({"100"})
+    private int accounts;
+
+    @Param({"20000"})
+    private int postings;
+
+    private TransactionLedger[] ledgers;
+    private long start;
+    private ArchiveStore store;
+    private Path directory;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        InMemoryAccountRepository repository = new InMemoryAccountRepository();
+        BankingService service = new BankingService(repository);
+        ledgers = new TransactionLedger[accounts];
+        start = TransactionLedger.currentEpochNanos() - YEAR_NANOS;
+        long step = YEAR_NANOS / postings;
+        for (int a = 0; a < accounts; a++) {
+            String id = String.format("CA%05d", a);
+            service.createAccount(AccountType.CURRENT, id, "Holder " + a, 0);
+            ledgers[a] = service.getAccount(id).getLedger();
+            for (int i = 0; i < postings; i++) {
+                TransactionType type = i % 10 == 0 ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT;
+                ledgers[a].append(i, start + i * step, type, 100 + i % 50, i * 90L, type.getDisplayName());
+            }
+        }
+        long hotBytes = heapBytes();
+        if (!tier.equals("HOT")) {
+            directory = Files.createTempDirectory("archive-bench");
+            int cacheBlocks = tier.equals("COLD_CACHED") ? accounts * postings / TransactionLedger.BLOCK_SIZE : 4;
+            store = new ArchiveStore.Builder(directory).cacheBlocks(cacheBlocks).build();
+            System.out.printf("%n%s", store.archive(repository, 2 * TransactionLedger.BLOCK_SIZE));
+        }
+        System.out.printf("%nLedger heap: %d bytes in memory before archiving, %d after%n", hotBytes, heapBytes());
+    }
+
+    private long heapBytes() {
+        long bytes = 0;
+        for (TransactionLedger ledger : ledgers) {
+            bytes += ledger.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    // Cycles through accounts and, for the old statements, through the first six months.
+    private int nextAccount() {
+        return next++ % accounts;
+    }
+
+    @Benchmark
+    public Object lastTwenty() {
+        TransactionLedger ledger = ledgers[nextAccount()];
+        return ledger.getAll(ledger.select(Long.MIN_VALUE, Long.MAX_VALUE, TransactionLedger.ALL_TYPES, true,
+                Integer.MAX_VALUE, 20));
+    }
+
+    @Benchmark
+    public Object oldMonthStatement() {
+        int account = nextAccount();
+        long from = start + (next / accounts % 6) * MONTH_NANOS;
+        TransactionLedger ledger = ledgers[account];
+        return ledger.getAll(ledger.select(from, from + MONTH_NANOS, TransactionLedger.ALL_TYPES, false, 0, 100));
+    }
+}
@@ -0,0 +1,59 @@
+package com.banking.benchmark;
+
+import com.banking.factory.AccountType;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// N threads (-t, defaults to all cores) moving money between M hot accounts.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class TransferContentionBenchmark {
+
+    @Param({"2", "16", "1024"})
+    private int hotAccounts;
+
+    private BankingService service;
+    private String[] accountIds;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        service = new BankingService(new InMemoryAccountRepository());
+        accountIds = new String[hotAccounts];
+        for (int i = 0; i < hotAccounts; i++) {
+            accountIds[i] = "CA" + i;
+            service.createAccount(AccountType.CURRENT, accountIds[i], "Holder " + i, 1_000_000_000_000.0);
+        }
+    }
+
+    @Benchmark
+    public void transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(hotAccounts);
+        int to = random.nextInt(hotAccounts - 1);
+        if (to >= from) {
+            to++;
+        }
+        service.transfer(accountIds[from], accountIds[to], 1);
+    }
+}
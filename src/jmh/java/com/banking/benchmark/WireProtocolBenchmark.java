@@ -0,0 +1,91 @@
+package com.banking.benchmark;
+
+import com.banking.factory.AccountType;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.server.BankingHttpServer;
+import com.banking.server.BinaryProtocolClient;
+import com.banking.server.BinaryProtocolServer;
+import com.banking.service.BankingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+// Deposits per second over localhost through the HTTP front-end and the binary protocol, one
+// request at a time and pipelined in windows of PIPELINE requests.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireProtocolBenchmark {
+    private static final int PIPELINE = 64;
+
+    private BankingHttpServer httpServer;
+    private BinaryProtocolServer binaryServer;
+    private HttpClient httpClient;
+    private HttpRequest depositRequest;
+    private BinaryProtocolClient binaryClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BankingService service = new BankingService(new InMemoryAccountRepository());
+        service.createAccount(AccountType.CURRENT, "CA001", "Holder", 0);
+        httpServer = new BankingHttpServer.Builder(service).port(0).build().start();
+        binaryServer = new BinaryProtocolServer.Builder(service).port(0).build().start();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        depositRequest = HttpRequest.newBuilder(
+                        URI.create("http://127.0.0.1:" + httpServer.getPort() + "/accounts/CA001/deposit?amount=0.01"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        binaryClient = new BinaryProtocolClient(new InetSocketAddress("127.0.0.1", binaryServer.getPort()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        binaryClient.close();
+        binaryServer.close();
+        httpServer.close();
+    }
+
+    @Benchmark
+    public int http() throws IOException, InterruptedException {
+        return httpClient.send(depositRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public BinaryProtocolClient.Reply binary() throws IOException {
+        return binaryClient.deposit("CA001", 1);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIPELINE)
+    public BinaryProtocolClient.Reply binaryPipelined() throws IOException {
+        for (int i = 0; i < PIPELINE; i++) {
+            binaryClient.sendDeposit("CA001", 1);
+        }
+        BinaryProtocolClient.Reply reply = null;
+        for (int i = 0; i < PIPELINE; i++) {
+            reply = binaryClient.receive();
+        }
+        return reply;
+    }
+}
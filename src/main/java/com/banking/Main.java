@@ -6,13 +6,20 @@ import com.banking.observer.AuditLogObserver;
 import com.banking.observer.ConsoleNotificationObserver;
 import com.banking.observer.FraudDetectionObserver;
 import com.banking.repository.InMemoryAccountRepository;
+import com.banking.server.BankingHttpServer;
 import com.banking.service.BankingService;
 import com.banking.strategy.CompoundInterestStrategy;
 import com.banking.strategy.SimpleInterestStrategy;
 import com.banking.strategy.TieredInterestStrategy;
 
+import java.io.IOException;
+
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("serve")) {
+            serve(args);
+            return;
+        }
         InMemoryAccountRepository repository = new InMemoryAccountRepository();
         BankingService service = new BankingService(repository);
 
@@ -110,4 +117,15 @@ public class Main {
 
         System.out.println("\n========== DONE ==========");
     }
+
+    // `Main serve [port] [maxConcurrentRequests]` serves an empty bank over HTTP until killed.
+    private static void serve(String[] args) throws IOException {
+        BankingService service = new BankingService(new InMemoryAccountRepository());
+        BankingHttpServer server = new BankingHttpServer.Builder(service)
+                .port(args.length > 1 ? Integer.parseInt(args[1]) : 8080)
+                .maxConcurrentRequests(args.length > 2 ? Integer.parseInt(args[2]) : 10_000)
+                .build()
+                .start();
+        System.out.println("Serving on http://127.0.0.1:" + server.getPort());
+    }
 }
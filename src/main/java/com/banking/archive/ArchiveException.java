@@ -0,0 +1,12 @@
+package com.banking.archive;
+
+public class ArchiveException extends RuntimeException {
+
+    public ArchiveException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ArchiveException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,36 @@
+package com.banking.archive;
+
+public class ArchiveReport {
+    private final int accounts;
+    private final long blocks;
+    private final long postings;
+    private final long bytes;
+    private final int segments;
+    private final long durationNanos;
+
+    public ArchiveReport(int accounts, long blocks, long postings, long bytes, int segments, long durationNanos) {
+        this.accounts = accounts;
+        this.blocks = blocks;
+        this.postings = postings;
+        this.bytes = bytes;
+        this.segments = segments;
+        this.durationNanos = durationNanos;
+    }
+
+    public int getAccounts() { return accounts; }
+    public long getBlocks() { return blocks; }
+    public long getPostings() { return postings; }
+    public long getBytes() { return bytes; }
+    public int getSegments() { return segments; }
+    public long getDurationNanos() { return durationNanos; }
+
+    public double getDurationMillis() {
+        return durationNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Archived %d postings in %d blocks from %d accounts to %d segments "
+                + "(%d bytes) in %.1f ms", postings, blocks, accounts, segments, bytes, getDurationMillis());
+    }
+}
@@ -0,0 +1,249 @@
+package com.banking.archive;
+
+import com.banking.model.Account;
+import com.banking.model.ArchivedBlock;
+import com.banking.model.LedgerBlock;
+import com.banking.model.TransactionLedger;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.Page;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Cold tier for account histories. archive() walks the book in account id order and moves
+// every full ledger block beyond the newest keepHot postings into append-only segment files,
+// so one segment holds the old history of a contiguous range of accounts. A ledger only
+// switches to the archived copies once the segment holding them has been forced to disk.
+//
+// Archived blocks are read back on demand with positional reads and kept decoded in a small
+// LRU cache. The store owns the segment channels, so it has to stay open for as long as any
+// ledger references blocks in it. The cold tier is not part of recovery: replaying the journal
+// rebuilds every history in memory, so segments left by an earlier process are deleted on open.
+public class ArchiveStore implements AutoCloseable {
+    private static final String SEGMENT_PREFIX = "archive-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int PAGE_SIZE = 256;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final BlockCache cache;
+    private final List<Segment> segments = new ArrayList<>();
+    private Segment current;
+    private boolean closed;
+
+    private ArchiveStore(Builder builder) {
+        this.directory = builder.directory;
+        this.segmentSize = builder.segmentSize;
+        this.cache = new BlockCache(builder.cacheBlocks);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new ArchiveException("Cannot create archive directory " + directory, e);
+        }
+        deleteStaleSegments();
+    }
+
+    // Archives every account's history except its newest keepHot postings (rounded so that
+    // only whole blocks move).
+    public synchronized ArchiveReport archive(AccountRepository repository, int keepHot) {
+        if (closed) {
+            throw new IllegalStateException("Archive store is closed");
+        }
+        if (keepHot < 0) {
+            throw new IllegalArgumentException("keepHot must not be negative");
+        }
+        long start = System.nanoTime();
+        int segmentsBefore = segments.size();
+        List<Pending> pending = new ArrayList<>();
+        int accounts = 0;
+        long blocks = 0;
+        long bytes = 0;
+        String cursor = null;
+        do {
+            Page<Account> page = repository.findAll(cursor, PAGE_SIZE);
+            for (Account account : page.getItems()) {
+                TransactionLedger ledger = account.getLedger();
+                int count = ledger.archivableBlocks(keepHot);
+                if (count == 0) {
+                    continue;
+                }
+                List<ArchivedBlock> handles = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    LedgerBlock block = ledger.exportBlock(i);
+                    byte[] encoded = BlockCodec.encode(block);
+                    // A block larger than a whole segment still gets one to itself.
+                    if (current == null
+                            || current.position > 0 && current.position + encoded.length > segmentSize) {
+                        commit(pending);
+                        roll();
+                    }
+                    handles.add(new SegmentBlock(this, current, write(encoded), encoded.length,
+                            block.getTimestamp(0)));
+                    bytes += encoded.length;
+                }
+                // A ledger's blocks may straddle a roll; the earlier segment has been forced by
+                // then, so committing the whole list with the later segment stays safe.
+                pending.add(new Pending(ledger, handles));
+                accounts++;
+                blocks += count;
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        commit(pending);
+        return new ArchiveReport(accounts, blocks, blocks * TransactionLedger.BLOCK_SIZE, bytes,
+                segments.size() - segmentsBefore, System.nanoTime() - start);
+    }
+
+    public long getCacheHits() {
+        return cache.getHits();
+    }
+
+    public long getCacheMisses() {
+        return cache.getMisses();
+    }
+
+    public int getCachedBlocks() {
+        return cache.size();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // Ledgers that still hold handles into this store fail to read their archived postings
+    // once it is closed.
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (Segment segment : segments) {
+            try {
+                segment.channel.close();
+            } catch (IOException e) {
+                throw new ArchiveException("Cannot close archive segment " + segment.path, e);
+            }
+        }
+    }
+
+    BlockCache cache() {
+        return cache;
+    }
+
+    private long write(byte[] encoded) {
+        long offset = current.position;
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        try {
+            while (buffer.hasRemaining()) {
+                current.channel.write(buffer, offset + buffer.position());
+            }
+        } catch (IOException e) {
+            throw new ArchiveException("Cannot write archive segment " + current.path, e);
+        }
+        current.position += encoded.length;
+        return offset;
+    }
+
+    // Forces the current segment and only then points the ledgers at their archived blocks.
+    private void commit(List<Pending> pending) {
+        if (current == null) {
+            return;
+        }
+        try {
+            current.channel.force(false);
+        } catch (IOException e) {
+            throw new ArchiveException("Cannot force archive segment " + current.path, e);
+        }
+        for (Pending entry : pending) {
+            entry.ledger.archive(entry.handles);
+        }
+        pending.clear();
+    }
+
+    private void roll() {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSegmentNumber(),
+                SEGMENT_SUFFIX));
+        try {
+            current = new Segment(path, FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE));
+        } catch (IOException e) {
+            throw new ArchiveException("Cannot create archive segment " + path, e);
+        }
+        segments.add(current);
+    }
+
+    private long nextSegmentNumber() {
+        return segments.isEmpty() ? 1 : segments.get(segments.size() - 1).number + 1;
+    }
+
+    private void deleteStaleSegments() {
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stale) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            throw new ArchiveException("Cannot delete stale archive segments in " + directory, e);
+        }
+    }
+
+    static final class Segment {
+        final Path path;
+        final long number;
+        final FileChannel channel;
+        long position;
+
+        Segment(Path path, FileChannel channel) {
+            this.path = path;
+            String name = path.getFileName().toString();
+            this.number = Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                    name.length() - SEGMENT_SUFFIX.length()));
+            this.channel = channel;
+        }
+    }
+
+    private static final class Pending {
+        final TransactionLedger ledger;
+        final List<ArchivedBlock> handles;
+
+        Pending(TransactionLedger ledger, List<ArchivedBlock> handles) {
+            this.ledger = ledger;
+            this.handles = handles;
+        }
+    }
+
+    public static class Builder {
+        private final Path directory;
+        private long segmentSize = 64 * 1024 * 1024;
+        private int cacheBlocks = 1024;
+
+        public Builder(Path directory) {
+            this.directory = directory;
+        }
+
+        public Builder segmentSize(long segmentSize) {
+            if (segmentSize < 4096) {
+                throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+            }
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        public Builder cacheBlocks(int cacheBlocks) {
+            if (cacheBlocks < 1) {
+                throw new IllegalArgumentException("Cache must hold at least one block");
+            }
+            this.cacheBlocks = cacheBlocks;
+            return this;
+        }
+
+        public ArchiveStore build() {
+            return new ArchiveStore(this);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.banking.archive;
+
+import com.banking.model.LedgerBlock;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// LRU cache of decoded cold blocks, so repeated statement requests over the same period skip
+// the read and the inflate. Two concurrent misses on one block may both decode it; the second
+// result simply replaces the first.
+final class BlockCache {
+    private final Map<SegmentBlock, LedgerBlock> blocks;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    BlockCache(int capacity) {
+        this.blocks = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SegmentBlock, LedgerBlock> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    LedgerBlock get(SegmentBlock block) {
+        LedgerBlock decoded;
+        synchronized (blocks) {
+            decoded = blocks.get(block);
+        }
+        if (decoded != null) {
+            hits.increment();
+            return decoded;
+        }
+        misses.increment();
+        decoded = block.read();
+        synchronized (blocks) {
+            blocks.put(block, decoded);
+        }
+        return decoded;
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    int size() {
+        synchronized (blocks) {
+            return blocks.size();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.banking.archive;
+
+import com.banking.model.LedgerBlock;
+import com.banking.model.TransactionType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Serializes a LedgerBlock as columns: ids, timestamps and balances as zigzag varint deltas
+// from the previous value, amounts as zigzag varints, types as one byte each, descriptions as
+// a per-block dictionary plus one byte index per posting. The result is then deflated; on
+// disk a block is int raw length, int compressed length, compressed bytes.
+final class BlockCodec {
+    private static final TransactionType[] TYPES = TransactionType.values();
+    static final int HEADER_BYTES = 8;
+
+    private BlockCodec() {
+    }
+
+    static byte[] encode(LedgerBlock block) {
+        int count = block.size();
+        ByteBuffer raw = ByteBuffer.allocate(64 + count * 48);
+        putVarint(raw, count);
+        long previousId = 0;
+        long previousTimestamp = 0;
+        long previousBalance = 0;
+        for (int i = 0; i < count; i++) {
+            putZigzag(raw, block.getId(i) - previousId);
+            previousId = block.getId(i);
+        }
+        for (int i = 0; i < count; i++) {
+            putZigzag(raw, block.getTimestamp(i) - previousTimestamp);
+            previousTimestamp = block.getTimestamp(i);
+        }
+        for (int i = 0; i < count; i++) {
+            putZigzag(raw, block.getAmount(i));
+        }
+        for (int i = 0; i < count; i++) {
+            putZigzag(raw, block.getBalance(i) - previousBalance);
+            previousBalance = block.getBalance(i);
+        }
+        for (int i = 0; i < count; i++) {
+            raw.put((byte) block.getType(i).ordinal());
+        }
+
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        byte[] codes = new byte[count];
+        for (int i = 0; i < count; i++) {
+            String description = block.getDescription(i);
+            Integer code = dictionary.get(description);
+            if (code == null) {
+                code = entries.size();
+                dictionary.put(description, code);
+                entries.add(description);
+            }
+            codes[i] = (byte) (int) code;
+        }
+        if (entries.size() > 256) {
+            throw new ArchiveException("Block has more than 256 distinct descriptions");
+        }
+        putVarint(raw, entries.size());
+        for (String entry : entries) {
+            byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+            if (raw.remaining() < bytes.length + 5 + count) {
+                ByteBuffer bigger = ByteBuffer.allocate(raw.capacity() * 2 + bytes.length);
+                raw.flip();
+                raw = bigger.put(raw);
+            }
+            putVarint(raw, bytes.length);
+            raw.put(bytes);
+        }
+        raw.put(codes);
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw.array(), 0, raw.position());
+            deflater.finish();
+            byte[] compressed = new byte[HEADER_BYTES + raw.position() + 64];
+            int length = deflater.deflate(compressed, HEADER_BYTES, compressed.length - HEADER_BYTES);
+            if (!deflater.finished()) {
+                throw new ArchiveException("Compressed block larger than expected");
+            }
+            ByteBuffer.wrap(compressed).putInt(raw.position()).putInt(length);
+            return Arrays.copyOf(compressed, HEADER_BYTES + length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // Decodes the compressed body of a block (without its header).
+    static LedgerBlock decode(byte[] compressed, int rawLength) {
+        byte[] bytes = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            if (inflater.inflate(bytes) != rawLength || !inflater.finished()) {
+                throw new ArchiveException("Archived block is truncated");
+            }
+        } catch (DataFormatException e) {
+            throw new ArchiveException("Archived block is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+
+        ByteBuffer raw = ByteBuffer.wrap(bytes);
+        int count = (int) getVarint(raw);
+        long[] ids = new long[count];
+        long[] timestamps = new long[count];
+        long[] amounts = new long[count];
+        long[] balances = new long[count];
+        TransactionType[] types = new TransactionType[count];
+        String[] descriptions = new String[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += getZigzag(raw);
+            ids[i] = previous;
+        }
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += getZigzag(raw);
+            timestamps[i] = previous;
+        }
+        for (int i = 0; i < count; i++) {
+            amounts[i] = getZigzag(raw);
+        }
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += getZigzag(raw);
+            balances[i] = previous;
+        }
+        for (int i = 0; i < count; i++) {
+            types[i] = TYPES[raw.get()];
+        }
+        String[] entries = new String[(int) getVarint(raw)];
+        for (int i = 0; i < entries.length; i++) {
+            byte[] entry = new byte[(int) getVarint(raw)];
+            raw.get(entry);
+            entries[i] = new String(entry, StandardCharsets.UTF_8);
+        }
+        for (int i = 0; i < count; i++) {
+            descriptions[i] = entries[raw.get() & 0xFF];
+        }
+        return new LedgerBlock(ids, timestamps, types, amounts, balances, descriptions);
+    }
+
+    private static void putZigzag(ByteBuffer buffer, long value) {
+        putVarint(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    private static long getZigzag(ByteBuffer buffer) {
+        long value = getVarint(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarint(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.banking.archive;
+
+import com.banking.model.ArchivedBlock;
+import com.banking.model.LedgerBlock;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Handle to one compressed block inside an archive segment. This is all a ledger keeps in
+// memory for an archived block: identity-based, so the cache can key on it directly.
+final class SegmentBlock implements ArchivedBlock {
+    private final ArchiveStore store;
+    private final ArchiveStore.Segment segment;
+    private final long offset;
+    private final int length;
+    private final long firstTimestamp;
+
+    SegmentBlock(ArchiveStore store, ArchiveStore.Segment segment, long offset, int length, long firstTimestamp) {
+        this.store = store;
+        this.segment = segment;
+        this.offset = offset;
+        this.length = length;
+        this.firstTimestamp = firstTimestamp;
+    }
+
+    @Override
+    public long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    @Override
+    public LedgerBlock load() {
+        return store.cache().get(this);
+    }
+
+    // Reads and decodes the block, bypassing the cache.
+    LedgerBlock read() {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try {
+            while (buffer.hasRemaining()) {
+                if (segment.channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new ArchiveException("Archive segment " + segment.path + " is truncated");
+                }
+            }
+        } catch (IOException e) {
+            throw new ArchiveException("Cannot read archive segment " + segment.path, e);
+        }
+        buffer.flip();
+        int rawLength = buffer.getInt();
+        int compressedLength = buffer.getInt();
+        byte[] compressed = new byte[compressedLength];
+        buffer.get(compressed);
+        return BlockCodec.decode(compressed, rawLength);
+    }
+}
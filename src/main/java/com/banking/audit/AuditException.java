@@ -0,0 +1,12 @@
+package com.banking.audit;
+
+public class AuditException extends RuntimeException {
+
+    public AuditException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public AuditException(String message) {
+        super(message);
+    }
+}
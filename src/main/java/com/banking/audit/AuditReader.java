@@ -0,0 +1,77 @@
+package com.banking.audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Reads the segments a FileAuditSink writes, including the one still being written. Sealed
+// segments whose timestamp range misses the query are skipped without being opened.
+public final class AuditReader {
+
+    private AuditReader() {
+    }
+
+    // Records with from <= timestamp < to, in the order they were written.
+    public static List<AuditRecord> read(Path directory, Instant from, Instant to) {
+        List<AuditRecord> records = new ArrayList<>();
+        scan(directory, from, to, records::add);
+        return records;
+    }
+
+    public static void scan(Path directory, Instant from, Instant to, Consumer<AuditRecord> consumer) {
+        long fromMicros = toMicros(from);
+        long toMicros = toMicros(to);
+        CRC32 crc = new CRC32();
+        try {
+            for (Path segment : AuditSegment.list(directory)) {
+                long[] range = AuditSegment.rangeOf(segment);
+                if (range != null && (range[1] < fromMicros || range[0] >= toMicros)) {
+                    continue;
+                }
+                scanSegment(segment, fromMicros, toMicros, crc, consumer);
+            }
+        } catch (IOException e) {
+            throw new AuditException("Cannot read audit log in " + directory, e);
+        }
+    }
+
+    private static void scanSegment(Path segment, long fromMicros, long toMicros, CRC32 crc,
+                                    Consumer<AuditRecord> consumer) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(segment, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            // Sealed (renamed) or deleted by the writer since it was listed.
+            Path sealed = AuditSegment.sealedPath(segment);
+            if (sealed != null) {
+                scanSegment(sealed, fromMicros, toMicros, crc, consumer);
+            }
+            return;
+        }
+        try (channel) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            AuditRecord record;
+            while ((record = AuditRecord.decode(buffer, crc)) != null) {
+                if (record.getEpochMicros() >= fromMicros && record.getEpochMicros() < toMicros) {
+                    consumer.accept(record);
+                }
+            }
+        }
+    }
+
+    private static long toMicros(Instant instant) {
+        try {
+            return Math.multiplyExact(instant.getEpochSecond(), 1_000_000L) + instant.getNano() / 1000;
+        } catch (ArithmeticException e) {
+            return instant.getEpochSecond() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+}
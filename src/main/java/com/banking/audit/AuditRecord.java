@@ -0,0 +1,122 @@
+package com.banking.audit;
+
+import com.banking.model.Money;
+import com.banking.model.TransactionType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.CRC32;
+
+// One audited posting. On disk: int length, int CRC32 of the body, then the body: long epoch
+// micros, long transaction id, byte type, long amount, long balance after, short-prefixed
+// account id. Encoding writes straight into the caller's buffer, with no formatting or
+// per-record allocation for ASCII account ids.
+public class AuditRecord {
+    static final int HEADER_BYTES = 8;
+    private static final int FIXED_BODY_BYTES = 8 + 8 + 1 + 8 + 8 + 2;
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final long epochMicros;
+    private final long transactionId;
+    private final TransactionType type;
+    private final long amount;
+    private final long balanceAfter;
+    private final String accountId;
+
+    AuditRecord(long epochMicros, long transactionId, TransactionType type, long amount, long balanceAfter,
+                String accountId) {
+        this.epochMicros = epochMicros;
+        this.transactionId = transactionId;
+        this.type = type;
+        this.amount = amount;
+        this.balanceAfter = balanceAfter;
+        this.accountId = accountId;
+    }
+
+    public long getEpochMicros() { return epochMicros; }
+    public long getTransactionId() { return transactionId; }
+    public TransactionType getType() { return type; }
+    public long getAmountCents() { return amount; }
+    public long getBalanceAfterCents() { return balanceAfter; }
+    public String getAccountId() { return accountId; }
+
+    public Instant getInstant() {
+        return Instant.ofEpochSecond(0, epochMicros * 1000);
+    }
+
+    // Same layout AuditLogObserver produces, formatted only when a record is read back.
+    @Override
+    public String toString() {
+        return String.format("[%s] Account: %s | %s | Amount: $%.2f | Balance: $%.2f",
+                TIMESTAMP.format(LocalDateTime.ofInstant(getInstant(), ZoneId.systemDefault())),
+                accountId, type.getDisplayName(), Money.toAmount(amount), Money.toAmount(balanceAfter));
+    }
+
+    static int maxBytes(String accountId) {
+        return HEADER_BYTES + FIXED_BODY_BYTES + 3 * accountId.length();
+    }
+
+    // Appends one record at the buffer's position; the buffer must have maxBytes(accountId) left.
+    static void encode(ByteBuffer buffer, CRC32 crc, long epochMicros, long transactionId, TransactionType type,
+                       long amount, long balanceAfter, String accountId) {
+        int start = buffer.position();
+        buffer.position(start + HEADER_BYTES);
+        buffer.putLong(epochMicros).putLong(transactionId).put((byte) type.ordinal())
+                .putLong(amount).putLong(balanceAfter);
+        putAccountId(buffer, accountId);
+        int end = buffer.position();
+        int length = end - start - HEADER_BYTES;
+        crc.reset();
+        crc.update(buffer.slice(start + HEADER_BYTES, length));
+        buffer.putInt(start, length).putInt(start + 4, (int) crc.getValue());
+    }
+
+    // Decodes the record at the buffer's position and advances past it. Returns null, leaving
+    // the position unchanged, at the end of the written data or at a torn or corrupt record.
+    static AuditRecord decode(ByteBuffer buffer, CRC32 crc) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int length = buffer.getInt(start);
+        int checksum = buffer.getInt(start + 4);
+        if (length < FIXED_BODY_BYTES || length > buffer.remaining() - HEADER_BYTES) {
+            return null;
+        }
+        crc.reset();
+        crc.update(buffer.slice(start + HEADER_BYTES, length));
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+        buffer.position(start + HEADER_BYTES);
+        long epochMicros = buffer.getLong();
+        long transactionId = buffer.getLong();
+        TransactionType type = TYPES[buffer.get()];
+        long amount = buffer.getLong();
+        long balanceAfter = buffer.getLong();
+        byte[] id = new byte[buffer.getShort()];
+        buffer.get(id);
+        return new AuditRecord(epochMicros, transactionId, type, amount, balanceAfter,
+                new String(id, StandardCharsets.UTF_8));
+    }
+
+    private static void putAccountId(ByteBuffer buffer, String accountId) {
+        int length = accountId.length();
+        for (int i = 0; i < length; i++) {
+            if (accountId.charAt(i) >= 0x80) {
+                byte[] bytes = accountId.getBytes(StandardCharsets.UTF_8);
+                buffer.putShort((short) bytes.length).put(bytes);
+                return;
+            }
+        }
+        buffer.putShort((short) length);
+        for (int i = 0; i < length; i++) {
+            buffer.put((byte) accountId.charAt(i));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.banking.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+// One audit segment file. The open segment is named by its creation time; sealing renames it
+// to also carry the first and last record timestamps, so AuditReader can skip sealed segments
+// outside a query range without opening them. Records are not strictly time-ordered (postings
+// on different threads race to the queue), hence a range rather than a first timestamp.
+final class AuditSegment {
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".log";
+
+    private final Path path;
+    private final long createdMicros;
+    private final FileChannel channel;
+    long size;
+    boolean dirty;
+    private long minMicros = Long.MAX_VALUE;
+    private long maxMicros = Long.MIN_VALUE;
+
+    private AuditSegment(Path path, long createdMicros, FileChannel channel) {
+        this.path = path;
+        this.createdMicros = createdMicros;
+        this.channel = channel;
+    }
+
+    static AuditSegment create(Path directory) throws IOException {
+        long created = System.currentTimeMillis() * 1000;
+        Path path = directory.resolve(name(created));
+        while (Files.exists(path)) {
+            path = directory.resolve(name(++created));
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        return new AuditSegment(path, created, channel);
+    }
+
+    void include(long epochMicros) {
+        minMicros = Math.min(minMicros, epochMicros);
+        maxMicros = Math.max(maxMicros, epochMicros);
+    }
+
+    void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            size += channel.write(buffer);
+        }
+        dirty = true;
+    }
+
+    void force() throws IOException {
+        if (dirty) {
+            channel.force(false);
+            dirty = false;
+        }
+    }
+
+    // Forces and closes the file, renaming it with its timestamp range, or deleting it if empty.
+    void seal() throws IOException {
+        force();
+        channel.close();
+        if (size == 0) {
+            Files.deleteIfExists(path);
+            return;
+        }
+        Files.move(path, path.resolveSibling(String.format("%s%020d-%020d-%020d%s",
+                PREFIX, createdMicros, minMicros, maxMicros, SUFFIX)), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Open and sealed segments, oldest first.
+    static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // The [first, last] record timestamps of a sealed segment, or null for an open one.
+    static long[] rangeOf(Path segment) {
+        String name = segment.getFileName().toString();
+        String[] parts = name.substring(PREFIX.length(), name.length() - SUFFIX.length()).split("-");
+        if (parts.length != 3) {
+            return null;
+        }
+        return new long[]{Long.parseLong(parts[1]), Long.parseLong(parts[2])};
+    }
+
+    // The sealed name of a segment listed while it was still open, or null if it is gone.
+    static Path sealedPath(Path openSegment) throws IOException {
+        String name = openSegment.getFileName().toString();
+        String prefix = name.substring(0, name.length() - SUFFIX.length()) + "-";
+        for (Path segment : list(openSegment.getParent())) {
+            if (segment.getFileName().toString().startsWith(prefix)) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    private static String name(long createdMicros) {
+        return String.format("%s%020d%s", PREFIX, createdMicros, SUFFIX);
+    }
+}
@@ -0,0 +1,343 @@
+package com.banking.audit;
+
+import com.banking.model.Account;
+import com.banking.model.Transaction;
+import com.banking.observer.BackpressurePolicy;
+import com.banking.observer.TransactionObserver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+// Audit trail written to rolling segment files by a background writer. Posting threads only
+// put the Transaction into a bounded ring; the writer drains it in batches, encodes records
+// into one reusable direct buffer (see AuditRecord) and writes them with a single channel
+// write per batch, forcing to disk according to the FsyncPolicy. Memory is the ring plus the
+// buffer whatever the volume, and maxSegments bounds the disk. Read back with AuditReader.
+public class FileAuditSink implements TransactionObserver, AutoCloseable {
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Path directory;
+    private final long segmentSize;
+    private final int maxSegments;
+    private final FsyncPolicy fsyncPolicy;
+    private final long flushIntervalNanos;
+    private final BackpressurePolicy backpressure;
+
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final Transaction[] ring;
+    private final int mask;
+    // Ring positions: tail is written by publishers under the lock, head by the writer.
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private volatile long dropped;
+
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean parked;
+    private volatile long written;
+    private volatile long bytesWritten;
+    private volatile IOException failure;
+
+    // Owned by the writer thread.
+    private final ByteBuffer buffer;
+    private final CRC32 crc = new CRC32();
+    // Timestamp range of the records in the buffer, credited to whichever segment gets them.
+    private long bufferMinMicros = Long.MAX_VALUE;
+    private long bufferMaxMicros = Long.MIN_VALUE;
+    private AuditSegment segment;
+    private long lastForce;
+
+    private FileAuditSink(Builder builder) {
+        this.directory = builder.directory;
+        this.segmentSize = builder.segmentSize;
+        this.maxSegments = builder.maxSegments;
+        this.fsyncPolicy = builder.fsyncPolicy;
+        this.flushIntervalNanos = builder.flushInterval.toNanos();
+        this.backpressure = builder.backpressure;
+        this.ring = new Transaction[builder.queueCapacity];
+        this.mask = ring.length - 1;
+        this.buffer = ByteBuffer.allocateDirect(builder.bufferSize);
+        try {
+            Files.createDirectories(directory);
+            segment = AuditSegment.create(directory);
+        } catch (IOException e) {
+            throw new AuditException("Cannot open audit log in " + directory, e);
+        }
+        lastForce = System.nanoTime();
+        writer = new Thread(this::run, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void onTransaction(Account account, Transaction transaction) {
+        boolean backlog;
+        publishLock.lock();
+        try {
+            // The posting is already applied; a closed sink can only count what it missed.
+            if (!running) {
+                dropped++;
+                return;
+            }
+            long position = tail.get();
+            if (position - head.get() > mask) {
+                if (backpressure == BackpressurePolicy.DROP) {
+                    dropped++;
+                    return;
+                }
+                while (position - head.get() > mask) {
+                    // A writer that failed or stopped never frees the ring; the posting is
+                    // already applied, so drop the record rather than wait forever.
+                    if (failure != null || !writer.isAlive()) {
+                        dropped++;
+                        return;
+                    }
+                    LockSupport.unpark(writer);
+                    LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+                }
+            }
+            ring[(int) position & mask] = transaction;
+            tail.lazySet(position + 1);
+            backlog = position - head.get() >= ring.length / 2;
+        } finally {
+            publishLock.unlock();
+        }
+        // The writer polls every flush interval; only a filling ring is worth an unpark.
+        if (backlog && parked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // Waits until every accepted record has been written (and forced, under EVERY_BATCH).
+    // Returns false on timeout.
+    public boolean awaitIdle(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (head.get() != tail.get()) {
+            checkFailure();
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+        }
+        checkFailure();
+        return true;
+    }
+
+    // Stops accepting records (later ones are counted as dropped), writes what was already
+    // accepted, forces it and seals the segment.
+    @Override
+    public void close() {
+        publishLock.lock();
+        try {
+            running = false;
+        } finally {
+            publishLock.unlock();
+        }
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() {
+        IOException e = failure;
+        if (e != null) {
+            throw new AuditException("Audit writer failed in " + directory, e);
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                int count = drain();
+                long now = System.nanoTime();
+                if (fsyncPolicy == FsyncPolicy.INTERVAL && segment.dirty && now - lastForce >= flushIntervalNanos) {
+                    segment.force();
+                    lastForce = now;
+                }
+                if (count > 0) {
+                    continue;
+                }
+                if (!running && head.get() == tail.get()) {
+                    break;
+                }
+                parked = true;
+                if (running && head.get() == tail.get()) {
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                }
+                parked = false;
+            }
+            segment.seal();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    // Encodes everything currently in the ring, writing whenever the buffer fills.
+    private int drain() throws IOException {
+        long position = head.get();
+        long available = tail.get();
+        if (position == available) {
+            return 0;
+        }
+        int count = 0;
+        buffer.clear();
+        while (position < available) {
+            int slot = (int) position & mask;
+            Transaction transaction = ring[slot];
+            if (buffer.remaining() < AuditRecord.maxBytes(transaction.getAccountId())) {
+                write();
+            }
+            long epochMicros = Math.floorDiv(transaction.getEpochNanos(), 1000);
+            AuditRecord.encode(buffer, crc, epochMicros, transaction.getId(), transaction.getType(),
+                    transaction.getAmountCents(), transaction.getBalanceAfterCents(), transaction.getAccountId());
+            bufferMinMicros = Math.min(bufferMinMicros, epochMicros);
+            bufferMaxMicros = Math.max(bufferMaxMicros, epochMicros);
+            ring[slot] = null;
+            position++;
+            count++;
+        }
+        write();
+        if (fsyncPolicy == FsyncPolicy.EVERY_BATCH) {
+            segment.force();
+        }
+        head.lazySet(position);
+        written += count;
+        return count;
+    }
+
+    private void write() throws IOException {
+        buffer.flip();
+        if (segment.size + buffer.remaining() > segmentSize && segment.size > 0) {
+            roll();
+        }
+        if (bufferMinMicros <= bufferMaxMicros) {
+            segment.include(bufferMinMicros);
+            segment.include(bufferMaxMicros);
+            bufferMinMicros = Long.MAX_VALUE;
+            bufferMaxMicros = Long.MIN_VALUE;
+        }
+        int bytes = buffer.remaining();
+        segment.write(buffer);
+        bytesWritten += bytes;
+        buffer.clear();
+    }
+
+    private void roll() throws IOException {
+        segment.seal();
+        segment = AuditSegment.create(directory);
+        if (maxSegments > 0) {
+            List<Path> segments = AuditSegment.list(directory);
+            for (int i = 0; i < segments.size() - maxSegments; i++) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        }
+    }
+
+    public static class Builder {
+        private final Path directory;
+        private long segmentSize = 64L * 1024 * 1024;
+        private int maxSegments = 0;
+        private FsyncPolicy fsyncPolicy = FsyncPolicy.INTERVAL;
+        private Duration flushInterval = Duration.ofMillis(10);
+        private BackpressurePolicy backpressure = BackpressurePolicy.BLOCK;
+        private int queueCapacity = 8192;
+        private int bufferSize = 256 * 1024;
+
+        public Builder(Path directory) {
+            this.directory = directory;
+        }
+
+        public Builder segmentSize(long segmentSize) {
+            if (segmentSize < 4096) {
+                throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+            }
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        // Oldest segments beyond this many are deleted on roll; 0 keeps everything.
+        public Builder maxSegments(int maxSegments) {
+            if (maxSegments < 0) {
+                throw new IllegalArgumentException("Max segments must not be negative");
+            }
+            this.maxSegments = maxSegments;
+            return this;
+        }
+
+        public Builder fsync(FsyncPolicy fsyncPolicy) {
+            this.fsyncPolicy = fsyncPolicy;
+            return this;
+        }
+
+        // How often the writer polls for records, and the force interval under INTERVAL.
+        public Builder flushInterval(Duration flushInterval) {
+            if (flushInterval.isNegative() || flushInterval.isZero()) {
+                throw new IllegalArgumentException("Flush interval must be positive");
+            }
+            this.flushInterval = flushInterval;
+            return this;
+        }
+
+        // BLOCK waits for room when the queue is full, DROP counts and discards the record.
+        public Builder backpressure(BackpressurePolicy backpressure) {
+            if (backpressure == BackpressurePolicy.SPILL) {
+                throw new IllegalArgumentException("The audit queue is bounded; use BLOCK or DROP");
+            }
+            this.backpressure = backpressure;
+            return this;
+        }
+
+        // Rounded up to a power of two.
+        public Builder queueCapacity(int queueCapacity) {
+            if (queueCapacity < 2) {
+                throw new IllegalArgumentException("Queue capacity must be at least 2");
+            }
+            this.queueCapacity = Integer.highestOneBit(queueCapacity - 1) << 1;
+            return this;
+        }
+
+        public Builder bufferSize(int bufferSize) {
+            if (bufferSize < 4096) {
+                throw new IllegalArgumentException("Buffer size too small: " + bufferSize);
+            }
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public FileAuditSink build() {
+            return new FileAuditSink(this);
+        }
+    }
+}
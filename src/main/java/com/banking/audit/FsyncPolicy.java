@@ -0,0 +1,11 @@
+package com.banking.audit;
+
+// When the audit writer forces written records to disk.
+public enum FsyncPolicy {
+    // Leave it to the operating system; a crash can lose whatever it had not yet written back.
+    NONE,
+    // Once per flush interval; a crash can lose up to one interval of records.
+    INTERVAL,
+    // After every batch the writer drains.
+    EVERY_BATCH
+}
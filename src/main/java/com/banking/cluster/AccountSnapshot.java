@@ -0,0 +1,34 @@
+package com.banking.cluster;
+
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.Money;
+
+// Copy of an account's state as returned across the shard transport.
+public class AccountSnapshot {
+    private final String accountId;
+    private final String holderName;
+    private final AccountType type;
+    private final long balanceCents;
+    private final int shard;
+
+    public AccountSnapshot(String accountId, String holderName, AccountType type, long balanceCents, int shard) {
+        this.accountId = accountId;
+        this.holderName = holderName;
+        this.type = type;
+        this.balanceCents = balanceCents;
+        this.shard = shard;
+    }
+
+    static AccountSnapshot of(Account account, int shard) {
+        return new AccountSnapshot(account.getAccountId(), account.getHolderName(), AccountType.of(account),
+                account.getBalanceCents(), shard);
+    }
+
+    public String getAccountId() { return accountId; }
+    public String getHolderName() { return holderName; }
+    public AccountType getType() { return type; }
+    public long getBalanceCents() { return balanceCents; }
+    public double getBalance() { return Money.toAmount(balanceCents); }
+    public int getShard() { return shard; }
+}
@@ -0,0 +1,36 @@
+package com.banking.cluster;
+
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Runs every shard in this JVM and calls it directly, so a whole cluster can be exercised in
+// tests and benchmarks without a network.
+public class LoopbackTransport implements ShardTransport {
+    private final ShardNode[] nodes;
+
+    public LoopbackTransport(List<ShardNode> nodes) {
+        this.nodes = nodes.toArray(new ShardNode[0]);
+    }
+
+    // One node per shard, each with its own in-memory repository and service.
+    public static LoopbackTransport inMemory(int shardCount) {
+        List<ShardNode> nodes = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            nodes.add(new ShardNode(i, new BankingService(new InMemoryAccountRepository())));
+        }
+        return new LoopbackTransport(nodes);
+    }
+
+    @Override
+    public int shardCount() {
+        return nodes.length;
+    }
+
+    @Override
+    public ShardNode endpoint(int shard) {
+        return nodes[shard];
+    }
+}
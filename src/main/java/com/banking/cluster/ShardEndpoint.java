@@ -0,0 +1,20 @@
+package com.banking.cluster;
+
+import com.banking.factory.AccountType;
+
+// Operations one shard serves. A transport hands out an endpoint per shard; failures surface
+// as the usual banking exceptions (AccountNotFoundException, InsufficientFundsException, ...).
+public interface ShardEndpoint {
+    AccountSnapshot createAccount(AccountType type, String accountId, String holderName, long initialAmount);
+    void deposit(String accountId, long amount);
+    void withdraw(String accountId, long amount);
+    void transferLocal(String fromAccountId, String toAccountId, long amount);
+    AccountSnapshot getAccount(String accountId);
+
+    // Two-phase transfer participant. prepareDebit moves the amount out of the source account
+    // into escrow; prepareCredit only validates the target. commit and abort are idempotent.
+    void prepareDebit(long transferId, String accountId, long amount);
+    void prepareCredit(long transferId, String accountId, long amount);
+    void commit(long transferId);
+    void abort(long transferId);
+}
@@ -0,0 +1,114 @@
+package com.banking.cluster;
+
+import com.banking.exception.InvalidTransactionException;
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.Money;
+import com.banking.model.PostingOutcome;
+import com.banking.service.BankingService;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// One shard of a partitioned bank: a BankingService over the accounts this shard owns, plus the
+// participant side of cross-shard transfers.
+//
+// A prepared debit is withdrawn straight away and held in escrow until commit or abort, so the
+// funds cannot be spent twice while the transfer is in flight; abort deposits them back. A
+// prepared credit is only validated and is applied on commit. Postings made between prepare
+// and commit therefore see the debit but not yet the credit, and may make the credit fail; the
+// prepared leg is released either way, and the coordinator aborts the debit side.
+public class ShardNode implements ShardEndpoint {
+    private final int shard;
+    private final BankingService service;
+    private final Map<Long, PreparedLeg> prepared = new ConcurrentHashMap<>();
+
+    public ShardNode(int shard, BankingService service) {
+        this.shard = shard;
+        this.service = service;
+    }
+
+    public int getShard() {
+        return shard;
+    }
+
+    public BankingService getService() {
+        return service;
+    }
+
+    // Number of transfers prepared here and not yet committed or aborted.
+    public int getPreparedCount() {
+        return prepared.size();
+    }
+
+    @Override
+    public AccountSnapshot createAccount(AccountType type, String accountId, String holderName, long initialAmount) {
+        return AccountSnapshot.of(service.createAccount(type, accountId, holderName, Money.toAmount(initialAmount)), shard);
+    }
+
+    @Override
+    public void deposit(String accountId, long amount) {
+        service.depositCents(accountId, amount);
+    }
+
+    @Override
+    public void withdraw(String accountId, long amount) {
+        service.withdrawCents(accountId, amount);
+    }
+
+    @Override
+    public void transferLocal(String fromAccountId, String toAccountId, long amount) {
+        service.transferCents(fromAccountId, toAccountId, amount);
+    }
+
+    @Override
+    public AccountSnapshot getAccount(String accountId) {
+        return AccountSnapshot.of(service.getAccount(accountId), shard);
+    }
+
+    @Override
+    public void prepareDebit(long transferId, String accountId, long amount) {
+        register(transferId, new PreparedLeg(accountId, amount, true));
+        try {
+            service.withdrawCents(accountId, amount);
+        } catch (RuntimeException e) {
+            prepared.remove(transferId);
+            throw e;
+        }
+    }
+
+    @Override
+    public void prepareCredit(long transferId, String accountId, long amount) {
+        Account account = service.getAccount(accountId);
+        PostingOutcome outcome = account.checkDeposit(amount);
+        if (outcome != PostingOutcome.OK) {
+            throw new InvalidTransactionException(account.depositRejection(outcome));
+        }
+        register(transferId, new PreparedLeg(accountId, amount, false));
+    }
+
+    @Override
+    public void commit(long transferId) {
+        PreparedLeg leg = prepared.remove(transferId);
+        if (leg != null && !leg.debit) {
+            service.depositCents(leg.accountId, leg.amount);
+        }
+    }
+
+    @Override
+    public void abort(long transferId) {
+        PreparedLeg leg = prepared.remove(transferId);
+        if (leg != null && leg.debit) {
+            service.depositCents(leg.accountId, leg.amount);
+        }
+    }
+
+    private void register(long transferId, PreparedLeg leg) {
+        if (prepared.putIfAbsent(transferId, leg) != null) {
+            throw new InvalidTransactionException("Transfer already prepared on shard " + shard + ": " + transferId);
+        }
+    }
+
+    private record PreparedLeg(String accountId, long amount, boolean debit) {
+    }
+}
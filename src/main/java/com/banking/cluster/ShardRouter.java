@@ -0,0 +1,28 @@
+package com.banking.cluster;
+
+// Hash-partitions account ids across a fixed number of shards. The hash is re-mixed so ids
+// that differ only in their last characters still spread evenly.
+public class ShardRouter {
+    private final int shardCount;
+
+    public ShardRouter(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int shardFor(String accountId) {
+        int h = accountId.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, shardCount);
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+}
@@ -0,0 +1,7 @@
+package com.banking.cluster;
+
+// Pluggable way of reaching shard nodes, by shard index.
+public interface ShardTransport {
+    int shardCount();
+    ShardEndpoint endpoint(int shard);
+}
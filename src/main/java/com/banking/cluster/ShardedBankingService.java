@@ -0,0 +1,119 @@
+package com.banking.cluster;
+
+import com.banking.exception.InvalidTransactionException;
+import com.banking.factory.AccountType;
+import com.banking.model.Money;
+import com.banking.model.SnowflakeIdGenerator;
+import com.banking.model.TransactionIdGenerator;
+
+// Client-side coordinator for a bank partitioned across shards. Single-account operations and
+// transfers within one shard are routed to the owning shard; transfers across shards run a
+// two-phase protocol: prepare the debit, prepare the credit, then commit both. If either
+// prepare fails, both shards abort and the original exception is rethrown.
+//
+// A prepared credit is only validated, so applying it on commit can still be refused (a loan
+// paid down meanwhile would be overpaid). The credit is therefore committed first, and if it
+// fails the source aborts, returning the escrowed debit, before the failure is rethrown.
+public class ShardedBankingService {
+    private final ShardTransport transport;
+    private final ShardRouter router;
+    private final TransactionIdGenerator transferIds;
+
+    public ShardedBankingService(ShardTransport transport) {
+        this(transport, SnowflakeIdGenerator.getDefault());
+    }
+
+    public ShardedBankingService(ShardTransport transport, TransactionIdGenerator transferIds) {
+        this.transport = transport;
+        this.router = new ShardRouter(transport.shardCount());
+        this.transferIds = transferIds;
+    }
+
+    public AccountSnapshot createAccount(AccountType type, String accountId, String holderName, double initialAmount) {
+        return endpointFor(accountId).createAccount(type, accountId, holderName, Money.toCents(initialAmount));
+    }
+
+    public void deposit(String accountId, double amount) {
+        depositCents(accountId, cents(amount));
+    }
+
+    public void withdraw(String accountId, double amount) {
+        withdrawCents(accountId, cents(amount));
+    }
+
+    public void transfer(String fromAccountId, String toAccountId, double amount) {
+        transferCents(fromAccountId, toAccountId, cents(amount));
+    }
+
+    // As in BankingService, an amount that has no cents value is an invalid transaction.
+    private static long cents(double amount) {
+        try {
+            return Money.toCents(amount);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTransactionException(e.getMessage());
+        }
+    }
+
+    public void depositCents(String accountId, long amount) {
+        endpointFor(accountId).deposit(accountId, amount);
+    }
+
+    public void withdrawCents(String accountId, long amount) {
+        endpointFor(accountId).withdraw(accountId, amount);
+    }
+
+    public void transferCents(String fromAccountId, String toAccountId, long amount) {
+        if (fromAccountId.equals(toAccountId)) {
+            throw new InvalidTransactionException("Cannot transfer to the same account");
+        }
+        int fromShard = router.shardFor(fromAccountId);
+        int toShard = router.shardFor(toAccountId);
+        ShardEndpoint source = transport.endpoint(fromShard);
+        if (fromShard == toShard) {
+            source.transferLocal(fromAccountId, toAccountId, amount);
+            return;
+        }
+        ShardEndpoint target = transport.endpoint(toShard);
+        long transferId = transferIds.nextId();
+        try {
+            source.prepareDebit(transferId, fromAccountId, amount);
+            target.prepareCredit(transferId, toAccountId, amount);
+        } catch (RuntimeException e) {
+            // Each abort runs even if the other fails, so the escrowed debit is always released.
+            try {
+                target.abort(transferId);
+            } catch (RuntimeException abortFailure) {
+                e.addSuppressed(abortFailure);
+            }
+            try {
+                source.abort(transferId);
+            } catch (RuntimeException abortFailure) {
+                e.addSuppressed(abortFailure);
+            }
+            throw e;
+        }
+        try {
+            target.commit(transferId);
+        } catch (RuntimeException e) {
+            try {
+                source.abort(transferId);
+            } catch (RuntimeException abortFailure) {
+                e.addSuppressed(abortFailure);
+            }
+            throw e;
+        }
+        source.commit(transferId);
+    }
+
+    public AccountSnapshot getAccount(String accountId) {
+        return endpointFor(accountId).getAccount(accountId);
+    }
+
+    public int shardFor(String accountId) {
+        return router.shardFor(accountId);
+    }
+
+    private ShardEndpoint endpointFor(String accountId) {
+        return transport.endpoint(router.shardFor(accountId));
+    }
+}
@@ -1,8 +1,25 @@
 package com.banking.factory;
 
+import com.banking.model.Account;
+import com.banking.model.CurrentAccount;
+import com.banking.model.LoanAccount;
+import com.banking.model.SavingsAccount;
+
 public enum AccountType {
     SAVINGS,
     CURRENT,
-    LOAN
-}
+    LOAN;
 
+    public static AccountType of(Account account) {
+        if (account instanceof SavingsAccount) {
+            return SAVINGS;
+        }
+        if (account instanceof CurrentAccount) {
+            return CURRENT;
+        }
+        if (account instanceof LoanAccount) {
+            return LOAN;
+        }
+        throw new IllegalArgumentException("Unknown account type: " + account.getClass().getName());
+    }
+}
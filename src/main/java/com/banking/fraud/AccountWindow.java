@@ -0,0 +1,93 @@
+package com.banking.fraud;
+
+import java.util.Arrays;
+
+// Sliding-window state for one account, owned by the FraudEngine worker thread. Everything is
+// a fixed-size primitive ring, so an account costs the same memory however busy it is.
+final class AccountWindow {
+    long lastSeen;
+
+    // Times of the last N withdrawals; the slot about to be overwritten is the oldest.
+    private final long[] withdrawals;
+    private long withdrawalCount;
+
+    // Outflow summed into time buckets; a bucket is reused once its epoch falls out of the window.
+    private final long[] bucketEpochs;
+    private final long[] bucketSums;
+
+    // Hashes of recent transfer counterparties, and the times transfers went to new ones.
+    private final int[] counterparties;
+    private int counterpartyCount;
+    private final long[] newCounterparties;
+    private long newCounterpartyCount;
+
+    private final long[] lastAlert = new long[FraudRule.values().length];
+
+    AccountWindow(int withdrawalLimit, int buckets, int knownCounterparties, int newCounterpartyLimit) {
+        this.withdrawals = new long[withdrawalLimit];
+        this.bucketEpochs = new long[buckets];
+        this.bucketSums = new long[buckets];
+        this.counterparties = new int[knownCounterparties];
+        this.newCounterparties = new long[newCounterpartyLimit];
+        Arrays.fill(bucketEpochs, -1);
+        Arrays.fill(lastAlert, Long.MIN_VALUE / 2);
+    }
+
+    // True when this withdrawal completes a full ring of withdrawals inside the window.
+    boolean addWithdrawal(long time, long window) {
+        return addTo(withdrawals, withdrawalCount++, time, window);
+    }
+
+    // Adds the outflow and returns the total still inside the window.
+    long addOutflow(long time, long amount, long bucketWidth) {
+        long epoch = time / bucketWidth;
+        int slot = (int) (epoch % bucketSums.length);
+        if (bucketEpochs[slot] != epoch) {
+            bucketEpochs[slot] = epoch;
+            bucketSums[slot] = 0;
+        }
+        bucketSums[slot] += amount;
+        long oldest = epoch - bucketSums.length;
+        long total = 0;
+        for (int i = 0; i < bucketSums.length; i++) {
+            if (bucketEpochs[i] > oldest) {
+                total += bucketSums[i];
+            }
+        }
+        return total;
+    }
+
+    // True when a transfer to a counterparty not seen recently completes a full ring of such
+    // transfers inside the window.
+    boolean addTransfer(int counterparty, long time, long window) {
+        int known = Math.min(counterpartyCount, counterparties.length);
+        for (int i = 0; i < known; i++) {
+            if (counterparties[i] == counterparty) {
+                return false;
+            }
+        }
+        counterparties[counterpartyCount++ % counterparties.length] = counterparty;
+        if (counterpartyCount == 2 * counterparties.length) {
+            counterpartyCount = counterparties.length;
+        }
+        return addTo(newCounterparties, newCounterpartyCount++, time, window);
+    }
+
+    // Rate-limits a rule to one alert per cooldown.
+    boolean shouldAlert(FraudRule rule, long time, long cooldown) {
+        if (time - lastAlert[rule.ordinal()] < cooldown) {
+            return false;
+        }
+        lastAlert[rule.ordinal()] = time;
+        return true;
+    }
+
+    private static boolean addTo(long[] ring, long count, long time, long window) {
+        ring[(int) (count % ring.length)] = time;
+        if (count + 1 < ring.length) {
+            return false;
+        }
+        long oldest = ring[(int) ((count + 1) % ring.length)];
+        return time - oldest < window;
+    }
+}
@@ -0,0 +1,36 @@
+package com.banking.fraud;
+
+import com.banking.model.Money;
+
+public class FraudAlert {
+    private final String accountId;
+    private final FraudRule rule;
+    private final long epochMillis;
+    // Whatever the rule measured: postings for the count rules, cents for the amount rules.
+    private final long observed;
+    private final long limit;
+
+    FraudAlert(String accountId, FraudRule rule, long epochMillis, long observed, long limit) {
+        this.accountId = accountId;
+        this.rule = rule;
+        this.epochMillis = epochMillis;
+        this.observed = observed;
+        this.limit = limit;
+    }
+
+    public String getAccountId() { return accountId; }
+    public FraudRule getRule() { return rule; }
+    public long getEpochMillis() { return epochMillis; }
+    public long getObserved() { return observed; }
+    public long getLimit() { return limit; }
+
+    @Override
+    public String toString() {
+        return switch (rule) {
+            case LARGE_TRANSACTION, OUTFLOW_LIMIT -> String.format("[FRAUD ALERT] %s on account %s: $%.2f (limit $%.2f)",
+                    rule.getDisplayName(), accountId, Money.toAmount(observed), Money.toAmount(limit));
+            default -> String.format("[FRAUD ALERT] %s on account %s: %d (limit %d)",
+                    rule.getDisplayName(), accountId, observed, limit);
+        };
+    }
+}
@@ -0,0 +1,7 @@
+package com.banking.fraud;
+
+// Called on the engine's worker thread, never on a posting thread.
+@FunctionalInterface
+public interface FraudAlertListener {
+    void onAlert(FraudAlert alert);
+}
@@ -0,0 +1,488 @@
+package com.banking.fraud;
+
+import com.banking.model.Account;
+import com.banking.model.Transaction;
+import com.banking.model.TransactionType;
+import com.banking.observer.TransactionObserver;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Streaming fraud checks over sliding windows per account: too many withdrawals in a window,
+// too much outflow in a window (summed in time buckets), and bursts of transfers to
+// counterparties the account has not paid recently. It sees both legs of a transfer through
+// onTransfer, whether registered with BankingService.addObserver or behind an
+// AsyncObserverDispatcher, though its own rings already keep the posting path short.
+//
+// The posting thread only copies a few fields into a bounded ring; a single worker thread owns
+// all window state and runs the rules. The worker polls the rings every millisecond and posting
+// threads only wake it when a ring is half full, so a posting never pays for an unpark or a
+// clock read: events are stamped when the worker picks them up, which is accurate to the
+// polling interval plus any backlog. Rings are striped by account
+// so concurrent postings rarely share a lock, and each account's events keep their order.
+// When a ring is full the event is dropped and counted rather than slowing the posting down.
+// Window state is evicted once an account has been idle for the idle timeout, and the least
+// recently active account is evicted when maxAccounts is reached, so memory stays bounded.
+public class FraudEngine implements TransactionObserver, AutoCloseable {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final byte DEPOSIT = 0;
+    private static final byte WITHDRAWAL = 1;
+    private static final byte TRANSFER = 2;
+
+    private final FraudAlertListener listener;
+    private final LongSupplier clock;
+    private final long largeTransactionCents;
+    private final int withdrawalLimit;
+    private final long withdrawalWindow;
+    private final long outflowLimitCents;
+    private final long outflowWindow;
+    private final int outflowBuckets;
+    private final long bucketWidth;
+    private final int newCounterpartyLimit;
+    private final long newCounterpartyWindow;
+    private final int knownCounterparties;
+    private final long idleTimeout;
+    private final int maxAccounts;
+    private final int batchSize;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private volatile boolean parked;
+
+    // Owned by the worker thread; access order makes the head the least recently active account.
+    private final Map<String, AccountWindow> windows;
+    private long nextSweep;
+    private volatile long processed;
+    private volatile long alerts;
+    private volatile long evicted;
+    private volatile long listenerFailures;
+    private volatile int trackedAccounts;
+
+    private FraudEngine(Builder builder) {
+        this.listener = builder.listener;
+        this.clock = builder.clock;
+        this.largeTransactionCents = builder.largeTransactionCents;
+        this.withdrawalLimit = builder.withdrawalLimit;
+        this.withdrawalWindow = builder.withdrawalWindow.toMillis();
+        this.outflowLimitCents = builder.outflowLimitCents;
+        this.outflowWindow = builder.outflowWindow.toMillis();
+        this.outflowBuckets = builder.outflowBuckets;
+        this.bucketWidth = Math.max(1, outflowWindow / outflowBuckets);
+        this.newCounterpartyLimit = builder.newCounterpartyLimit;
+        this.newCounterpartyWindow = builder.newCounterpartyWindow.toMillis();
+        this.knownCounterparties = builder.knownCounterparties;
+        this.idleTimeout = builder.idleTimeout.toMillis();
+        this.maxAccounts = builder.maxAccounts;
+        this.batchSize = builder.batchSize;
+        this.stripes = new Stripe[builder.stripes];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(builder.ringSize);
+        }
+        this.stripeMask = stripes.length - 1;
+        this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AccountWindow> eldest) {
+                if (size() <= maxAccounts) {
+                    return false;
+                }
+                evicted++;
+                return true;
+            }
+        };
+        this.worker = new Thread(this::run, "fraud-engine");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void onTransaction(Account account, Transaction transaction) {
+        byte kind = kindOf(transaction.getType());
+        if (kind < 0) {
+            return;
+        }
+        Stripe stripe = stripeFor(account.getAccountId());
+        boolean backlog;
+        stripe.lock.lock();
+        try {
+            backlog = stripe.publish(account.getAccountId(), kind, transaction.getAmountCents(), null);
+        } finally {
+            stripe.lock.unlock();
+        }
+        wakeIf(backlog);
+    }
+
+    // A batch is for one account, so it goes to one stripe under one lock acquisition.
+    @Override
+    public void onTransactions(Account account, List<Transaction> transactions) {
+        Stripe stripe = stripeFor(account.getAccountId());
+        boolean backlog = false;
+        stripe.lock.lock();
+        try {
+            for (Transaction transaction : transactions) {
+                byte kind = kindOf(transaction.getType());
+                if (kind >= 0) {
+                    backlog |= stripe.publish(account.getAccountId(), kind, transaction.getAmountCents(), null);
+                }
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        wakeIf(backlog);
+    }
+
+    // Only the debit leg matters to the rules; the credit is an ordinary deposit to the payee.
+    @Override
+    public void onTransfer(Account from, Transaction debit, Account to, Transaction credit) {
+        boolean backlog;
+        Stripe stripe = stripeFor(from.getAccountId());
+        stripe.lock.lock();
+        try {
+            backlog = stripe.publish(from.getAccountId(), TRANSFER, debit.getAmountCents(), to.getAccountId());
+        } finally {
+            stripe.lock.unlock();
+        }
+        stripe = stripeFor(to.getAccountId());
+        stripe.lock.lock();
+        try {
+            backlog |= stripe.publish(to.getAccountId(), DEPOSIT, credit.getAmountCents(), null);
+        } finally {
+            stripe.lock.unlock();
+        }
+        wakeIf(backlog);
+    }
+
+    // Events handed to the rules so far.
+    public long getProcessed() {
+        return processed;
+    }
+
+    // Events lost because their stripe's ring was full.
+    public long getDropped() {
+        long dropped = 0;
+        for (Stripe stripe : stripes) {
+            dropped += stripe.dropped;
+        }
+        return dropped;
+    }
+
+    public long getAlerts() {
+        return alerts;
+    }
+
+    public long getEvicted() {
+        return evicted;
+    }
+
+    public long getListenerFailures() {
+        return listenerFailures;
+    }
+
+    public int getTrackedAccounts() {
+        return trackedAccounts;
+    }
+
+    // Waits until every accepted event has been run through the rules. Returns false on timeout.
+    public boolean awaitIdle(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Stripe stripe : stripes) {
+            while (stripe.head.get() != stripe.tail.get()) {
+                if (System.nanoTime() >= deadline) {
+                    return false;
+                }
+                LockSupport.unpark(worker);
+                LockSupport.parkNanos(IDLE_PARK_NANOS / 20);
+            }
+        }
+        return true;
+    }
+
+    // Stops the worker once everything already accepted has been processed.
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte kindOf(TransactionType type) {
+        return switch (type) {
+            case DEPOSIT -> DEPOSIT;
+            case WITHDRAWAL -> WITHDRAWAL;
+            default -> -1;
+        };
+    }
+
+    private Stripe stripeFor(String accountId) {
+        int hash = accountId.hashCode() * 0x9E3779B9;
+        return stripes[(hash ^ hash >>> 16) & stripeMask];
+    }
+
+    private void wakeIf(boolean backlog) {
+        if (backlog && parked) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void run() {
+        while (true) {
+            int drained = 0;
+            for (Stripe stripe : stripes) {
+                drained += drain(stripe);
+            }
+            long now = clock.getAsLong();
+            if (now >= nextSweep) {
+                evictIdle(now);
+                nextSweep = now + Math.max(1, idleTimeout / 4);
+            }
+            if (drained > 0) {
+                continue;
+            }
+            if (!running && isEmpty()) {
+                return;
+            }
+            parked = true;
+            if (running && isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            parked = false;
+        }
+    }
+
+    private boolean isEmpty() {
+        for (Stripe stripe : stripes) {
+            if (stripe.head.get() != stripe.tail.get()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The clock is read after the tail, so every event drained here is stamped no earlier than
+    // it was posted.
+    private int drain(Stripe stripe) {
+        long position = stripe.head.get();
+        long available = stripe.tail.get();
+        if (position == available) {
+            return 0;
+        }
+        long now = clock.getAsLong();
+        int count = 0;
+        while (position < available && count < batchSize) {
+            int slot = (int) position & stripe.mask;
+            evaluate(stripe.accounts[slot], stripe.kinds[slot], stripe.amounts[slot],
+                    stripe.counterparties[slot], now);
+            stripe.accounts[slot] = null;
+            stripe.counterparties[slot] = null;
+            position++;
+            count++;
+        }
+        if (count > 0) {
+            stripe.head.lazySet(position);
+            processed += count;
+            trackedAccounts = windows.size();
+        }
+        return count;
+    }
+
+    private void evaluate(String accountId, byte kind, long amount, String counterparty, long time) {
+        AccountWindow window = windows.get(accountId);
+        if (window == null) {
+            window = new AccountWindow(withdrawalLimit, outflowBuckets, knownCounterparties, newCounterpartyLimit);
+            windows.put(accountId, window);
+        }
+        window.lastSeen = time;
+
+        if (amount > largeTransactionCents) {
+            alert(window, accountId, FraudRule.LARGE_TRANSACTION, time, 0, amount, largeTransactionCents);
+        }
+        if (kind == DEPOSIT) {
+            return;
+        }
+        if (kind == WITHDRAWAL && window.addWithdrawal(time, withdrawalWindow)) {
+            alert(window, accountId, FraudRule.WITHDRAWAL_VELOCITY, time, withdrawalWindow,
+                    withdrawalLimit, withdrawalLimit);
+        }
+        long outflow = window.addOutflow(time, amount, bucketWidth);
+        if (outflow > outflowLimitCents) {
+            alert(window, accountId, FraudRule.OUTFLOW_LIMIT, time, outflowWindow, outflow, outflowLimitCents);
+        }
+        if (kind == TRANSFER && window.addTransfer(counterparty.hashCode(), time, newCounterpartyWindow)) {
+            alert(window, accountId, FraudRule.NEW_COUNTERPARTY_BURST, time, newCounterpartyWindow,
+                    newCounterpartyLimit, newCounterpartyLimit);
+        }
+    }
+
+    private void alert(AccountWindow window, String accountId, FraudRule rule, long time, long cooldown,
+                       long observed, long limit) {
+        if (!window.shouldAlert(rule, time, cooldown)) {
+            return;
+        }
+        alerts++;
+        try {
+            listener.onAlert(new FraudAlert(accountId, rule, time, observed, limit));
+        } catch (RuntimeException e) {
+            listenerFailures++;
+        }
+    }
+
+    // Accounts are kept in access order, so idle ones are all at the head of the map.
+    private void evictIdle(long now) {
+        Iterator<AccountWindow> iterator = windows.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().lastSeen < idleTimeout) {
+                break;
+            }
+            iterator.remove();
+            evicted++;
+        }
+        trackedAccounts = windows.size();
+    }
+
+    // Bounded ring of pending events. Written by posting threads under the lock, read by the
+    // worker, which publishes its progress through head. Ordered writes are enough for both
+    // positions: each has a single writer at a time.
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final int mask;
+        final String[] accounts;
+        final String[] counterparties;
+        final byte[] kinds;
+        final long[] amounts;
+        final AtomicLong tail = new AtomicLong();
+        final AtomicLong head = new AtomicLong();
+        volatile long dropped;
+
+        Stripe(int ringSize) {
+            this.mask = ringSize - 1;
+            this.accounts = new String[ringSize];
+            this.counterparties = new String[ringSize];
+            this.kinds = new byte[ringSize];
+            this.amounts = new long[ringSize];
+        }
+
+        // Called with the lock held. Returns true once the ring is at least half full.
+        boolean publish(String accountId, byte kind, long amount, String counterparty) {
+            long position = tail.get();
+            long pending = position - head.get();
+            if (pending > mask) {
+                dropped++;
+                return true;
+            }
+            int slot = (int) position & mask;
+            accounts[slot] = accountId;
+            counterparties[slot] = counterparty;
+            kinds[slot] = kind;
+            amounts[slot] = amount;
+            tail.lazySet(position + 1);
+            return pending >= (mask + 1) / 2;
+        }
+    }
+
+    public static class Builder {
+        private final FraudAlertListener listener;
+        private LongSupplier clock = System::currentTimeMillis;
+        private long largeTransactionCents = 1_000_000;
+        private int withdrawalLimit = 5;
+        private Duration withdrawalWindow = Duration.ofMinutes(1);
+        private long outflowLimitCents = 2_000_000;
+        private Duration outflowWindow = Duration.ofHours(1);
+        private int outflowBuckets = 12;
+        private int newCounterpartyLimit = 3;
+        private Duration newCounterpartyWindow = Duration.ofMinutes(10);
+        private int knownCounterparties = 32;
+        private Duration idleTimeout = Duration.ofHours(1);
+        private int maxAccounts = 100_000;
+        private int stripes = 8;
+        private int ringSize = 4096;
+        private int batchSize = 256;
+
+        public Builder(FraudAlertListener listener) {
+            this.listener = listener;
+        }
+
+        // Milliseconds since the epoch, read by the worker thread.
+        public Builder clock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public Builder largeTransaction(long cents) {
+            this.largeTransactionCents = positive(cents, "Large transaction threshold");
+            return this;
+        }
+
+        // Alerts when `count` withdrawals land within `window`.
+        public Builder withdrawalVelocity(int count, Duration window) {
+            this.withdrawalLimit = (int) positive(count, "Withdrawal count");
+            this.withdrawalWindow = window;
+            return this;
+        }
+
+        // Alerts when withdrawals and outgoing transfers within `window` exceed `cents`. The
+        // window slides in steps of window / buckets.
+        public Builder outflowLimit(long cents, Duration window, int buckets) {
+            this.outflowLimitCents = positive(cents, "Outflow limit");
+            this.outflowWindow = window;
+            this.outflowBuckets = (int) positive(buckets, "Bucket count");
+            return this;
+        }
+
+        // Alerts when `count` transfers within `window` go to counterparties outside the last
+        // `knownCounterparties` the account has paid.
+        public Builder newCounterpartyBurst(int count, Duration window, int knownCounterparties) {
+            this.newCounterpartyLimit = (int) positive(count, "New counterparty count");
+            this.newCounterpartyWindow = window;
+            this.knownCounterparties = (int) positive(knownCounterparties, "Known counterparties");
+            return this;
+        }
+
+        public Builder idleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        public Builder maxAccounts(int maxAccounts) {
+            this.maxAccounts = (int) positive(maxAccounts, "Max accounts");
+            return this;
+        }
+
+        // Both rounded up to a power of two.
+        public Builder stripes(int stripes) {
+            this.stripes = Integer.highestOneBit((int) positive(stripes, "Stripe count") * 2 - 1);
+            return this;
+        }
+
+        public Builder ringSize(int ringSize) {
+            if (ringSize < 2) {
+                throw new IllegalArgumentException("Ring size must be at least 2");
+            }
+            this.ringSize = Integer.highestOneBit(ringSize - 1) << 1;
+            return this;
+        }
+
+        public FraudEngine build() {
+            return new FraudEngine(this);
+        }
+
+        private static long positive(long value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.banking.fraud;
+
+public enum FraudRule {
+    LARGE_TRANSACTION("Large transaction"),
+    WITHDRAWAL_VELOCITY("Withdrawal velocity"),
+    OUTFLOW_LIMIT("Outflow limit"),
+    NEW_COUNTERPARTY_BURST("New counterparty burst");
+
+    private final String displayName;
+
+    FraudRule(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,85 @@
+package com.banking.journal;
+
+import com.banking.repository.AccountRepository;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Periodically snapshots the repository and truncates the journal behind the snapshot, so
+// startup only replays the events written since the last checkpoint. Writers keep running
+// during a checkpoint: each account is only locked while its own state is copied.
+public class Checkpointer implements AutoCloseable {
+    private final MappedJournal journal;
+    private final AccountRepository repository;
+    private ScheduledExecutorService scheduler;
+    // Written only by the scheduler thread.
+    private volatile long failures;
+    private volatile RuntimeException lastFailure;
+
+    public Checkpointer(MappedJournal journal, AccountRepository repository) {
+        this.journal = journal;
+        this.repository = repository;
+    }
+
+    // Rolls the journal, snapshots every account and then drops the segments and snapshots
+    // the new snapshot covers. Returns the cut sequence recovery will replay from.
+    public synchronized long checkpoint() {
+        long cutSequence = journal.roll();
+        SnapshotStore.write(journal.getDirectory(), cutSequence, repository);
+        SnapshotStore.deleteBefore(journal.getDirectory(), cutSequence);
+        journal.deleteSegmentsBefore(cutSequence);
+        return cutSequence;
+    }
+
+    public synchronized void start(Duration interval) {
+        if (scheduler != null) {
+            throw new IllegalStateException("Checkpointer already started");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "journal-checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkpointQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    // Scheduled checkpoints that failed, and the most recent failure (null if none has).
+    public long getFailures() {
+        return failures;
+    }
+
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    @Override
+    public void close() {
+        ScheduledExecutorService toStop;
+        synchronized (this) {
+            toStop = scheduler;
+            scheduler = null;
+        }
+        if (toStop != null) {
+            toStop.shutdown();
+            try {
+                toStop.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            // A failed checkpoint only leaves a longer journal; the next run retries. Letting the
+            // exception escape would cancel every later run.
+            lastFailure = e;
+            failures++;
+        }
+    }
+}
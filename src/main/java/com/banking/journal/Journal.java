@@ -0,0 +1,24 @@
+package com.banking.journal;
+
+import com.banking.factory.AccountType;
+
+import java.time.LocalDate;
+
+public interface Journal extends AutoCloseable {
+    long appendCreateAccount(AccountType type, String accountId, String holderName, long initialAmount);
+
+    // Postings carry the id and time of the transaction they record, so replay rebuilds the
+    // same history rather than new ids stamped with the replay time.
+    long appendDeposit(String accountId, long amount, long transactionId, long epochNanos);
+    long appendWithdrawal(String accountId, long amount, long transactionId, long epochNanos);
+    long appendTransfer(String fromAccountId, String toAccountId, long amount, long debitId, long creditId,
+                        long epochNanos);
+    long appendInterest(String accountId, long amount, long transactionId, long epochNanos);
+    long appendAccrual(String accountId, long amount, LocalDate accrualDate, long transactionId, long epochNanos);
+
+    // Blocks until the event with the given sequence is durable, if the journal commits synchronously.
+    void sync(long sequence);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,11 @@
+package com.banking.journal;
+
+public enum JournalEventType {
+    CREATE_ACCOUNT,
+    DEPOSIT,
+    WITHDRAWAL,
+    TRANSFER,
+    INTEREST,
+    // Interest posted by the end-of-day accrual job; also carries the accrual date.
+    ACCRUAL
+}
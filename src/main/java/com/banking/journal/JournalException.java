@@ -0,0 +1,12 @@
+package com.banking.journal;
+
+public class JournalException extends RuntimeException {
+
+    public JournalException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public JournalException(String message) {
+        super(message);
+    }
+}
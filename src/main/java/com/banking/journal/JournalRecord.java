@@ -0,0 +1,93 @@
+package com.banking.journal;
+
+import com.banking.factory.AccountType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+// On-disk layout of one event: | int payloadLength | int crc32(payload) | payload |, where the
+// payload is | long sequence | byte type | long amount | string accountId | type-specific... |
+// (TRANSFER: string otherAccountId; CREATE_ACCOUNT: byte accountType, string holderName;
+// ACCRUAL: long accrualEpochDay), then for every posting | long transactionId |
+// (TRANSFER: long creditTransactionId) | long epochNanos |,
+// and strings are | short byteLength | UTF-8 bytes |. A zero length marks the end of the data.
+final class JournalRecord {
+    static final int HEADER_BYTES = 8;
+    static final JournalEventType[] TYPES = JournalEventType.values();
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+
+    long sequence;
+    JournalEventType type;
+    long amount;
+    String accountId;
+    String otherAccountId;
+    AccountType accountType;
+    String holderName;
+    long accrualEpochDay;
+    // Transaction id of the posting (the debit, for a transfer), the credit leg's id and the
+    // posting time; zero for CREATE_ACCOUNT.
+    long transactionId;
+    long otherTransactionId;
+    long epochNanos;
+
+    // Decodes the record at the buffer's position and advances past it. Returns false, leaving
+    // the position unchanged, at the end of the written data or at a torn or corrupt record.
+    boolean read(ByteBuffer buffer, CRC32 crc) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_BYTES) {
+            return false;
+        }
+        int length = buffer.getInt(start);
+        int checksum = buffer.getInt(start + 4);
+        if (length <= 0 || length > buffer.remaining() - HEADER_BYTES) {
+            return false;
+        }
+        crc.reset();
+        crc.update(buffer.slice(start + HEADER_BYTES, length));
+        if ((int) crc.getValue() != checksum) {
+            return false;
+        }
+
+        buffer.position(start + HEADER_BYTES);
+        sequence = buffer.getLong();
+        type = TYPES[buffer.get()];
+        amount = buffer.getLong();
+        accountId = getString(buffer);
+        otherAccountId = type == JournalEventType.TRANSFER ? getString(buffer) : null;
+        if (type == JournalEventType.CREATE_ACCOUNT) {
+            accountType = ACCOUNT_TYPES[buffer.get()];
+            holderName = getString(buffer);
+        } else {
+            accountType = null;
+            holderName = null;
+        }
+        accrualEpochDay = type == JournalEventType.ACCRUAL ? buffer.getLong() : 0;
+        if (type == JournalEventType.CREATE_ACCOUNT) {
+            transactionId = 0;
+            otherTransactionId = 0;
+            epochNanos = 0;
+        } else {
+            transactionId = buffer.getLong();
+            otherTransactionId = type == JournalEventType.TRANSFER ? buffer.getLong() : 0;
+            epochNanos = buffer.getLong();
+        }
+        buffer.position(start + HEADER_BYTES + length);
+        return true;
+    }
+
+    static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new JournalException("String too long for journal: " + bytes.length + " bytes");
+        }
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
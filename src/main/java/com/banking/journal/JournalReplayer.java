@@ -0,0 +1,140 @@
+package com.banking.journal;
+
+import com.banking.factory.AccountFactory;
+import com.banking.model.Account;
+import com.banking.model.Money;
+import com.banking.repository.AccountRepository;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.zip.CRC32;
+
+// Rebuilds repository state by re-applying journaled events in sequence order. Events are
+// applied straight to the accounts, so observers are not notified and nothing is re-journaled;
+// each posting is recorded with its journaled transaction id and time.
+// A leg is skipped when its account already reflects the event (its journal sequence is at or
+// past it), which makes replaying a journal tail over a fuzzy snapshot exact.
+public class JournalReplayer {
+    private final AccountRepository repository;
+
+    public JournalReplayer(AccountRepository repository) {
+        this.repository = repository;
+    }
+
+    public ReplayResult replay(Path directory) {
+        return replay(directory, 0);
+    }
+
+    // Loads the newest snapshot, if any, and replays the journal tail written after it.
+    public ReplayResult recover(Path directory) {
+        long start = System.nanoTime();
+        long cutSequence = SnapshotStore.loadLatest(directory, repository);
+        int snapshotAccounts = (int) repository.count();
+        ReplayResult tail = replay(directory, cutSequence);
+        return new ReplayResult(tail.getEvents(), Math.max(tail.getLastSequence(), cutSequence - 1),
+                System.nanoTime() - start, cutSequence, snapshotAccounts);
+    }
+
+    public ReplayResult replay(Path directory, long fromSequence) {
+        long start = System.nanoTime();
+        JournalRecord record = new JournalRecord();
+        CRC32 crc = new CRC32();
+        long events = 0;
+        long lastSequence = 0;
+        try {
+            for (Path segment : MappedJournal.listSegments(directory)) {
+                try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    while (record.read(buffer, crc)) {
+                        if (record.sequence < fromSequence) {
+                            continue;
+                        }
+                        if (lastSequence != 0 && record.sequence != lastSequence + 1) {
+                            throw new JournalException("Journal gap after sequence " + lastSequence
+                                    + " in " + segment.getFileName());
+                        }
+                        apply(record);
+                        lastSequence = record.sequence;
+                        events++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new JournalException("Cannot read journal in " + directory, e);
+        }
+        return new ReplayResult(events, lastSequence, System.nanoTime() - start);
+    }
+
+    private void apply(JournalRecord record) {
+        switch (record.type) {
+            case CREATE_ACCOUNT -> {
+                if (!repository.exists(record.accountId)) {
+                    Account account = AccountFactory.createAccount(record.accountType,
+                            record.accountId, record.holderName, Money.toAmount(record.amount));
+                    account.setJournalSequence(record.sequence);
+                    repository.save(account);
+                }
+            }
+            case DEPOSIT -> {
+                Account account = pending(record.accountId, record.sequence);
+                if (account != null) {
+                    account.stampNextPosting(record.transactionId, record.epochNanos);
+                    account.depositCents(record.amount);
+                }
+            }
+            case WITHDRAWAL -> {
+                Account account = pending(record.accountId, record.sequence);
+                if (account != null) {
+                    account.stampNextPosting(record.transactionId, record.epochNanos);
+                    account.withdrawCents(record.amount);
+                }
+            }
+            case TRANSFER -> {
+                Account from = pending(record.accountId, record.sequence);
+                if (from != null) {
+                    from.stampNextPosting(record.transactionId, record.epochNanos);
+                    from.withdrawCents(record.amount);
+                }
+                Account to = pending(record.otherAccountId, record.sequence);
+                if (to != null) {
+                    to.stampNextPosting(record.otherTransactionId, record.epochNanos);
+                    to.depositCents(record.amount);
+                }
+            }
+            case INTEREST -> {
+                Account account = pending(record.accountId, record.sequence);
+                if (account != null) {
+                    account.stampNextPosting(record.transactionId, record.epochNanos);
+                    account.postInterest(record.amount);
+                }
+            }
+            case ACCRUAL -> {
+                Account account = pending(record.accountId, record.sequence);
+                if (account != null) {
+                    account.stampNextPosting(record.transactionId, record.epochNanos);
+                    account.postInterest(record.amount);
+                    account.setLastAccrualDate(LocalDate.ofEpochDay(record.accrualEpochDay));
+                }
+            }
+        }
+    }
+
+    // Returns the account if the event still has to be applied to it, marking it applied.
+    private Account pending(String accountId, long sequence) {
+        Account account = find(accountId);
+        if (account.getJournalSequence() >= sequence) {
+            return null;
+        }
+        account.setJournalSequence(sequence);
+        return account;
+    }
+
+    private Account find(String accountId) {
+        return repository.findById(accountId)
+                .orElseThrow(() -> new JournalException("Journal references unknown account " + accountId));
+    }
+}
@@ -0,0 +1,419 @@
+package com.banking.journal;
+
+import com.banking.factory.AccountType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Append-only journal written through memory-mapped segment files named by the sequence of
+// their first event. Appends only copy bytes into the mapping; a background flusher forces
+// the mapping to disk, so concurrent writers that call sync() share one fsync (group commit).
+public class MappedJournal implements Journal {
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int MAX_RECORD_BYTES = 2 * (2 + Short.MAX_VALUE) + 56;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean syncOnCommit;
+    private final long flushIntervalMillis;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final byte[] scratchBytes = new byte[MAX_RECORD_BYTES];
+    private final ByteBuffer scratch = ByteBuffer.wrap(scratchBytes);
+    private final CRC32 crc = new CRC32();
+    private Segment current;
+    private long nextSequence;
+    private long writtenSequence;
+
+    private final Object commitMonitor = new Object();
+    private long requestedSequence;
+    private long durableSequence;
+    private volatile boolean running = true;
+    private final Thread flusher;
+    // Why the flusher stopped, if forcing a segment failed; guarded by commitMonitor.
+    private Throwable flushFailure;
+
+    private MappedJournal(Builder builder) {
+        this.directory = builder.directory;
+        this.segmentSize = builder.segmentSize;
+        this.syncOnCommit = builder.syncOnCommit;
+        this.flushIntervalMillis = Math.max(1, builder.flushInterval.toMillis());
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = listSegments(directory);
+            if (segments.isEmpty()) {
+                current = Segment.open(segmentPath(directory, 1), 1, segmentSize);
+                nextSequence = 1;
+            } else {
+                Path last = segments.get(segments.size() - 1);
+                current = Segment.open(last, firstSequenceOf(last), segmentSize);
+                nextSequence = current.recoverEnd() + 1;
+            }
+        } catch (IOException e) {
+            throw new JournalException("Cannot open journal in " + directory, e);
+        }
+        writtenSequence = nextSequence - 1;
+        durableSequence = writtenSequence;
+        requestedSequence = writtenSequence;
+        flusher = new Thread(this::flushLoop, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public long appendCreateAccount(AccountType type, String accountId, String holderName, long initialAmount) {
+        return append(JournalEventType.CREATE_ACCOUNT, accountId, null, type, holderName, initialAmount, 0, 0, 0, 0);
+    }
+
+    @Override
+    public long appendDeposit(String accountId, long amount, long transactionId, long epochNanos) {
+        return append(JournalEventType.DEPOSIT, accountId, null, null, null, amount, 0,
+                transactionId, 0, epochNanos);
+    }
+
+    @Override
+    public long appendWithdrawal(String accountId, long amount, long transactionId, long epochNanos) {
+        return append(JournalEventType.WITHDRAWAL, accountId, null, null, null, amount, 0,
+                transactionId, 0, epochNanos);
+    }
+
+    @Override
+    public long appendTransfer(String fromAccountId, String toAccountId, long amount, long debitId, long creditId,
+                               long epochNanos) {
+        return append(JournalEventType.TRANSFER, fromAccountId, toAccountId, null, null, amount, 0,
+                debitId, creditId, epochNanos);
+    }
+
+    @Override
+    public long appendInterest(String accountId, long amount, long transactionId, long epochNanos) {
+        return append(JournalEventType.INTEREST, accountId, null, null, null, amount, 0,
+                transactionId, 0, epochNanos);
+    }
+
+    @Override
+    public long appendAccrual(String accountId, long amount, LocalDate accrualDate, long transactionId,
+                              long epochNanos) {
+        return append(JournalEventType.ACCRUAL, accountId, null, null, null, amount, accrualDate.toEpochDay(),
+                transactionId, 0, epochNanos);
+    }
+
+    @Override
+    public void sync(long sequence) {
+        if (!syncOnCommit) {
+            return;
+        }
+        synchronized (commitMonitor) {
+            if (sequence > requestedSequence) {
+                requestedSequence = sequence;
+                commitMonitor.notifyAll();
+            }
+            while (durableSequence < sequence) {
+                if (flushFailure != null) {
+                    throw new JournalException("Journal flush failed before sequence " + sequence
+                            + " was durable", flushFailure);
+                }
+                if (!flusher.isAlive()) {
+                    throw new JournalException("Journal flusher stopped before sequence " + sequence
+                            + " was durable");
+                }
+                try {
+                    commitMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new JournalException("Interrupted waiting for journal commit", e);
+                }
+            }
+        }
+    }
+
+    public long getLastSequence() {
+        appendLock.lock();
+        try {
+            return writtenSequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // The failure that stopped the flusher, or null while it is healthy.
+    public Throwable getFlushFailure() {
+        synchronized (commitMonitor) {
+            return flushFailure;
+        }
+    }
+
+    // Starts a new segment and returns its first sequence: every event below it lives in an
+    // older segment. Used as the cut point for checkpoints.
+    public long roll() {
+        appendLock.lock();
+        try {
+            if (current.firstSequence != nextSequence) {
+                roll(nextSequence);
+            }
+            return nextSequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Deletes whole segments holding only events below the given sequence.
+    public int deleteSegmentsBefore(long sequence) {
+        int deleted = 0;
+        try {
+            List<Path> segments = listSegments(directory);
+            for (int i = 0; i + 1 < segments.size(); i++) {
+                if (firstSequenceOf(segments.get(i + 1)) <= sequence && Files.deleteIfExists(segments.get(i))) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            throw new JournalException("Cannot delete journal segments in " + directory, e);
+        }
+        return deleted;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        synchronized (commitMonitor) {
+            commitMonitor.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appendLock.lock();
+        try {
+            current.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private long append(JournalEventType type, String accountId, String otherAccountId,
+                        AccountType accountType, String holderName, long amount, long accrualEpochDay,
+                        long transactionId, long otherTransactionId, long epochNanos) {
+        appendLock.lock();
+        try {
+            if (!running) {
+                throw new JournalException("Journal is closed");
+            }
+            long sequence = nextSequence;
+            scratch.clear();
+            scratch.putLong(sequence).put((byte) type.ordinal()).putLong(amount);
+            JournalRecord.putString(scratch, accountId);
+            if (otherAccountId != null) {
+                JournalRecord.putString(scratch, otherAccountId);
+            }
+            if (accountType != null) {
+                scratch.put((byte) accountType.ordinal());
+                JournalRecord.putString(scratch, holderName);
+            }
+            if (type == JournalEventType.ACCRUAL) {
+                scratch.putLong(accrualEpochDay);
+            }
+            if (type != JournalEventType.CREATE_ACCOUNT) {
+                scratch.putLong(transactionId);
+                if (otherAccountId != null) {
+                    scratch.putLong(otherTransactionId);
+                }
+                scratch.putLong(epochNanos);
+            }
+            int length = scratch.position();
+            crc.reset();
+            crc.update(scratchBytes, 0, length);
+
+            if (current.buffer.remaining() < JournalRecord.HEADER_BYTES + length) {
+                roll(sequence);
+            }
+            current.buffer.putInt(length).putInt((int) crc.getValue()).put(scratchBytes, 0, length);
+            nextSequence = sequence + 1;
+            writtenSequence = sequence;
+            return sequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void roll(long firstSequence) {
+        current.close();
+        try {
+            current = Segment.open(segmentPath(directory, firstSequence), firstSequence, segmentSize);
+        } catch (IOException e) {
+            throw new JournalException("Cannot create journal segment", e);
+        }
+    }
+
+    // A failed force stops the flusher: what was not forced cannot be declared durable, so
+    // every waiting and later sync() throws instead.
+    private void flushLoop() {
+        try {
+            while (running) {
+                synchronized (commitMonitor) {
+                    if (requestedSequence <= durableSequence) {
+                        try {
+                            commitMonitor.wait(flushIntervalMillis);
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                }
+                flush();
+            }
+            flush();
+        } catch (RuntimeException | Error e) {
+            synchronized (commitMonitor) {
+                flushFailure = e;
+                commitMonitor.notifyAll();
+            }
+        } finally {
+            synchronized (commitMonitor) {
+                commitMonitor.notifyAll();
+            }
+        }
+    }
+
+    private void flush() {
+        Segment segment;
+        long target;
+        appendLock.lock();
+        try {
+            segment = current;
+            target = writtenSequence;
+        } finally {
+            appendLock.unlock();
+        }
+        synchronized (commitMonitor) {
+            if (target <= durableSequence) {
+                return;
+            }
+        }
+        // Forcing happens outside the append lock so writers keep appending meanwhile.
+        segment.buffer.force();
+        synchronized (commitMonitor) {
+            durableSequence = Math.max(durableSequence, target);
+            commitMonitor.notifyAll();
+        }
+    }
+
+    static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static Path segmentPath(Path directory, long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    }
+
+    private static final class Segment {
+        final long firstSequence;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+
+        private Segment(long firstSequence, FileChannel channel, MappedByteBuffer buffer) {
+            this.firstSequence = firstSequence;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path path, long firstSequence, int segmentSize) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = Math.max(segmentSize, channel.size());
+            return new Segment(firstSequence, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        // Positions the buffer after the last intact record, zeroing any torn tail, and
+        // returns the sequence of that record.
+        long recoverEnd() {
+            JournalRecord record = new JournalRecord();
+            CRC32 crc = new CRC32();
+            long last = firstSequence - 1;
+            while (record.read(buffer, crc)) {
+                last = record.sequence;
+            }
+            int end = buffer.position();
+            if (end + JournalRecord.HEADER_BYTES <= buffer.limit() && buffer.getLong(end) != 0) {
+                for (int i = end; i < buffer.limit(); i++) {
+                    buffer.put(i, (byte) 0);
+                }
+            }
+            return last;
+        }
+
+        void close() {
+            buffer.force();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new JournalException("Cannot close journal segment", e);
+            }
+        }
+    }
+
+    public static class Builder {
+        private final Path directory;
+        private int segmentSize = 64 * 1024 * 1024;
+        private boolean syncOnCommit = true;
+        private Duration flushInterval = Duration.ofMillis(10);
+
+        public Builder(Path directory) {
+            this.directory = directory;
+        }
+
+        public Builder segmentSize(int segmentSize) {
+            if (segmentSize < MAX_RECORD_BYTES + JournalRecord.HEADER_BYTES) {
+                throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+            }
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        // When false, sync() returns immediately and the flusher forces the journal every
+        // flush interval: higher throughput, but a crash can lose the last interval of events.
+        public Builder syncOnCommit(boolean syncOnCommit) {
+            this.syncOnCommit = syncOnCommit;
+            return this;
+        }
+
+        public Builder flushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+            return this;
+        }
+
+        public MappedJournal build() {
+            return new MappedJournal(this);
+        }
+    }
+}
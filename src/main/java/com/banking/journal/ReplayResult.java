@@ -0,0 +1,43 @@
+package com.banking.journal;
+
+public class ReplayResult {
+    private final long events;
+    private final long lastSequence;
+    private final long durationNanos;
+    private final long snapshotSequence;
+    private final int snapshotAccounts;
+
+    public ReplayResult(long events, long lastSequence, long durationNanos) {
+        this(events, lastSequence, durationNanos, 0, 0);
+    }
+
+    public ReplayResult(long events, long lastSequence, long durationNanos,
+                        long snapshotSequence, int snapshotAccounts) {
+        this.events = events;
+        this.lastSequence = lastSequence;
+        this.durationNanos = durationNanos;
+        this.snapshotSequence = snapshotSequence;
+        this.snapshotAccounts = snapshotAccounts;
+    }
+
+    public long getEvents() { return events; }
+    public long getLastSequence() { return lastSequence; }
+    public long getDurationNanos() { return durationNanos; }
+    public long getSnapshotSequence() { return snapshotSequence; }
+    public int getSnapshotAccounts() { return snapshotAccounts; }
+
+    public double getDurationMillis() {
+        return durationNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        if (snapshotSequence > 0) {
+            return String.format("Loaded %d accounts from snapshot at sequence %d and replayed %d events "
+                    + "(last sequence %d) in %.1f ms", snapshotAccounts, snapshotSequence, events,
+                    lastSequence, getDurationMillis());
+        }
+        return String.format("Replayed %d events (last sequence %d) in %.1f ms",
+                events, lastSequence, getDurationMillis());
+    }
+}
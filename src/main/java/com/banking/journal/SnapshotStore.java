@@ -0,0 +1,204 @@
+package com.banking.journal;
+
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.CurrentAccount;
+import com.banking.model.LoanAccount;
+import com.banking.model.SavingsAccount;
+import com.banking.repository.AccountRepository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Binary snapshots of account state, named by the journal sequence they were cut at. Each
+// account is captured under its own lock together with the sequence of the last journal event
+// it reflects, so a snapshot is a fuzzy cut that the journal tail from the cut makes exact.
+// Transaction history is not part of a snapshot.
+final class SnapshotStore {
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final int MAGIC = 0x42534e50;
+    private static final int VERSION = 2;
+    private static final long NO_ACCRUAL = Long.MIN_VALUE;
+    // Offset of the account count, which is patched in once the accounts have been streamed.
+    private static final int COUNT_OFFSET = 16;
+
+    private SnapshotStore() {
+    }
+
+    // Writes to a temporary file, forces it and renames it into place, so a crash never
+    // leaves a partial snapshot under a real name. Accounts are streamed from the repository,
+    // so memory use does not grow with the book. Returns the number of accounts written.
+    static int write(Path directory, long cutSequence, AccountRepository repository) {
+        Path target = snapshotPath(directory, cutSequence);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        int count = 0;
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(cutSequence);
+            out.writeInt(0);
+            int[] written = {0};
+            repository.forEach(account -> {
+                try {
+                    writeAccount(out, account);
+                } catch (IOException e) {
+                    throw new JournalException("Cannot write snapshot " + target, e);
+                }
+                written[0]++;
+            });
+            count = written[0];
+            out.flush();
+            file.getChannel().write(ByteBuffer.allocate(Integer.BYTES).putInt(0, count), COUNT_OFFSET);
+            file.getFD().sync();
+        } catch (IOException e) {
+            throw new JournalException("Cannot write snapshot " + target, e);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new JournalException("Cannot publish snapshot " + target, e);
+        }
+        return count;
+    }
+
+    // Loads the newest snapshot into the repository and returns its cut sequence, or 0 when
+    // the directory holds no snapshot.
+    static long loadLatest(Path directory, AccountRepository repository) {
+        List<Path> snapshots = listSnapshots(directory);
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        Path latest = snapshots.get(snapshots.size() - 1);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(latest)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new JournalException("Not a snapshot file: " + latest);
+            }
+            long cutSequence = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                repository.save(readAccount(in));
+            }
+            return cutSequence;
+        } catch (IOException e) {
+            throw new JournalException("Cannot read snapshot " + latest, e);
+        }
+    }
+
+    // Deletes every snapshot older than the given cut.
+    static int deleteBefore(Path directory, long cutSequence) {
+        int deleted = 0;
+        try {
+            for (Path snapshot : listSnapshots(directory)) {
+                if (cutSequenceOf(snapshot) < cutSequence && Files.deleteIfExists(snapshot)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            throw new JournalException("Cannot delete snapshots in " + directory, e);
+        }
+        return deleted;
+    }
+
+    static List<Path> listSnapshots(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new JournalException("Cannot list snapshots in " + directory, e);
+        }
+    }
+
+    static long cutSequenceOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+
+    private static void writeAccount(DataOutputStream out, Account account) throws IOException {
+        AccountType type = AccountType.of(account);
+        account.getLock().lock();
+        try {
+            out.writeByte(type.ordinal());
+            out.writeUTF(account.getAccountId());
+            out.writeUTF(account.getHolderName());
+            out.writeLong(account.getBalanceCents());
+            out.writeDouble(account.getInterestRate());
+            out.writeLong(account.getMinimumBalanceCents());
+            out.writeBoolean(account.isActive());
+            out.writeLong(account.getJournalSequence());
+            LocalDate lastAccrual = account.getLastAccrualDate();
+            out.writeLong(lastAccrual == null ? NO_ACCRUAL : lastAccrual.toEpochDay());
+            switch (type) {
+                case SAVINGS -> out.writeLong(((SavingsAccount) account).getMinBalanceForInterestCents());
+                case CURRENT -> out.writeLong(((CurrentAccount) account).getOverdraftLimitCents());
+                case LOAN -> out.writeLong(((LoanAccount) account).getOriginalLoanAmountCents());
+            }
+        } finally {
+            account.getLock().unlock();
+        }
+    }
+
+    private static Account readAccount(DataInputStream in) throws IOException {
+        AccountType type = AccountType.values()[in.readByte()];
+        String accountId = in.readUTF();
+        String holderName = in.readUTF();
+        long balance = in.readLong();
+        double interestRate = in.readDouble();
+        long minimumBalance = in.readLong();
+        boolean active = in.readBoolean();
+        long journalSequence = in.readLong();
+        long lastAccrualDay = in.readLong();
+        long extra = in.readLong();
+        Account account = switch (type) {
+            case SAVINGS -> new SavingsAccount.Builder(accountId, holderName)
+                    .minBalanceForInterestCents(extra)
+                    .balanceCents(balance)
+                    .interestRate(interestRate)
+                    .minimumBalanceCents(minimumBalance)
+                    .active(active)
+                    .build();
+            case CURRENT -> new CurrentAccount.Builder(accountId, holderName)
+                    .overdraftLimitCents(extra)
+                    .balanceCents(balance)
+                    .interestRate(interestRate)
+                    .minimumBalanceCents(minimumBalance)
+                    .active(active)
+                    .build();
+            case LOAN -> new LoanAccount.Builder(accountId, holderName, 0)
+                    .loanAmountCents(extra)
+                    .balanceCents(balance)
+                    .interestRate(interestRate)
+                    .minimumBalanceCents(minimumBalance)
+                    .active(active)
+                    .build();
+        };
+        account.setJournalSequence(journalSequence);
+        if (lastAccrualDay != NO_ACCRUAL) {
+            account.setLastAccrualDate(LocalDate.ofEpochDay(lastAccrualDay));
+        }
+        return account;
+    }
+
+    private static Path snapshotPath(Path directory, long cutSequence) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, cutSequence, SNAPSHOT_SUFFIX));
+    }
+}
@@ -0,0 +1,136 @@
+package com.banking.metrics;
+
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.PostingOutcome;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Instrumentation for BankingService (see BankingService.setMetrics). Every call is counted
+// with striped LongAdders; latency is timed on a random 1-in-sampleEvery subset of calls,
+// since two clock reads are a noticeable share of a sub-microsecond posting. Readable as
+// JMX MXBeans under "com.banking" or as a text table from dump().
+public class BankingMetrics {
+    public static final String JMX_DOMAIN = "com.banking";
+    private static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private final Map<Operation, OperationMetrics> operations = new EnumMap<>(Operation.class);
+    // Same metrics indexed by Operation ordinal, for the per-call path.
+    private final OperationMetrics[] byOrdinal = new OperationMetrics[Operation.values().length];
+    private final int sampleMask;
+    private final List<ObjectName> registered = new ArrayList<>();
+
+    private BankingMetrics(Builder builder) {
+        this.sampleMask = builder.sampleEvery - 1;
+        for (Operation operation : Operation.values()) {
+            byOrdinal[operation.ordinal()] = new OperationMetrics(operation);
+            operations.put(operation, byOrdinal[operation.ordinal()]);
+        }
+    }
+
+    // Start time for a sampled call, or NOT_SAMPLED.
+    public long start() {
+        if (sampleMask != 0 && (ThreadLocalRandom.current().nextInt() & sampleMask) != 0) {
+            return NOT_SAMPLED;
+        }
+        return System.nanoTime();
+    }
+
+    public void record(Operation operation, Account account, PostingOutcome outcome, long start) {
+        long nanos = start == NOT_SAMPLED ? -1 : System.nanoTime() - start;
+        byOrdinal[operation.ordinal()].record(account == null ? -1 : account.getTypeOrdinal(), outcome, nanos);
+    }
+
+    public void recordException(Operation operation, Account account, Throwable failure) {
+        byOrdinal[operation.ordinal()].recordException(account == null ? -1 : account.getTypeOrdinal(), failure);
+    }
+
+    public OperationMetrics get(Operation operation) {
+        return operations.get(operation);
+    }
+
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-24s %10s %8s %10s %10s %10s %10s%n",
+                "operation", "calls", "errors", "p50 us", "p99 us", "p99.9 us", "max us"));
+        for (OperationMetrics metrics : operations.values()) {
+            row(out, metrics.getOperation().getDisplayName(), metrics.getCalls(), metrics.getErrors(),
+                    metrics.getLatency());
+            for (AccountType type : AccountType.values()) {
+                long calls = metrics.getCalls(type);
+                if (calls > 0) {
+                    row(out, "  " + type.name().toLowerCase(), calls, -1, metrics.getLatency(type));
+                }
+            }
+            metrics.getErrorsByException().forEach((name, count) ->
+                    out.append(String.format("  ! %-20s %10d%n", name, count)));
+        }
+        return out.toString();
+    }
+
+    private static void row(StringBuilder out, String name, long calls, long errors, LatencyHistogram latency) {
+        out.append(String.format("%-24s %10d %8s %10.1f %10.1f %10.1f %10.1f%n", name, calls,
+                errors < 0 ? "" : Long.toString(errors), latency.getP50Micros(), latency.getP99Micros(),
+                latency.getP999Micros(), latency.getMaxMicros()));
+    }
+
+    // Registers one MXBean per operation and one latency MXBean per operation and account type.
+    public synchronized void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (OperationMetrics metrics : operations.values()) {
+                String operation = metrics.getOperation().getDisplayName();
+                register(server, metrics, new ObjectName(JMX_DOMAIN + ":type=Operation,name=" + operation));
+                for (AccountType type : AccountType.values()) {
+                    register(server, metrics.getLatency(type), new ObjectName(JMX_DOMAIN
+                            + ":type=OperationLatency,name=" + operation + ",accountType=" + type.name()));
+                }
+            }
+        } catch (JMException e) {
+            unregisterMBeans();
+            throw new IllegalStateException("Cannot register banking metrics MBeans", e);
+        }
+    }
+
+    public synchronized void unregisterMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException ignored) {
+                // Already gone.
+            }
+        }
+        registered.clear();
+    }
+
+    private void register(MBeanServer server, Object mbean, ObjectName name) throws JMException {
+        server.registerMBean(mbean, name);
+        registered.add(name);
+    }
+
+    public static class Builder {
+        private int sampleEvery = 16;
+
+        // Times one call in sampleEvery (rounded up to a power of two); 1 times every call.
+        public Builder sampleEvery(int sampleEvery) {
+            if (sampleEvery < 1) {
+                throw new IllegalArgumentException("Sample rate must be positive");
+            }
+            this.sampleEvery = sampleEvery == 1 ? 1 : Integer.highestOneBit(sampleEvery - 1) << 1;
+            return this;
+        }
+
+        public BankingMetrics build() {
+            return new BankingMetrics(this);
+        }
+    }
+}
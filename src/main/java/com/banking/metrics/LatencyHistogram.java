@@ -0,0 +1,108 @@
+package com.banking.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Log-linear histogram of nanosecond latencies in the style of HdrHistogram: values below
+// SUB_BUCKETS are counted exactly, larger ones in power-of-two ranges split into SUB_BUCKETS/2
+// linear slots, so every recorded value is kept to within ~3% across the whole long range in
+// a fixed 15 KB array. Recording is one atomic increment plus two striped adders; reads are
+// approximate while writers are active.
+public class LatencyHistogram implements LatencyHistogramMXBean {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_BITS = SUB_BUCKET_BITS - 1;
+    private static final int BUCKETS = 64 - SUB_BUCKET_BITS;
+    private static final int SLOTS = (BUCKETS << HALF_BITS) + SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SLOTS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.getAndIncrement(slotOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    static int slotOf(long value) {
+        int bucket = 64 - Long.numberOfLeadingZeros(value | (SUB_BUCKETS - 1)) - SUB_BUCKET_BITS;
+        return (bucket << HALF_BITS) + (int) (value >>> bucket);
+    }
+
+    // Largest value that lands in the slot.
+    static long highestValueIn(int slot) {
+        if (slot < SUB_BUCKETS) {
+            return slot;
+        }
+        int bucket = (slot >> HALF_BITS) - 1;
+        long subBucket = slot - ((long) bucket << HALF_BITS);
+        return ((subBucket + 1) << bucket) - 1;
+    }
+
+    // Value at or below which the given percentage (0-100) of recorded values fall.
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[SLOTS];
+        for (int i = 0; i < SLOTS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < SLOTS; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return Math.min(highestValueIn(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        long n = count.sum();
+        return n == 0 ? 0 : sum.sum() / (double) n / 1000.0;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return getValueAtPercentile(50) / 1000.0;
+    }
+
+    @Override
+    public double getP90Micros() {
+        return getValueAtPercentile(90) / 1000.0;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return getValueAtPercentile(99) / 1000.0;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return getValueAtPercentile(99.9) / 1000.0;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return max.get() / 1000.0;
+    }
+}
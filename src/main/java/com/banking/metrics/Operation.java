@@ -0,0 +1,18 @@
+package com.banking.metrics;
+
+public enum Operation {
+    DEPOSIT("deposit"),
+    WITHDRAW("withdraw"),
+    TRANSFER("transfer"),
+    CALCULATE_INTEREST("calculateInterest");
+
+    private final String displayName;
+
+    Operation(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,165 @@
+package com.banking.metrics;
+
+import com.banking.exception.AccountNotFoundException;
+import com.banking.exception.InsufficientFundsException;
+import com.banking.exception.InvalidTransactionException;
+import com.banking.factory.AccountType;
+import com.banking.model.PostingOutcome;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters and latency histograms for one BankingService operation, overall and per account
+// type. Calls and failures are always counted; latencies only for the sampled calls.
+public class OperationMetrics implements OperationMetricsMXBean {
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+    private static final PostingOutcome[] OUTCOMES = PostingOutcome.values();
+
+    private final Operation operation;
+    // Indexed by AccountType ordinal, with a last slot for calls on unknown accounts.
+    private final LongAdder[] calls = new LongAdder[ACCOUNT_TYPES.length + 1];
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram[] latencyByType = new LatencyHistogram[ACCOUNT_TYPES.length];
+    private final LongAdder[] rejections = new LongAdder[OUTCOMES.length];
+    private final Map<String, LongAdder> exceptions = new ConcurrentHashMap<>();
+
+    OperationMetrics(Operation operation) {
+        this.operation = operation;
+        for (int i = 0; i < calls.length; i++) {
+            calls[i] = new LongAdder();
+        }
+        for (int i = 0; i < latencyByType.length; i++) {
+            latencyByType[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < rejections.length; i++) {
+            rejections[i] = new LongAdder();
+        }
+    }
+
+    // type is an AccountType ordinal, or negative when the account does not exist; nanos is
+    // negative when the call was not sampled.
+    void record(int type, PostingOutcome outcome, long nanos) {
+        int index = type < 0 ? ACCOUNT_TYPES.length : type;
+        calls[index].increment();
+        if (outcome != PostingOutcome.OK) {
+            rejections[outcome.ordinal()].increment();
+        }
+        if (nanos >= 0) {
+            latency.record(nanos);
+            if (type >= 0) {
+                latencyByType[index].record(nanos);
+            }
+        }
+    }
+
+    void recordException(int type, Throwable failure) {
+        calls[type < 0 ? ACCOUNT_TYPES.length : type].increment();
+        exceptions.computeIfAbsent(failure.getClass().getSimpleName(), name -> new LongAdder()).increment();
+    }
+
+    // The exception the throwing API raises for a rejected posting.
+    static String exceptionFor(PostingOutcome outcome) {
+        return switch (outcome) {
+            case NOT_FOUND -> AccountNotFoundException.class.getSimpleName();
+            case INSUFFICIENT_FUNDS, OVERDRAFT_EXCEEDED, BELOW_MINIMUM -> InsufficientFundsException.class.getSimpleName();
+            case NOT_SUPPORTED -> UnsupportedOperationException.class.getSimpleName();
+            default -> InvalidTransactionException.class.getSimpleName();
+        };
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public LatencyHistogram getLatency(AccountType type) {
+        return latencyByType[type.ordinal()];
+    }
+
+    public long getCalls(AccountType type) {
+        return calls[type.ordinal()].sum();
+    }
+
+    @Override
+    public long getCalls() {
+        long total = 0;
+        for (LongAdder adder : calls) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public long getErrors() {
+        long total = 0;
+        for (long value : getErrorsByException().values()) {
+            total += value;
+        }
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getErrorsByException() {
+        Map<String, Long> errors = new TreeMap<>();
+        for (int i = 0; i < OUTCOMES.length; i++) {
+            long count = rejections[i].sum();
+            if (count > 0) {
+                errors.merge(exceptionFor(OUTCOMES[i]), count, Long::sum);
+            }
+        }
+        exceptions.forEach((name, adder) -> errors.merge(name, adder.sum(), Long::sum));
+        return errors;
+    }
+
+    @Override
+    public Map<String, Long> getRejectionsByOutcome() {
+        Map<String, Long> result = new TreeMap<>();
+        for (int i = 0; i < OUTCOMES.length; i++) {
+            long count = rejections[i].sum();
+            if (count > 0) {
+                result.put(OUTCOMES[i].name(), count);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latency.getMeanMicros();
+    }
+
+    @Override
+    public double getP50Micros() {
+        return latency.getP50Micros();
+    }
+
+    @Override
+    public double getP90Micros() {
+        return latency.getP90Micros();
+    }
+
+    @Override
+    public double getP99Micros() {
+        return latency.getP99Micros();
+    }
+
+    @Override
+    public double getP999Micros() {
+        return latency.getP999Micros();
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return latency.getMaxMicros();
+    }
+}
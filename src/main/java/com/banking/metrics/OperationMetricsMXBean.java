@@ -0,0 +1,12 @@
+package com.banking.metrics;
+
+import java.util.Map;
+
+public interface OperationMetricsMXBean extends LatencyHistogramMXBean {
+    long getCalls();
+    long getErrors();
+    // Failures keyed by the exception the throwing API reports for them.
+    Map<String, Long> getErrorsByException();
+    // Rejected postings keyed by PostingOutcome.
+    Map<String, Long> getRejectionsByOutcome();
+}
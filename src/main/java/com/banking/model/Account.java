@@ -1,17 +1,33 @@
 package com.banking.model;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import com.banking.factory.AccountType;
+
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 public abstract class Account {
     private final String accountId;
     private final String holderName;
-    private double balance;
+    private volatile long balance;
     private final double interestRate;
-    private final double minimumBalance;
-    private boolean active;
-    private final List<Transaction> transactions = new ArrayList<>();
+    private final long minimumBalance;
+    private volatile boolean active;
+    // Sequence of the last journal event applied to this account; guarded by lock.
+    private volatile long journalSequence;
+    // Business date of the last end-of-day interest accrual; guarded by lock.
+    private volatile LocalDate lastAccrualDate;
+    private final TransactionIdGenerator idGenerator;
+    // Id and time for the next posting this account records, set by callers that journal a
+    // posting before applying it and by replay; guarded by lock.
+    private boolean stamped;
+    private long stampedId;
+    private long stampedEpochNanos;
+    // Guards balance updates and ledger appends. Reads of balance stay lock-free.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TransactionLedger ledger;
+    // AccountType ordinal, resolved once so per-posting metrics skip the instanceof chain.
+    private final int typeOrdinal;
 
     protected Account(Builder<?> builder){
         this.accountId = builder.accountId;
@@ -20,78 +36,233 @@ public abstract class Account {
         this.interestRate = builder.interestRate;
         this.minimumBalance = builder.minimumBalance;
         this.active = builder.active;
+        this.idGenerator = builder.idGenerator;
+        this.ledger = new TransactionLedger(accountId);
+        this.typeOrdinal = AccountType.of(this).ordinal();
     }
     public void deposit(double amount){
-        if(amount<=0){
-            throw new IllegalArgumentException("Deposit amount must be positive");
-        }
-        this.balance+=amount;
-        recordTransaction(TransactionType.DEPOSIT , amount , "Deposit");
+        depositCents(Money.toCents(amount));
     }
     public void withdraw(double amount){
+        withdrawCents(Money.toCents(amount));
+    }
+    public void depositCents(long amount){
+        PostingOutcome outcome=tryDepositCents(amount);
+        if(outcome!=PostingOutcome.OK){
+            throw rejection(outcome,depositRejection(outcome));
+        }
+    }
+    public void withdrawCents(long amount){
+        PostingOutcome outcome=tryWithdrawCents(amount);
+        if(outcome!=PostingOutcome.OK){
+            throw rejection(outcome,withdrawalRejection(outcome));
+        }
+    }
+
+    // Non-throwing postings: a rejected posting leaves the account untouched and returns why.
+    public PostingOutcome tryDepositCents(long amount){
+        lock.lock();
+        try{
+            PostingOutcome outcome=checkDeposit(amount);
+            if(outcome==PostingOutcome.OK){
+                applyDeposit(amount);
+            }
+            return outcome;
+        }finally{
+            lock.unlock();
+        }
+    }
+    public PostingOutcome tryWithdrawCents(long amount){
+        lock.lock();
+        try{
+            PostingOutcome outcome=checkWithdrawal(amount);
+            if(outcome==PostingOutcome.OK){
+                applyWithdrawal(amount);
+            }
+            return outcome;
+        }finally{
+            lock.unlock();
+        }
+    }
+
+    // Subclasses change the posting rules by overriding the check methods, and the matching
+    // rejection methods for the messages the throwing API reports.
+    public PostingOutcome checkDeposit(long amount){
+        return amount<=0 || overflows(amount) ? PostingOutcome.INVALID_AMOUNT : PostingOutcome.OK;
+    }
+    // Interest is credited like a deposit (a loan's balance grows), so it must fit as well.
+    public PostingOutcome checkInterest(long amount){
+        return amount<=0 || overflows(amount) ? PostingOutcome.INVALID_AMOUNT : PostingOutcome.OK;
+    }
+    // True when crediting amount would push the balance past Long.MAX_VALUE cents.
+    protected boolean overflows(long amount){
+        return balance>0 && amount>Long.MAX_VALUE-balance;
+    }
+    public PostingOutcome checkWithdrawal(long amount){
         if(amount<=0){
-            throw new IllegalArgumentException("Withdrawal amount must be positive");
+            return PostingOutcome.INVALID_AMOUNT;
         }
         if(amount>balance){
-            throw new IllegalArgumentException("Insufficient funds");
+            return PostingOutcome.INSUFFICIENT_FUNDS;
         }
         if(balance-amount<minimumBalance){
-            throw new IllegalArgumentException("Balance cannot go below minimum :"+minimumBalance);
+            return PostingOutcome.BELOW_MINIMUM;
         }
-        this.balance-=amount;
+        return PostingOutcome.OK;
+    }
+    public String depositRejection(PostingOutcome outcome){
+        return outcome==PostingOutcome.INVALID_AMOUNT
+                ? "Deposit amount must be positive and within the balance limit"
+                : outcome.getDescription();
+    }
+    public String withdrawalRejection(PostingOutcome outcome){
+        return switch(outcome){
+            case INVALID_AMOUNT -> "Withdrawal amount must be positive";
+            case BELOW_MINIMUM -> "Balance cannot go below minimum :"+Money.toAmount(minimumBalance);
+            default -> outcome.getDescription();
+        };
+    }
+
+    private static RuntimeException rejection(PostingOutcome outcome,String message){
+        return outcome==PostingOutcome.NOT_SUPPORTED
+                ? new UnsupportedOperationException(message)
+                : new IllegalArgumentException(message);
+    }
+    protected void applyDeposit(long amount){
+        this.balance=Math.addExact(balance,amount);
+        recordTransaction(TransactionType.DEPOSIT , amount , "Deposit");
+    }
+    protected void applyWithdrawal(long amount){
+        this.balance=Math.subtractExact(balance,amount);
         recordTransaction(TransactionType.WITHDRAWAL,amount,"Withdrawal");
     }
 
-    public abstract double calculateInterest();
+    public void postInterest(long amount){
+        lock.lock();
+        try{
+            this.balance=Math.addExact(balance,amount);
+            recordTransaction(TransactionType.INTEREST,amount,getInterestDescription());
+        }finally{
+            lock.unlock();
+        }
+    }
+    protected String getInterestDescription(){
+        return "Interest";
+    }
+
+    // Interest the account would earn (or, for a loan, be charged) on its current balance.
+    public abstract long interestDueCents();
+    public double calculateInterest(){
+        lock.lock();
+        try{
+            long interest=interestDueCents();
+            if(checkInterest(interest)!=PostingOutcome.OK){
+                return 0;
+            }
+            postInterest(interest);
+            return Money.toAmount(interest);
+        }finally{
+            lock.unlock();
+        }
+    }
     public abstract String getAccountType();
-    protected void recordTransaction(TransactionType type, double amount,String description){
-        String txnId="TXN"+System.currentTimeMillis();
-        Transaction txn=new Transaction(txnId,type,amount,accountId,balance,description);
-        transactions.add(txn);
+    protected void recordTransaction(TransactionType type, long amount,String description){
+        if(stamped){
+            stamped=false;
+            ledger.append(stampedId,stampedEpochNanos,type,amount,balance,description);
+            return;
+        }
+        ledger.append(idGenerator.nextId(),TransactionLedger.currentEpochNanos(),type,amount,balance,description);
+    }
+
+    public long nextTransactionId(){
+        return idGenerator.nextId();
+    }
+    // Makes the next recorded posting use this id and time instead of fresh ones. Call with
+    // the lock held, immediately before the posting.
+    public void stampNextPosting(long id, long epochNanos){
+        this.stamped=true;
+        this.stampedId=id;
+        this.stampedEpochNanos=epochNanos;
     }
 
+    public int getTypeOrdinal(){
+        return typeOrdinal;
+    }
     public String getAccountId(){
         return accountId;
     }
     public String getHolderName(){
         return holderName;
     }
-    public double getBalance() { return balance; }
+    public double getBalance() { return Money.toAmount(balance); }
+    public long getBalanceCents() { return balance; }
     public double getInterestRate(){
         return interestRate;
     }
+    public double getMinimumBalance(){
+        return Money.toAmount(minimumBalance);
+    }
+    public long getMinimumBalanceCents(){
+        return minimumBalance;
+    }
     public boolean isActive(){
         return active;
     }
     public void setActive(boolean active){
         this.active = active;
     }
+    public long getJournalSequence(){
+        return journalSequence;
+    }
+    public void setJournalSequence(long journalSequence){
+        this.journalSequence = journalSequence;
+    }
+    public LocalDate getLastAccrualDate(){
+        return lastAccrualDate;
+    }
+    public void setLastAccrualDate(LocalDate lastAccrualDate){
+        this.lastAccrualDate = lastAccrualDate;
+    }
+    public ReentrantLock getLock(){
+        return lock;
+    }
 
-    protected void setBalance(double balance){
+    protected void setBalanceCents(long balance){
         this.balance=balance;
     }
     public List<Transaction> getTransactions(){
-        return Collections.unmodifiableList(transactions);
+        return ledger.view();
+    }
+    public Transaction getLastTransaction(){
+        return ledger.getLast();
+    }
+    public TransactionLedger getLedger(){
+        return ledger;
     }
 
     @Override
     public String toString(){
-        return String.format("%s [%s] %s | Balance: $%.2f | Rate: %.1f%%",getAccountType(),accountId,holderName,balance,interestRate*100);
+        return String.format("%s [%s] %s | Balance: $%.2f | Rate: %.1f%%",getAccountType(),accountId,holderName,Money.toAmount(balance),interestRate*100);
     }
 
     public abstract static class Builder<T extends Builder<T>>{
         private final String accountId;
         private final String holderName;
-        private double balance=0;
+        private long balance=0;
         private double interestRate=0;
-        private double minimumBalance=0;
+        private long minimumBalance=0;
         private boolean active=true;
+        private TransactionIdGenerator idGenerator=SnowflakeIdGenerator.getDefault();
 
         public Builder(String accountId,String holderName){
             this.accountId=accountId;
             this.holderName=holderName;
         }
         public T balance(double balance){
+            return balanceCents(Money.toCents(balance));
+        }
+        public T balanceCents(long balance){
             this.balance=balance;
             return self();
         }
@@ -100,6 +271,9 @@ public abstract class Account {
             return self();
         }
         public T minimumBalance(double minimumBalance){
+            return minimumBalanceCents(Money.toCents(minimumBalance));
+        }
+        public T minimumBalanceCents(long minimumBalance){
             this.minimumBalance = minimumBalance;
             return self();
         }
@@ -107,6 +281,10 @@ public abstract class Account {
             this.active = active;
             return self();
         }
+        public T idGenerator(TransactionIdGenerator idGenerator){
+            this.idGenerator = idGenerator;
+            return self();
+        }
         protected abstract T self();
         public abstract Account build();
     }
@@ -0,0 +1,9 @@
+package com.banking.model;
+
+// A block of TransactionLedger.BLOCK_SIZE postings moved to the cold tier. The ledger keeps
+// only these handles in memory and loads a block when a read reaches it.
+public interface ArchivedBlock {
+    long getFirstTimestamp();
+
+    LedgerBlock load();
+}
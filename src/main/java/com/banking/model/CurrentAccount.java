@@ -1,24 +1,36 @@
 package com.banking.model;
 
 public class CurrentAccount extends Account{
-private final double overdraftLimit;
+private final long overdraftLimit;
 private CurrentAccount(Builder builder){
     super(builder);
     this.overdraftLimit=builder.overdraftLimit;
 }
 @Override
-    public void withdraw(double amount){
+    public PostingOutcome checkWithdrawal(long amount){
     if(amount<=0){
-        throw new IllegalArgumentException("Withdrawal amount must be positive");
+        return PostingOutcome.INVALID_AMOUNT;
     }
-    if(amount>getBalance()+overdraftLimit){
-        throw new IllegalArgumentException("Exceeds overdraft limit. Available: "+ (getBalance()+overdraftLimit));
+    // Written so a large balance plus the limit cannot overflow.
+    if(amount-overdraftLimit>getBalanceCents()){
+        return PostingOutcome.OVERDRAFT_EXCEEDED;
     }
-    setBalance(getBalance()-amount);
+    return PostingOutcome.OK;
+}
+@Override
+    public String withdrawalRejection(PostingOutcome outcome){
+    if(outcome==PostingOutcome.OVERDRAFT_EXCEEDED){
+        return "Exceeds overdraft limit. Available: "+ Money.toAmount(getBalanceCents()+overdraftLimit);
+    }
+    return super.withdrawalRejection(outcome);
+}
+@Override
+    protected void applyWithdrawal(long amount){
+    setBalanceCents(Math.subtractExact(getBalanceCents(),amount));
     recordTransaction(TransactionType.WITHDRAWAL,amount,"Withdrawal (Current)");
 }
 @Override
-    public double calculateInterest(){
+    public long interestDueCents(){
     return 0;
 }
 @Override
@@ -26,15 +38,21 @@ private CurrentAccount(Builder builder){
     return "Current";
 }
 public double getOverdraftLimit(){
+    return Money.toAmount(overdraftLimit);
+}
+public long getOverdraftLimitCents(){
     return overdraftLimit;
 }
 
 public static class Builder extends Account.Builder<Builder>{
-    private double overdraftLimit=10000;
+    private long overdraftLimit=Money.toCents(10000);
     public Builder(String accountId,String holderName){
         super(accountId,holderName);
     }
     public Builder overdraftLimit(double overdraftLimit){
+        return overdraftLimitCents(Money.toCents(overdraftLimit));
+    }
+    public Builder overdraftLimitCents(long overdraftLimit){
         this.overdraftLimit=overdraftLimit;
         return self();
     }
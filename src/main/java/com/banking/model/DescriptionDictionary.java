@@ -0,0 +1,44 @@
+package com.banking.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Process-wide dictionary of transaction descriptions, so the ledger stores a small code
+// per posting instead of a String reference.
+final class DescriptionDictionary {
+    static final int MAX_CODES = 1 << 14;
+
+    private static final ConcurrentHashMap<String, Integer> CODES = new ConcurrentHashMap<>();
+    private static volatile String[] descriptions = new String[16];
+    private static int count;
+
+    private DescriptionDictionary() {
+    }
+
+    static int intern(String description) {
+        Integer code = CODES.get(description);
+        return code != null ? code : register(description);
+    }
+
+    static String lookup(int code) {
+        return descriptions[code];
+    }
+
+    private static synchronized int register(String description) {
+        Integer existing = CODES.get(description);
+        if (existing != null) {
+            return existing;
+        }
+        if (count == MAX_CODES) {
+            throw new IllegalStateException("Too many distinct transaction descriptions");
+        }
+        String[] current = descriptions;
+        if (count == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[count] = description;
+        descriptions = current;
+        CODES.put(description, count);
+        return count++;
+    }
+}
@@ -0,0 +1,51 @@
+package com.banking.model;
+
+// A decoded run of consecutive ledger postings, column by column, as exported for archiving
+// and as loaded back from the cold tier. Descriptions are stored as strings rather than
+// dictionary codes so a block stays meaningful outside the process that wrote it.
+public final class LedgerBlock {
+    private final long[] ids;
+    private final long[] timestamps;
+    private final TransactionType[] types;
+    private final long[] amounts;
+    private final long[] balances;
+    private final String[] descriptions;
+
+    public LedgerBlock(long[] ids, long[] timestamps, TransactionType[] types, long[] amounts, long[] balances,
+                       String[] descriptions) {
+        this.ids = ids;
+        this.timestamps = timestamps;
+        this.types = types;
+        this.amounts = amounts;
+        this.balances = balances;
+        this.descriptions = descriptions;
+    }
+
+    public int size() { return ids.length; }
+    public long getId(int i) { return ids[i]; }
+    public long getTimestamp(int i) { return timestamps[i]; }
+    public TransactionType getType(int i) { return types[i]; }
+    public long getAmount(int i) { return amounts[i]; }
+    public long getBalance(int i) { return balances[i]; }
+    public String getDescription(int i) { return descriptions[i]; }
+
+    // First index whose timestamp is at or after the given time, or size() if there is none.
+    int indexAt(long epochNanos) {
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < epochNanos) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    Transaction toTransaction(int i, String accountId) {
+        return new Transaction(ids[i], types[i], amounts[i], accountId, balances[i],
+                timestamps[i], descriptions[i]);
+    }
+}
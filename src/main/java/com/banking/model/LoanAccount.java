@@ -1,41 +1,63 @@
 package com.banking.model;
 
 public class LoanAccount extends Account {
-private final double originalLoanAmount;
+private final long originalLoanAmount;
 private LoanAccount(Builder builder){
     super(builder);
     this.originalLoanAmount=builder.originalLoanAmount;
 }
 @Override
-    public void deposit(double amount){
+    public PostingOutcome checkDeposit(long amount){
     if(amount<=0){
-        throw new IllegalArgumentException("Payment amount must be positive");
+        return PostingOutcome.INVALID_AMOUNT;
     }
-    if(amount>getBalance()){
-        throw new IllegalArgumentException("Payment exceeds remaining loan balance");
+    if(amount>getBalanceCents()){
+        return PostingOutcome.OVERPAYMENT;
     }
-    setBalance(getBalance()-amount);
+    return PostingOutcome.OK;
+}
+@Override
+    public String depositRejection(PostingOutcome outcome){
+    if(outcome==PostingOutcome.INVALID_AMOUNT){
+        return "Payment amount must be positive";
+    }
+    return super.depositRejection(outcome);
+}
+@Override
+    protected void applyDeposit(long amount){
+    setBalanceCents(Math.subtractExact(getBalanceCents(),amount));
     recordTransaction(TransactionType.DEPOSIT,amount,"Loan Payment");
 }
     @Override
-    public void withdraw(double amount) {
-        throw new UnsupportedOperationException("Cannot withdraw from a loan account");
+    public PostingOutcome checkWithdrawal(long amount) {
+        return PostingOutcome.NOT_SUPPORTED;
+    }
+    @Override
+    public String withdrawalRejection(PostingOutcome outcome) {
+        if (outcome == PostingOutcome.NOT_SUPPORTED) {
+            return "Cannot withdraw from a loan account";
+        }
+        return super.withdrawalRejection(outcome);
     }
 @Override
-    public double calculateInterest(){
-    if(getBalance()>0){
-        double interest=getBalance()*getInterestRate();
-        setBalance(getBalance()+interest);
-        recordTransaction(TransactionType.INTEREST,interest,"Loan Interest Charged");
-        return interest;
+    public long interestDueCents(){
+    if(getBalanceCents()>0){
+        return Money.multiply(getBalanceCents(),getInterestRate());
     }
     return 0;
 }
+@Override
+    protected String getInterestDescription(){
+    return "Loan Interest Charged";
+}
 @Override
     public String getAccountType(){
     return "Loan";
 }
 public double getOriginalLoanAmount(){
+    return Money.toAmount(originalLoanAmount);
+}
+public long getOriginalLoanAmountCents(){
     return originalLoanAmount;
 }
 public double getRemainingBalance(){
@@ -43,11 +65,14 @@ public double getRemainingBalance(){
 }
 
 public static class Builder extends Account.Builder<Builder>{
-    private double originalLoanAmount;
+    private long originalLoanAmount;
     public Builder(String accountId,String holderName,double loanAmount){
         super(accountId,holderName);
+        loanAmountCents(Money.toCents(loanAmount));
+    }
+    public Builder loanAmountCents(long loanAmount){
         this.originalLoanAmount=loanAmount;
-        balance(loanAmount);
+        return balanceCents(loanAmount);
     }
     @Override
     protected Builder self(){
@@ -0,0 +1,103 @@
+package com.banking.model;
+
+import java.util.Arrays;
+
+// Append-only column of longs stored in chunks of up to CHUNK_SIZE values. Each chunk keeps
+// its first value as a base and the rest as int offsets from it, counted in `unit`s; a chunk
+// falls back to raw longs only when an offset does not fit or is not a multiple of the unit.
+// Not thread-safe: TransactionLedger guards access.
+final class LongColumn {
+    static final int CHUNK_SHIFT = 8;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_CHUNK_CAPACITY = 4;
+
+    private final long unit;
+    private long[] bases = new long[1];
+    private int[][] narrow = new int[1][];
+    private long[][] wide = new long[1][];
+
+    LongColumn(long unit) {
+        this.unit = unit;
+    }
+
+    void append(int index, long value) {
+        int chunk = index >>> CHUNK_SHIFT;
+        int offset = index & CHUNK_MASK;
+        if (chunk == bases.length) {
+            int capacity = bases.length * 2;
+            bases = Arrays.copyOf(bases, capacity);
+            narrow = Arrays.copyOf(narrow, capacity);
+            wide = Arrays.copyOf(wide, capacity);
+        }
+        if (offset == 0) {
+            bases[chunk] = value;
+            narrow[chunk] = new int[INITIAL_CHUNK_CAPACITY];
+        }
+
+        long[] raw = wide[chunk];
+        if (raw == null) {
+            long delta = value - bases[chunk];
+            long scaled = delta / unit;
+            if (scaled * unit == delta && (int) scaled == scaled) {
+                int[] packed = ensureCapacity(narrow[chunk], offset);
+                packed[offset] = (int) scaled;
+                narrow[chunk] = packed;
+                return;
+            }
+            raw = widen(chunk, offset);
+        }
+        raw = ensureCapacity(raw, offset);
+        raw[offset] = value;
+        wide[chunk] = raw;
+    }
+
+    long get(int index) {
+        int chunk = index >>> CHUNK_SHIFT;
+        int offset = index & CHUNK_MASK;
+        long[] raw = wide[chunk];
+        if (raw != null) {
+            return raw[offset];
+        }
+        return bases[chunk] + narrow[chunk][offset] * unit;
+    }
+
+    // Frees the values of the first `chunks` chunks; they must not be read afterwards.
+    void release(int chunks) {
+        for (int i = 0; i < chunks; i++) {
+            narrow[i] = null;
+            wide[i] = null;
+        }
+    }
+
+    long sizeInBytes() {
+        long bytes = 16L + bases.length * 8L + 2 * (16L + narrow.length * 4L);
+        for (int i = 0; i < bases.length; i++) {
+            if (narrow[i] != null) {
+                bytes += 16L + narrow[i].length * 4L;
+            }
+            if (wide[i] != null) {
+                bytes += 16L + wide[i].length * 8L;
+            }
+        }
+        return bytes;
+    }
+
+    private long[] widen(int chunk, int count) {
+        int[] packed = narrow[chunk];
+        long[] raw = new long[packed.length];
+        for (int i = 0; i < count; i++) {
+            raw[i] = bases[chunk] + packed[i] * unit;
+        }
+        narrow[chunk] = null;
+        return raw;
+    }
+
+    private static int[] ensureCapacity(int[] values, int offset) {
+        return offset < values.length ? values : Arrays.copyOf(values, Math.min(values.length * 2, CHUNK_SIZE));
+    }
+
+    private static long[] ensureCapacity(long[] values, int offset) {
+        return offset < values.length ? values : Arrays.copyOf(values, Math.min(values.length * 2, CHUNK_SIZE));
+    }
+}
@@ -0,0 +1,31 @@
+package com.banking.model;
+
+// Money is held as a primitive long count of minor units (cents).
+// Rounding rules, applied without allocation:
+//  - double amounts entering the API are rounded half-even to the nearest cent;
+//  - rate multiplications (interest) are computed in double and rounded half-even
+//    to the nearest cent once, at the point the result is posted;
+//  - amounts that are not finite or do not fit in a long of cents are rejected.
+public final class Money {
+    public static final long CENTS_PER_UNIT = 100;
+
+    private Money() {
+    }
+
+    public static long toCents(double amount) {
+        double cents = Math.rint(amount * CENTS_PER_UNIT);
+        // The cast would silently saturate (or turn NaN into 0); 0x1p63 is 2^63.
+        if (!(cents >= -0x1p63 && cents < 0x1p63)) {
+            throw new IllegalArgumentException("Amount out of range: " + amount);
+        }
+        return (long) cents;
+    }
+
+    public static double toAmount(long cents) {
+        return (double) cents / CENTS_PER_UNIT;
+    }
+
+    public static long multiply(long cents, double factor) {
+        return (long) Math.rint(cents * factor);
+    }
+}
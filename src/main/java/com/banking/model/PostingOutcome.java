@@ -0,0 +1,29 @@
+package com.banking.model;
+
+// Result of a posting attempt. Rejections are ordinary results rather than exceptions, so the
+// posting hot path never pays for a stack trace.
+public enum PostingOutcome {
+    OK("Applied"),
+    INSUFFICIENT_FUNDS("Insufficient funds"),
+    OVERDRAFT_EXCEEDED("Exceeds overdraft limit"),
+    BELOW_MINIMUM("Balance cannot go below minimum"),
+    OVERPAYMENT("Payment exceeds remaining loan balance"),
+    INVALID_AMOUNT("Amount must be positive"),
+    NOT_SUPPORTED("Operation not supported for this account"),
+    SAME_ACCOUNT("Cannot transfer to the same account"),
+    NOT_FOUND("Account not found");
+
+    private final String description;
+
+    PostingOutcome(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isApplied() {
+        return this == OK;
+    }
+}
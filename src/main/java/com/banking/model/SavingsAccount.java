@@ -1,33 +1,41 @@
 package com.banking.model;
 
 public class SavingsAccount extends Account {
-    private final double minBalanceForInterest;
+    private final long minBalanceForInterest;
     private SavingsAccount(Builder builder){
         super(builder);
         this.minBalanceForInterest=builder.minBalanceForInterest;
     }
     @Override
-    public double calculateInterest(){
-        if(getBalance()>=minBalanceForInterest){
-            double interest = getBalance()*getInterestRate();
-            deposit(interest);
-            return interest;
+    public long interestDueCents(){
+        if(getBalanceCents()>=minBalanceForInterest){
+            return Money.multiply(getBalanceCents(),getInterestRate());
         }
         return 0;
     }
     @Override
+    protected String getInterestDescription(){
+        return "Interest Credit";
+    }
+    @Override
     public String getAccountType(){
         return "Savings";
     }
     public double getMinBalanceForInterest(){
+        return Money.toAmount(minBalanceForInterest);
+    }
+    public long getMinBalanceForInterestCents(){
         return minBalanceForInterest;
     }
     public static class Builder extends Account.Builder<Builder>{
-        private double minBalanceForInterest=1000;
+        private long minBalanceForInterest=Money.toCents(1000);
         public Builder(String accountId,String holderName){
             super(accountId,holderName);
         }
         public Builder minBalanceForInterest(double minBalanceForInterest){
+            return minBalanceForInterestCents(Money.toCents(minBalanceForInterest));
+        }
+        public Builder minBalanceForInterestCents(long minBalanceForInterest){
             this.minBalanceForInterest=minBalanceForInterest;
             return self();
         }
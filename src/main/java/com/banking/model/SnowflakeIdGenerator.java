@@ -0,0 +1,67 @@
+package com.banking.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// 64-bit ids laid out as | 41 bits millis since EPOCH | 10 bits node | 12 bits sequence |.
+// Ids are strictly increasing per generator; when a millisecond's 4096 sequence values
+// run out the generator borrows the next millisecond instead of waiting.
+public class SnowflakeIdGenerator implements TransactionIdGenerator {
+    public static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    private static final SnowflakeIdGenerator DEFAULT =
+            new SnowflakeIdGenerator(Long.getLong("banking.node.id", 0));
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    private final AtomicLong last = new AtomicLong();
+
+    public SnowflakeIdGenerator(long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    public SnowflakeIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    public static SnowflakeIdGenerator getDefault() {
+        return DEFAULT;
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            long previous = last.get();
+            long previousTime = previous >>> TIMESTAMP_SHIFT;
+            long now = clock.getAsLong() - EPOCH;
+            long next;
+            if (now > previousTime) {
+                next = (now << TIMESTAMP_SHIFT) | nodeBits;
+            } else if ((previous & SEQUENCE_MASK) != SEQUENCE_MASK) {
+                next = previous + 1;
+            } else {
+                next = ((previousTime + 1) << TIMESTAMP_SHIFT) | nodeBits;
+            }
+            if (last.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH;
+    }
+
+    public static long nodeOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
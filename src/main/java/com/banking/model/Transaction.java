@@ -1,35 +1,66 @@
 package com.banking.model;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 public class Transaction {
-private final String transactionId;
+private final long transactionId;
 private final TransactionType type;
-private final double amount;
+private final long amount;
 private final String accountId;
-private final double balanceAfter;
+private final long balanceAfter;
 private final LocalDateTime timestamp;
+private final long epochNanos;
 private final String description;
 
-public Transaction(String transactionId, TransactionType type , double amount, String accountId, double balanceAfter,
+public Transaction(long transactionId, TransactionType type , long amount, String accountId, long balanceAfter,
                    String description){
+    this(transactionId,type,amount,accountId,balanceAfter,LocalDateTime.now(),description);
+}
+
+public Transaction(long transactionId, TransactionType type , long amount, String accountId, long balanceAfter,
+                   LocalDateTime timestamp, String description){
     this.transactionId=transactionId;
     this.type=type;
     this.amount=amount;
     this.accountId=accountId;
     this.balanceAfter=balanceAfter;
-    this.timestamp=LocalDateTime.now();
+    this.timestamp=timestamp;
     this.description=description;
+    Instant instant=timestamp.atZone(ZoneId.systemDefault()).toInstant();
+    this.epochNanos=instant.getEpochSecond()*1_000_000_000L+instant.getNano();
 }
 
-public String getTransactionId(){
+// Built from the ledger's own epoch nanos, so the instant is exact even in a DST overlap.
+public Transaction(long transactionId, TransactionType type , long amount, String accountId, long balanceAfter,
+                   long epochNanos, String description){
+    this.transactionId=transactionId;
+    this.type=type;
+    this.amount=amount;
+    this.accountId=accountId;
+    this.balanceAfter=balanceAfter;
+    this.timestamp=TransactionLedger.toLocalDateTime(epochNanos);
+    this.epochNanos=epochNanos;
+    this.description=description;
+}
+
+public long getId(){
     return transactionId;
 }
 
+public String getTransactionId(){
+    return "TXN"+transactionId;
+}
+
 public TransactionType getType() {
     return type;
 }
 public double getAmount(){
+    return Money.toAmount(amount);
+}
+
+public long getAmountCents(){
     return amount;
 }
 
@@ -38,6 +69,10 @@ public String getAccountId(){
 }
 
 public double getBalanceAfter(){
+    return Money.toAmount(balanceAfter);
+}
+
+public long getBalanceAfterCents(){
     return balanceAfter;
 }
 
@@ -45,6 +80,10 @@ public LocalDateTime getTimestamp(){
     return timestamp;
 }
 
+public long getEpochNanos(){
+    return epochNanos;
+}
+
 public String getDescription(){
     return description;
 }
@@ -54,8 +93,8 @@ public String getDescription(){
     return String.format("[%s] %s:$%.2f|Balance: $%.2f|%s",
             timestamp.toString().substring(0,19),
             type.getDisplayName(),
-            amount,
-            balanceAfter,
+            Money.toAmount(amount),
+            Money.toAmount(balanceAfter),
             description);
 }
 
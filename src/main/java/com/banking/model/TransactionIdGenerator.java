@@ -0,0 +1,5 @@
+package com.banking.model;
+
+public interface TransactionIdGenerator {
+    long nextId();
+}
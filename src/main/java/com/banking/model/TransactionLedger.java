@@ -0,0 +1,442 @@
+package com.banking.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.StampedLock;
+
+// Columnar store for one account's postings. Each posting costs a handful of packed
+// primitives instead of a Transaction plus its LocalDateTime graph; Transaction objects are
+// only materialized when read. Appends come from the owning account under its lock; the
+// ledger's own StampedLock lets history readers run without waiting on that lock.
+//
+// Timestamps never decrease, so a time range maps to an index range by binary search, and a
+// bitmap per TransactionType (one bit per posting) lets type-filtered queries skip 64
+// non-matching postings per word.
+//
+// Older postings can be moved to a cold tier (see archive()) in blocks of BLOCK_SIZE. Only a
+// handle per block stays in memory; reads below getArchivedCount() load the block through it,
+// outside the ledger lock. The type bitmaps keep covering archived postings.
+public class TransactionLedger {
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final int TYPE_BITS = 2;
+    private static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+    public static final int ALL_TYPES = (1 << TYPES.length) - 1;
+    public static final int BLOCK_SIZE = LongColumn.CHUNK_SIZE;
+    private static final int BLOCK_SHIFT = LongColumn.CHUNK_SHIFT;
+    private static final ArchivedBlock[] NO_BLOCKS = new ArchivedBlock[0];
+
+    static {
+        if (TYPES.length > 1 << TYPE_BITS) {
+            throw new ExceptionInInitializerError("TransactionType no longer fits in " + TYPE_BITS + " bits");
+        }
+    }
+
+    private final String accountId;
+    private final StampedLock lock = new StampedLock();
+    private final LongColumn ids = new LongColumn(1);
+    // The system clock has microsecond resolution, so nanos usually pack as whole micros.
+    private final LongColumn timestamps = new LongColumn(1000);
+    private final LongColumn amounts = new LongColumn(1);
+    private final LongColumn balances = new LongColumn(1);
+    // Codes of the in-memory postings only, starting at the first one not archived.
+    private char[] codes = new char[4];
+    private volatile ArchivedBlock[] coldBlocks = NO_BLOCKS;
+    private int archived;
+    private final long[][] typeBits = new long[TYPES.length][1];
+    private long lastTimestamp = Long.MIN_VALUE;
+    private int size;
+
+    public TransactionLedger(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public static long currentEpochNanos() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    public void append(long id, long epochNanos, TransactionType type, long amount, long balanceAfter,
+                       String description) {
+        char code = (char) (DescriptionDictionary.intern(description) << TYPE_BITS | type.ordinal());
+        long stamp = lock.writeLock();
+        try {
+            int index = size;
+            // A wall clock stepping back must not break the ordering the range search relies on.
+            lastTimestamp = Math.max(lastTimestamp, epochNanos);
+            ids.append(index, id);
+            timestamps.append(index, lastTimestamp);
+            amounts.append(index, amount);
+            balances.append(index, balanceAfter);
+            if (index - archived == codes.length) {
+                codes = Arrays.copyOf(codes, codes.length * 2);
+            }
+            codes[index - archived] = code;
+            long[] bits = typeBits[type.ordinal()];
+            if (index >>> 6 == bits.length) {
+                for (int t = 0; t < typeBits.length; t++) {
+                    typeBits[t] = Arrays.copyOf(typeBits[t], bits.length * 2);
+                }
+                bits = typeBits[type.ordinal()];
+            }
+            bits[index >>> 6] |= 1L << index;
+            size = index + 1;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public Transaction get(int index) {
+        ArchivedBlock[] cold;
+        long stamp = lock.readLock();
+        try {
+            checkIndex(index);
+            if (index >= archived) {
+                return materialize(index);
+            }
+            cold = coldBlocks;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return cold[index >>> BLOCK_SHIFT].load().toTransaction(index & (BLOCK_SIZE - 1), accountId);
+    }
+
+    public int getArchivedCount() {
+        long stamp = lock.readLock();
+        try {
+            return archived;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Whole blocks that can move to the cold tier while keeping at least keepHot postings in memory.
+    public int archivableBlocks(int keepHot) {
+        long stamp = lock.readLock();
+        try {
+            return Math.max(0, (Math.max(0, size - keepHot) >>> BLOCK_SHIFT) - (archived >>> BLOCK_SHIFT));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Copies the given in-memory block (counting from the first block not yet archived) for
+    // writing to the cold tier. Only whole blocks can be exported.
+    public LedgerBlock exportBlock(int block) {
+        long stamp = lock.readLock();
+        try {
+            int start = archived + (block << BLOCK_SHIFT);
+            if (block < 0 || start + BLOCK_SIZE > size) {
+                throw new IndexOutOfBoundsException("No complete in-memory block " + block);
+            }
+            long[] blockIds = new long[BLOCK_SIZE];
+            long[] blockTimestamps = new long[BLOCK_SIZE];
+            TransactionType[] blockTypes = new TransactionType[BLOCK_SIZE];
+            long[] blockAmounts = new long[BLOCK_SIZE];
+            long[] blockBalances = new long[BLOCK_SIZE];
+            String[] blockDescriptions = new String[BLOCK_SIZE];
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                int index = start + i;
+                char code = codes[index - archived];
+                blockIds[i] = ids.get(index);
+                blockTimestamps[i] = timestamps.get(index);
+                blockTypes[i] = TYPES[code & TYPE_MASK];
+                blockAmounts[i] = amounts.get(index);
+                blockBalances[i] = balances.get(index);
+                blockDescriptions[i] = DescriptionDictionary.lookup(code >>> TYPE_BITS);
+            }
+            return new LedgerBlock(blockIds, blockTimestamps, blockTypes, blockAmounts, blockBalances,
+                    blockDescriptions);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Replaces the oldest in-memory blocks with their archived copies, in order, and frees them.
+    public void archive(List<ArchivedBlock> blocks) {
+        long stamp = lock.writeLock();
+        try {
+            int moved = blocks.size() << BLOCK_SHIFT;
+            if (archived + moved > size) {
+                throw new IllegalArgumentException("Cannot archive " + blocks.size() + " blocks of "
+                        + accountId + ": only " + (size - archived) + " postings in memory");
+            }
+            ArchivedBlock[] cold = Arrays.copyOf(coldBlocks, coldBlocks.length + blocks.size());
+            for (int i = 0; i < blocks.size(); i++) {
+                cold[coldBlocks.length + i] = blocks.get(i);
+            }
+            codes = Arrays.copyOfRange(codes, moved, Math.max(codes.length, moved + 4));
+            archived += moved;
+            ids.release(archived >>> BLOCK_SHIFT);
+            timestamps.release(archived >>> BLOCK_SHIFT);
+            amounts.release(archived >>> BLOCK_SHIFT);
+            balances.release(archived >>> BLOCK_SHIFT);
+            coldBlocks = cold;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private Transaction materialize(int index) {
+        char code = codes[index - archived];
+        return new Transaction(ids.get(index), TYPES[code & TYPE_MASK], amounts.get(index), accountId,
+                balances.get(index), timestamps.get(index),
+                DescriptionDictionary.lookup(code >>> TYPE_BITS));
+    }
+
+    // Searches the in-memory postings first; only when the answer lies in the cold tier does it
+    // search the block handles. Called under the read lock, so it never loads a block: it
+    // returns -(block + 1) instead, for resolve() to finish once the lock is released.
+    private int lowerBound(long epochNanos) {
+        if (archived > 0 && (archived == size || timestamps.get(archived) >= epochNanos)) {
+            ArchivedBlock[] cold = coldBlocks;
+            int low = 0;
+            int high = cold.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cold[mid].getFirstTimestamp() < epochNanos) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low == 0) {
+                return 0;
+            }
+            return -low;
+        }
+        int low = archived;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps.get(mid) < epochNanos) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int resolve(ArchivedBlock[] cold, int bound, long epochNanos) {
+        if (bound >= 0) {
+            return bound;
+        }
+        int block = -bound - 1;
+        return (block << BLOCK_SHIFT) + cold[block].load().indexAt(epochNanos);
+    }
+
+    // First index in [from, end) whose type is in the mask, or -1.
+    private int nextMatch(int from, int end, int typeMask) {
+        if (from >= end || (typeMask & ALL_TYPES) == 0) {
+            return -1;
+        }
+        if ((typeMask & ALL_TYPES) == ALL_TYPES) {
+            return from;
+        }
+        int word = from >>> 6;
+        long bits = typeWord(word, typeMask) & (-1L << from);
+        int lastWord = (end - 1) >>> 6;
+        while (true) {
+            if (bits != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                return index < end ? index : -1;
+            }
+            if (++word > lastWord) {
+                return -1;
+            }
+            bits = typeWord(word, typeMask);
+        }
+    }
+
+    // Last index in [start, from] whose type is in the mask, or -1.
+    private int previousMatch(int from, int start, int typeMask) {
+        if (from < start || (typeMask & ALL_TYPES) == 0) {
+            return -1;
+        }
+        if ((typeMask & ALL_TYPES) == ALL_TYPES) {
+            return from;
+        }
+        int word = from >>> 6;
+        long bits = typeWord(word, typeMask) & (-1L >>> (63 - (from & 63)));
+        int firstWord = start >>> 6;
+        while (true) {
+            if (bits != 0) {
+                int index = (word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+                return index >= start ? index : -1;
+            }
+            if (--word < firstWord) {
+                return -1;
+            }
+            bits = typeWord(word, typeMask);
+        }
+    }
+
+    private long typeWord(int word, int typeMask) {
+        long bits = 0;
+        for (int t = 0; t < typeBits.length; t++) {
+            if ((typeMask & (1 << t)) != 0) {
+                bits |= typeBits[t][word];
+            }
+        }
+        return bits;
+    }
+
+    // Materializes the postings at the given indices under one read lock.
+    // Archived postings are loaded after the lock is released.
+    public List<Transaction> getAll(int[] indices) {
+        List<Transaction> transactions = new ArrayList<>(indices.length);
+        boolean anyCold = false;
+        ArchivedBlock[] cold;
+        long stamp = lock.readLock();
+        try {
+            cold = coldBlocks;
+            for (int index : indices) {
+                checkIndex(index);
+                boolean hot = index >= archived;
+                transactions.add(hot ? materialize(index) : null);
+                anyCold |= !hot;
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        if (anyCold) {
+            for (int i = 0; i < indices.length; i++) {
+                if (transactions.get(i) == null) {
+                    int index = indices[i];
+                    transactions.set(i, cold[index >>> BLOCK_SHIFT].load()
+                            .toTransaction(index & (BLOCK_SIZE - 1), accountId));
+                }
+            }
+        }
+        return transactions;
+    }
+
+    // Index of the first posting at or after the given time, or size() if there is none.
+    public int indexAt(long epochNanos) {
+        int bound;
+        ArchivedBlock[] cold;
+        long stamp = lock.readLock();
+        try {
+            bound = lowerBound(epochNanos);
+            cold = coldBlocks;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return resolve(cold, bound, epochNanos);
+    }
+
+    // Indices of up to `limit` postings with fromNanos <= timestamp < toNanos whose type bit is
+    // set in typeMask (1 << ordinal), walking forward from `start`, or backward from it when
+    // newestFirst. To continue, pass the last index returned plus one (minus one backward).
+    public int[] select(long fromNanos, long toNanos, int typeMask, boolean newestFirst, int start, int limit) {
+        int low;
+        int high;
+        ArchivedBlock[] cold;
+        long stamp = lock.readLock();
+        try {
+            low = lowerBound(fromNanos);
+            high = lowerBound(toNanos);
+            if (low >= 0 && high >= 0) {
+                return collect(low, high, typeMask, newestFirst, start, limit);
+            }
+            cold = coldBlocks;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        // A bound lies in an archived block: load it unlocked, then walk under the lock again.
+        // Indices never move, so bounds found before a concurrent append or archive stay valid.
+        low = resolve(cold, low, fromNanos);
+        high = resolve(cold, high, toNanos);
+        stamp = lock.readLock();
+        try {
+            return collect(low, high, typeMask, newestFirst, start, limit);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int[] collect(int low, int high, int typeMask, boolean newestFirst, int start, int limit) {
+        int[] found = new int[Math.min(limit, 1024)];
+        int count = 0;
+        int index = newestFirst ? Math.min(start, high - 1) : Math.max(start, low);
+        while (count < limit) {
+            index = newestFirst ? previousMatch(index, low, typeMask) : nextMatch(index, high, typeMask);
+            if (index < 0) {
+                break;
+            }
+            if (count == found.length) {
+                found = Arrays.copyOf(found, Math.min(limit, count * 2));
+            }
+            found[count++] = index;
+            index += newestFirst ? -1 : 1;
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    public Transaction getLast() {
+        int count = size();
+        return count == 0 ? null : get(count - 1);
+    }
+
+    // A fixed-size, read-only view of the postings recorded so far.
+    public List<Transaction> view() {
+        return new LedgerView(size());
+    }
+
+    public long sizeInBytes() {
+        long stamp = lock.readLock();
+        try {
+            return ids.sizeInBytes() + timestamps.sizeInBytes() + amounts.sizeInBytes()
+                    + balances.sizeInBytes() + 16L + codes.length * 2L
+                    + typeBits.length * (16L + typeBits[0].length * 8L) + 16L + coldBlocks.length * 8L;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    static LocalDateTime toLocalDateTime(long epochNanos) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(0, epochNanos), ZoneId.systemDefault());
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private class LedgerView extends AbstractList<Transaction> implements RandomAccess {
+        private final int size;
+
+        LedgerView(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            if (index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return TransactionLedger.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
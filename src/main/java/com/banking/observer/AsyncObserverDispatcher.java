@@ -0,0 +1,378 @@
+package com.banking.observer;
+
+import com.banking.model.Account;
+import com.banking.model.Transaction;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Hands transactions to observers on background threads so slow observers stay off the posting
+// path. Every observer gets its own bounded ring buffer and consumer thread, and publishing to
+// a ring is serialized by that ring's own lock, so each ring has a single writer and a single
+// reader. A slow observer only backs up its own ring: under BLOCK a publisher waits for space
+// holding that ring's lock alone, and other publishers keep filling the rings that have room.
+// Consumers drain whatever is available in one batch before publishing their progress.
+// BankingService notifies under the account lock, so each observer still sees an account's
+// postings in the order they were applied.
+//
+// Observers run after the posting returns, so they should read balances from the transaction
+// (getBalanceAfter) rather than from the live account. A transfer travels as one event and
+// reaches the observer through onTransfer, so counterparty-aware observers keep both legs.
+// Stats count it as one event.
+public class AsyncObserverDispatcher implements TransactionObserver, AutoCloseable {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final BackpressurePolicy policy;
+    private final Subscriber[] subscribers;
+    // Publishers share the read lock; close() takes the write lock so that no event is half
+    // published when the consumers are told to stop.
+    private final ReentrantReadWriteLock lifecycle = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    private AsyncObserverDispatcher(Builder builder) {
+        this.policy = builder.policy;
+        this.subscribers = new Subscriber[builder.observers.size()];
+        for (int i = 0; i < subscribers.length; i++) {
+            subscribers[i] = new Subscriber(builder.observers.get(i), builder.ringSize, builder.batchSize);
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.thread.start();
+        }
+    }
+
+    @Override
+    public void onTransaction(Account account, Transaction transaction) {
+        lifecycle.readLock().lock();
+        try {
+            // The posting is already applied; a closed dispatcher can only count what it missed.
+            if (!running) {
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.drop(1);
+                }
+                return;
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.publish(account, transaction, policy);
+            }
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onTransfer(Account from, Transaction debit, Account to, Transaction credit) {
+        lifecycle.readLock().lock();
+        try {
+            if (!running) {
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.drop(1);
+                }
+                return;
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.publishTransfer(from, debit, to, credit, policy);
+            }
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+    }
+
+    // Publishes a batch under one acquisition of each ring's lock.
+    @Override
+    public void onTransactions(Account account, List<Transaction> transactions) {
+        lifecycle.readLock().lock();
+        try {
+            if (!running) {
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.drop(transactions.size());
+                }
+                return;
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.publishAll(account, transactions, policy);
+            }
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+    }
+
+    public List<ObserverStats> getStats() {
+        List<ObserverStats> stats = new ArrayList<>(subscribers.length);
+        for (Subscriber subscriber : subscribers) {
+            stats.add(subscriber.stats());
+        }
+        return stats;
+    }
+
+    // Waits until every accepted event has been handed to its observer. Returns false on timeout.
+    public boolean awaitIdle(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Subscriber subscriber : subscribers) {
+            while (subscriber.published != subscriber.delivered) {
+                if (System.nanoTime() >= deadline) {
+                    return false;
+                }
+                LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+            }
+        }
+        return true;
+    }
+
+    // Stops accepting events (later ones are counted as dropped), lets every consumer drain what
+    // was already accepted and joins them.
+    @Override
+    public void close() {
+        lifecycle.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycle.writeLock().unlock();
+        }
+        for (Subscriber subscriber : subscribers) {
+            LockSupport.unpark(subscriber.thread);
+        }
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // counterparty and credit are set only for transfers.
+    private record SpilledEvent(long sequence, Account account, Transaction transaction,
+                                Account counterparty, Transaction credit) {
+    }
+
+    private final class Subscriber implements Runnable {
+        private final TransactionObserver observer;
+        private final int mask;
+        private final int batchSize;
+        private final Account[] accounts;
+        private final Transaction[] transactions;
+        // Credit leg of a transfer slot, null for ordinary postings.
+        private final Account[] counterparties;
+        private final Transaction[] credits;
+        // Per-observer event sequence of each slot, used to merge the ring with the spill queue.
+        private final long[] sequences;
+        private final Queue<SpilledEvent> spill = new ConcurrentLinkedQueue<>();
+        private final ReentrantLock publishLock = new ReentrantLock();
+        private final Thread thread;
+
+        // Ring positions: tail is written by the publisher, head by the consumer.
+        private final AtomicLong tail = new AtomicLong();
+        private final AtomicLong head = new AtomicLong();
+        private volatile boolean parked;
+
+        private volatile long published;
+        private volatile long delivered;
+        private volatile long dropped;
+        private volatile long spilled;
+        private volatile long failed;
+
+        Subscriber(TransactionObserver observer, int ringSize, int batchSize) {
+            this.observer = observer;
+            this.mask = ringSize - 1;
+            this.batchSize = batchSize;
+            this.accounts = new Account[ringSize];
+            this.transactions = new Transaction[ringSize];
+            this.counterparties = new Account[ringSize];
+            this.credits = new Transaction[ringSize];
+            this.sequences = new long[ringSize];
+            this.thread = new Thread(this, "observer-" + observer.getClass().getSimpleName());
+            this.thread.setDaemon(true);
+        }
+
+        void publish(Account account, Transaction transaction, BackpressurePolicy policy) {
+            publishLock.lock();
+            try {
+                offer(account, transaction, null, null, policy);
+            } finally {
+                publishLock.unlock();
+            }
+        }
+
+        void publishTransfer(Account from, Transaction debit, Account to, Transaction credit,
+                             BackpressurePolicy policy) {
+            publishLock.lock();
+            try {
+                offer(from, debit, to, credit, policy);
+            } finally {
+                publishLock.unlock();
+            }
+        }
+
+        void publishAll(Account account, List<Transaction> transactions, BackpressurePolicy policy) {
+            publishLock.lock();
+            try {
+                for (Transaction transaction : transactions) {
+                    offer(account, transaction, null, null, policy);
+                }
+            } finally {
+                publishLock.unlock();
+            }
+        }
+
+        void drop(int count) {
+            publishLock.lock();
+            try {
+                dropped += count;
+            } finally {
+                publishLock.unlock();
+            }
+        }
+
+        // Called with this ring's publish lock held, so it is the ring's only writer.
+        private void offer(Account account, Transaction transaction, Account counterparty, Transaction credit,
+                           BackpressurePolicy policy) {
+            long position = tail.get();
+            if (position - head.get() > mask) {
+                switch (policy) {
+                    case DROP -> {
+                        dropped++;
+                        return;
+                    }
+                    case SPILL -> {
+                        spill.add(new SpilledEvent(published, account, transaction, counterparty, credit));
+                        spilled++;
+                        published++;
+                        wake();
+                        return;
+                    }
+                    case BLOCK -> {
+                        while (position - head.get() > mask) {
+                            wake();
+                            LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+                        }
+                    }
+                }
+            }
+            int slot = (int) position & mask;
+            accounts[slot] = account;
+            transactions[slot] = transaction;
+            counterparties[slot] = counterparty;
+            credits[slot] = credit;
+            sequences[slot] = published;
+            published++;
+            tail.set(position + 1);
+            wake();
+        }
+
+        private void wake() {
+            if (parked) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            long next = 0;
+            long position = head.get();
+            while (true) {
+                long available = tail.get();
+                int batch = 0;
+                while (batch < batchSize) {
+                    if (position < available && sequences[(int) position & mask] == next) {
+                        int slot = (int) position & mask;
+                        deliver(accounts[slot], transactions[slot], counterparties[slot], credits[slot]);
+                        accounts[slot] = null;
+                        transactions[slot] = null;
+                        counterparties[slot] = null;
+                        credits[slot] = null;
+                        position++;
+                    } else {
+                        SpilledEvent event = spill.peek();
+                        if (event == null || event.sequence() != next) {
+                            break;
+                        }
+                        spill.poll();
+                        deliver(event.account(), event.transaction(), event.counterparty(), event.credit());
+                    }
+                    next++;
+                    batch++;
+                }
+                if (batch > 0) {
+                    head.set(position);
+                    delivered = next;
+                    continue;
+                }
+                if (!running && tail.get() == position && spill.isEmpty()) {
+                    return;
+                }
+                parked = true;
+                if (tail.get() == position && spill.peek() == null && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                parked = false;
+            }
+        }
+
+        private void deliver(Account account, Transaction transaction, Account counterparty, Transaction credit) {
+            try {
+                if (credit == null) {
+                    observer.onTransaction(account, transaction);
+                } else {
+                    observer.onTransfer(account, transaction, counterparty, credit);
+                }
+            } catch (RuntimeException e) {
+                failed++;
+            }
+        }
+
+        ObserverStats stats() {
+            return new ObserverStats(observer, published, delivered, dropped, spilled, failed);
+        }
+    }
+
+    public static class Builder {
+        private final List<TransactionObserver> observers = new ArrayList<>();
+        private int ringSize = 1024;
+        private int batchSize = 64;
+        private BackpressurePolicy policy = BackpressurePolicy.BLOCK;
+
+        public Builder observer(TransactionObserver observer) {
+            observers.add(observer);
+            return this;
+        }
+
+        // Rounded up to a power of two.
+        public Builder ringSize(int ringSize) {
+            if (ringSize < 2) {
+                throw new IllegalArgumentException("Ring size must be at least 2");
+            }
+            this.ringSize = Integer.highestOneBit(ringSize - 1) << 1;
+            return this;
+        }
+
+        public Builder batchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("Batch size must be positive");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Builder backpressure(BackpressurePolicy policy) {
+            this.policy = policy;
+            return this;
+        }
+
+        public AsyncObserverDispatcher build() {
+            if (observers.isEmpty()) {
+                throw new IllegalStateException("At least one observer is required");
+            }
+            return new AsyncObserverDispatcher(this);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.banking.observer;
+
+// What AsyncObserverDispatcher does when an observer's ring buffer is full.
+public enum BackpressurePolicy {
+    // The posting thread waits until the observer catches up.
+    BLOCK,
+    // The event is discarded for that observer and counted as dropped.
+    DROP,
+    // The event goes to an unbounded overflow queue and is still delivered in order.
+    SPILL
+}
@@ -22,7 +22,7 @@ public class FraudDetectionObserver implements TransactionObserver {
         }
 
         if (transaction.getType() == TransactionType.WITHDRAWAL
-                && transaction.getAmount() > account.getBalance() * 0.9) {
+                && transaction.getAmount() > transaction.getBalanceAfter() * 0.9) {
             System.out.printf("[FRAUD ALERT] Near-total withdrawal of $%.2f from account %s (Balance was: $%.2f)%n",
                     transaction.getAmount(),
                     account.getAccountId(),
@@ -0,0 +1,60 @@
+package com.banking.observer;
+
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.TransactionType;
+
+// Restricts an observer to some transaction types and/or account types. Both sets are kept as
+// ordinal bitmasks so a dispatch-time check is two ANDs; the account type is only resolved
+// when the filter actually restricts it.
+public final class ObserverFilter {
+    private static final int ALL = -1;
+    private static final ObserverFilter ACCEPT_ALL = new ObserverFilter(ALL, ALL);
+
+    private final int transactionTypes;
+    private final int accountTypes;
+
+    private ObserverFilter(int transactionTypes, int accountTypes) {
+        this.transactionTypes = transactionTypes;
+        this.accountTypes = accountTypes;
+    }
+
+    public static ObserverFilter all() {
+        return ACCEPT_ALL;
+    }
+
+    public static ObserverFilter transactionTypes(TransactionType... types) {
+        return ACCEPT_ALL.andTransactionTypes(types);
+    }
+
+    public static ObserverFilter accountTypes(AccountType... types) {
+        return ACCEPT_ALL.andAccountTypes(types);
+    }
+
+    public ObserverFilter andTransactionTypes(TransactionType... types) {
+        int mask = 0;
+        for (TransactionType type : types) {
+            mask |= 1 << type.ordinal();
+        }
+        return new ObserverFilter(transactionTypes & mask, accountTypes);
+    }
+
+    public ObserverFilter andAccountTypes(AccountType... types) {
+        int mask = 0;
+        for (AccountType type : types) {
+            mask |= 1 << type.ordinal();
+        }
+        return new ObserverFilter(transactionTypes, accountTypes & mask);
+    }
+
+    public boolean acceptsAll() {
+        return transactionTypes == ALL && accountTypes == ALL;
+    }
+
+    public boolean matches(Account account, TransactionType type) {
+        if ((transactionTypes & (1 << type.ordinal())) == 0) {
+            return false;
+        }
+        return accountTypes == ALL || (accountTypes & (1 << AccountType.of(account).ordinal())) != 0;
+    }
+}
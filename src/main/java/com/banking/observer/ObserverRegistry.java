@@ -0,0 +1,163 @@
+package com.banking.observer;
+
+import com.banking.model.Account;
+import com.banking.model.Transaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Observer list that can be changed while other threads are notifying. The registrations live
+// in an immutable array that add/remove replace with a CAS, so notify() reads one reference
+// and loops over a plain array: no lock, no iterator, and a concurrent change is seen either
+// completely or not at all.
+//
+// Observers run after the posting has been applied and journaled, so an observer that throws
+// must neither fail the posting nor starve the observers after it: its failure is counted and
+// delivery moves on.
+public class ObserverRegistry {
+    private static final Registration[] EMPTY = new Registration[0];
+
+    private final AtomicReference<Registration[]> registrations = new AtomicReference<>(EMPTY);
+    private final LongAdder failures = new LongAdder();
+
+    public void add(TransactionObserver observer) {
+        add(observer, ObserverFilter.all());
+    }
+
+    public void add(TransactionObserver observer, ObserverFilter filter) {
+        Registration registration = new Registration(observer, filter);
+        while (true) {
+            Registration[] current = registrations.get();
+            Registration[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = registration;
+            if (registrations.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    // Removes the first registration of the observer. Returns false if it was not registered.
+    public boolean remove(TransactionObserver observer) {
+        while (true) {
+            Registration[] current = registrations.get();
+            int index = indexOf(current, observer);
+            if (index < 0) {
+                return false;
+            }
+            Registration[] next = new Registration[current.length - 1];
+            System.arraycopy(current, 0, next, 0, index);
+            System.arraycopy(current, index + 1, next, index, next.length - index);
+            if (registrations.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    public void notify(Account account, Transaction transaction) {
+        Registration[] current = registrations.get();
+        for (int i = 0; i < current.length; i++) {
+            Registration registration = current[i];
+            if (registration.acceptsAll || registration.filter.matches(account, transaction.getType())) {
+                deliver(registration.observer, account, transaction);
+            }
+        }
+    }
+
+    // Delivers postings to one account as a single batch per observer; filtered observers get
+    // only the postings their filter matches.
+    public void notify(Account account, List<Transaction> transactions) {
+        Registration[] current = registrations.get();
+        for (int i = 0; i < current.length; i++) {
+            Registration registration = current[i];
+            if (registration.acceptsAll) {
+                deliver(registration.observer, account, transactions);
+                continue;
+            }
+            List<Transaction> matching = new ArrayList<>();
+            for (Transaction transaction : transactions) {
+                if (registration.filter.matches(account, transaction.getType())) {
+                    matching.add(transaction);
+                }
+            }
+            if (!matching.isEmpty()) {
+                deliver(registration.observer, account, matching);
+            }
+        }
+    }
+
+    // Observers that accept everything get both legs in one onTransfer call; filtered observers
+    // get each leg their filter matches as an ordinary posting.
+    public void notifyTransfer(Account from, Transaction debit, Account to, Transaction credit) {
+        Registration[] current = registrations.get();
+        for (int i = 0; i < current.length; i++) {
+            Registration registration = current[i];
+            if (registration.acceptsAll) {
+                try {
+                    registration.observer.onTransfer(from, debit, to, credit);
+                } catch (RuntimeException e) {
+                    failures.increment();
+                }
+                continue;
+            }
+            if (registration.filter.matches(from, debit.getType())) {
+                deliver(registration.observer, from, debit);
+            }
+            if (registration.filter.matches(to, credit.getType())) {
+                deliver(registration.observer, to, credit);
+            }
+        }
+    }
+
+    // Observer calls that threw since the registry was created.
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public int size() {
+        return registrations.get().length;
+    }
+
+    public boolean isEmpty() {
+        return registrations.get().length == 0;
+    }
+
+    private void deliver(TransactionObserver observer, Account account, Transaction transaction) {
+        try {
+            observer.onTransaction(account, transaction);
+        } catch (RuntimeException e) {
+            failures.increment();
+        }
+    }
+
+    private void deliver(TransactionObserver observer, Account account, List<Transaction> transactions) {
+        try {
+            observer.onTransactions(account, transactions);
+        } catch (RuntimeException e) {
+            failures.increment();
+        }
+    }
+
+    private static int indexOf(Registration[] registrations, TransactionObserver observer) {
+        for (int i = 0; i < registrations.length; i++) {
+            if (registrations[i].observer.equals(observer)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Registration {
+        final TransactionObserver observer;
+        final ObserverFilter filter;
+        final boolean acceptsAll;
+
+        Registration(TransactionObserver observer, ObserverFilter filter) {
+            this.observer = observer;
+            this.filter = filter;
+            this.acceptsAll = filter.acceptsAll();
+        }
+    }
+}
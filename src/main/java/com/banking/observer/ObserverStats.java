@@ -0,0 +1,39 @@
+package com.banking.observer;
+
+// Point-in-time delivery counters for one observer behind an AsyncObserverDispatcher.
+public class ObserverStats {
+    private final TransactionObserver observer;
+    private final long published;
+    private final long delivered;
+    private final long dropped;
+    private final long spilled;
+    private final long failed;
+
+    ObserverStats(TransactionObserver observer, long published, long delivered,
+                  long dropped, long spilled, long failed) {
+        this.observer = observer;
+        this.published = published;
+        this.delivered = delivered;
+        this.dropped = dropped;
+        this.spilled = spilled;
+        this.failed = failed;
+    }
+
+    public TransactionObserver getObserver() { return observer; }
+    public long getPublished() { return published; }
+    public long getDelivered() { return delivered; }
+    public long getDropped() { return dropped; }
+    public long getSpilled() { return spilled; }
+    public long getFailed() { return failed; }
+
+    // Events accepted for this observer but not yet handed to it.
+    public long getLag() {
+        return published - delivered;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: lag=%d delivered=%d dropped=%d spilled=%d failed=%d",
+                observer.getClass().getSimpleName(), getLag(), delivered, dropped, spilled, failed);
+    }
+}
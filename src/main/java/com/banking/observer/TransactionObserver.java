@@ -3,6 +3,23 @@ package com.banking.observer;
 import com.banking.model.Account;
 import com.banking.model.Transaction;
 
+import java.util.List;
+
 public interface TransactionObserver {
     void onTransaction(Account account, Transaction transaction);
+
+    // Several postings to one account, in the order they were applied. Batch postings deliver
+    // one call per account instead of one per posting; override to handle them in one go.
+    default void onTransactions(Account account, List<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            onTransaction(account, transaction);
+        }
+    }
+
+    // Both legs of a transfer, so observers can see the counterparty. By default each leg is
+    // delivered as an ordinary posting to its own account.
+    default void onTransfer(Account from, Transaction debit, Account to, Transaction credit) {
+        onTransaction(from, debit);
+        onTransaction(to, credit);
+    }
 }
@@ -0,0 +1,220 @@
+package com.banking.reporting;
+
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.Transaction;
+import com.banking.model.TransactionLedger;
+import com.banking.model.TransactionType;
+import com.banking.observer.TransactionObserver;
+import com.banking.repository.AccountRepository;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Book-wide totals kept up to date on every posting, so end-of-day reporting reads a few
+// counters instead of scanning every account and its history: account counts and balances
+// per AccountType, and per day the number and sum of postings by AccountType and
+// TransactionType. All counters are striped LongAdders, so concurrent postings to different
+// accounts do not contend on them, and every query is O(1).
+//
+// Install it with BankingService.setAggregates, which seeds it from the repository and then
+// feeds it openings and postings. Days older than retentionDays behind the newest posting are
+// recycled and read as zero. Totals are exact once postings quiesce; a read racing a transfer
+// may see one leg without the other.
+public class BookAggregates implements TransactionObserver {
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+
+    private final LongAdder[] accounts = adders(ACCOUNT_TYPES.length);
+    private final LongAdder[] balances = adders(ACCOUNT_TYPES.length);
+    private final AtomicReferenceArray<DayTotals> days;
+
+    private BookAggregates(Builder builder) {
+        this.days = new AtomicReferenceArray<>(builder.retentionDays);
+    }
+
+    // Adds every account in the repository and the postings of its retained days. Run it
+    // before the book takes traffic, or postings made meanwhile are counted twice.
+    public void seed(AccountRepository repository) {
+        long oldestDay = LocalDate.now().toEpochDay() - days.length() + 1;
+        long fromNanos = LocalDate.ofEpochDay(oldestDay).atStartOfDay(ZoneId.systemDefault())
+                .toInstant().toEpochMilli() * 1_000_000L;
+        repository.forEach(account -> {
+            accountOpened(account);
+            TransactionLedger ledger = account.getLedger();
+            int[] indices = ledger.select(fromNanos, Long.MAX_VALUE, TransactionLedger.ALL_TYPES, false, 0,
+                    Integer.MAX_VALUE);
+            AccountType type = AccountType.of(account);
+            for (Transaction transaction : ledger.getAll(indices)) {
+                countDaily(type, transaction);
+            }
+        });
+    }
+
+    public void accountOpened(Account account) {
+        int type = AccountType.of(account).ordinal();
+        accounts[type].increment();
+        balances[type].add(account.getBalanceCents());
+    }
+
+    @Override
+    public void onTransaction(Account account, Transaction transaction) {
+        AccountType type = AccountType.of(account);
+        balances[type.ordinal()].add(balanceChange(type, transaction));
+        countDaily(type, transaction);
+    }
+
+    @Override
+    public void onTransactions(Account account, List<Transaction> transactions) {
+        AccountType type = AccountType.of(account);
+        long change = 0;
+        for (Transaction transaction : transactions) {
+            change += balanceChange(type, transaction);
+            countDaily(type, transaction);
+        }
+        balances[type.ordinal()].add(change);
+    }
+
+    public long getAccountCount(AccountType type) {
+        return accounts[type.ordinal()].sum();
+    }
+
+    public long getBalanceCents(AccountType type) {
+        return balances[type.ordinal()].sum();
+    }
+
+    // What loan holders still owe: principal plus charged interest, less payments.
+    public long getOutstandingLoanCents() {
+        return getBalanceCents(AccountType.LOAN);
+    }
+
+    public long getDailyCount(LocalDate date, TransactionType transactionType) {
+        long count = 0;
+        for (AccountType type : ACCOUNT_TYPES) {
+            count += getDailyCount(date, type, transactionType);
+        }
+        return count;
+    }
+
+    public long getDailyCount(LocalDate date, AccountType type, TransactionType transactionType) {
+        DayTotals day = find(date.toEpochDay());
+        return day == null ? 0 : day.counts[slot(type, transactionType)].sum();
+    }
+
+    public long getDailyAmountCents(LocalDate date, TransactionType transactionType) {
+        long amount = 0;
+        for (AccountType type : ACCOUNT_TYPES) {
+            amount += getDailyAmountCents(date, type, transactionType);
+        }
+        return amount;
+    }
+
+    public long getDailyAmountCents(LocalDate date, AccountType type, TransactionType transactionType) {
+        DayTotals day = find(date.toEpochDay());
+        return day == null ? 0 : day.amounts[slot(type, transactionType)].sum();
+    }
+
+    // Balances by account type and the given day's postings, as a text table.
+    public String endOfDayReport(LocalDate date) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("Book as of %s%n", date));
+        out.append(String.format("%-10s %10s %18s%n", "type", "accounts", "balance"));
+        for (AccountType type : ACCOUNT_TYPES) {
+            out.append(String.format("%-10s %10d %18.2f%n", type, getAccountCount(type),
+                    getBalanceCents(type) / 100.0));
+        }
+        out.append(String.format("%-10s %-12s %10s %18s%n", "type", "posting", "count", "amount"));
+        for (AccountType type : ACCOUNT_TYPES) {
+            for (TransactionType transactionType : TRANSACTION_TYPES) {
+                long count = getDailyCount(date, type, transactionType);
+                if (count > 0) {
+                    out.append(String.format("%-10s %-12s %10d %18.2f%n", type, transactionType, count,
+                            getDailyAmountCents(date, type, transactionType) / 100.0));
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    // Loan balances are what the holder owes, so a payment lowers them.
+    private static long balanceChange(AccountType type, Transaction transaction) {
+        long amount = transaction.getAmountCents();
+        return switch (transaction.getType()) {
+            case DEPOSIT -> type == AccountType.LOAN ? -amount : amount;
+            case WITHDRAWAL -> -amount;
+            case INTEREST -> amount;
+            case TRANSFER -> 0;
+        };
+    }
+
+    private void countDaily(AccountType type, Transaction transaction) {
+        DayTotals day = bucket(transaction.getTimestamp().toLocalDate().toEpochDay());
+        if (day != null) {
+            int slot = slot(type, transaction.getType());
+            day.counts[slot].increment();
+            day.amounts[slot].add(transaction.getAmountCents());
+        }
+    }
+
+    private static int slot(AccountType type, TransactionType transactionType) {
+        return type.ordinal() * TRANSACTION_TYPES.length + transactionType.ordinal();
+    }
+
+    // The bucket for the day, replacing an older day in its slot. Null if the slot already
+    // holds a newer day, i.e. the day has aged out.
+    private DayTotals bucket(long epochDay) {
+        int slot = Math.floorMod(epochDay, days.length());
+        while (true) {
+            DayTotals current = days.get(slot);
+            if (current != null && current.epochDay >= epochDay) {
+                return current.epochDay == epochDay ? current : null;
+            }
+            DayTotals fresh = new DayTotals(epochDay);
+            if (days.compareAndSet(slot, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private DayTotals find(long epochDay) {
+        DayTotals day = days.get(Math.floorMod(epochDay, days.length()));
+        return day != null && day.epochDay == epochDay ? day : null;
+    }
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static final class DayTotals {
+        final long epochDay;
+        final LongAdder[] counts = adders(ACCOUNT_TYPES.length * TRANSACTION_TYPES.length);
+        final LongAdder[] amounts = adders(ACCOUNT_TYPES.length * TRANSACTION_TYPES.length);
+
+        DayTotals(long epochDay) {
+            this.epochDay = epochDay;
+        }
+    }
+
+    public static class Builder {
+        private int retentionDays = 400;
+
+        public Builder retentionDays(int retentionDays) {
+            if (retentionDays < 1) {
+                throw new IllegalArgumentException("Retention must be at least one day");
+            }
+            this.retentionDays = retentionDays;
+            return this;
+        }
+
+        public BookAggregates build() {
+            return new BookAggregates(this);
+        }
+    }
+}
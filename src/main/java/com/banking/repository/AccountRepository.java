@@ -4,12 +4,34 @@ import com.banking.model.Account;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface AccountRepository {
     void save(Account account);
+    boolean saveIfAbsent(Account account);
     Optional<Account> findById(String accountId);
+    // Copies every account; prefer stream(), forEach() or findAll(cursor, limit) for large books.
     List<Account> findAll();
+    // Accounts ordered by id, starting after the cursor (null for the first page).
+    Page<Account> findAll(String cursor, int limit);
+    // Weakly consistent view of all accounts that splits evenly for parallel streams.
+    Spliterator<Account> spliterator();
+    long count();
     List<Account> findByHolderName(String holderName);
+    // Case-insensitive prefix match ordered by holder name then account id; pass null as the
+    // cursor for the first page.
+    Page<Account> findByHolderNamePrefix(String prefix, String cursor, int limit);
     void delete(String accountId);
     boolean exists(String accountId);
+
+    default Stream<Account> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default void forEach(Consumer<? super Account> action) {
+        spliterator().forEachRemaining(action);
+    }
 }
@@ -0,0 +1,87 @@
+package com.banking.repository;
+
+import com.banking.model.Account;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Case-folded holder-name index. Exact lookups go through a hash map of name -> accounts;
+// prefix and paged lookups use an optional skip list keyed by name + '\0' + account id, which
+// orders accounts by name and then id and doubles as the page cursor. Callers serialize
+// add/remove per account id; reads are lock-free and weakly consistent.
+final class HolderNameIndex {
+    private static final char SEPARATOR = '\0';
+
+    private final ConcurrentHashMap<String, Map<String, Account>> byName = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Account> sorted;
+
+    HolderNameIndex(boolean sorted) {
+        this.sorted = sorted ? new ConcurrentSkipListMap<>() : null;
+    }
+
+    static String fold(String holderName) {
+        return holderName.toLowerCase(Locale.ROOT);
+    }
+
+    static String key(Account account) {
+        return fold(account.getHolderName()) + SEPARATOR + account.getAccountId();
+    }
+
+    void add(Account account) {
+        String name = fold(account.getHolderName());
+        byName.compute(name, (key, accounts) -> {
+            Map<String, Account> result = accounts != null ? accounts : new ConcurrentHashMap<>(4);
+            result.put(account.getAccountId(), account);
+            return result;
+        });
+        if (sorted != null) {
+            sorted.put(key(account), account);
+        }
+    }
+
+    void remove(Account account) {
+        String name = fold(account.getHolderName());
+        byName.computeIfPresent(name, (key, accounts) -> {
+            accounts.remove(account.getAccountId());
+            return accounts.isEmpty() ? null : accounts;
+        });
+        if (sorted != null) {
+            sorted.remove(key(account));
+        }
+    }
+
+    List<Account> find(String holderName) {
+        Map<String, Account> accounts = byName.get(fold(holderName));
+        return accounts == null ? new ArrayList<>() : new ArrayList<>(accounts.values());
+    }
+
+    boolean isSorted() {
+        return sorted != null;
+    }
+
+    // Accounts whose folded holder name starts with the prefix, ordered by name then id.
+    Page<Account> findByPrefix(String prefix, String cursor, int limit) {
+        String folded = fold(prefix);
+        Map<String, Account> tail = cursor == null
+                ? sorted.tailMap(folded, true)
+                : sorted.tailMap(cursor, false);
+        List<Account> items = new ArrayList<>(Math.min(limit, 1024));
+        String lastKey = null;
+        for (Map.Entry<String, Account> entry : tail.entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(folded)) {
+                return new Page<>(items, null);
+            }
+            if (items.size() == limit) {
+                return new Page<>(items, lastKey);
+            }
+            items.add(entry.getValue());
+            lastKey = key;
+        }
+        return new Page<>(items, null);
+    }
+}
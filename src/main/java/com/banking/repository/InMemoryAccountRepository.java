@@ -3,18 +3,51 @@ package com.banking.repository;
 import com.banking.model.Account;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 public class InMemoryAccountRepository implements AccountRepository {
-    private final Map<String, Account> accounts = new HashMap<>();
+    // Lookups are lock-free; per-account mutation is serialized by Account's own lock.
+    private final ConcurrentHashMap<String, Account> accounts = new ConcurrentHashMap<>();
+    // Indexes are updated inside the map's per-key compute, so they never disagree with the
+    // map for an id.
+    private final HolderNameIndex holderIndex;
+    // Id-ordered view backing cursor pagination; null when sorted indexes are disabled.
+    private final ConcurrentSkipListMap<String, Account> byId;
+
+    public InMemoryAccountRepository() {
+        this(true);
+    }
+
+    // Without the sorted indexes lookups by id or exact holder name stay O(1), but prefix
+    // queries and paged findAll fall back to scanning.
+    public InMemoryAccountRepository(boolean sortedIndexes) {
+        this.holderIndex = new HolderNameIndex(sortedIndexes);
+        this.byId = sortedIndexes ? new ConcurrentSkipListMap<>() : null;
+    }
 
     @Override
     public void save(Account account) {
-        accounts.put(account.getAccountId(), account);
+        accounts.compute(account.getAccountId(), (id, previous) -> {
+            if (previous != null) {
+                holderIndex.remove(previous);
+            }
+            index(account);
+            return account;
+        });
+    }
+
+    @Override
+    public boolean saveIfAbsent(Account account) {
+        return accounts.computeIfAbsent(account.getAccountId(), id -> {
+            index(account);
+            return account;
+        }) == account;
     }
 
     @Override
@@ -27,20 +60,100 @@ public class InMemoryAccountRepository implements AccountRepository {
         return new ArrayList<>(accounts.values());
     }
 
+    @Override
+    public Page<Account> findAll(String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        if (byId == null) {
+            return scanAll(cursor, limit);
+        }
+        Map<String, Account> tail = cursor == null ? byId : byId.tailMap(cursor, false);
+        List<Account> items = new ArrayList<>(Math.min(limit, 1024));
+        for (Account account : tail.values()) {
+            if (items.size() == limit) {
+                return new Page<>(items, items.get(limit - 1).getAccountId());
+            }
+            items.add(account);
+        }
+        return new Page<>(items, null);
+    }
+
+    @Override
+    public Spliterator<Account> spliterator() {
+        return accounts.values().spliterator();
+    }
+
+    @Override
+    public long count() {
+        return accounts.mappingCount();
+    }
+
     @Override
     public List<Account> findByHolderName(String holderName) {
-        return accounts.values().stream()
-                .filter(a -> a.getHolderName().equalsIgnoreCase(holderName))
-                .collect(Collectors.toList());
+        return holderIndex.find(holderName);
+    }
+
+    @Override
+    public Page<Account> findByHolderNamePrefix(String prefix, String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        if (holderIndex.isSorted()) {
+            return holderIndex.findByPrefix(prefix, cursor, limit);
+        }
+        return scanByHolderNamePrefix(prefix, cursor, limit);
     }
 
     @Override
     public void delete(String accountId) {
-        accounts.remove(accountId);
+        accounts.computeIfPresent(accountId, (id, previous) -> {
+            holderIndex.remove(previous);
+            if (byId != null) {
+                byId.remove(id);
+            }
+            return null;
+        });
     }
 
     @Override
     public boolean exists(String accountId) {
         return accounts.containsKey(accountId);
     }
+
+    private void index(Account account) {
+        holderIndex.add(account);
+        if (byId != null) {
+            byId.put(account.getAccountId(), account);
+        }
+    }
+
+    private Page<Account> scanAll(String cursor, int limit) {
+        List<Account> matches = accounts.values().stream()
+                .filter(a -> cursor == null || a.getAccountId().compareTo(cursor) > 0)
+                .sorted(Comparator.comparing(Account::getAccountId))
+                .limit(limit + 1L)
+                .toList();
+        if (matches.size() <= limit) {
+            return new Page<>(matches, null);
+        }
+        List<Account> items = matches.subList(0, limit);
+        return new Page<>(items, items.get(limit - 1).getAccountId());
+    }
+
+    // Same ordering and cursor format as the sorted index, for repositories built without it.
+    private Page<Account> scanByHolderNamePrefix(String prefix, String cursor, int limit) {
+        String folded = HolderNameIndex.fold(prefix);
+        List<Account> matches = accounts.values().stream()
+                .filter(a -> HolderNameIndex.fold(a.getHolderName()).startsWith(folded))
+                .filter(a -> cursor == null || HolderNameIndex.key(a).compareTo(cursor) > 0)
+                .sorted(Comparator.comparing(HolderNameIndex::key))
+                .limit(limit + 1L)
+                .toList();
+        if (matches.size() <= limit) {
+            return new Page<>(matches, null);
+        }
+        List<Account> items = matches.subList(0, limit);
+        return new Page<>(items, HolderNameIndex.key(items.get(limit - 1)));
+    }
 }
@@ -0,0 +1,22 @@
+package com.banking.repository;
+
+import java.util.List;
+
+// One page of a cursor-paged query. Pass getNextCursor() back to fetch the following page;
+// it is null on the last page. Cursors are opaque and stay valid while the data changes.
+public class Page<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    public Page(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
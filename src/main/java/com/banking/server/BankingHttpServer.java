@@ -0,0 +1,308 @@
+package com.banking.server;
+
+import com.banking.exception.AccountNotFoundException;
+import com.banking.exception.InvalidTransactionException;
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.Money;
+import com.banking.model.PostingOutcome;
+import com.banking.model.Transaction;
+import com.banking.service.BankingService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// HTTP front-end for a BankingService on the JDK's built-in server. Every request runs on its
+// own virtual thread, so a request blocked on an account lock or a journal sync parks cheaply
+// instead of holding a platform thread. A semaphore caps the requests in flight; a request
+// that cannot get a permit within the acquire timeout is answered 503.
+//
+//   POST /accounts?id=&holder=&type=&amount=   create an account
+//   POST /accounts/{id}/deposit?amount=
+//   POST /accounts/{id}/withdraw?amount=
+//   POST /transfers?from=&to=&amount=
+//   GET  /accounts/{id}/balance
+//   GET  /accounts/{id}/history?limit=
+//
+// Amounts are decimal currency units. Responses are small JSON objects; a rejected posting is
+// answered 422 with its PostingOutcome.
+public class BankingHttpServer implements AutoCloseable {
+    // The JDK server writes response headers and body separately; without TCP_NODELAY each
+    // response waits out the client's delayed ACK (~40 ms). Read once when the server classes
+    // load, so it has to be set before the first server is created.
+    static {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final BankingService service;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    private BankingHttpServer(Builder builder) throws IOException {
+        this.service = builder.service;
+        this.permits = new Semaphore(builder.maxConcurrentRequests);
+        this.acquireTimeoutNanos = builder.acquireTimeout.toNanos();
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(builder.host, builder.port), builder.backlog);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+    }
+
+    public BankingHttpServer start() {
+        server.start();
+        return this;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            respond(exchange, 503, error("Too many concurrent requests"));
+            return;
+        }
+        try {
+            route(exchange);
+        } catch (AccountNotFoundException e) {
+            respond(exchange, 404, error(e.getMessage()));
+        } catch (UnsupportedOperationException e) {
+            respond(exchange, 405, error(e.getMessage()));
+        } catch (InvalidTransactionException | IllegalArgumentException e) {
+            respond(exchange, 400, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            respond(exchange, 500, error(e.toString()));
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().split("/");
+        Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        if (path.length == 2 && path[1].equals("transfers")) {
+            requireMethod(exchange, method, "POST");
+            String from = required(params, "from");
+            PostingOutcome outcome = service.tryTransferCents(from, required(params, "to"), amount(params));
+            respondPosting(exchange, outcome, from);
+        } else if (path.length == 2 && path[1].equals("accounts")) {
+            requireMethod(exchange, method, "POST");
+            AccountType type = AccountType.valueOf(required(params, "type").toUpperCase(Locale.ROOT));
+            Account account = service.createAccount(type, required(params, "id"), required(params, "holder"),
+                    Money.toAmount(amount(params)));
+            respond(exchange, 201, balance(account));
+        } else if (path.length == 4 && path[1].equals("accounts")) {
+            String accountId = URLDecoder.decode(path[2], StandardCharsets.UTF_8);
+            switch (path[3]) {
+                case "deposit" -> {
+                    requireMethod(exchange, method, "POST");
+                    respondPosting(exchange, service.tryDepositCents(accountId, amount(params)), accountId);
+                }
+                case "withdraw" -> {
+                    requireMethod(exchange, method, "POST");
+                    respondPosting(exchange, service.tryWithdrawCents(accountId, amount(params)), accountId);
+                }
+                case "balance" -> {
+                    requireMethod(exchange, method, "GET");
+                    respond(exchange, 200, balance(service.getAccount(accountId)));
+                }
+                case "history" -> {
+                    requireMethod(exchange, method, "GET");
+                    int limit = params.containsKey("limit") ? Integer.parseInt(params.get("limit")) : 100;
+                    respond(exchange, 200, history(service.getTransactionHistory(accountId), limit));
+                }
+                default -> respond(exchange, 404, error("No such endpoint"));
+            }
+        } else {
+            respond(exchange, 404, error("No such endpoint"));
+        }
+    }
+
+    private void respondPosting(HttpExchange exchange, PostingOutcome outcome, String accountId) throws IOException {
+        switch (outcome) {
+            case OK -> respond(exchange, 200, balance(service.getAccount(accountId)));
+            case NOT_FOUND -> respond(exchange, 404, rejection(outcome));
+            case INVALID_AMOUNT, SAME_ACCOUNT -> respond(exchange, 400, rejection(outcome));
+            default -> respond(exchange, 422, rejection(outcome));
+        }
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method, String expected) {
+        if (!method.equals(expected)) {
+            throw new UnsupportedOperationException("Use " + expected + " for " + exchange.getRequestURI().getPath());
+        }
+    }
+
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static long amount(Map<String, String> params) {
+        return Money.toCents(Double.parseDouble(required(params, "amount")));
+    }
+
+    static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static String balance(Account account) {
+        return "{\"accountId\":\"" + escape(account.getAccountId()) + "\",\"balance\":"
+                + Money.toAmount(account.getBalanceCents()) + "}";
+    }
+
+    private static String history(List<Transaction> transactions, int limit) {
+        StringBuilder json = new StringBuilder("[");
+        int from = Math.max(0, transactions.size() - limit);
+        for (int i = from; i < transactions.size(); i++) {
+            Transaction t = transactions.get(i);
+            if (i > from) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"").append(t.getTransactionId())
+                    .append("\",\"type\":\"").append(t.getType())
+                    .append("\",\"amount\":").append(t.getAmount())
+                    .append(",\"balanceAfter\":").append(t.getBalanceAfter())
+                    .append(",\"timestamp\":\"").append(t.getTimestamp())
+                    .append("\",\"description\":\"").append(escape(t.getDescription())).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static String rejection(PostingOutcome outcome) {
+        return "{\"outcome\":\"" + outcome + "\",\"error\":\"" + escape(outcome.getDescription()) + "\"}";
+    }
+
+    private static String error(String message) {
+        return "{\"error\":\"" + escape(String.valueOf(message)) + "\"}";
+    }
+
+    // JSON string escaping: quote, backslash and every control character below 0x20.
+    private static String escape(String value) {
+        StringBuilder out = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement = switch (c) {
+                case '"' -> "\\\"";
+                case '\\' -> "\\\\";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                case '\t' -> "\\t";
+                case '\b' -> "\\b";
+                case '\f' -> "\\f";
+                default -> c < 0x20 ? String.format("\\u%04x", (int) c) : null;
+            };
+            if (replacement != null) {
+                if (out == null) {
+                    out = new StringBuilder(value.length() + 16).append(value, 0, i);
+                }
+                out.append(replacement);
+            } else if (out != null) {
+                out.append(c);
+            }
+        }
+        return out == null ? value : out.toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    public static class Builder {
+        private final BankingService service;
+        private String host = "127.0.0.1";
+        private int port = 8080;
+        private int backlog = 1024;
+        private int maxConcurrentRequests = 10_000;
+        private Duration acquireTimeout = Duration.ofMillis(100);
+
+        public Builder(BankingService service) {
+            this.service = service;
+        }
+
+        public Builder host(String host) {
+            this.host = host;
+            return this;
+        }
+
+        // 0 picks a free port; read it back with getPort().
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder backlog(int backlog) {
+            this.backlog = backlog;
+            return this;
+        }
+
+        public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            if (maxConcurrentRequests < 1) {
+                throw new IllegalArgumentException("Concurrency limit must be positive");
+            }
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        // How long a request waits for a free slot before it is answered 503.
+        public Builder acquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+            return this;
+        }
+
+        public BankingHttpServer build() throws IOException {
+            return new BankingHttpServer(this);
+        }
+    }
+}
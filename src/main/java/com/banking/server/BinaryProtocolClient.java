@@ -0,0 +1,129 @@
+package com.banking.server;
+
+import com.banking.model.PostingOutcome;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+// Blocking client for BinaryProtocolServer. The send* methods only queue a request and return
+// its correlation id; flush() writes everything queued and receive() reads replies in request
+// order, flushing first if needed. Queuing many requests before reading pipelines them over
+// one connection; keep the number of unanswered requests to a few thousand so neither side
+// stalls on full socket buffers. The deposit/withdraw/transfer/balance methods are single
+// round trips. Not thread-safe.
+public class BinaryProtocolClient implements AutoCloseable {
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private int nextCorrelationId;
+
+    public BinaryProtocolClient(InetSocketAddress address) throws IOException {
+        this.channel = SocketChannel.open(address);
+        this.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        in.flip();
+    }
+
+    public int sendDeposit(String accountId, long amountCents) throws IOException {
+        return send(WireProtocol.DEPOSIT, accountId, null, amountCents);
+    }
+
+    public int sendWithdrawal(String accountId, long amountCents) throws IOException {
+        return send(WireProtocol.WITHDRAW, accountId, null, amountCents);
+    }
+
+    public int sendTransfer(String fromAccountId, String toAccountId, long amountCents) throws IOException {
+        return send(WireProtocol.TRANSFER, fromAccountId, toAccountId, amountCents);
+    }
+
+    public int sendBalance(String accountId) throws IOException {
+        return send(WireProtocol.BALANCE, accountId, null, 0);
+    }
+
+    public Reply deposit(String accountId, long amountCents) throws IOException {
+        sendDeposit(accountId, amountCents);
+        return receive();
+    }
+
+    public Reply withdraw(String accountId, long amountCents) throws IOException {
+        sendWithdrawal(accountId, amountCents);
+        return receive();
+    }
+
+    public Reply transfer(String fromAccountId, String toAccountId, long amountCents) throws IOException {
+        sendTransfer(fromAccountId, toAccountId, amountCents);
+        return receive();
+    }
+
+    public Reply balance(String accountId) throws IOException {
+        sendBalance(accountId);
+        return receive();
+    }
+
+    public void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    public Reply receive() throws IOException {
+        if (out.position() > 0) {
+            flush();
+        }
+        while (in.remaining() < WireProtocol.RESPONSE_BYTES) {
+            in.compact();
+            int read = channel.read(in);
+            in.flip();
+            if (read < 0) {
+                throw new EOFException("Server closed the connection");
+            }
+        }
+        int length = in.getInt();
+        if (length != WireProtocol.RESPONSE_LENGTH) {
+            throw new IOException("Bad response length " + length);
+        }
+        return new Reply(in.getInt(), WireProtocol.OUTCOMES[in.get()], in.getLong());
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int send(byte op, String accountId, String toAccountId, long amountCents) throws IOException {
+        if (out.remaining() < WireProtocol.requestBytes(accountId, toAccountId)) {
+            flush();
+        }
+        int correlationId = nextCorrelationId++;
+        WireProtocol.putRequest(out, op, correlationId, accountId, toAccountId, amountCents);
+        return correlationId;
+    }
+
+    public static final class Reply {
+        private final int correlationId;
+        private final PostingOutcome outcome;
+        private final long balanceCents;
+
+        Reply(int correlationId, PostingOutcome outcome, long balanceCents) {
+            this.correlationId = correlationId;
+            this.outcome = outcome;
+            this.balanceCents = balanceCents;
+        }
+
+        public int getCorrelationId() { return correlationId; }
+        public PostingOutcome getOutcome() { return outcome; }
+        public long getBalanceCents() { return balanceCents; }
+
+        @Override
+        public String toString() {
+            return "Reply #" + correlationId + " " + outcome + " balance " + balanceCents;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.banking.server;
+
+import com.banking.model.Account;
+import com.banking.model.PostingOutcome;
+import com.banking.service.BankingService;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Non-blocking front-end speaking WireProtocol. An acceptor thread hands connections round-robin
+// to a fixed set of event loops; each loop owns a selector and the connections registered with
+// it. Frames are decoded in place from a per-connection direct buffer straight into BankingService
+// calls, and responses are encoded into a per-connection direct buffer and flushed once per read,
+// so a client that pipelines many requests gets its responses back in batches, in order.
+//
+// Postings run on the event loop itself: they are short and take only account locks. With a
+// journal that syncs on commit each posting would stall its whole loop, so pair this server with
+// syncOnCommit(false) or use enough loops to cover the sync latency.
+//
+// A request that fails inside the service (a journal or observer failure) closes only its own
+// connection, since the posting may or may not have been applied. If a loop itself dies, the
+// acceptor stops handing it connections.
+public class BinaryProtocolServer implements AutoCloseable {
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final BankingService service;
+    private final ServerSocketChannel serverChannel;
+    private final EventLoop[] loops;
+    private final Thread acceptor;
+    private volatile boolean running = true;
+
+    private BinaryProtocolServer(Builder builder) throws IOException {
+        this.service = builder.service;
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(new InetSocketAddress(builder.host, builder.port), builder.backlog);
+        this.loops = new EventLoop[builder.eventLoops];
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new EventLoop(i);
+        }
+        this.acceptor = new Thread(this::acceptLoop, "wire-acceptor");
+        this.acceptor.setDaemon(true);
+    }
+
+    public BinaryProtocolServer start() {
+        for (EventLoop loop : loops) {
+            loop.thread.start();
+        }
+        acceptor.start();
+        return this;
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            serverChannel.close();
+        } catch (IOException ignored) {
+            // Closing anyway.
+        }
+        for (EventLoop loop : loops) {
+            loop.selector.wakeup();
+        }
+        try {
+            acceptor.join();
+            for (EventLoop loop : loops) {
+                loop.thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acceptLoop() {
+        int next = 0;
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                EventLoop loop = null;
+                for (int i = 0; i < loops.length && loop == null; i++) {
+                    EventLoop candidate = loops[(next + i) % loops.length];
+                    if (candidate.alive) {
+                        loop = candidate;
+                        next = (next + i + 1) % loops.length;
+                    }
+                }
+                if (loop == null) {
+                    channel.close();
+                } else {
+                    loop.register(channel);
+                }
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (!running) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private final class EventLoop implements Runnable {
+        private final Selector selector;
+        private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+        private final Thread thread;
+        private volatile boolean alive = true;
+        // Scratch for decoding account ids; only touched by this loop's thread.
+        private final byte[] idScratch = new byte[255];
+
+        EventLoop(int index) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, "wire-loop-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        void register(SocketChannel channel) throws IOException {
+            pending.add(channel);
+            selector.wakeup();
+            // The loop may have died after the acceptor picked it.
+            if (!alive && pending.remove(channel)) {
+                channel.close();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    SocketChannel channel;
+                    while ((channel = pending.poll()) != null) {
+                        channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+                    }
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            if (key.isValid() && key.isReadable()) {
+                                onReadable(key, connection);
+                            }
+                            if (key.isValid() && key.isWritable()) {
+                                onWritable(key, connection);
+                            }
+                        } catch (IOException | RuntimeException e) {
+                            connection.flushAndClose(key);
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // Selector failed; the loop cannot continue.
+            } finally {
+                alive = false;
+                for (SelectionKey key : selector.keys()) {
+                    ((Connection) key.attachment()).close(key);
+                }
+                SocketChannel channel;
+                while ((channel = pending.poll()) != null) {
+                    try {
+                        channel.close();
+                    } catch (IOException ignored) {
+                        // Already gone.
+                    }
+                }
+                try {
+                    selector.close();
+                } catch (IOException ignored) {
+                    // Shutting down.
+                }
+            }
+        }
+
+        private void onReadable(SelectionKey key, Connection connection) throws IOException {
+            if (connection.channel.read(connection.in) < 0) {
+                connection.close(key);
+                return;
+            }
+            process(connection);
+            flush(key, connection);
+        }
+
+        private void onWritable(SelectionKey key, Connection connection) throws IOException {
+            flush(key, connection);
+            if (connection.out.position() == 0) {
+                // Frames left unprocessed while the output buffer was full.
+                process(connection);
+                flush(key, connection);
+            }
+        }
+
+        // Handles every complete frame in the input buffer that fits a response.
+        private void process(Connection connection) {
+            ByteBuffer in = connection.in;
+            ByteBuffer out = connection.out;
+            in.flip();
+            while (in.remaining() >= 4 && out.remaining() >= WireProtocol.RESPONSE_BYTES) {
+                int length = in.getInt(in.position());
+                if (length < WireProtocol.MIN_REQUEST_LENGTH || length > WireProtocol.MAX_REQUEST_LENGTH) {
+                    throw new WireProtocol.WireProtocolException("Bad frame length " + length);
+                }
+                if (in.remaining() < 4 + length) {
+                    break;
+                }
+                in.position(in.position() + 4);
+                handle(in, in.position() + length, out);
+            }
+            in.compact();
+        }
+
+        // The whole frame is decoded and validated before anything is posted, so a malformed
+        // frame never leaves the client unsure whether it was applied.
+        private void handle(ByteBuffer in, int frameEnd, ByteBuffer out) {
+            byte op = in.get();
+            int correlationId = in.getInt();
+            long amount = in.getLong();
+            if (op < WireProtocol.DEPOSIT || op > WireProtocol.BALANCE) {
+                throw new WireProtocol.WireProtocolException("Unknown op " + op);
+            }
+            String accountId = WireProtocol.getId(in, idScratch, frameEnd);
+            String toAccountId = op == WireProtocol.TRANSFER ? WireProtocol.getId(in, idScratch, frameEnd) : null;
+            if (in.position() != frameEnd) {
+                throw new WireProtocol.WireProtocolException("Frame length does not match its contents");
+            }
+            PostingOutcome outcome = switch (op) {
+                case WireProtocol.DEPOSIT -> service.tryDepositCents(accountId, amount);
+                case WireProtocol.WITHDRAW -> service.tryWithdrawCents(accountId, amount);
+                case WireProtocol.TRANSFER -> service.tryTransferCents(accountId, toAccountId, amount);
+                default -> PostingOutcome.OK;
+            };
+            long balance = 0;
+            if (outcome != PostingOutcome.NOT_FOUND) {
+                Optional<Account> account = service.findAccount(accountId);
+                if (account.isPresent()) {
+                    balance = account.get().getBalanceCents();
+                } else {
+                    outcome = PostingOutcome.NOT_FOUND;
+                }
+            }
+            out.putInt(WireProtocol.RESPONSE_LENGTH).putInt(correlationId)
+                    .put((byte) outcome.ordinal()).putLong(balance);
+        }
+
+        private void flush(SelectionKey key, Connection connection) throws IOException {
+            ByteBuffer out = connection.out;
+            out.flip();
+            connection.channel.write(out);
+            out.compact();
+            // Stop reading while responses are backed up, so a client that never reads cannot
+            // make the server buffer without bound.
+            key.interestOps(out.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+    }
+
+    private static final class Connection {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        // Replies to the frames ahead of a failing one are already in out; send what the
+        // socket takes without blocking before closing.
+        void flushAndClose(SelectionKey key) {
+            out.flip();
+            try {
+                channel.write(out);
+            } catch (IOException ignored) {
+                // Peer gone; nothing to deliver.
+            }
+            close(key);
+        }
+
+        void close(SelectionKey key) {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Already gone.
+            }
+        }
+    }
+
+    public static class Builder {
+        private final BankingService service;
+        private String host = "127.0.0.1";
+        private int port = 9090;
+        private int backlog = 1024;
+        private int eventLoops = Runtime.getRuntime().availableProcessors();
+
+        public Builder(BankingService service) {
+            this.service = service;
+        }
+
+        public Builder host(String host) {
+            this.host = host;
+            return this;
+        }
+
+        // 0 picks a free port; read it back with getPort().
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder backlog(int backlog) {
+            this.backlog = backlog;
+            return this;
+        }
+
+        public Builder eventLoops(int eventLoops) {
+            if (eventLoops < 1) {
+                throw new IllegalArgumentException("At least one event loop is required");
+            }
+            this.eventLoops = eventLoops;
+            return this;
+        }
+
+        public BinaryProtocolServer build() throws IOException {
+            return new BinaryProtocolServer(this);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.banking.server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Closed-loop load generator for BankingHttpServer: each client is a virtual thread that sends
+// its next request as soon as the previous answer arrives. Requests mix deposits, withdrawals
+// and balance reads over the given accounts. Run it directly against a server started with
+// `Main serve`:
+//
+//   java -cp target/classes com.banking.server.HttpLoadGenerator http://127.0.0.1:8080 64 1000 LG 100
+//
+// (base URL, clients, requests per client, account id prefix, accounts). The accounts are
+// created first if they do not exist.
+public class HttpLoadGenerator {
+    private final URI baseUri;
+    private final int clients;
+    private final int requestsPerClient;
+    private final String[] accountIds;
+
+    public HttpLoadGenerator(URI baseUri, int clients, int requestsPerClient, String accountPrefix, int accounts) {
+        this.baseUri = baseUri;
+        this.clients = clients;
+        this.requestsPerClient = requestsPerClient;
+        this.accountIds = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = accountPrefix + i;
+        }
+    }
+
+    // The client and its executor live for one run, so nothing is left running afterwards.
+    public LatencyReport run() throws IOException, InterruptedException {
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clientExecutor)
+                     .build()) {
+            return run(client);
+        }
+    }
+
+    private LatencyReport run(HttpClient client) throws IOException, InterruptedException {
+        for (String accountId : accountIds) {
+            send(client, "POST", "/accounts?type=CURRENT&holder=Load&amount=1000000&id=" + accountId);
+        }
+        long[] latencies = new long[clients * requestsPerClient];
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?>[] futures = new Future<?>[clients];
+            for (int c = 0; c < clients; c++) {
+                int offset = c * requestsPerClient;
+                futures[c] = executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        String accountId = accountIds[random.nextInt(accountIds.length)];
+                        String path = switch (random.nextInt(3)) {
+                            case 0 -> "/accounts/" + accountId + "/deposit?amount=1";
+                            case 1 -> "/accounts/" + accountId + "/withdraw?amount=1";
+                            default -> "/accounts/" + accountId + "/balance";
+                        };
+                        long sent = System.nanoTime();
+                        int status;
+                        try {
+                            status = send(client, path.endsWith("balance") ? "GET" : "POST", path);
+                        } catch (IOException e) {
+                            status = -1;
+                        }
+                        latencies[offset + i] = System.nanoTime() - sent;
+                        if (status != 200) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Load client failed", e.getCause());
+                }
+            }
+        }
+        return LatencyReport.of(latencies, errors.get(), System.nanoTime() - start);
+    }
+
+    private int send(HttpClient client, String method, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        URI baseUri = URI.create(args.length > 0 ? args[0] : "http://127.0.0.1:8080");
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        String prefix = args.length > 3 ? args[3] : "LG";
+        int accounts = args.length > 4 ? Integer.parseInt(args[4]) : 100;
+        System.out.println(new HttpLoadGenerator(baseUri, clients, requests, prefix, accounts).run());
+    }
+}
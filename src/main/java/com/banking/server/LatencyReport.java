@@ -0,0 +1,56 @@
+package com.banking.server;
+
+import java.util.Arrays;
+
+// Latency percentiles and throughput of a load run.
+public class LatencyReport {
+    private final long requests;
+    private final long errors;
+    private final long durationNanos;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+
+    LatencyReport(long requests, long errors, long durationNanos, long p50Nanos, long p99Nanos, long maxNanos) {
+        this.requests = requests;
+        this.errors = errors;
+        this.durationNanos = durationNanos;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    // Sorts the given latencies in place.
+    static LatencyReport of(long[] latencies, long errors, long durationNanos) {
+        Arrays.sort(latencies);
+        return new LatencyReport(latencies.length, errors, durationNanos,
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1]);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    public long getRequests() { return requests; }
+    public long getErrors() { return errors; }
+    public long getDurationNanos() { return durationNanos; }
+    public long getP50Nanos() { return p50Nanos; }
+    public long getP99Nanos() { return p99Nanos; }
+    public long getMaxNanos() { return maxNanos; }
+
+    public double getRequestsPerSecond() {
+        return durationNanos == 0 ? 0 : requests * 1_000_000_000.0 / durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d requests (%d errors) in %.1f ms: %.0f req/s, p50 %.1f us, p99 %.1f us, max %.1f us",
+                requests, errors, durationNanos / 1_000_000.0, getRequestsPerSecond(),
+                p50Nanos / 1000.0, p99Nanos / 1000.0, maxNanos / 1000.0);
+    }
+}
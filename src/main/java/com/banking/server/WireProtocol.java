@@ -0,0 +1,92 @@
+package com.banking.server;
+
+import com.banking.model.PostingOutcome;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Length-prefixed binary framing shared by BinaryProtocolServer and BinaryProtocolClient.
+// All integers are big-endian.
+//
+//   request:  int length | byte op | int correlationId | long amountCents
+//             | byte idLength | id bytes | (TRANSFER only) byte idLength | id bytes
+//   response: int length | int correlationId | byte outcome | long balanceCents
+//
+// length counts the bytes after itself. Account ids are ISO-8859-1, at most 255 bytes.
+// Responses carry the PostingOutcome ordinal and the account's balance afterwards (the source
+// account for transfers), and come back in request order on each connection.
+final class WireProtocol {
+    static final byte DEPOSIT = 1;
+    static final byte WITHDRAW = 2;
+    static final byte TRANSFER = 3;
+    static final byte BALANCE = 4;
+
+    static final int REQUEST_HEADER_BYTES = 1 + 4 + 8;
+    static final int MIN_REQUEST_LENGTH = REQUEST_HEADER_BYTES + 1;
+    static final int MAX_REQUEST_LENGTH = REQUEST_HEADER_BYTES + 2 * (1 + 255);
+    static final int RESPONSE_LENGTH = 4 + 1 + 8;
+    static final int RESPONSE_BYTES = 4 + RESPONSE_LENGTH;
+
+    static final PostingOutcome[] OUTCOMES = PostingOutcome.values();
+
+    private WireProtocol() {
+    }
+
+    static void putRequest(ByteBuffer buffer, byte op, int correlationId, String accountId,
+                           String toAccountId, long amountCents) {
+        // Checked up front so a rejected id never leaves half a frame in the buffer.
+        checkId(accountId);
+        if (toAccountId != null) {
+            checkId(toAccountId);
+        }
+        int start = buffer.position();
+        buffer.position(start + 4);
+        buffer.put(op).putInt(correlationId).putLong(amountCents);
+        putId(buffer, accountId);
+        if (toAccountId != null) {
+            putId(buffer, toAccountId);
+        }
+        buffer.putInt(start, buffer.position() - start - 4);
+    }
+
+    static int requestBytes(String accountId, String toAccountId) {
+        return 4 + REQUEST_HEADER_BYTES + 1 + accountId.length() + (toAccountId == null ? 0 : 1 + toAccountId.length());
+    }
+
+    private static void checkId(String id) {
+        if (id.length() > 255) {
+            throw new IllegalArgumentException("Account id longer than 255 characters: " + id);
+        }
+        for (int i = 0; i < id.length(); i++) {
+            if (id.charAt(i) > 0xff) {
+                throw new IllegalArgumentException("Account id is not ISO-8859-1: " + id);
+            }
+        }
+    }
+
+    private static void putId(ByteBuffer buffer, String id) {
+        buffer.put((byte) id.length());
+        for (int i = 0; i < id.length(); i++) {
+            buffer.put((byte) id.charAt(i));
+        }
+    }
+
+    // Reads an id written by putId, using scratch to avoid a temporary array per id.
+    static String getId(ByteBuffer buffer, byte[] scratch, int frameEnd) {
+        if (buffer.position() >= frameEnd) {
+            throw new WireProtocolException("Frame ends before account id");
+        }
+        int length = buffer.get() & 0xff;
+        if (buffer.position() + length > frameEnd) {
+            throw new WireProtocolException("Account id overruns frame");
+        }
+        buffer.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    static final class WireProtocolException extends RuntimeException {
+        WireProtocolException(String message) {
+            super(message);
+        }
+    }
+}
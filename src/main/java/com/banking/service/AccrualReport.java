@@ -0,0 +1,41 @@
+package com.banking.service;
+
+import com.banking.model.Money;
+
+public class AccrualReport {
+    private final long accountsScanned;
+    private final long accountsPosted;
+    private final long accountsSkipped;
+    private final long totalInterestCents;
+    private final long durationNanos;
+    private final boolean resumed;
+
+    AccrualReport(long accountsScanned, long accountsPosted, long accountsSkipped,
+                  long totalInterestCents, long durationNanos, boolean resumed) {
+        this.accountsScanned = accountsScanned;
+        this.accountsPosted = accountsPosted;
+        this.accountsSkipped = accountsSkipped;
+        this.totalInterestCents = totalInterestCents;
+        this.durationNanos = durationNanos;
+        this.resumed = resumed;
+    }
+
+    public long getAccountsScanned() { return accountsScanned; }
+    public long getAccountsPosted() { return accountsPosted; }
+    // Already accrued for the date, or of an account type without a configured strategy.
+    public long getAccountsSkipped() { return accountsSkipped; }
+    public long getTotalInterestCents() { return totalInterestCents; }
+    public long getDurationNanos() { return durationNanos; }
+    public boolean isResumed() { return resumed; }
+
+    public double getAccountsPerSecond() {
+        return durationNanos == 0 ? 0 : accountsScanned * 1_000_000_000.0 / durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Accrued %d of %d accounts (%d skipped%s), interest $%.2f in %.1f ms (%.0f accounts/s)",
+                accountsPosted, accountsScanned, accountsSkipped, resumed ? ", resumed" : "",
+                Money.toAmount(totalInterestCents), durationNanos / 1_000_000.0, getAccountsPerSecond());
+    }
+}
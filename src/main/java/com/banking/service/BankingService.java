@@ -5,19 +5,38 @@ import com.banking.exception.InsufficientFundsException;
 import com.banking.exception.InvalidTransactionException;
 import com.banking.factory.AccountFactory;
 import com.banking.factory.AccountType;
+import com.banking.journal.Journal;
+import com.banking.metrics.BankingMetrics;
+import com.banking.metrics.Operation;
 import com.banking.model.Account;
+import com.banking.model.Money;
+import com.banking.model.PostingOutcome;
 import com.banking.model.Transaction;
+import com.banking.model.TransactionLedger;
+import com.banking.model.TransactionType;
+import com.banking.observer.ObserverFilter;
+import com.banking.observer.ObserverRegistry;
 import com.banking.observer.TransactionObserver;
+import com.banking.reporting.BookAggregates;
 import com.banking.repository.AccountRepository;
+import com.banking.repository.Page;
 import com.banking.strategy.InterestStrategy;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public class BankingService {
     private final AccountRepository repository;
-    private final List<TransactionObserver> observers = new ArrayList<>();
+    private final ObserverRegistry observers = new ObserverRegistry();
     private InterestStrategy interestStrategy;
+    private Journal journal;
+    private BankingMetrics metrics;
+    private BookAggregates aggregates;
 
     public BankingService(AccountRepository repository) {
         this.repository = repository;
@@ -27,100 +46,534 @@ public class BankingService {
         observers.add(observer);
     }
 
+    // The observer is only invoked for postings the filter matches.
+    public void addObserver(TransactionObserver observer, ObserverFilter filter) {
+        observers.add(observer, filter);
+    }
+
     public void removeObserver(TransactionObserver observer) {
         observers.remove(observer);
     }
 
+    // Observer calls that threw; they never fail the posting that triggered them.
+    public long getObserverFailures() {
+        return observers.getFailures();
+    }
+
     public void setInterestStrategy(InterestStrategy strategy) {
         this.interestStrategy = strategy;
     }
 
+    // Every applied posting is appended to the journal while the account lock is held, so the
+    // journal order matches the order postings were applied to each account.
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    // Counts and times deposits, withdrawals, transfers and interest calculations; null disables it.
+    public void setMetrics(BankingMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // Seeds the aggregates from the repository, then keeps them current with every opening and
+    // posting. Install before the service takes traffic, like the journal.
+    public void setAggregates(BookAggregates aggregates) {
+        if (this.aggregates != null) {
+            observers.remove(this.aggregates);
+        }
+        aggregates.seed(repository);
+        observers.add(aggregates);
+        this.aggregates = aggregates;
+    }
+
     public Account createAccount(AccountType type, String accountId,
                                  String holderName, double initialAmount) {
-        if (repository.exists(accountId)) {
-            throw new InvalidTransactionException("Account already exists: " + accountId);
-        }
         Account account = AccountFactory.createAccount(type, accountId, holderName, initialAmount);
-        repository.save(account);
+        long sequence = 0;
+        // Hold the new account's lock until it is journaled so no posting can be journaled first.
+        account.getLock().lock();
+        try {
+            if (!repository.saveIfAbsent(account)) {
+                throw new InvalidTransactionException("Account already exists: " + accountId);
+            }
+            if (journal != null) {
+                try {
+                    sequence = journal.appendCreateAccount(type, accountId, holderName, account.getBalanceCents());
+                } catch (RuntimeException e) {
+                    repository.delete(accountId);
+                    throw e;
+                }
+                account.setJournalSequence(sequence);
+            }
+            if (aggregates != null) {
+                aggregates.accountOpened(account);
+            }
+        } finally {
+            account.getLock().unlock();
+        }
+        syncJournal(sequence);
         return account;
     }
 
     public void deposit(String accountId, double amount) {
-        Account account = getAccountOrThrow(accountId);
+        depositCents(accountId, cents(amount));
+    }
+
+    public void withdraw(String accountId, double amount) {
+        withdrawCents(accountId, cents(amount));
+    }
+
+    public void transfer(String fromAccountId, String toAccountId, double amount) {
+        transferCents(fromAccountId, toAccountId, cents(amount));
+    }
+
+    // Money.toCents rejects NaN, infinities and amounts beyond a long of cents; callers of the
+    // double API get the same exception as for any other invalid amount.
+    private static long cents(double amount) {
         try {
-            account.deposit(amount);
-            notifyObservers(account, getLastTransaction(account));
+            return Money.toCents(amount);
         } catch (IllegalArgumentException e) {
             throw new InvalidTransactionException(e.getMessage());
         }
     }
 
-    public void withdraw(String accountId, double amount) {
-        Account account = getAccountOrThrow(accountId);
+    public void depositCents(String accountId, long amount) {
+        PostingOutcome outcome = tryDepositCents(accountId, amount);
+        if (outcome != PostingOutcome.OK) {
+            throw depositFailure(accountId, outcome);
+        }
+    }
+
+    public void withdrawCents(String accountId, long amount) {
+        PostingOutcome outcome = tryWithdrawCents(accountId, amount);
+        if (outcome != PostingOutcome.OK) {
+            throw withdrawalFailure(accountId, amount, outcome);
+        }
+    }
+
+    public void transferCents(String fromAccountId, String toAccountId, long amount) {
+        PostingOutcome outcome = tryTransferCents(fromAccountId, toAccountId, amount);
+        if (outcome == PostingOutcome.OK) {
+            return;
+        }
+        if (outcome == PostingOutcome.NOT_FOUND) {
+            throw new AccountNotFoundException(repository.exists(fromAccountId) ? toAccountId : fromAccountId);
+        }
+        if (outcome == PostingOutcome.SAME_ACCOUNT) {
+            throw new InvalidTransactionException(outcome.getDescription());
+        }
+        // Only a loan payment can be refused on the credit side; anything else is the debit.
+        if (outcome == PostingOutcome.OVERPAYMENT) {
+            throw depositFailure(toAccountId, outcome);
+        }
+        throw withdrawalFailure(fromAccountId, amount, outcome);
+    }
+
+    // The try* postings never throw for a rejected posting; they return why it was rejected.
+    // Observers are notified while the account lock is held so they see each account's
+    // postings in the order they were applied; an observer that throws is counted, not
+    // rethrown, and an applied posting is always synced.
+    //
+    // The journal is write-ahead: a posting is checked, journaled and only then applied, all
+    // under the account lock, so a failed append leaves the account untouched.
+    public PostingOutcome tryDepositCents(String accountId, long amount) {
+        BankingMetrics metrics = this.metrics;
+        long start = metrics == null ? 0 : metrics.start();
+        Account account = null;
         try {
-            account.withdraw(amount);
-            notifyObservers(account, getLastTransaction(account));
-        } catch (IllegalArgumentException e) {
-            throw new InsufficientFundsException(accountId, amount, account.getBalance());
+            account = repository.findById(accountId).orElse(null);
+            if (account == null) {
+                return record(metrics, Operation.DEPOSIT, null, PostingOutcome.NOT_FOUND, start);
+            }
+            PostingOutcome outcome;
+            long sequence = 0;
+            account.getLock().lock();
+            try {
+                outcome = account.checkDeposit(amount);
+                if (outcome == PostingOutcome.OK) {
+                    if (journal != null) {
+                        long id = account.nextTransactionId();
+                        long now = TransactionLedger.currentEpochNanos();
+                        sequence = journal.appendDeposit(accountId, amount, id, now);
+                        account.setJournalSequence(sequence);
+                        account.stampNextPosting(id, now);
+                    }
+                    account.tryDepositCents(amount);
+                    notifyObservers(account);
+                }
+            } finally {
+                account.getLock().unlock();
+                syncJournal(sequence);
+            }
+            return record(metrics, Operation.DEPOSIT, account, outcome, start);
+        } catch (RuntimeException e) {
+            if (metrics != null) {
+                metrics.recordException(Operation.DEPOSIT, account, e);
+            }
+            throw e;
         }
     }
 
-    public void transfer(String fromAccountId, String toAccountId, double amount) {
-        Account from = getAccountOrThrow(fromAccountId);
-        Account to = getAccountOrThrow(toAccountId);
+    public PostingOutcome tryWithdrawCents(String accountId, long amount) {
+        BankingMetrics metrics = this.metrics;
+        long start = metrics == null ? 0 : metrics.start();
+        Account account = null;
+        try {
+            account = repository.findById(accountId).orElse(null);
+            if (account == null) {
+                return record(metrics, Operation.WITHDRAW, null, PostingOutcome.NOT_FOUND, start);
+            }
+            PostingOutcome outcome;
+            long sequence = 0;
+            account.getLock().lock();
+            try {
+                outcome = account.checkWithdrawal(amount);
+                if (outcome == PostingOutcome.OK) {
+                    if (journal != null) {
+                        long id = account.nextTransactionId();
+                        long now = TransactionLedger.currentEpochNanos();
+                        sequence = journal.appendWithdrawal(accountId, amount, id, now);
+                        account.setJournalSequence(sequence);
+                        account.stampNextPosting(id, now);
+                    }
+                    account.tryWithdrawCents(amount);
+                    notifyObservers(account);
+                }
+            } finally {
+                account.getLock().unlock();
+                syncJournal(sequence);
+            }
+            return record(metrics, Operation.WITHDRAW, account, outcome, start);
+        } catch (RuntimeException e) {
+            if (metrics != null) {
+                metrics.recordException(Operation.WITHDRAW, account, e);
+            }
+            throw e;
+        }
+    }
+
+    public PostingOutcome tryTransferCents(String fromAccountId, String toAccountId, long amount) {
+        BankingMetrics metrics = this.metrics;
+        long start = metrics == null ? 0 : metrics.start();
+        Account from = null;
+        try {
+            from = repository.findById(fromAccountId).orElse(null);
+            Account to = repository.findById(toAccountId).orElse(null);
+            if (from == null || to == null) {
+                return record(metrics, Operation.TRANSFER, from, PostingOutcome.NOT_FOUND, start);
+            }
+            if (fromAccountId.equals(toAccountId)) {
+                return record(metrics, Operation.TRANSFER, from, PostingOutcome.SAME_ACCOUNT, start);
+            }
+
+            // Lock both accounts in accountId order so opposite transfers cannot deadlock.
+            Account first = fromAccountId.compareTo(toAccountId) < 0 ? from : to;
+            Account second = first == from ? to : from;
+            long sequence = 0;
+            first.getLock().lock();
+            second.getLock().lock();
+            try {
+                // Check both legs before applying either, so the transfer is all-or-nothing.
+                PostingOutcome outcome = from.checkWithdrawal(amount);
+                if (outcome == PostingOutcome.OK) {
+                    outcome = to.checkDeposit(amount);
+                }
+                if (outcome != PostingOutcome.OK) {
+                    return record(metrics, Operation.TRANSFER, from, outcome, start);
+                }
+                if (journal != null) {
+                    long debitId = from.nextTransactionId();
+                    long creditId = to.nextTransactionId();
+                    long now = TransactionLedger.currentEpochNanos();
+                    sequence = journal.appendTransfer(fromAccountId, toAccountId, amount, debitId, creditId,
+                            now);
+                    from.setJournalSequence(sequence);
+                    to.setJournalSequence(sequence);
+                    from.stampNextPosting(debitId, now);
+                    to.stampNextPosting(creditId, now);
+                }
+                from.tryWithdrawCents(amount);
+                to.tryDepositCents(amount);
+                if (!observers.isEmpty()) {
+                    observers.notifyTransfer(from, from.getLastTransaction(), to, to.getLastTransaction());
+                }
+            } finally {
+                second.getLock().unlock();
+                first.getLock().unlock();
+                syncJournal(sequence);
+            }
+            return record(metrics, Operation.TRANSFER, from, PostingOutcome.OK, start);
+        } catch (RuntimeException e) {
+            if (metrics != null) {
+                metrics.recordException(Operation.TRANSFER, from, e);
+            }
+            throw e;
+        }
+    }
+
+    // Applies deposits and withdrawals without throwing for individual postings: each gets an
+    // outcome in the result. Postings are grouped by account and each account is looked up and
+    // locked once, with its postings applied in submission order. Observers get one
+    // onTransactions call per account, and the journal is synced once for the whole batch.
+    public BatchResult applyBatch(List<Posting> postings) {
+        int count = postings.size();
+        PostingOutcome[] outcomes = new PostingOutcome[count];
 
-        if (fromAccountId.equals(toAccountId)) {
-            throw new InvalidTransactionException("Cannot transfer to the same account");
+        // Counting sort by account, in order of first appearance, keeps each account's
+        // postings in the order they were submitted.
+        Map<String, Integer> slots = new HashMap<>();
+        List<String> accountIds = new ArrayList<>();
+        int[] slotOf = new int[count];
+        for (int i = 0; i < count; i++) {
+            String accountId = postings.get(i).getAccountId();
+            Integer slot = slots.get(accountId);
+            if (slot == null) {
+                slot = accountIds.size();
+                slots.put(accountId, slot);
+                accountIds.add(accountId);
+            }
+            slotOf[i] = slot;
+        }
+        int[] offsets = new int[accountIds.size() + 1];
+        for (int i = 0; i < count; i++) {
+            offsets[slotOf[i] + 1]++;
+        }
+        for (int slot = 0; slot < accountIds.size(); slot++) {
+            offsets[slot + 1] += offsets[slot];
+        }
+        int[] order = new int[count];
+        int[] fill = Arrays.copyOf(offsets, accountIds.size());
+        for (int i = 0; i < count; i++) {
+            order[fill[slotOf[i]]++] = i;
         }
 
+        int applied = 0;
+        long sequence = 0;
         try {
-            from.withdraw(amount);
-            to.deposit(amount);
-            notifyObservers(from, getLastTransaction(from));
-            notifyObservers(to, getLastTransaction(to));
-        } catch (IllegalArgumentException e) {
-            throw new InsufficientFundsException(fromAccountId, amount, from.getBalance());
+            for (int slot = 0; slot < accountIds.size(); slot++) {
+                int from = offsets[slot];
+                int to = offsets[slot + 1];
+                Account account = repository.findById(accountIds.get(slot)).orElse(null);
+                if (account == null) {
+                    for (int k = from; k < to; k++) {
+                        outcomes[order[k]] = PostingOutcome.NOT_FOUND;
+                    }
+                    continue;
+                }
+                account.getLock().lock();
+                try {
+                    int ledgerStart = account.getLedger().size();
+                    for (int k = from; k < to; k++) {
+                        Posting posting = postings.get(order[k]);
+                        PostingOutcome outcome = check(account, posting);
+                        outcomes[order[k]] = outcome;
+                        if (outcome == PostingOutcome.OK) {
+                            if (journal != null) {
+                                long id = account.nextTransactionId();
+                                long now = TransactionLedger.currentEpochNanos();
+                                sequence = posting.getType() == TransactionType.DEPOSIT
+                                        ? journal.appendDeposit(posting.getAccountId(), posting.getAmountCents(),
+                                                id, now)
+                                        : journal.appendWithdrawal(posting.getAccountId(), posting.getAmountCents(),
+                                                id, now);
+                                account.setJournalSequence(sequence);
+                                account.stampNextPosting(id, now);
+                            }
+                            apply(account, posting);
+                            applied++;
+                        }
+                    }
+                    int ledgerEnd = account.getLedger().size();
+                    if (!observers.isEmpty() && ledgerEnd > ledgerStart) {
+                        observers.notify(account, account.getTransactions().subList(ledgerStart, ledgerEnd));
+                    }
+                } finally {
+                    account.getLock().unlock();
+                }
+            }
+        } finally {
+            syncJournal(sequence);
         }
+        return new BatchResult(outcomes, applied);
     }
 
     public double calculateInterest(String accountId) {
+        BankingMetrics metrics = this.metrics;
+        if (metrics == null) {
+            return computeInterest(accountId);
+        }
+        long start = metrics.start();
+        try {
+            double interest = computeInterest(accountId);
+            metrics.record(Operation.CALCULATE_INTEREST, repository.findById(accountId).orElse(null),
+                    PostingOutcome.OK, start);
+            return interest;
+        } catch (RuntimeException e) {
+            metrics.recordException(Operation.CALCULATE_INTEREST, repository.findById(accountId).orElse(null), e);
+            throw e;
+        }
+    }
+
+    private double computeInterest(String accountId) {
         Account account = getAccountOrThrow(accountId);
 
         if (interestStrategy != null) {
-            double interest = interestStrategy.calculateInterest(
-                    account.getBalance(), account.getInterestRate());
-            return interest;
+            long interest = interestStrategy.calculateInterestCents(
+                    account.getBalanceCents(), account.getInterestRate());
+            return Money.toAmount(interest);
         }
 
-        return account.calculateInterest();
+        long sequence = 0;
+        long interest;
+        account.getLock().lock();
+        try {
+            interest = account.interestDueCents();
+            if (account.checkInterest(interest) != PostingOutcome.OK) {
+                return 0;
+            }
+            if (journal != null) {
+                long id = account.nextTransactionId();
+                long now = TransactionLedger.currentEpochNanos();
+                sequence = journal.appendInterest(accountId, interest, id, now);
+                account.setJournalSequence(sequence);
+                account.stampNextPosting(id, now);
+            }
+            account.postInterest(interest);
+            notifyObservers(account);
+        } finally {
+            account.getLock().unlock();
+            syncJournal(sequence);
+        }
+        return Money.toAmount(interest);
     }
 
     public Account getAccount(String accountId) {
         return getAccountOrThrow(accountId);
     }
 
+    public Optional<Account> findAccount(String accountId) {
+        return repository.findById(accountId);
+    }
+
     public List<Account> getAllAccounts() {
         return repository.findAll();
     }
 
+    // Walks the book without copying it; use .parallel() to spread a scan across cores.
+    public Stream<Account> streamAccounts() {
+        return repository.stream();
+    }
+
     public List<Transaction> getTransactionHistory(String accountId) {
         Account account = getAccountOrThrow(accountId);
         return account.getTransactions();
     }
 
+    // One page of an account's postings matching the query. The time range is found by binary
+    // search and type filters use the ledger's per-type bitmaps, so the cost depends on the page
+    // size rather than the length of the history. Pass getNextCursor() back for the next page;
+    // cursors stay valid while new postings arrive.
+    public Page<Transaction> queryHistory(String accountId, HistoryQuery query, String cursor) {
+        TransactionLedger ledger = getAccountOrThrow(accountId).getLedger();
+        int start = cursor != null ? parseCursor(cursor) : query.isNewestFirst() ? Integer.MAX_VALUE : 0;
+        int limit = query.getLimit();
+        // One extra posting tells whether there is a next page; capped so it cannot overflow.
+        int probe = Math.min(limit, Integer.MAX_VALUE - 1) + 1;
+        int[] indices = ledger.select(query.getFromNanos(), query.getToNanos(), query.getTypeMask(),
+                query.isNewestFirst(), start, probe);
+        String nextCursor = null;
+        if (indices.length > limit) {
+            nextCursor = Integer.toString(indices[limit]);
+            indices = Arrays.copyOf(indices, limit);
+        }
+        return new Page<>(ledger.getAll(indices), nextCursor);
+    }
+
+    public Page<Transaction> queryHistory(String accountId, HistoryQuery query) {
+        return queryHistory(accountId, query, null);
+    }
+
+    // The newest `count` postings, newest first.
+    public List<Transaction> getLastTransactions(String accountId, int count) {
+        return queryHistory(accountId, HistoryQuery.last(count)).getItems();
+    }
+
+    private static int parseCursor(String cursor) {
+        try {
+            return Integer.parseInt(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid history cursor: " + cursor);
+        }
+    }
+
+    private static PostingOutcome check(Account account, Posting posting) {
+        return posting.getType() == TransactionType.DEPOSIT
+                ? account.checkDeposit(posting.getAmountCents())
+                : account.checkWithdrawal(posting.getAmountCents());
+    }
+
+    private static PostingOutcome apply(Account account, Posting posting) {
+        return posting.getType() == TransactionType.DEPOSIT
+                ? account.tryDepositCents(posting.getAmountCents())
+                : account.tryWithdrawCents(posting.getAmountCents());
+    }
+
+    AccountRepository getRepository() {
+        return repository;
+    }
+
+    Journal getJournal() {
+        return journal;
+    }
+
     private Account getAccountOrThrow(String accountId) {
         return repository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
     }
 
-    private Transaction getLastTransaction(Account account) {
-        List<Transaction> transactions = account.getTransactions();
-        return transactions.get(transactions.size() - 1);
+    // Builds the exception the throwing API reports for a rejected posting. Only called once a
+    // posting has failed, so the extra lookup stays off the hot path.
+    private RuntimeException depositFailure(String accountId, PostingOutcome outcome) {
+        if (outcome == PostingOutcome.NOT_FOUND) {
+            return new AccountNotFoundException(accountId);
+        }
+        String message = getAccountOrThrow(accountId).depositRejection(outcome);
+        if (outcome == PostingOutcome.NOT_SUPPORTED) {
+            return new UnsupportedOperationException(message);
+        }
+        return new InvalidTransactionException(message);
+    }
+
+    private RuntimeException withdrawalFailure(String accountId, long amount, PostingOutcome outcome) {
+        if (outcome == PostingOutcome.NOT_FOUND) {
+            return new AccountNotFoundException(accountId);
+        }
+        Account account = getAccountOrThrow(accountId);
+        return switch (outcome) {
+            case NOT_SUPPORTED -> new UnsupportedOperationException(account.withdrawalRejection(outcome));
+            case INVALID_AMOUNT -> new InvalidTransactionException(account.withdrawalRejection(outcome));
+            default -> new InsufficientFundsException(accountId, Money.toAmount(amount), account.getBalance());
+        };
+    }
+
+    private static PostingOutcome record(BankingMetrics metrics, Operation operation, Account account,
+                                         PostingOutcome outcome, long start) {
+        if (metrics != null) {
+            metrics.record(operation, account, outcome, start);
+        }
+        return outcome;
+    }
+
+    void syncJournal(long sequence) {
+        if (sequence > 0) {
+            journal.sync(sequence);
+        }
     }
 
-    private void notifyObservers(Account account, Transaction transaction) {
-        for (TransactionObserver observer : observers) {
-            observer.onTransaction(account, transaction);
+    // Skips materializing the transaction when nobody is listening.
+    void notifyObservers(Account account) {
+        if (!observers.isEmpty()) {
+            observers.notify(account, account.getLastTransaction());
         }
     }
 }
@@ -0,0 +1,28 @@
+package com.banking.service;
+
+import com.banking.model.PostingOutcome;
+
+// Per-posting outcomes of BankingService.applyBatch, indexed like the submitted list.
+public class BatchResult {
+    private final PostingOutcome[] outcomes;
+    private final int applied;
+
+    BatchResult(PostingOutcome[] outcomes, int applied) {
+        this.outcomes = outcomes;
+        this.applied = applied;
+    }
+
+    public PostingOutcome getOutcome(int index) {
+        return outcomes[index];
+    }
+
+    public int size() { return outcomes.length; }
+    public int getApplied() { return applied; }
+    public int getFailed() { return outcomes.length - applied; }
+    public boolean isAllApplied() { return applied == outcomes.length; }
+
+    @Override
+    public String toString() {
+        return String.format("Applied %d of %d postings (%d failed)", applied, outcomes.length, getFailed());
+    }
+}
@@ -0,0 +1,86 @@
+package com.banking.service;
+
+import com.banking.model.TransactionLedger;
+import com.banking.model.TransactionType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// A statement query for BankingService.queryHistory: an optional [from, to) time range, an
+// optional set of transaction types, oldest- or newest-first order and a page size.
+public final class HistoryQuery {
+    private final long fromNanos;
+    private final long toNanos;
+    private final int typeMask;
+    private final boolean newestFirst;
+    private final int limit;
+
+    private HistoryQuery(Builder builder) {
+        this.fromNanos = builder.fromNanos;
+        this.toNanos = builder.toNanos;
+        this.typeMask = builder.typeMask;
+        this.newestFirst = builder.newestFirst;
+        this.limit = builder.limit;
+    }
+
+    // The newest `count` postings, newest first.
+    public static HistoryQuery last(int count) {
+        return new Builder().newestFirst().limit(count).build();
+    }
+
+    long getFromNanos() { return fromNanos; }
+    long getToNanos() { return toNanos; }
+    int getTypeMask() { return typeMask; }
+    boolean isNewestFirst() { return newestFirst; }
+    int getLimit() { return limit; }
+
+    public static class Builder {
+        private long fromNanos = Long.MIN_VALUE;
+        private long toNanos = Long.MAX_VALUE;
+        private int typeMask = TransactionLedger.ALL_TYPES;
+        private boolean newestFirst;
+        private int limit = 100;
+
+        // Inclusive.
+        public Builder from(LocalDateTime from) {
+            this.fromNanos = toEpochNanos(from);
+            return this;
+        }
+
+        // Exclusive.
+        public Builder to(LocalDateTime to) {
+            this.toNanos = toEpochNanos(to);
+            return this;
+        }
+
+        public Builder types(TransactionType... types) {
+            int mask = 0;
+            for (TransactionType type : types) {
+                mask |= 1 << type.ordinal();
+            }
+            this.typeMask = mask;
+            return this;
+        }
+
+        public Builder newestFirst() {
+            this.newestFirst = true;
+            return this;
+        }
+
+        public Builder limit(int limit) {
+            if (limit < 1) {
+                throw new IllegalArgumentException("Page limit must be positive");
+            }
+            this.limit = limit;
+            return this;
+        }
+
+        public HistoryQuery build() {
+            return new HistoryQuery(this);
+        }
+
+        private static long toEpochNanos(LocalDateTime time) {
+            return time.atZone(ZoneId.systemDefault()).toEpochSecond() * 1_000_000_000L + time.getNano();
+        }
+    }
+}
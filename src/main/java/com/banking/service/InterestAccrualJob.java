@@ -0,0 +1,289 @@
+package com.banking.service;
+
+import com.banking.factory.AccountType;
+import com.banking.journal.Journal;
+import com.banking.model.Account;
+import com.banking.model.PostingOutcome;
+import com.banking.model.TransactionLedger;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.Page;
+import com.banking.strategy.InterestStrategy;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+// End-of-day interest accrual over the whole book. The repository is cut into id-ordered pages;
+// each page is accrued on the pool with the strategies' bulk methods, and its journal appends
+// are made durable with one sync.
+// Every account records the date it was last accrued for (journaled with the posting), so a
+// rerun for the same date never posts twice. The checkpoint file only remembers how far the
+// contiguous run of finished pages reaches, so a restart can skip straight past them.
+public class InterestAccrualJob {
+    private final BankingService service;
+    private final Map<AccountType, InterestStrategy> strategies;
+    private final List<InterestStrategy> distinctStrategies;
+    private final ForkJoinPool pool;
+    private final int batchSize;
+    private final int maxPagesInFlight;
+    private final Path checkpointFile;
+
+    private InterestAccrualJob(Builder builder) {
+        this.service = builder.service;
+        this.strategies = new EnumMap<>(builder.strategies);
+        this.distinctStrategies = strategies.values().stream().distinct().toList();
+        this.pool = builder.pool;
+        this.batchSize = builder.batchSize;
+        this.maxPagesInFlight = Math.max(2, pool.getParallelism() * 2);
+        this.checkpointFile = builder.checkpointFile;
+    }
+
+    public AccrualReport run(LocalDate accrualDate) {
+        long start = System.nanoTime();
+        AccountRepository repository = service.getRepository();
+        Checkpoint checkpoint = readCheckpoint(accrualDate);
+        Counters counters = new Counters();
+        if (checkpoint.complete) {
+            return counters.report(System.nanoTime() - start, true);
+        }
+
+        // Pages are read in order on this thread; at most maxPagesInFlight are queued so
+        // memory stays bounded however large the book is.
+        Deque<PageTask> inFlight = new ArrayDeque<>();
+        String cursor = checkpoint.cursor;
+        boolean more = true;
+        while (more || !inFlight.isEmpty()) {
+            if (more && inFlight.size() < maxPagesInFlight) {
+                Page<Account> page = repository.findAll(cursor, batchSize);
+                List<Account> accounts = page.getItems();
+                if (!accounts.isEmpty()) {
+                    String last = accounts.get(accounts.size() - 1).getAccountId();
+                    inFlight.add(new PageTask(last, pool.submit(() -> accruePage(accounts, accrualDate, counters))));
+                }
+                cursor = page.getNextCursor();
+                more = cursor != null;
+                continue;
+            }
+            PageTask done = inFlight.poll();
+            await(done.result);
+            writeCheckpoint(accrualDate, done.lastAccountId, false);
+        }
+        writeCheckpoint(accrualDate, null, true);
+        return counters.report(System.nanoTime() - start, checkpoint.cursor != null);
+    }
+
+    // Interest is computed in bulk per strategy from a lock-free read of each balance, then
+    // posted under the account lock; an account whose balance moved in between is recomputed.
+    private Void accruePage(List<Account> accounts, LocalDate accrualDate, Counters counters) {
+        int count = accounts.size();
+        InterestStrategy[] assigned = new InterestStrategy[count];
+        long[] balances = new long[count];
+        double[] rates = new double[count];
+        for (int i = 0; i < count; i++) {
+            Account account = accounts.get(i);
+            assigned[i] = strategies.get(AccountType.of(account));
+            balances[i] = account.getBalanceCents();
+            rates[i] = account.getInterestRate();
+        }
+        long[] interest = computeInterest(assigned, balances, rates, count);
+
+        Journal journal = service.getJournal();
+        long lastSequence = 0;
+        for (int i = 0; i < count; i++) {
+            Account account = accounts.get(i);
+            counters.scanned.increment();
+            if (assigned[i] == null) {
+                counters.skipped.increment();
+                continue;
+            }
+            account.getLock().lock();
+            try {
+                LocalDate lastAccrual = account.getLastAccrualDate();
+                if (lastAccrual != null && !lastAccrual.isBefore(accrualDate)) {
+                    counters.skipped.increment();
+                    continue;
+                }
+                long amount = account.getBalanceCents() == balances[i]
+                        ? interest[i]
+                        : assigned[i].calculateInterestCents(account.getBalanceCents(), account.getInterestRate());
+                if (amount <= 0) {
+                    account.setLastAccrualDate(accrualDate);
+                    continue;
+                }
+                // Left unaccrued rather than overflowing the balance.
+                if (account.checkInterest(amount) != PostingOutcome.OK) {
+                    counters.skipped.increment();
+                    continue;
+                }
+                // Journal first, so a failed append leaves the account unaccrued.
+                if (journal != null) {
+                    long id = account.nextTransactionId();
+                    long now = TransactionLedger.currentEpochNanos();
+                    lastSequence = journal.appendAccrual(account.getAccountId(), amount, accrualDate, id, now);
+                    account.setJournalSequence(lastSequence);
+                    account.stampNextPosting(id, now);
+                }
+                account.postInterest(amount);
+                account.setLastAccrualDate(accrualDate);
+                service.notifyObservers(account);
+                counters.posted.increment();
+                counters.interest.add(amount);
+            } finally {
+                account.getLock().unlock();
+            }
+        }
+        service.syncJournal(lastSequence);
+        return null;
+    }
+
+    // Gathers the accounts of each strategy into dense arrays so it runs as one bulk call.
+    private long[] computeInterest(InterestStrategy[] assigned, long[] balances, double[] rates, int count) {
+        long[] interest = new long[count];
+        int[] positions = new int[count];
+        long[] groupBalances = new long[count];
+        double[] groupRates = new double[count];
+        long[] groupInterest = new long[count];
+        for (InterestStrategy strategy : distinctStrategies) {
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                if (assigned[i] == strategy) {
+                    positions[size] = i;
+                    groupBalances[size] = balances[i];
+                    groupRates[size] = rates[i];
+                    size++;
+                }
+            }
+            if (size == 0) {
+                continue;
+            }
+            strategy.calculateInterestCents(groupBalances, groupRates, groupInterest, size);
+            for (int j = 0; j < size; j++) {
+                interest[positions[j]] = groupInterest[j];
+            }
+        }
+        return interest;
+    }
+
+    private static void await(Future<Void> result) {
+        try {
+            result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interest accrual interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Interest accrual failed", e.getCause());
+        }
+    }
+
+    private Checkpoint readCheckpoint(LocalDate accrualDate) {
+        if (checkpointFile == null || !Files.exists(checkpointFile)) {
+            return new Checkpoint(null, false);
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(checkpointFile)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read accrual checkpoint " + checkpointFile, e);
+        }
+        if (!accrualDate.toString().equals(properties.getProperty("date"))) {
+            return new Checkpoint(null, false);
+        }
+        return new Checkpoint(properties.getProperty("cursor"), Boolean.parseBoolean(properties.getProperty("complete")));
+    }
+
+    private void writeCheckpoint(LocalDate accrualDate, String cursor, boolean complete) {
+        if (checkpointFile == null) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty("date", accrualDate.toString());
+        properties.setProperty("complete", Boolean.toString(complete));
+        if (cursor != null) {
+            properties.setProperty("cursor", cursor);
+        }
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp)) {
+                properties.store(writer, "interest accrual checkpoint");
+            }
+            Files.move(temp, checkpointFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write accrual checkpoint " + checkpointFile, e);
+        }
+    }
+
+    private record Checkpoint(String cursor, boolean complete) {
+    }
+
+    private record PageTask(String lastAccountId, Future<Void> result) {
+    }
+
+    private static final class Counters {
+        final LongAdder scanned = new LongAdder();
+        final LongAdder posted = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+        final LongAdder interest = new LongAdder();
+
+        AccrualReport report(long durationNanos, boolean resumed) {
+            return new AccrualReport(scanned.sum(), posted.sum(), skipped.sum(), interest.sum(), durationNanos, resumed);
+        }
+    }
+
+    public static class Builder {
+        private final BankingService service;
+        private final Map<AccountType, InterestStrategy> strategies = new EnumMap<>(AccountType.class);
+        private ForkJoinPool pool = ForkJoinPool.commonPool();
+        private int batchSize = 1024;
+        private Path checkpointFile;
+
+        public Builder(BankingService service) {
+            this.service = service;
+        }
+
+        // Accounts of types without a strategy are skipped.
+        public Builder strategy(AccountType type, InterestStrategy strategy) {
+            strategies.put(type, strategy);
+            return this;
+        }
+
+        public Builder pool(ForkJoinPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+        public Builder batchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("Batch size must be positive");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Builder checkpointFile(Path checkpointFile) {
+            this.checkpointFile = checkpointFile;
+            return this;
+        }
+
+        public InterestAccrualJob build() {
+            if (strategies.isEmpty()) {
+                throw new IllegalStateException("At least one interest strategy is required");
+            }
+            return new InterestAccrualJob(this);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.banking.service;
+
+import com.banking.exception.InvalidTransactionException;
+import com.banking.model.Money;
+import com.banking.model.TransactionType;
+
+// A deposit or withdrawal submitted through BankingService.applyBatch.
+public final class Posting {
+    private final String accountId;
+    private final TransactionType type;
+    private final long amountCents;
+
+    private Posting(String accountId, TransactionType type, long amountCents) {
+        this.accountId = accountId;
+        this.type = type;
+        this.amountCents = amountCents;
+    }
+
+    public static Posting deposit(String accountId, double amount) {
+        return depositCents(accountId, cents(amount));
+    }
+
+    public static Posting withdrawal(String accountId, double amount) {
+        return withdrawalCents(accountId, cents(amount));
+    }
+
+    public static Posting depositCents(String accountId, long amountCents) {
+        return new Posting(accountId, TransactionType.DEPOSIT, amountCents);
+    }
+
+    public static Posting withdrawalCents(String accountId, long amountCents) {
+        return new Posting(accountId, TransactionType.WITHDRAWAL, amountCents);
+    }
+
+    private static long cents(double amount) {
+        try {
+            return Money.toCents(amount);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTransactionException(e.getMessage());
+        }
+    }
+
+    public String getAccountId() { return accountId; }
+    public TransactionType getType() { return type; }
+    public long getAmountCents() { return amountCents; }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s $%.2f", type.getDisplayName(), accountId, Money.toAmount(amountCents));
+    }
+}
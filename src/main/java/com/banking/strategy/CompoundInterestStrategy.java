@@ -1,10 +1,14 @@
 package com.banking.strategy;
 
+import com.banking.model.Money;
+
 public class CompoundInterestStrategy implements InterestStrategy {
     private final int compoundingPeriods;
+    private final GrowthFactorCache growthFactors;
 
     public CompoundInterestStrategy(int compoundingPeriods) {
         this.compoundingPeriods = compoundingPeriods;
+        this.growthFactors = new GrowthFactorCache(compoundingPeriods);
     }
 
     @Override
@@ -14,6 +18,18 @@ public class CompoundInterestStrategy implements InterestStrategy {
         return compoundedAmount - balance;
     }
 
+    @Override
+    public long calculateInterestCents(long balanceCents, double rate) {
+        return Money.multiply(balanceCents, growthFactors.growth(rate));
+    }
+
+    @Override
+    public void calculateInterestCents(long[] balances, double[] rates, long[] interest, int count) {
+        double[] factors = new double[count];
+        growthFactors.fill(rates, factors, count);
+        InterestKernels.multiply(balances, factors, interest, count);
+    }
+
     @Override
     public String getStrategyName() {
         return "Compound Interest (" + compoundingPeriods + "x/year)";
@@ -0,0 +1,36 @@
+package com.banking.strategy;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Memoizes pow(1 + rate / periods, periods) - 1 per rate for one compounding frequency. A book
+// uses a handful of distinct rates, so the map stays tiny and Math.pow runs once per rate.
+final class GrowthFactorCache {
+    private final int periods;
+    private final ConcurrentHashMap<Double, Double> factors = new ConcurrentHashMap<>();
+
+    GrowthFactorCache(int periods) {
+        this.periods = periods;
+    }
+
+    double growth(double rate) {
+        Double cached = factors.get(rate);
+        if (cached != null) {
+            return cached;
+        }
+        return factors.computeIfAbsent(rate, r -> Math.pow(1 + r / periods, periods) - 1);
+    }
+
+    // Fills factors[i] for rates[i], reusing the previous lookup while the rate repeats.
+    void fill(double[] rates, double[] factors, int count) {
+        double lastRate = Double.NaN;
+        double lastGrowth = 0;
+        for (int i = 0; i < count; i++) {
+            double rate = rates[i];
+            if (Double.doubleToRawLongBits(rate) != Double.doubleToRawLongBits(lastRate)) {
+                lastRate = rate;
+                lastGrowth = growth(rate);
+            }
+            factors[i] = lastGrowth;
+        }
+    }
+}
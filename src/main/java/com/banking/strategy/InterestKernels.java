@@ -0,0 +1,61 @@
+package com.banking.strategy;
+
+// Bulk arithmetic behind the array InterestStrategy methods. When the JVM was started with
+// --add-modules jdk.incubator.vector the loops run on SIMD lanes through VectorInterestKernels;
+// otherwise (or with -Dbanking.vector.disabled=true) the scalar loops below are used. Both
+// paths round half-even exactly like Money.multiply, so results are identical.
+public final class InterestKernels {
+    private static final boolean VECTORIZED = !Boolean.getBoolean("banking.vector.disabled")
+            && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private InterestKernels() {
+    }
+
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    // interest[i] = rint(balances[i] * factors[i])
+    static void multiply(long[] balances, double[] factors, long[] interest, int count) {
+        checkLength(balances, factors.length, interest, count);
+        if (VECTORIZED) {
+            VectorInterestKernels.multiply(balances, factors, interest, count);
+        } else {
+            multiplyScalar(balances, factors, interest, 0, count);
+        }
+    }
+
+    // Branch-free form of the three-band tiered formula; limits are in cents.
+    static void tiered(long[] balances, long[] interest, int count, long tier1Limit, double tier1Rate,
+                       long tier2Limit, double tier2Rate, double tier3Rate) {
+        checkLength(balances, count, interest, count);
+        if (VECTORIZED) {
+            VectorInterestKernels.tiered(balances, interest, count, tier1Limit, tier1Rate, tier2Limit, tier2Rate, tier3Rate);
+        } else {
+            tieredScalar(balances, interest, 0, count, tier1Limit, tier1Rate, tier2Limit, tier2Rate, tier3Rate);
+        }
+    }
+
+    static void multiplyScalar(long[] balances, double[] factors, long[] interest, int from, int to) {
+        for (int i = from; i < to; i++) {
+            interest[i] = (long) Math.rint(balances[i] * factors[i]);
+        }
+    }
+
+    static void tieredScalar(long[] balances, long[] interest, int from, int to, long tier1Limit, double tier1Rate,
+                             long tier2Limit, double tier2Rate, double tier3Rate) {
+        for (int i = from; i < to; i++) {
+            double balance = balances[i];
+            double amount = Math.min(balance, tier1Limit) * tier1Rate;
+            amount += Math.max(Math.min(balance, tier2Limit) - tier1Limit, 0) * tier2Rate;
+            amount += Math.max(balance - tier2Limit, 0) * tier3Rate;
+            interest[i] = (long) Math.rint(amount);
+        }
+    }
+
+    private static void checkLength(long[] balances, int otherLength, long[] interest, int count) {
+        if (count < 0 || count > balances.length || count > otherLength || count > interest.length) {
+            throw new IllegalArgumentException("Count " + count + " exceeds an input array");
+        }
+    }
+}
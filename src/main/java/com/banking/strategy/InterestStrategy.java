@@ -1,6 +1,18 @@
 package com.banking.strategy;
 
+import com.banking.model.Money;
+
 public interface InterestStrategy {
     double calculateInterest(double balance,double rate);
+    default long calculateInterestCents(long balanceCents,double rate){
+        return Money.toCents(calculateInterest(Money.toAmount(balanceCents),rate));
+    }
+    // Bulk form for batch accrual: interest[i] for balances[i] at rates[i], for the first count
+    // entries. Built-in strategies override it with vectorizable loops.
+    default void calculateInterestCents(long[] balances,double[] rates,long[] interest,int count){
+        for(int i=0;i<count;i++){
+            interest[i]=calculateInterestCents(balances[i],rates[i]);
+        }
+    }
     String getStrategyName();
 }
@@ -1,5 +1,7 @@
 package com.banking.strategy;
 
+import com.banking.model.Money;
+
 public class SimpleInterestStrategy implements InterestStrategy {
 
     @Override
@@ -7,6 +9,16 @@ public class SimpleInterestStrategy implements InterestStrategy {
         return balance * rate;
     }
 
+    @Override
+    public long calculateInterestCents(long balanceCents, double rate) {
+        return Money.multiply(balanceCents, rate);
+    }
+
+    @Override
+    public void calculateInterestCents(long[] balances, double[] rates, long[] interest, int count) {
+        InterestKernels.multiply(balances, rates, interest, count);
+    }
+
     @Override
     public String getStrategyName() {
         return "Simple Interest";
@@ -1,11 +1,15 @@
 package com.banking.strategy;
 
+import com.banking.model.Money;
+
 public class TieredInterestStrategy implements InterestStrategy {
     private final double tier1Limit;
     private final double tier1Rate;
     private final double tier2Limit;
     private final double tier2Rate;
     private final double tier3Rate;
+    private final long tier1LimitCents;
+    private final long tier2LimitCents;
 
     public TieredInterestStrategy(double tier1Limit, double tier1Rate,double tier2Limit, double tier2Rate,double tier3Rate) {
         this.tier1Limit = tier1Limit;
@@ -13,6 +17,8 @@ public class TieredInterestStrategy implements InterestStrategy {
         this.tier2Limit = tier2Limit;
         this.tier2Rate = tier2Rate;
         this.tier3Rate = tier3Rate;
+        this.tier1LimitCents = Money.toCents(tier1Limit);
+        this.tier2LimitCents = Money.toCents(tier2Limit);
     }
 
     @Override
@@ -33,6 +39,34 @@ public class TieredInterestStrategy implements InterestStrategy {
         return interest;
     }
 
+    // Tier limits are compared in cents; the fractional-cent total is rounded once.
+    @Override
+    public long calculateInterestCents(long balanceCents, double rate) {
+        long tier1 = tier1LimitCents;
+        long tier2 = tier2LimitCents;
+        double interest;
+
+        if (balanceCents <= tier1) {
+            interest = balanceCents * tier1Rate;
+        } else if (balanceCents <= tier2) {
+            interest = tier1 * tier1Rate;
+            interest += (balanceCents - tier1) * tier2Rate;
+        } else {
+            interest = tier1 * tier1Rate;
+            interest += (tier2 - tier1) * tier2Rate;
+            interest += (balanceCents - tier2) * tier3Rate;
+        }
+
+        return (long) Math.rint(interest);
+    }
+
+    // Tiers ignore the account rate, so only balances are read.
+    @Override
+    public void calculateInterestCents(long[] balances, double[] rates, long[] interest, int count) {
+        InterestKernels.tiered(balances, interest, count, tier1LimitCents, tier1Rate,
+                tier2LimitCents, tier2Rate, tier3Rate);
+    }
+
     @Override
     public String getStrategyName() {
         return "Tiered Interest";
@@ -0,0 +1,62 @@
+package com.banking.strategy;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// SIMD versions of the InterestKernels loops. Only loaded when jdk.incubator.vector is present.
+// There is no lane-wise rint, so rounding uses the 2^52 trick: below 2^52, adding and then
+// subtracting 2^52 rounds half-even to an integer; larger magnitudes are already integral.
+final class VectorInterestKernels {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final double TWO_52 = 0x1p52;
+
+    private VectorInterestKernels() {
+    }
+
+    static void multiply(long[] balances, double[] factors, long[] interest, int count) {
+        int bound = DOUBLES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            DoubleVector balance = toDouble(LongVector.fromArray(LONGS, balances, i));
+            DoubleVector product = balance.mul(DoubleVector.fromArray(DOUBLES, factors, i));
+            toLong(rint(product)).intoArray(interest, i);
+        }
+        InterestKernels.multiplyScalar(balances, factors, interest, i, count);
+    }
+
+    static void tiered(long[] balances, long[] interest, int count, long tier1Limit, double tier1Rate,
+                       long tier2Limit, double tier2Rate, double tier3Rate) {
+        double limit1 = tier1Limit;
+        double limit2 = tier2Limit;
+        int bound = DOUBLES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            DoubleVector balance = toDouble(LongVector.fromArray(LONGS, balances, i));
+            DoubleVector amount = balance.min(limit1).mul(tier1Rate);
+            amount = amount.add(balance.min(limit2).sub(limit1).max(0).mul(tier2Rate));
+            amount = amount.add(balance.sub(limit2).max(0).mul(tier3Rate));
+            toLong(rint(amount)).intoArray(interest, i);
+        }
+        InterestKernels.tieredScalar(balances, interest, i, count, tier1Limit, tier1Rate, tier2Limit, tier2Rate, tier3Rate);
+    }
+
+    private static DoubleVector toDouble(LongVector values) {
+        return (DoubleVector) values.convertShape(VectorOperators.L2D, DOUBLES, 0);
+    }
+
+    private static LongVector toLong(DoubleVector values) {
+        return (LongVector) values.convertShape(VectorOperators.D2L, LONGS, 0);
+    }
+
+    private static DoubleVector rint(DoubleVector values) {
+        DoubleVector magnitude = values.abs();
+        DoubleVector rounded = magnitude.add(TWO_52).sub(TWO_52);
+        VectorMask<Double> negative = values.compare(VectorOperators.LT, 0);
+        rounded = rounded.blend(rounded.neg(), negative);
+        return rounded.blend(values, magnitude.compare(VectorOperators.GE, TWO_52));
+    }
+}
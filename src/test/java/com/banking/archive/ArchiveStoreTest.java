@@ -0,0 +1,209 @@
+package com.banking.archive;
+
+import com.banking.factory.AccountType;
+import com.banking.model.LedgerBlock;
+import com.banking.model.Transaction;
+import com.banking.model.TransactionLedger;
+import com.banking.model.TransactionType;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import com.banking.service.HistoryQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ArchiveStore Tests")
+class ArchiveStoreTest {
+    private static final int POSTINGS = 1500;
+
+    @TempDir
+    Path directory;
+
+    private InMemoryAccountRepository repository;
+    private BankingService service;
+    private ArchiveStore store;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryAccountRepository();
+        service = new BankingService(repository);
+        service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 1000);
+        service.createAccount(AccountType.CURRENT, "CA001", "Bob", 0);
+        for (int i = 0; i < POSTINGS; i++) {
+            service.deposit("SA001", 10 + i % 7);
+            if (i % 3 == 0) {
+                service.withdraw("SA001", 5);
+            }
+        }
+        store = new ArchiveStore.Builder(directory).cacheBlocks(4).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private static List<String> render(List<Transaction> transactions) {
+        return transactions.stream().map(t -> t.getId() + " " + t).toList();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+    @Test
+    @DisplayName("should move whole blocks beyond keepHot and keep the history unchanged")
+    void shouldArchiveAndReadBack() throws IOException {
+        List<String> before = render(service.getTransactionHistory("SA001"));
+
+        ArchiveReport report = store.archive(repository, 300);
+
+        TransactionLedger ledger = service.getAccount("SA001").getLedger();
+        int expectedBlocks = (before.size() - 300) / TransactionLedger.BLOCK_SIZE;
+        assertEquals(expectedBlocks, report.getBlocks());
+        assertEquals(1, report.getAccounts());
+        assertEquals(expectedBlocks * TransactionLedger.BLOCK_SIZE, ledger.getArchivedCount());
+        assertEquals(1, segments().size());
+        assertEquals(before, render(service.getTransactionHistory("SA001")));
+        assertEquals(0, service.getAccount("CA001").getLedger().getArchivedCount());
+    }
+
+    @Test
+    @DisplayName("should answer range and type queries spanning both tiers")
+    void shouldQueryAcrossTiers() {
+        List<Transaction> history = service.getTransactionHistory("SA001");
+        LocalDateTime from = history.get(100).getTimestamp();
+        LocalDateTime to = history.get(history.size() - 50).getTimestamp();
+        List<String> expected = render(history.stream()
+                .filter(t -> t.getType() == TransactionType.WITHDRAWAL)
+                .filter(t -> !t.getTimestamp().isBefore(from) && t.getTimestamp().isBefore(to))
+                .toList());
+
+        store.archive(repository, 200);
+
+        HistoryQuery query = new HistoryQuery.Builder().from(from).to(to)
+                .types(TransactionType.WITHDRAWAL).limit(10_000).build();
+        assertEquals(expected, render(service.queryHistory("SA001", query).getItems()));
+        assertEquals(render(history.subList(history.size() - 5, history.size()).reversed()),
+                render(service.getLastTransactions("SA001", 5)));
+    }
+
+    @Test
+    @DisplayName("should serve repeated reads of a cold block from the cache")
+    void shouldCacheDecodedBlocks() {
+        store.archive(repository, 0);
+        TransactionLedger ledger = service.getAccount("SA001").getLedger();
+
+        ledger.get(0);
+        long misses = store.getCacheMisses();
+        ledger.get(1);
+        ledger.get(2);
+
+        assertEquals(1, misses);
+        assertEquals(misses, store.getCacheMisses());
+        assertEquals(2, store.getCacheHits());
+    }
+
+    @Test
+    @DisplayName("should shrink the in-memory footprint of archived ledgers")
+    void shouldReduceMemory() {
+        TransactionLedger ledger = service.getAccount("SA001").getLedger();
+        long before = ledger.sizeInBytes();
+
+        store.archive(repository, TransactionLedger.BLOCK_SIZE);
+
+        assertTrue(ledger.sizeInBytes() < before / 2,
+                "expected " + ledger.sizeInBytes() + " to be well under " + before);
+    }
+
+    @Test
+    @DisplayName("should keep appending and archive only new blocks on later runs")
+    void shouldArchiveIncrementally() {
+        store.archive(repository, 0);
+        TransactionLedger ledger = service.getAccount("SA001").getLedger();
+        int archived = ledger.getArchivedCount();
+
+        for (int i = 0; i < TransactionLedger.BLOCK_SIZE; i++) {
+            service.deposit("SA001", 1);
+        }
+        List<String> before = render(service.getTransactionHistory("SA001"));
+        ArchiveReport second = store.archive(repository, 0);
+
+        assertEquals(1, second.getBlocks());
+        assertEquals(archived + TransactionLedger.BLOCK_SIZE, ledger.getArchivedCount());
+        assertEquals(before, render(service.getTransactionHistory("SA001")));
+    }
+
+    @Test
+    @DisplayName("should roll segments and read blocks from each of them")
+    void shouldRollSegments() throws IOException {
+        for (int i = 0; i < 40; i++) {
+            String id = String.format("AC%03d", i);
+            service.createAccount(AccountType.CURRENT, id, "Holder " + i, 0);
+            for (int j = 0; j < 2 * TransactionLedger.BLOCK_SIZE; j++) {
+                service.deposit(id, 1 + j % 11);
+            }
+        }
+        List<String> before = render(service.getTransactionHistory("AC017"));
+        store.close();
+        store = new ArchiveStore.Builder(directory).segmentSize(16 * 1024).build();
+
+        ArchiveReport report = store.archive(repository, 0);
+
+        assertTrue(report.getSegments() > 1, report.toString());
+        assertEquals(report.getSegments(), segments().size());
+        assertEquals(before, render(service.getTransactionHistory("AC017")));
+    }
+
+    @Test
+    @DisplayName("should delete segments left by an earlier process on open")
+    void shouldDeleteStaleSegments() throws IOException {
+        store.archive(repository, 0);
+        Path stale = segments().get(0);
+        Path unrelated = Files.writeString(directory.resolve("notes.txt"), "keep");
+        store.close();
+
+        store = new ArchiveStore.Builder(directory).build();
+
+        assertFalse(Files.exists(stale));
+        assertEquals(List.of(unrelated), segments());
+    }
+
+    @Test
+    @DisplayName("should round-trip a block through the codec")
+    void shouldRoundTripCodec() {
+        TransactionLedger ledger = service.getAccount("SA001").getLedger();
+        LedgerBlock block = ledger.exportBlock(1);
+
+        byte[] encoded = BlockCodec.encode(block);
+        int rawLength = ByteBuffer.wrap(encoded).getInt();
+        LedgerBlock decoded = BlockCodec.decode(Arrays.copyOfRange(encoded, BlockCodec.HEADER_BYTES,
+                encoded.length), rawLength);
+
+        assertEquals(block.size(), decoded.size());
+        for (int i = 0; i < block.size(); i++) {
+            assertEquals(block.getId(i), decoded.getId(i));
+            assertEquals(block.getTimestamp(i), decoded.getTimestamp(i));
+            assertEquals(block.getType(i), decoded.getType(i));
+            assertEquals(block.getAmount(i), decoded.getAmount(i));
+            assertEquals(block.getBalance(i), decoded.getBalance(i));
+            assertEquals(block.getDescription(i), decoded.getDescription(i));
+        }
+        assertTrue(encoded.length < block.size() * 8, "encoded block is " + encoded.length + " bytes");
+    }
+}
@@ -0,0 +1,276 @@
+package com.banking.audit;
+
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.Transaction;
+import com.banking.model.TransactionType;
+import com.banking.observer.BackpressurePolicy;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FileAuditSink Tests")
+class FileAuditSinkTest {
+
+    @TempDir
+    Path directory;
+
+    private BankingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BankingService(new InMemoryAccountRepository());
+        service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 1000);
+        service.createAccount(AccountType.CURRENT, "CA001", "Bob", 0);
+    }
+
+    private static List<AuditRecord> readAll(Path directory) {
+        return AuditReader.read(directory, Instant.EPOCH, Instant.MAX);
+    }
+
+    @Test
+    @DisplayName("should write every posting and read it back")
+    void shouldRoundTrip() {
+        try (FileAuditSink sink = new FileAuditSink.Builder(directory).build()) {
+            service.addObserver(sink);
+            service.deposit("SA001", 250.25);
+            service.withdraw("SA001", 100);
+            service.transfer("SA001", "CA001", 50);
+        }
+
+        List<AuditRecord> records = readAll(directory);
+        assertEquals(4, records.size());
+        AuditRecord deposit = records.get(0);
+        assertEquals("SA001", deposit.getAccountId());
+        assertEquals(TransactionType.DEPOSIT, deposit.getType());
+        assertEquals(25025, deposit.getAmountCents());
+        assertEquals(125025, deposit.getBalanceAfterCents());
+        Transaction original = service.getTransactionHistory("SA001").get(0);
+        assertEquals(original.getId(), deposit.getTransactionId());
+        assertEquals(original.getEpochNanos() / 1000, deposit.getEpochMicros());
+        assertTrue(deposit.toString().contains("Account: SA001 | Deposit | Amount: $250.25 | Balance: $1250.25"));
+        assertEquals(List.of("SA001", "SA001", "SA001", "CA001"),
+                records.stream().map(AuditRecord::getAccountId).toList());
+    }
+
+    @Test
+    @DisplayName("should return only records inside the time range")
+    void shouldQueryTimeRange() throws InterruptedException {
+        Instant start;
+        Instant middle;
+        try (FileAuditSink sink = new FileAuditSink.Builder(directory).fsync(FsyncPolicy.EVERY_BATCH).build()) {
+            service.addObserver(sink);
+            start = Instant.now();
+            service.deposit("SA001", 1);
+            Thread.sleep(5);
+            middle = Instant.now();
+            Thread.sleep(5);
+            service.deposit("SA001", 2);
+            assertTrue(sink.awaitIdle(Duration.ofSeconds(5)));
+
+            // Readable while the segment is still open.
+            List<AuditRecord> early = AuditReader.read(directory, start, middle);
+            assertEquals(List.of(100L), early.stream().map(AuditRecord::getAmountCents).toList());
+        }
+        List<AuditRecord> late = AuditReader.read(directory, middle, Instant.MAX);
+        assertEquals(List.of(200L), late.stream().map(AuditRecord::getAmountCents).toList());
+        assertEquals(0, AuditReader.read(directory, Instant.EPOCH, start).size());
+    }
+
+    @Test
+    @DisplayName("should roll segments and keep only the newest")
+    void shouldRollAndRetain() throws IOException {
+        try (FileAuditSink sink = new FileAuditSink.Builder(directory)
+                .segmentSize(4096)
+                .bufferSize(4096)
+                .maxSegments(3)
+                .queueCapacity(16)
+                .build()) {
+            service.addObserver(sink);
+            for (int i = 0; i < 2000; i++) {
+                service.depositCents("CA001", 1);
+            }
+            assertTrue(sink.awaitIdle(Duration.ofSeconds(5)));
+            assertEquals(2000, sink.getWritten());
+        }
+
+        assertEquals(3, AuditSegment.list(directory).size());
+        List<AuditRecord> kept = readAll(directory);
+        assertTrue(kept.size() < 2000);
+        // The survivors are the newest records, still contiguous.
+        for (int i = 1; i < kept.size(); i++) {
+            assertEquals(kept.get(i - 1).getBalanceAfterCents() + 1, kept.get(i).getBalanceAfterCents());
+        }
+        assertEquals(2000, kept.get(kept.size() - 1).getBalanceAfterCents());
+    }
+
+    @Test
+    @DisplayName("should find every record by a range query after segments roll")
+    void shouldFindEveryRecordAcrossRolls() throws IOException {
+        long base = 1_700_000_000L * 1_000_000_000L;
+        int count = 2000;
+        try (FileAuditSink sink = new FileAuditSink.Builder(directory)
+                .segmentSize(16 * 1024)
+                .bufferSize(4096)
+                .queueCapacity(4096)
+                .build()) {
+            // One second apart, so a range query for a record's second matches only that record.
+            Account account = service.getAccount("CA001");
+            for (int i = 0; i < count; i++) {
+                sink.onTransaction(account, new Transaction(i, TransactionType.DEPOSIT, 1, "CA001", i,
+                        base + i * 1_000_000_000L, "Deposit"));
+            }
+        }
+
+        assertTrue(AuditSegment.list(directory).size() > 1);
+        for (int i = 0; i < count; i++) {
+            Instant at = Instant.ofEpochSecond(0, base + i * 1_000_000_000L);
+            List<AuditRecord> found = AuditReader.read(directory, at, at.plusSeconds(1));
+            assertEquals(1, found.size(), "record " + i);
+            assertEquals(i, found.get(0).getTransactionId());
+        }
+    }
+
+    @Test
+    @DisplayName("should skip sealed segments by their timestamp range")
+    void shouldSkipSegmentsOutsideRange() throws IOException {
+        try (FileAuditSink sink = new FileAuditSink.Builder(directory).build()) {
+            service.addObserver(sink);
+            service.deposit("SA001", 1);
+        }
+        Path sealed = AuditSegment.list(directory).get(0);
+        long[] range = AuditSegment.rangeOf(sealed);
+        assertNotNull(range);
+        Instant written = Instant.ofEpochSecond(0, range[0] * 1000);
+        assertEquals(1, AuditReader.read(directory, written, Instant.MAX).size());
+
+        // Relabel the segment as holding only records from 1970: the reader trusts the name.
+        Files.move(sealed, sealed.resolveSibling(String.format("audit-%020d-%020d-%020d.log", 1, 1, 2)));
+        assertEquals(0, AuditReader.read(directory, written, Instant.MAX).size());
+        assertEquals(1, AuditReader.read(directory, Instant.EPOCH, Instant.MAX).size());
+    }
+
+    @Test
+    @DisplayName("should stop at a torn record at the end of a segment")
+    void shouldStopAtTornTail() throws IOException {
+        try (FileAuditSink sink = new FileAuditSink.Builder(directory).build()) {
+            service.addObserver(sink);
+            service.deposit("SA001", 1);
+            service.deposit("SA001", 2);
+        }
+        Path segment = AuditSegment.list(directory).get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+        assertEquals(1, readAll(directory).size());
+    }
+
+    @Test
+    @DisplayName("should drop and count records when the queue is full under DROP")
+    void shouldDropWhenFull() throws InterruptedException {
+        try (FileAuditSink sink = new FileAuditSink.Builder(directory)
+                .queueCapacity(2)
+                .flushInterval(Duration.ofSeconds(1))
+                .backpressure(BackpressurePolicy.DROP)
+                .build()) {
+            // Published straight to the sink so the two-slot ring outruns the writer's syscalls.
+            Account account = service.getAccount("CA001");
+            Transaction transaction = new Transaction(1, TransactionType.DEPOSIT, 1, "CA001", 1, "Deposit");
+            for (int i = 0; i < 10_000; i++) {
+                sink.onTransaction(account, transaction);
+            }
+            assertTrue(sink.getDropped() > 0);
+            assertTrue(sink.awaitIdle(Duration.ofSeconds(5)));
+            assertEquals(10_000, sink.getWritten() + sink.getDropped());
+        }
+    }
+
+    @Test
+    @DisplayName("should keep every record from concurrent postings under BLOCK")
+    void shouldNotLoseRecordsUnderBlock() throws InterruptedException {
+        try (FileAuditSink sink = new FileAuditSink.Builder(directory).queueCapacity(8).build()) {
+            service.addObserver(sink);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            CountDownLatch start = new CountDownLatch(1);
+            for (int t = 0; t < 4; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 500; i++) {
+                        service.depositCents("CA001", 1);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+        List<AuditRecord> records = readAll(directory);
+        assertEquals(2000, records.size());
+        assertEquals(2000, records.stream().mapToLong(AuditRecord::getBalanceAfterCents).max().orElse(0));
+    }
+
+    @Test
+    @DisplayName("should count postings made after close as dropped")
+    void shouldDropAfterClose() {
+        FileAuditSink sink = new FileAuditSink.Builder(directory).build();
+        service.addObserver(sink);
+        service.depositCents("CA001", 100);
+        sink.close();
+
+        assertDoesNotThrow(() -> service.depositCents("CA001", 100));
+        assertEquals(200, service.getAccount("CA001").getBalanceCents());
+        assertEquals(1, sink.getWritten());
+        assertEquals(1, sink.getDropped());
+        assertEquals(1, readAll(directory).size());
+    }
+
+    @Test
+    @DisplayName("should drop instead of blocking once the writer has failed under BLOCK")
+    void shouldNotBlockOnFailedWriter() throws IOException {
+        FileAuditSink sink = new FileAuditSink.Builder(directory)
+                .segmentSize(4096)
+                .queueCapacity(2)
+                .build();
+        service.addObserver(sink);
+        // The open segment survives the unlink, but the next roll cannot create a file.
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < 1000; i++) {
+                service.depositCents("CA001", 1);
+            }
+        });
+        assertEquals(1000, service.getAccount("CA001").getBalanceCents());
+        assertTrue(sink.getDropped() > 0);
+        assertThrows(AuditException.class, sink::close);
+    }
+
+    @Test
+    @DisplayName("should reject SPILL since the queue must stay bounded")
+    void shouldRejectSpill() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new FileAuditSink.Builder(directory).backpressure(BackpressurePolicy.SPILL));
+    }
+}
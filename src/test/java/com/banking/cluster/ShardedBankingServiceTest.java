@@ -0,0 +1,297 @@
+package com.banking.cluster;
+
+import com.banking.exception.AccountNotFoundException;
+import com.banking.exception.InsufficientFundsException;
+import com.banking.exception.InvalidTransactionException;
+import com.banking.factory.AccountType;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShardedBankingService Tests")
+class ShardedBankingServiceTest {
+    private static final int SHARDS = 4;
+    private static final int ACCOUNTS = 64;
+
+    private LoopbackTransport transport;
+    private ShardedBankingService service;
+
+    @BeforeEach
+    void setUp() {
+        transport = LoopbackTransport.inMemory(SHARDS);
+        service = new ShardedBankingService(transport);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            service.createAccount(AccountType.CURRENT, "CA" + i, "Holder " + i, 100);
+        }
+    }
+
+    // Finds two accounts owned by different shards, or by the same shard.
+    private String[] pair(boolean sameShard) {
+        for (int i = 1; i < ACCOUNTS; i++) {
+            if ((service.shardFor("CA0") == service.shardFor("CA" + i)) == sameShard) {
+                return new String[]{"CA0", "CA" + i};
+            }
+        }
+        throw new IllegalStateException("No suitable account pair");
+    }
+
+    private long totalCents() {
+        long total = 0;
+        for (int i = 0; i < ACCOUNTS; i++) {
+            total += service.getAccount("CA" + i).getBalanceCents();
+        }
+        return total;
+    }
+
+    @Nested
+    @DisplayName("Routing")
+    class Routing {
+
+        @Test
+        @DisplayName("should store each account only on its owning shard")
+        void shouldStoreOnOwningShard() {
+            for (int i = 0; i < ACCOUNTS; i++) {
+                String id = "CA" + i;
+                int owner = service.shardFor(id);
+                assertEquals(owner, service.getAccount(id).getShard());
+                for (int shard = 0; shard < SHARDS; shard++) {
+                    assertEquals(shard == owner,
+                            transport.endpoint(shard).getService().getAllAccounts().stream()
+                                    .anyMatch(a -> a.getAccountId().equals(id)));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("should spread accounts over every shard")
+        void shouldSpreadAccounts() {
+            for (int shard = 0; shard < SHARDS; shard++) {
+                assertFalse(transport.endpoint(shard).getService().getAllAccounts().isEmpty());
+            }
+        }
+
+        @Test
+        @DisplayName("should route deposits and withdrawals to the owning shard")
+        void shouldRoutePostings() {
+            service.deposit("CA7", 50);
+            service.withdraw("CA7", 30);
+            assertEquals(120, service.getAccount("CA7").getBalance());
+        }
+
+        @Test
+        @DisplayName("should reject amounts with no cents value as invalid transactions")
+        void shouldRejectUnrepresentableAmounts() {
+            assertThrows(InvalidTransactionException.class, () -> service.deposit("CA7", Double.NaN));
+            assertThrows(InvalidTransactionException.class, () -> service.withdraw("CA7", 1e300));
+            assertThrows(InvalidTransactionException.class,
+                    () -> service.transfer("CA7", "CA8", Double.NEGATIVE_INFINITY));
+            assertEquals(100, service.getAccount("CA7").getBalance());
+        }
+
+        @Test
+        @DisplayName("should throw for unknown accounts")
+        void shouldThrowForUnknownAccount() {
+            assertThrows(AccountNotFoundException.class, () -> service.getAccount("NOPE"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Transfers")
+    class Transfers {
+
+        @Test
+        @DisplayName("should transfer within a shard")
+        void shouldTransferWithinShard() {
+            String[] ids = pair(true);
+            service.transfer(ids[0], ids[1], 40);
+            assertEquals(60, service.getAccount(ids[0]).getBalance());
+            assertEquals(140, service.getAccount(ids[1]).getBalance());
+        }
+
+        @Test
+        @DisplayName("should transfer across shards and leave nothing prepared")
+        void shouldTransferAcrossShards() {
+            String[] ids = pair(false);
+            service.transfer(ids[0], ids[1], 40);
+            assertEquals(60, service.getAccount(ids[0]).getBalance());
+            assertEquals(140, service.getAccount(ids[1]).getBalance());
+            for (int shard = 0; shard < SHARDS; shard++) {
+                assertEquals(0, transport.endpoint(shard).getPreparedCount());
+            }
+        }
+
+        @Test
+        @DisplayName("should leave both accounts untouched when the debit fails")
+        void shouldAbortOnInsufficientFunds() {
+            String[] ids = pair(false);
+            assertThrows(InsufficientFundsException.class, () -> service.transfer(ids[0], ids[1], 1_000_000));
+            assertEquals(100, service.getAccount(ids[0]).getBalance());
+            assertEquals(100, service.getAccount(ids[1]).getBalance());
+        }
+
+        @Test
+        @DisplayName("should refund the escrowed debit when the target does not exist")
+        void shouldAbortOnUnknownTarget() {
+            assertThrows(AccountNotFoundException.class, () -> service.transfer("CA0", "NOPE", 40));
+            assertEquals(100, service.getAccount("CA0").getBalance());
+            for (int shard = 0; shard < SHARDS; shard++) {
+                assertEquals(0, transport.endpoint(shard).getPreparedCount());
+            }
+        }
+
+        @Test
+        @DisplayName("should refund the escrowed debit when the credit fails on commit")
+        void shouldAbortWhenCreditCommitFails() {
+            // Each node pays the loan down to 10 right after preparing a credit to it, so the
+            // prepared credit overpays the loan when it is committed.
+            List<ShardNode> nodes = new ArrayList<>();
+            for (int shard = 0; shard < SHARDS; shard++) {
+                nodes.add(new ShardNode(shard, new BankingService(new InMemoryAccountRepository())) {
+                    @Override
+                    public void prepareCredit(long transferId, String accountId, long amount) {
+                        super.prepareCredit(transferId, accountId, amount);
+                        long balance = getService().getAccount(accountId).getBalanceCents();
+                        getService().depositCents(accountId, balance - 1000);
+                    }
+                });
+            }
+            LoopbackTransport racing = new LoopbackTransport(nodes);
+            ShardedBankingService cluster = new ShardedBankingService(racing);
+            cluster.createAccount(AccountType.CURRENT, "CA0", "Alice", 100);
+            String loan = null;
+            for (int i = 0; loan == null; i++) {
+                if (cluster.shardFor("LA" + i) != cluster.shardFor("CA0")) {
+                    loan = "LA" + i;
+                }
+            }
+            cluster.createAccount(AccountType.LOAN, loan, "Bob", 500);
+            String target = loan;
+
+            assertThrows(InvalidTransactionException.class, () -> cluster.transfer("CA0", target, 40));
+            assertEquals(100, cluster.getAccount("CA0").getBalance());
+            assertEquals(10, cluster.getAccount(target).getBalance());
+            for (int shard = 0; shard < SHARDS; shard++) {
+                assertEquals(0, racing.endpoint(shard).getPreparedCount());
+            }
+        }
+
+        @Test
+        @DisplayName("should refund the escrowed debit even when aborting the credit fails")
+        void shouldAbortSourceWhenTargetAbortFails() {
+            // Credits fail to prepare, and the target then fails to abort as well.
+            List<ShardNode> nodes = new ArrayList<>();
+            for (int shard = 0; shard < SHARDS; shard++) {
+                nodes.add(new ShardNode(shard, new BankingService(new InMemoryAccountRepository())) {
+                    @Override
+                    public void prepareCredit(long transferId, String accountId, long amount) {
+                        throw new IllegalStateException("prepare failed");
+                    }
+
+                    @Override
+                    public void abort(long transferId) {
+                        if (getPreparedCount() == 0) {
+                            throw new IllegalStateException("abort failed");
+                        }
+                        super.abort(transferId);
+                    }
+                });
+            }
+            LoopbackTransport failing = new LoopbackTransport(nodes);
+            ShardedBankingService cluster = new ShardedBankingService(failing);
+            cluster.createAccount(AccountType.CURRENT, "CA0", "Alice", 100);
+            String target = null;
+            for (int i = 0; target == null; i++) {
+                if (cluster.shardFor("CA" + i) != cluster.shardFor("CA0")) {
+                    target = "CA" + i;
+                }
+            }
+            cluster.createAccount(AccountType.CURRENT, target, "Bob", 0);
+            String to = target;
+
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> cluster.transfer("CA0", to, 40));
+            assertEquals("prepare failed", e.getMessage());
+            assertEquals("abort failed", e.getSuppressed()[0].getMessage());
+            assertEquals(100, cluster.getAccount("CA0").getBalance());
+            for (int shard = 0; shard < SHARDS; shard++) {
+                assertEquals(0, failing.endpoint(shard).getPreparedCount());
+            }
+        }
+
+        @Test
+        @DisplayName("should reject transfers to the same account")
+        void shouldRejectSelfTransfer() {
+            assertThrows(InvalidTransactionException.class, () -> service.transfer("CA0", "CA0", 1));
+        }
+
+        @Test
+        @DisplayName("should conserve money under concurrent cross-shard transfers")
+        void shouldConserveMoney() throws InterruptedException {
+            long before = totalCents();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < 4000; i++) {
+                executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int from = random.nextInt(ACCOUNTS);
+                    int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                    try {
+                        service.transferCents("CA" + from, "CA" + to, random.nextInt(1, 5000));
+                    } catch (InsufficientFundsException ignored) {
+                        // Expected once an account runs dry.
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            assertEquals(before, totalCents());
+        }
+    }
+
+    @Nested
+    @DisplayName("Participants")
+    class Participants {
+
+        @Test
+        @DisplayName("should hold a prepared debit in escrow until abort")
+        void shouldEscrowPreparedDebit() {
+            ShardNode node = transport.endpoint(service.shardFor("CA0"));
+            node.prepareDebit(1L, "CA0", 4000);
+            assertEquals(60, service.getAccount("CA0").getBalance());
+            node.abort(1L);
+            node.abort(1L);
+            assertEquals(100, service.getAccount("CA0").getBalance());
+        }
+
+        @Test
+        @DisplayName("should apply a prepared credit only on commit, once")
+        void shouldApplyCreditOnCommit() {
+            ShardNode node = transport.endpoint(service.shardFor("CA0"));
+            node.prepareCredit(2L, "CA0", 4000);
+            assertEquals(100, service.getAccount("CA0").getBalance());
+            node.commit(2L);
+            node.commit(2L);
+            assertEquals(140, service.getAccount("CA0").getBalance());
+        }
+
+        @Test
+        @DisplayName("should reject a transfer id prepared twice")
+        void shouldRejectDuplicatePrepare() {
+            ShardNode node = transport.endpoint(service.shardFor("CA0"));
+            node.prepareCredit(3L, "CA0", 1);
+            assertThrows(InvalidTransactionException.class, () -> node.prepareDebit(3L, "CA0", 1));
+            assertEquals(100, service.getAccount("CA0").getBalance());
+        }
+    }
+}
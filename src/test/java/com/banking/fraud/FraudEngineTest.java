@@ -0,0 +1,174 @@
+package com.banking.fraud;
+
+import com.banking.factory.AccountType;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FraudEngine Tests")
+class FraudEngineTest {
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final List<FraudAlert> alerts = new CopyOnWriteArrayList<>();
+    private BankingService service;
+    private FraudEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        service = new BankingService(new InMemoryAccountRepository());
+        service.createAccount(AccountType.CURRENT, "CA001", "Alice", 100_000);
+        for (int i = 2; i <= 6; i++) {
+            service.createAccount(AccountType.SAVINGS, "SA00" + i, "Payee " + i, 0);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.close();
+        }
+    }
+
+    private FraudEngine.Builder builder() {
+        return new FraudEngine.Builder(alerts::add)
+                .clock(clock::get)
+                .largeTransaction(10_000_000)
+                .withdrawalVelocity(3, Duration.ofMinutes(1))
+                .outflowLimit(1_000_000, Duration.ofHours(1), 12)
+                .newCounterpartyBurst(3, Duration.ofMinutes(10), 8);
+    }
+
+    private void start(FraudEngine.Builder builder) {
+        engine = builder.build();
+        service.addObserver(engine);
+    }
+
+    private List<FraudRule> rules() {
+        assertTrue(engine.awaitIdle(Duration.ofSeconds(5)));
+        return alerts.stream().map(FraudAlert::getRule).toList();
+    }
+
+    // Events are stamped when the engine picks them up, so let it catch up before time moves.
+    private void advance(Duration duration) {
+        assertTrue(engine.awaitIdle(Duration.ofSeconds(5)));
+        clock.addAndGet(duration.toMillis());
+    }
+
+    @Test
+    @DisplayName("should alert once when withdrawals exceed the velocity limit")
+    void shouldDetectWithdrawalVelocity() {
+        start(builder());
+        for (int i = 0; i < 5; i++) {
+            service.withdraw("CA001", 10);
+            advance(Duration.ofSeconds(5));
+        }
+        assertEquals(List.of(FraudRule.WITHDRAWAL_VELOCITY), rules());
+        assertEquals("CA001", alerts.get(0).getAccountId());
+    }
+
+    @Test
+    @DisplayName("should not alert for withdrawals spread beyond the window")
+    void shouldIgnoreSlowWithdrawals() {
+        start(builder());
+        for (int i = 0; i < 5; i++) {
+            service.withdraw("CA001", 10);
+            advance(Duration.ofSeconds(31));
+        }
+        assertEquals(List.of(), rules());
+        assertEquals(5, engine.getProcessed());
+    }
+
+    @Test
+    @DisplayName("should sum withdrawals and transfers against the hourly outflow limit")
+    void shouldDetectOutflow() {
+        start(builder().withdrawalVelocity(100, Duration.ofMinutes(1)));
+        service.withdraw("CA001", 6_000);
+        advance(Duration.ofMinutes(30));
+        service.transfer("CA001", "SA002", 3_000);
+        assertEquals(List.of(), rules());
+
+        service.withdraw("CA001", 2_000);
+        assertEquals(List.of(FraudRule.OUTFLOW_LIMIT), rules());
+        assertEquals(1_100_000, alerts.get(0).getObserved());
+    }
+
+    @Test
+    @DisplayName("should let outflow slide out of the window")
+    void shouldExpireOutflow() {
+        start(builder().withdrawalVelocity(100, Duration.ofMinutes(1)));
+        service.withdraw("CA001", 9_000);
+        advance(Duration.ofMinutes(70));
+        service.withdraw("CA001", 9_000);
+        assertEquals(List.of(), rules());
+    }
+
+    @Test
+    @DisplayName("should alert on a burst of transfers to new counterparties only")
+    void shouldDetectNewCounterpartyBurst() {
+        start(builder());
+        for (int i = 0; i < 4; i++) {
+            service.transfer("CA001", "SA002", 10);
+            advance(Duration.ofSeconds(30));
+        }
+        assertEquals(List.of(), rules());
+
+        for (int i = 3; i <= 5; i++) {
+            service.transfer("CA001", "SA00" + i, 10);
+            advance(Duration.ofSeconds(30));
+        }
+        assertEquals(List.of(FraudRule.NEW_COUNTERPARTY_BURST), rules());
+    }
+
+    @Test
+    @DisplayName("should flag single large transactions")
+    void shouldDetectLargeTransaction() {
+        start(builder().largeTransaction(50_000));
+        service.deposit("SA002", 400);
+        service.deposit("SA002", 600);
+        assertEquals(List.of(FraudRule.LARGE_TRANSACTION), rules());
+        assertEquals("SA002", alerts.get(0).getAccountId());
+    }
+
+    @Test
+    @DisplayName("should evict idle accounts and cap tracked accounts")
+    void shouldBoundTrackedAccounts() {
+        start(builder().maxAccounts(3).idleTimeout(Duration.ofMinutes(5)));
+        for (int i = 2; i <= 6; i++) {
+            service.deposit("SA00" + i, 1);
+        }
+        assertTrue(engine.awaitIdle(Duration.ofSeconds(5)));
+        assertEquals(3, engine.getTrackedAccounts());
+        assertEquals(2, engine.getEvicted());
+
+        advance(Duration.ofMinutes(10));
+        service.deposit("SA002", 1);
+        assertTrue(engine.awaitIdle(Duration.ofSeconds(5)));
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (engine.getTrackedAccounts() != 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, engine.getTrackedAccounts());
+        assertEquals(5, engine.getEvicted());
+    }
+
+    @Test
+    @DisplayName("should drop rather than block when a ring is full")
+    void shouldDropWhenFull() {
+        engine = builder().stripes(1).ringSize(2).build();
+        service.addObserver(engine);
+        for (int i = 0; i < 10_000; i++) {
+            service.depositCents("SA002", 1);
+        }
+        assertTrue(engine.awaitIdle(Duration.ofSeconds(5)));
+        assertEquals(10_000, engine.getProcessed() + engine.getDropped());
+    }
+}
@@ -0,0 +1,177 @@
+package com.banking.journal;
+
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.LoanAccount;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Checkpointer Tests")
+class CheckpointerTest {
+
+    @TempDir
+    Path directory;
+
+    private MappedJournal open() {
+        return new MappedJournal.Builder(directory).segmentSize(128 * 1024).build();
+    }
+
+    private InMemoryAccountRepository recover() {
+        InMemoryAccountRepository repository = new InMemoryAccountRepository();
+        new JournalReplayer(repository).recover(directory);
+        return repository;
+    }
+
+    private void assertSameBalances(BankingService service, InMemoryAccountRepository recovered) {
+        assertEquals(service.getAllAccounts().size(), recovered.findAll().size());
+        for (Account original : service.getAllAccounts()) {
+            Account restored = recovered.findById(original.getAccountId()).orElseThrow();
+            assertEquals(original.getBalanceCents(), restored.getBalanceCents(), original.getAccountId());
+            assertEquals(original.getHolderName(), restored.getHolderName());
+            assertEquals(original.getInterestRate(), restored.getInterestRate());
+        }
+    }
+
+    @Test
+    @DisplayName("should recover from snapshot plus journal tail")
+    void shouldRecoverFromSnapshotAndTail() {
+        InMemoryAccountRepository repository = new InMemoryAccountRepository();
+        BankingService service = new BankingService(repository);
+        try (MappedJournal journal = open()) {
+            service.setJournal(journal);
+            service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 10000);
+            service.createAccount(AccountType.CURRENT, "CA001", "Bob", 500);
+            service.createAccount(AccountType.LOAN, "LA001", "Charlie", 20000);
+            service.deposit("SA001", 250.25);
+            service.withdraw("CA001", 2000);
+
+            long cut = new Checkpointer(journal, repository).checkpoint();
+            assertEquals(6, cut);
+
+            service.transfer("SA001", "CA001", 1000);
+            service.deposit("LA001", 5000);
+            service.calculateInterest("SA001");
+            service.createAccount(AccountType.SAVINGS, "SA002", "Dana", 300);
+        }
+
+        ReplayResult result = new JournalReplayer(new InMemoryAccountRepository()).recover(directory);
+        assertEquals(6, result.getSnapshotSequence());
+        assertEquals(3, result.getSnapshotAccounts());
+        assertEquals(4, result.getEvents());
+        assertEquals(9, result.getLastSequence());
+
+        InMemoryAccountRepository recovered = recover();
+        assertSameBalances(service, recovered);
+        LoanAccount loan = (LoanAccount) recovered.findById("LA001").orElseThrow();
+        assertEquals(2000000, loan.getOriginalLoanAmountCents());
+    }
+
+    @Test
+    @DisplayName("should drop journal segments and snapshots behind the cut")
+    void shouldTruncateBehindCut() throws IOException {
+        InMemoryAccountRepository repository = new InMemoryAccountRepository();
+        BankingService service = new BankingService(repository);
+        try (MappedJournal journal = open()) {
+            service.setJournal(journal);
+            service.createAccount(AccountType.CURRENT, "CA001", "Bob", 0);
+            Checkpointer checkpointer = new Checkpointer(journal, repository);
+            for (int round = 0; round < 3; round++) {
+                for (int i = 0; i < 5000; i++) {
+                    service.deposit("CA001", 0.01);
+                }
+                checkpointer.checkpoint();
+            }
+            assertEquals(1, MappedJournal.listSegments(directory).size());
+            assertEquals(1, SnapshotStore.listSnapshots(directory).size());
+
+            service.deposit("CA001", 1);
+            assertEquals(15002, journal.getLastSequence());
+        }
+
+        ReplayResult result = new JournalReplayer(new InMemoryAccountRepository()).recover(directory);
+        assertEquals(1, result.getEvents());
+        assertEquals(15100, recover().findById("CA001").orElseThrow().getBalanceCents());
+    }
+
+    @Test
+    @DisplayName("should checkpoint consistently while writers keep posting")
+    void shouldCheckpointUnderConcurrentWriters() throws InterruptedException {
+        InMemoryAccountRepository repository = new InMemoryAccountRepository();
+        BankingService service = new BankingService(repository);
+        List<String> ids = List.of("CA001", "CA002", "CA003", "CA004");
+        try (MappedJournal journal = new MappedJournal.Builder(directory).syncOnCommit(false).build();
+             Checkpointer checkpointer = new Checkpointer(journal, repository)) {
+            service.setJournal(journal);
+            ids.forEach(id -> service.createAccount(AccountType.CURRENT, id, "Holder", 1000));
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < 20_000; i++) {
+                String from = ids.get(i % ids.size());
+                String to = ids.get((i + 1) % ids.size());
+                if (i % 3 == 0) {
+                    executor.submit(() -> service.transfer(from, to, 1));
+                } else {
+                    executor.submit(() -> service.deposit(from, 0.01));
+                }
+                if (i % 4000 == 0) {
+                    executor.submit(checkpointer::checkpoint);
+                }
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        }
+
+        assertSameBalances(service, recover());
+    }
+
+    @Test
+    @DisplayName("should count scheduled checkpoint failures and keep retrying")
+    void shouldCountScheduledFailures() {
+        InMemoryAccountRepository repository = new InMemoryAccountRepository() {
+            @Override
+            public void forEach(Consumer<? super Account> action) {
+                throw new JournalException("Disk full");
+            }
+        };
+        try (MappedJournal journal = open();
+             Checkpointer checkpointer = new Checkpointer(journal, repository)) {
+            assertEquals(0, checkpointer.getFailures());
+            assertNull(checkpointer.getLastFailure());
+            checkpointer.start(Duration.ofMillis(5));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                while (checkpointer.getFailures() < 2) {
+                    Thread.sleep(1);
+                }
+            });
+            assertEquals("Disk full", checkpointer.getLastFailure().getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("should fall back to full replay when no snapshot exists")
+    void shouldReplayWithoutSnapshot() {
+        try (MappedJournal journal = open()) {
+            journal.appendCreateAccount(AccountType.CURRENT, "CA001", "Bob", 0);
+            journal.appendDeposit("CA001", 100, 0, 0);
+        }
+
+        ReplayResult result = new JournalReplayer(new InMemoryAccountRepository()).recover(directory);
+        assertEquals(0, result.getSnapshotSequence());
+        assertEquals(2, result.getEvents());
+    }
+}
@@ -0,0 +1,196 @@
+package com.banking.journal;
+
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.Transaction;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MappedJournal Tests")
+class MappedJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private MappedJournal open() {
+        return new MappedJournal.Builder(directory).segmentSize(128 * 1024).build();
+    }
+
+    private InMemoryAccountRepository replay() {
+        InMemoryAccountRepository repository = new InMemoryAccountRepository();
+        new JournalReplayer(repository).replay(directory);
+        return repository;
+    }
+
+    @Test
+    @DisplayName("should rebuild accounts and balances on replay")
+    void shouldRebuildOnReplay() {
+        BankingService service = new BankingService(new InMemoryAccountRepository());
+        try (MappedJournal journal = open()) {
+            service.setJournal(journal);
+            service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 10000);
+            service.createAccount(AccountType.CURRENT, "CA001", "Bob", 500);
+            service.createAccount(AccountType.LOAN, "LA001", "Charlie", 20000);
+            service.deposit("SA001", 250.25);
+            service.withdraw("CA001", 2000);
+            service.transfer("SA001", "CA001", 1000);
+            service.deposit("LA001", 5000);
+            service.calculateInterest("SA001");
+            service.calculateInterest("LA001");
+        }
+
+        InMemoryAccountRepository repository = replay();
+        assertEquals(3, repository.findAll().size());
+        for (Account original : service.getAllAccounts()) {
+            Account replayed = repository.findById(original.getAccountId()).orElseThrow();
+            assertEquals(original.getBalanceCents(), replayed.getBalanceCents());
+            assertEquals(original.getHolderName(), replayed.getHolderName());
+            assertEquals(render(original.getTransactions()), render(replayed.getTransactions()));
+        }
+        assertEquals(962026, repository.findById("SA001").orElseThrow().getBalanceCents());
+    }
+
+    @Test
+    @DisplayName("should leave accounts untouched when the journal append fails")
+    void shouldNotApplyUnjournaledPostings() {
+        BankingService service = new BankingService(new InMemoryAccountRepository());
+        MappedJournal journal = open();
+        service.setJournal(journal);
+        service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 10000);
+        service.createAccount(AccountType.CURRENT, "CA001", "Bob", 500);
+        journal.close();
+
+        assertThrows(JournalException.class, () -> service.deposit("SA001", 100));
+        assertThrows(JournalException.class, () -> service.withdraw("SA001", 100));
+        assertThrows(JournalException.class, () -> service.transfer("SA001", "CA001", 100));
+        assertThrows(JournalException.class, () -> service.calculateInterest("SA001"));
+        assertEquals(1000000, service.getAccount("SA001").getBalanceCents());
+        assertEquals(50000, service.getAccount("CA001").getBalanceCents());
+        assertEquals(0, service.getTransactionHistory("SA001").size());
+        assertThrows(JournalException.class, () -> service.createAccount(AccountType.CURRENT, "CA002", "Carol", 0));
+        assertTrue(service.findAccount("CA002").isEmpty());
+    }
+
+    // Id, type, amount, balance, time and description of each posting.
+    private static List<String> render(List<Transaction> transactions) {
+        return transactions.stream().map(t -> t.getId() + " " + t.getTimestamp() + " " + t).toList();
+    }
+
+    @Test
+    @DisplayName("should report replayed event count and sequence")
+    void shouldReportReplayStats() {
+        try (MappedJournal journal = open()) {
+            journal.appendCreateAccount(AccountType.CURRENT, "CA001", "Bob", 0);
+            for (int i = 0; i < 10; i++) {
+                journal.appendDeposit("CA001", 100, 0, 0);
+            }
+        }
+
+        ReplayResult result = new JournalReplayer(new InMemoryAccountRepository()).replay(directory);
+        assertEquals(11, result.getEvents());
+        assertEquals(11, result.getLastSequence());
+        assertTrue(result.getDurationNanos() > 0);
+    }
+
+    @Test
+    @DisplayName("should roll segments and continue sequences after reopen")
+    void shouldRollSegmentsAndReopen() throws IOException {
+        try (MappedJournal journal = open()) {
+            journal.appendCreateAccount(AccountType.CURRENT, "CA001", "Bob", 0);
+            for (int i = 0; i < 10_000; i++) {
+                journal.appendDeposit("CA001", 1, 0, 0);
+            }
+        }
+        assertTrue(MappedJournal.listSegments(directory).size() > 1);
+
+        try (MappedJournal journal = open()) {
+            assertEquals(10_001, journal.getLastSequence());
+            assertEquals(10_002, journal.appendDeposit("CA001", 1, 0, 0));
+        }
+        assertEquals(10_001, replay().findById("CA001").orElseThrow().getBalanceCents());
+    }
+
+    @Test
+    @DisplayName("should stop at a torn record and overwrite it on reopen")
+    void shouldRecoverFromTornTail() throws IOException {
+        try (MappedJournal journal = open()) {
+            journal.appendCreateAccount(AccountType.CURRENT, "CA001", "Bob", 0);
+            journal.appendDeposit("CA001", 100, 0, 0);
+            journal.appendDeposit("CA001", 200, 0, 0);
+        }
+        Path segment = MappedJournal.listSegments(directory).get(0);
+        long thirdRecordCrc;
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(0);
+            int first = file.readInt();
+            file.seek(8 + first);
+            int second = file.readInt();
+            thirdRecordCrc = 8 + first + 8 + second + 4;
+            file.seek(thirdRecordCrc);
+            file.writeInt(0xDEADBEEF);
+        }
+
+        assertEquals(100, replay().findById("CA001").orElseThrow().getBalanceCents());
+        try (MappedJournal journal = open()) {
+            assertEquals(2, journal.getLastSequence());
+            journal.appendDeposit("CA001", 5, 0, 0);
+        }
+        assertEquals(105, replay().findById("CA001").orElseThrow().getBalanceCents());
+    }
+
+    @Test
+    @DisplayName("should fail sync instead of waiting forever once the flusher has stopped")
+    void shouldFailSyncWhenFlusherStops() throws InterruptedException {
+        try (MappedJournal journal = new MappedJournal.Builder(directory).syncOnCommit(true).build()) {
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                if (thread.getName().equals("journal-flusher")) {
+                    thread.interrupt();
+                    thread.join(5000);
+                }
+            }
+            long sequence = journal.appendDeposit("CA001", 5, 0, 0);
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> assertThrows(JournalException.class, () -> journal.sync(sequence)));
+        }
+    }
+
+    @Test
+    @DisplayName("should make concurrent synchronous commits durable")
+    void shouldGroupCommitConcurrentWriters() throws InterruptedException {
+        try (MappedJournal journal = new MappedJournal.Builder(directory).syncOnCommit(true).build()) {
+            BankingService service = new BankingService(new InMemoryAccountRepository());
+            service.setJournal(journal);
+            List<String> ids = List.of("CA001", "CA002", "CA003", "CA004");
+            ids.forEach(id -> service.createAccount(AccountType.CURRENT, id, "Holder", 0));
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < 2000; i++) {
+                String id = ids.get(i % ids.size());
+                executor.submit(() -> service.deposit(id, 1));
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            assertEquals(2004, journal.getLastSequence());
+        }
+
+        InMemoryAccountRepository repository = replay();
+        for (String id : List.of("CA001", "CA002", "CA003", "CA004")) {
+            assertEquals(500, repository.findById(id).orElseThrow().getBalance());
+        }
+    }
+}
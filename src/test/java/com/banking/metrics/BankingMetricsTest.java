@@ -0,0 +1,136 @@
+package com.banking.metrics;
+
+import com.banking.exception.AccountNotFoundException;
+import com.banking.exception.InsufficientFundsException;
+import com.banking.factory.AccountType;
+import com.banking.journal.JournalException;
+import com.banking.journal.MappedJournal;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BankingMetrics Tests")
+class BankingMetricsTest {
+    private BankingService service;
+    private BankingMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        service = new BankingService(new InMemoryAccountRepository());
+        metrics = new BankingMetrics.Builder().sampleEvery(1).build();
+        service.setMetrics(metrics);
+        service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 5000);
+        service.createAccount(AccountType.CURRENT, "CA001", "Bob", 0);
+    }
+
+    @Test
+    @DisplayName("should count calls and time them per account type")
+    void shouldCountCalls() {
+        service.deposit("SA001", 10);
+        service.deposit("SA001", 10);
+        service.deposit("CA001", 10);
+        service.transfer("SA001", "CA001", 5);
+        service.calculateInterest("SA001");
+
+        OperationMetrics deposits = metrics.get(Operation.DEPOSIT);
+        assertEquals(3, deposits.getCalls());
+        assertEquals(2, deposits.getCalls(AccountType.SAVINGS));
+        assertEquals(3, deposits.getLatency().getCount());
+        assertEquals(1, deposits.getLatency(AccountType.CURRENT).getCount());
+        assertTrue(deposits.getP50Micros() > 0);
+        assertEquals(1, metrics.get(Operation.TRANSFER).getCalls());
+        assertEquals(1, metrics.get(Operation.CALCULATE_INTEREST).getCalls());
+        assertEquals(0, deposits.getErrors());
+    }
+
+    @Test
+    @DisplayName("should count failures per exception type")
+    void shouldCountErrorsByException() {
+        assertThrows(InsufficientFundsException.class, () -> service.withdraw("SA001", 100_000));
+        assertThrows(InsufficientFundsException.class, () -> service.withdraw("SA001", 100_000));
+        assertThrows(AccountNotFoundException.class, () -> service.withdraw("NOPE", 1));
+        assertThrows(AccountNotFoundException.class, () -> service.calculateInterest("NOPE"));
+
+        OperationMetrics withdrawals = metrics.get(Operation.WITHDRAW);
+        assertEquals(3, withdrawals.getCalls());
+        assertEquals(3, withdrawals.getErrors());
+        assertEquals(Map.of("InsufficientFundsException", 2L, "AccountNotFoundException", 1L),
+                withdrawals.getErrorsByException());
+        assertEquals(Map.of("INSUFFICIENT_FUNDS", 2L, "NOT_FOUND", 1L), withdrawals.getRejectionsByOutcome());
+        assertEquals(Map.of("AccountNotFoundException", 1L),
+                metrics.get(Operation.CALCULATE_INTEREST).getErrorsByException());
+    }
+
+    @Test
+    @DisplayName("should count exceptions thrown from the journal by the try* postings")
+    void shouldCountJournalFailures(@TempDir Path directory) {
+        MappedJournal journal = new MappedJournal.Builder(directory).build();
+        service.setJournal(journal);
+        journal.close();
+
+        assertThrows(JournalException.class, () -> service.tryDepositCents("SA001", 1));
+        assertThrows(JournalException.class, () -> service.tryWithdrawCents("SA001", 1));
+        assertThrows(JournalException.class, () -> service.tryTransferCents("SA001", "CA001", 1));
+
+        for (Operation operation : new Operation[]{Operation.DEPOSIT, Operation.WITHDRAW, Operation.TRANSFER}) {
+            OperationMetrics counted = metrics.get(operation);
+            assertEquals(1, counted.getCalls(), operation.name());
+            assertEquals(1, counted.getCalls(AccountType.SAVINGS), operation.name());
+            assertEquals(Map.of("JournalException", 1L), counted.getErrorsByException(), operation.name());
+        }
+    }
+
+    @Test
+    @DisplayName("should only time sampled calls but count all of them")
+    void shouldSample() {
+        BankingMetrics sampled = new BankingMetrics.Builder().sampleEvery(16).build();
+        service.setMetrics(sampled);
+        for (int i = 0; i < 1600; i++) {
+            service.depositCents("CA001", 1);
+        }
+        OperationMetrics deposits = sampled.get(Operation.DEPOSIT);
+        assertEquals(1600, deposits.getCalls());
+        assertTrue(deposits.getLatency().getCount() > 0);
+        assertTrue(deposits.getLatency().getCount() < 1600);
+    }
+
+    @Test
+    @DisplayName("should dump a text table")
+    void shouldDump() {
+        service.deposit("SA001", 10);
+        assertThrows(InsufficientFundsException.class, () -> service.withdraw("SA001", 100_000));
+        String dump = metrics.dump();
+        assertTrue(dump.contains("deposit"));
+        assertTrue(dump.contains("savings"));
+        assertTrue(dump.contains("InsufficientFundsException"));
+    }
+
+    @Test
+    @DisplayName("should expose operations as MXBeans")
+    void shouldRegisterMBeans() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        metrics.registerMBeans();
+        try {
+            service.deposit("SA001", 10);
+            ObjectName deposit = new ObjectName("com.banking:type=Operation,name=deposit");
+            assertEquals(1L, server.getAttribute(deposit, "Calls"));
+            ObjectName savings = new ObjectName(
+                    "com.banking:type=OperationLatency,name=deposit,accountType=SAVINGS");
+            assertEquals(1L, server.getAttribute(savings, "Count"));
+        } finally {
+            metrics.unregisterMBeans();
+        }
+        assertFalse(server.isRegistered(new ObjectName("com.banking:type=Operation,name=deposit")));
+    }
+}
@@ -0,0 +1,46 @@
+package com.banking.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatencyHistogram Tests")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("should map every value into a slot whose range contains it")
+    void shouldMapValuesToSlots() {
+        long[] values = {0, 1, 63, 64, 65, 127, 128, 1000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int slot = LatencyHistogram.slotOf(value);
+            assertTrue(LatencyHistogram.highestValueIn(slot) >= value, "upper bound for " + value);
+            if (slot > 0) {
+                assertTrue(LatencyHistogram.highestValueIn(slot - 1) < value, "lower bound for " + value);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("should report percentiles within the histogram's precision")
+    void shouldReportPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1000);
+        }
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(5000, histogram.getP50Micros(), 5000 * 0.04);
+        assertEquals(9900, histogram.getP99Micros(), 9900 * 0.04);
+        assertEquals(10_000, histogram.getMaxMicros());
+        assertEquals(5000.5, histogram.getMeanMicros(), 0.001);
+    }
+
+    @Test
+    @DisplayName("should report zero when empty")
+    void shouldHandleEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getP99Micros());
+        assertEquals(0, histogram.getMeanMicros());
+    }
+}
@@ -5,6 +5,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Account Tests")
@@ -76,6 +80,23 @@ class AccountTest {
             assertThrows(IllegalArgumentException.class, () -> account.withdraw(-100));
         }
 
+        @Test
+        @DisplayName("should report rejections as outcomes without changing the balance")
+        void shouldReportWithdrawalOutcomes() {
+            SavingsAccount guarded = new SavingsAccount.Builder("SA002", "Alice")
+                    .balance(1000)
+                    .minimumBalance(500)
+                    .build();
+            assertEquals(PostingOutcome.INVALID_AMOUNT, guarded.tryWithdrawCents(0));
+            assertEquals(PostingOutcome.INSUFFICIENT_FUNDS, guarded.tryWithdrawCents(Money.toCents(2000)));
+            assertEquals(PostingOutcome.BELOW_MINIMUM, guarded.tryWithdrawCents(Money.toCents(600)));
+            assertEquals(PostingOutcome.INVALID_AMOUNT, guarded.tryDepositCents(-1));
+            assertEquals(1000, guarded.getBalance());
+            assertEquals(0, guarded.getTransactions().size());
+            assertEquals(PostingOutcome.OK, guarded.tryWithdrawCents(Money.toCents(500)));
+            assertEquals(500, guarded.getBalance());
+        }
+
         @Test
         @DisplayName("should calculate interest when balance meets minimum")
         void shouldCalculateInterest() {
@@ -95,6 +116,15 @@ class AccountTest {
             assertEquals(0, lowBalance.calculateInterest());
         }
 
+        @Test
+        @DisplayName("should not post interest that would overflow the balance")
+        void shouldNotPostOverflowingInterest() {
+            account.depositCents(Long.MAX_VALUE - account.getBalanceCents());
+            assertEquals(PostingOutcome.INVALID_AMOUNT, account.checkInterest(account.interestDueCents()));
+            assertEquals(0, account.calculateInterest());
+            assertEquals(Long.MAX_VALUE, account.getBalanceCents());
+        }
+
         @Test
         @DisplayName("should record transactions")
         void shouldRecordTransactions() {
@@ -156,11 +186,39 @@ class AccountTest {
             assertThrows(IllegalArgumentException.class, () -> account.withdraw(35000));
         }
 
+        @Test
+        @DisplayName("should report an exceeded overdraft as an outcome")
+        void shouldReportOverdraftExceeded() {
+            assertEquals(PostingOutcome.OVERDRAFT_EXCEEDED, account.tryWithdrawCents(Money.toCents(35000)));
+            assertEquals(10000, account.getBalance());
+            assertEquals(PostingOutcome.OK, account.tryWithdrawCents(Money.toCents(30000)));
+            assertEquals(-20000, account.getBalance());
+        }
+
         @Test
         @DisplayName("should return 0 interest")
         void shouldReturnZeroInterest() {
             assertEquals(0, account.calculateInterest());
         }
+
+        @Test
+        @DisplayName("should reject a deposit that would overflow the balance")
+        void shouldRejectOverflowingDeposit() {
+            long balance = account.getBalanceCents();
+            assertEquals(PostingOutcome.INVALID_AMOUNT, account.tryDepositCents(Long.MAX_VALUE));
+            assertThrows(IllegalArgumentException.class, () -> account.depositCents(Long.MAX_VALUE - balance + 1));
+            assertEquals(balance, account.getBalanceCents());
+            assertEquals(PostingOutcome.OK, account.tryDepositCents(Long.MAX_VALUE - balance));
+            assertEquals(Long.MAX_VALUE, account.getBalanceCents());
+        }
+
+        @Test
+        @DisplayName("should not overflow the overdraft check on a large balance")
+        void shouldCheckOverdraftWithoutOverflow() {
+            account.depositCents(Long.MAX_VALUE - account.getBalanceCents());
+            assertEquals(PostingOutcome.OK, account.tryWithdrawCents(Long.MAX_VALUE));
+            assertEquals(0, account.getBalanceCents());
+        }
     }
 
     // --- LoanAccount Tests ---
@@ -204,6 +262,14 @@ class AccountTest {
             assertThrows(UnsupportedOperationException.class, () -> account.withdraw(1000));
         }
 
+        @Test
+        @DisplayName("should report overpayments and withdrawals as outcomes")
+        void shouldReportLoanOutcomes() {
+            assertEquals(PostingOutcome.OVERPAYMENT, account.tryDepositCents(Money.toCents(600000)));
+            assertEquals(PostingOutcome.NOT_SUPPORTED, account.tryWithdrawCents(Money.toCents(1000)));
+            assertEquals(500000, account.getBalance());
+        }
+
         @Test
         @DisplayName("should calculate interest and increase balance")
         void shouldCalculateInterest() {
@@ -226,4 +292,51 @@ class AccountTest {
             assertEquals(account.getBalance(), account.getRemainingBalance());
         }
     }
+
+    // --- Concurrency Tests ---
+
+    @Nested
+    @DisplayName("Concurrency")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("should not lose concurrent deposits")
+        void shouldNotLoseConcurrentDeposits() throws InterruptedException {
+            CurrentAccount account = new CurrentAccount.Builder("CA001", "Bob")
+                    .balance(0)
+                    .build();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < 8000; i++) {
+                executor.submit(() -> account.deposit(1));
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            assertEquals(8000, account.getBalance());
+            assertEquals(8000, account.getTransactions().size());
+        }
+
+        @Test
+        @DisplayName("should never overdraw under concurrent withdrawals")
+        void shouldNeverOverdrawConcurrently() throws InterruptedException {
+            SavingsAccount account = new SavingsAccount.Builder("SA001", "Alice")
+                    .balance(1000)
+                    .build();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < 2000; i++) {
+                executor.submit(() -> {
+                    try {
+                        account.withdraw(1);
+                    } catch (IllegalArgumentException ignored) {
+                        // expected once the balance is exhausted
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            assertEquals(0, account.getBalance());
+            assertEquals(1000, account.getTransactions().size());
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package com.banking.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Money Tests")
+class MoneyTest {
+
+    @Test
+    @DisplayName("should convert amounts to cents rounding half-even")
+    void shouldConvertToCents() {
+        assertEquals(10, Money.toCents(0.1));
+        assertEquals(123457, Money.toCents(1234.567));
+        assertEquals(2, Money.toCents(0.025));
+        assertEquals(-1050, Money.toCents(-10.5));
+    }
+
+    @Test
+    @DisplayName("should reject amounts that are not finite or do not fit in cents")
+    void shouldRejectOutOfRangeAmounts() {
+        assertThrows(IllegalArgumentException.class, () -> Money.toCents(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Money.toCents(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> Money.toCents(Double.NEGATIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> Money.toCents(1e17));
+        assertThrows(IllegalArgumentException.class, () -> Money.toCents(-1e17));
+        assertEquals(1_000_000_000_000_000_000L, Money.toCents(1e16));
+    }
+
+    @Test
+    @DisplayName("should round rate multiplication half-even to the cent")
+    void shouldMultiplyHalfEven() {
+        assertEquals(400, Money.multiply(10000, 0.04));
+        assertEquals(2, Money.multiply(5, 0.5));
+        assertEquals(4, Money.multiply(7, 0.5));
+    }
+
+    @Test
+    @DisplayName("should not drift over many small postings")
+    void shouldNotDrift() {
+        CurrentAccount account = new CurrentAccount.Builder("CA001", "Bob").build();
+        for (int i = 0; i < 100_000; i++) {
+            account.deposit(0.1);
+        }
+        assertEquals(1_000_000, account.getBalanceCents());
+        assertEquals(10_000.0, account.getBalance());
+    }
+}
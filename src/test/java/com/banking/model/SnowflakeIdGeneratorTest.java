@@ -0,0 +1,66 @@
+package com.banking.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SnowflakeIdGenerator Tests")
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    @DisplayName("should encode node and timestamp")
+    void shouldEncodeNodeAndTimestamp() {
+        long now = SnowflakeIdGenerator.EPOCH + 123_456;
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, () -> now);
+
+        long id = generator.nextId();
+        assertEquals(7, SnowflakeIdGenerator.nodeOf(id));
+        assertEquals(now, SnowflakeIdGenerator.timestampOf(id));
+    }
+
+    @Test
+    @DisplayName("should stay monotonic within a frozen millisecond")
+    void shouldStayMonotonicWhenClockStalls() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, () -> SnowflakeIdGenerator.EPOCH + 1);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long next = generator.nextId();
+            assertTrue(next > previous);
+            assertEquals(1, SnowflakeIdGenerator.nodeOf(next));
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("should generate unique ids across threads")
+    void shouldBeUniqueAcrossThreads() throws InterruptedException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(80_000, ids.size());
+    }
+
+    @Test
+    @DisplayName("should reject node id out of range")
+    void shouldRejectInvalidNode() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+    }
+}
@@ -0,0 +1,258 @@
+package com.banking.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TransactionLedger Tests")
+class TransactionLedgerTest {
+    private static final long BASE_NANOS = 1_700_000_000_000_000_000L;
+
+    private TransactionLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new TransactionLedger("SA001");
+    }
+
+    @Test
+    @DisplayName("should round-trip every column")
+    void shouldRoundTrip() {
+        ledger.append(42, BASE_NANOS, TransactionType.DEPOSIT, 1500, 11500, "Deposit");
+        ledger.append(43, BASE_NANOS + 1234, TransactionType.WITHDRAWAL, 500, 11000, "Withdrawal");
+
+        Transaction second = ledger.get(1);
+        assertEquals(43, second.getId());
+        assertEquals(TransactionType.WITHDRAWAL, second.getType());
+        assertEquals(500, second.getAmountCents());
+        assertEquals(11000, second.getBalanceAfterCents());
+        assertEquals("SA001", second.getAccountId());
+        assertEquals("Withdrawal", second.getDescription());
+        assertEquals(TransactionLedger.toLocalDateTime(BASE_NANOS + 1234), second.getTimestamp());
+        assertEquals(BASE_NANOS + 1234, second.getEpochNanos());
+    }
+
+    @Test
+    @DisplayName("should keep values exact across chunks and large deltas")
+    void shouldKeepValuesExactAcrossChunks() {
+        int count = LongColumn.CHUNK_SIZE * 3 + 17;
+        for (int i = 0; i < count; i++) {
+            long balance = i % 97 == 0 ? Long.MAX_VALUE - i : i * 100L;
+            ledger.append(i * 1_000_003L, BASE_NANOS + i * 7L, TransactionType.INTEREST, i, balance, "Interest");
+        }
+
+        assertEquals(count, ledger.size());
+        for (int i = 0; i < count; i++) {
+            Transaction txn = ledger.get(i);
+            assertEquals(i * 1_000_003L, txn.getId());
+            assertEquals(i, txn.getAmountCents());
+            assertEquals(i % 97 == 0 ? Long.MAX_VALUE - i : i * 100L, txn.getBalanceAfterCents());
+        }
+    }
+
+    @Test
+    @DisplayName("should return fixed-size read-only view")
+    void shouldReturnFixedSizeView() {
+        ledger.append(1, BASE_NANOS, TransactionType.DEPOSIT, 100, 100, "Deposit");
+        List<Transaction> view = ledger.view();
+        ledger.append(2, BASE_NANOS, TransactionType.DEPOSIT, 100, 200, "Deposit");
+
+        assertEquals(1, view.size());
+        assertEquals(2, ledger.view().size());
+        assertThrows(UnsupportedOperationException.class, () -> view.add(null));
+        assertEquals(2, ledger.getLast().getId());
+    }
+
+    @Test
+    @DisplayName("should pack regular postings into a few bytes each")
+    void shouldPackCompactly() {
+        int count = 100_000;
+        for (int i = 0; i < count; i++) {
+            ledger.append(1_000_000L + i, BASE_NANOS + i * 1_000L, TransactionType.DEPOSIT, 100, 100L * i, "Deposit");
+        }
+        assertTrue(ledger.sizeInBytes() / count < 20);
+    }
+
+    @Test
+    @DisplayName("should never let timestamps go backwards")
+    void shouldClampBackwardClock() {
+        ledger.append(1, BASE_NANOS + 5_000, TransactionType.DEPOSIT, 100, 100, "Deposit");
+        ledger.append(2, BASE_NANOS, TransactionType.DEPOSIT, 100, 200, "Deposit");
+
+        assertEquals(ledger.get(0).getTimestamp(), ledger.get(1).getTimestamp());
+        assertEquals(0, ledger.indexAt(BASE_NANOS + 5_000));
+        assertEquals(2, ledger.indexAt(BASE_NANOS + 5_001));
+    }
+
+    @Nested
+    @DisplayName("Select")
+    class Select {
+        private static final long HOUR = 3_600_000_000_000L;
+        private static final int WITHDRAWALS = 1 << TransactionType.WITHDRAWAL.ordinal();
+
+        // One posting an hour; every tenth is a withdrawal, every 500th interest.
+        @BeforeEach
+        void fill() {
+            for (int i = 0; i < 2000; i++) {
+                TransactionType type = i % 500 == 0 ? TransactionType.INTEREST
+                        : i % 10 == 0 ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT;
+                ledger.append(i, BASE_NANOS + i * HOUR, type, i, i, type.getDisplayName());
+            }
+        }
+
+        @Test
+        @DisplayName("should map a time range to an index range")
+        void shouldSelectTimeRange() {
+            int[] indices = ledger.select(BASE_NANOS + 100 * HOUR, BASE_NANOS + 105 * HOUR,
+                    TransactionLedger.ALL_TYPES, false, 0, 100);
+            assertArrayEquals(new int[]{100, 101, 102, 103, 104}, indices);
+        }
+
+        @Test
+        @DisplayName("should filter by type through the bitmaps")
+        void shouldSelectByType() {
+            int[] indices = ledger.select(Long.MIN_VALUE, Long.MAX_VALUE, WITHDRAWALS, false, 0, 1000);
+            assertEquals(196, indices.length);
+            for (int index : indices) {
+                assertEquals(TransactionType.WITHDRAWAL, ledger.get(index).getType());
+            }
+            int[] interest = ledger.select(Long.MIN_VALUE, Long.MAX_VALUE,
+                    1 << TransactionType.INTEREST.ordinal(), false, 0, 1000);
+            assertArrayEquals(new int[]{0, 500, 1000, 1500}, interest);
+        }
+
+        @Test
+        @DisplayName("should walk backwards and resume from a start index")
+        void shouldSelectNewestFirst() {
+            int[] page = ledger.select(BASE_NANOS, BASE_NANOS + 1000 * HOUR, WITHDRAWALS, true,
+                    Integer.MAX_VALUE, 3);
+            assertArrayEquals(new int[]{990, 980, 970}, page);
+            int[] next = ledger.select(BASE_NANOS, BASE_NANOS + 1000 * HOUR, WITHDRAWALS, true, 969, 3);
+            assertArrayEquals(new int[]{960, 950, 940}, next);
+            int[] last = ledger.select(BASE_NANOS, BASE_NANOS + 25 * HOUR, WITHDRAWALS, true, 11, 5);
+            assertArrayEquals(new int[]{10}, last);
+        }
+
+        @Test
+        @DisplayName("should return nothing for an empty range or type set")
+        void shouldSelectNothing() {
+            assertEquals(0, ledger.select(BASE_NANOS - HOUR, BASE_NANOS, TransactionLedger.ALL_TYPES,
+                    false, 0, 10).length);
+            assertEquals(0, ledger.select(Long.MIN_VALUE, Long.MAX_VALUE, 0, true, Integer.MAX_VALUE, 10).length);
+        }
+    }
+
+    @Nested
+    @DisplayName("Archive")
+    class Archive {
+        private static final long HOUR = 3_600_000_000_000L;
+
+        // Keeps exported blocks on the heap and counts how often the ledger loads them.
+        private int loads;
+        // When set, each load checks that a writer can still get in, i.e. no lock is held.
+        private boolean appendOnLoad;
+        private int appended;
+
+        private ArchivedBlock inMemory(LedgerBlock block) {
+            return new ArchivedBlock() {
+                @Override
+                public long getFirstTimestamp() {
+                    return block.getTimestamp(0);
+                }
+
+                @Override
+                public LedgerBlock load() {
+                    loads++;
+                    if (appendOnLoad) {
+                        long time = BASE_NANOS + (2000 + appended) * HOUR;
+                        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> CompletableFuture.runAsync(
+                                () -> ledger.append(2000, time, TransactionType.DEPOSIT, 1, 1, "Deposit")).join());
+                        appended++;
+                    }
+                    return block;
+                }
+            };
+        }
+
+        @BeforeEach
+        void fill() {
+            for (int i = 0; i < 1000; i++) {
+                ledger.append(i, BASE_NANOS + i * HOUR, TransactionType.DEPOSIT, i, i, "Deposit");
+            }
+        }
+
+        private void archive(int keepHot) {
+            int count = ledger.archivableBlocks(keepHot);
+            List<ArchivedBlock> blocks = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                blocks.add(inMemory(ledger.exportBlock(i)));
+            }
+            ledger.archive(blocks);
+        }
+
+        @Test
+        @DisplayName("should move only whole blocks and keep keepHot postings in memory")
+        void shouldArchiveWholeBlocks() {
+            assertEquals(2, ledger.archivableBlocks(400));
+            assertEquals(0, ledger.archivableBlocks(5000));
+            archive(400);
+
+            assertEquals(2 * TransactionLedger.BLOCK_SIZE, ledger.getArchivedCount());
+            assertEquals(1, ledger.archivableBlocks(0));
+            assertThrows(IndexOutOfBoundsException.class, () -> ledger.exportBlock(1));
+        }
+
+        @Test
+        @DisplayName("should read and search across the cold and hot tiers")
+        void shouldReadAcrossTiers() {
+            archive(0);
+            ledger.append(1000, BASE_NANOS + 1000 * HOUR, TransactionType.WITHDRAWAL, 1, 1, "Withdrawal");
+
+            assertEquals(3 * TransactionLedger.BLOCK_SIZE, ledger.getArchivedCount());
+            assertEquals(300, ledger.get(300).getId());
+            assertEquals(900, ledger.get(900).getId());
+            assertEquals(1000, ledger.getLast().getId());
+            assertEquals(300, ledger.indexAt(BASE_NANOS + 300 * HOUR));
+            assertEquals(800, ledger.indexAt(BASE_NANOS + 800 * HOUR));
+            assertArrayEquals(new int[]{255, 256, 257},
+                    ledger.select(BASE_NANOS + 255 * HOUR, BASE_NANOS + 258 * HOUR,
+                            TransactionLedger.ALL_TYPES, false, 0, 10));
+            assertArrayEquals(new int[]{1000}, ledger.select(Long.MIN_VALUE, Long.MAX_VALUE,
+                    1 << TransactionType.WITHDRAWAL.ordinal(), false, 0, 10));
+            assertTrue(loads > 0);
+        }
+
+        @Test
+        @DisplayName("should load archived blocks for a time search without holding the lock")
+        void shouldSearchColdBlocksUnlocked() {
+            archive(0);
+            appendOnLoad = true;
+
+            assertEquals(300, ledger.indexAt(BASE_NANOS + 300 * HOUR));
+            assertArrayEquals(new int[]{255, 256, 257},
+                    ledger.select(BASE_NANOS + 255 * HOUR, BASE_NANOS + 258 * HOUR,
+                            TransactionLedger.ALL_TYPES, false, 0, 10));
+            assertEquals(3, appended);
+            assertEquals(1003, ledger.size());
+        }
+
+        @Test
+        @DisplayName("should reject more blocks than are in memory")
+        void shouldRejectOverArchive() {
+            List<ArchivedBlock> blocks = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                blocks.add(inMemory(ledger.exportBlock(0)));
+            }
+            assertThrows(IllegalArgumentException.class, () -> ledger.archive(blocks));
+            assertEquals(0, ledger.getArchivedCount());
+        }
+    }
+}
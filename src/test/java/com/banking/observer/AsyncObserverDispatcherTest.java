@@ -0,0 +1,260 @@
+package com.banking.observer;
+
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.Transaction;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AsyncObserverDispatcher Tests")
+class AsyncObserverDispatcherTest {
+    private BankingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BankingService(new InMemoryAccountRepository());
+        service.createAccount(AccountType.CURRENT, "CA001", "Alice", 0);
+        service.createAccount(AccountType.CURRENT, "CA002", "Bob", 0);
+    }
+
+    // Records the balance-after of every posting per account, in delivery order.
+    private static class RecordingObserver implements TransactionObserver {
+        final Map<String, List<Long>> balances = new ConcurrentHashMap<>();
+
+        @Override
+        public void onTransaction(Account account, Transaction transaction) {
+            balances.computeIfAbsent(account.getAccountId(), id -> new ArrayList<>())
+                    .add(transaction.getBalanceAfterCents());
+        }
+    }
+
+    @Test
+    @DisplayName("should deliver postings off the posting thread")
+    void shouldDeliverOnConsumerThread() {
+        List<String> threads = new ArrayList<>();
+        try (AsyncObserverDispatcher dispatcher = new AsyncObserverDispatcher.Builder()
+                .observer((account, txn) -> threads.add(Thread.currentThread().getName()))
+                .build()) {
+            service.addObserver(dispatcher);
+            service.deposit("CA001", 10);
+            assertTrue(dispatcher.awaitIdle(Duration.ofSeconds(5)));
+        }
+        assertEquals(1, threads.size());
+        assertNotEquals(Thread.currentThread().getName(), threads.get(0));
+    }
+
+    @Test
+    @DisplayName("should deliver a transfer as one event with both legs")
+    void shouldForwardTransfers() {
+        List<String> transfers = new ArrayList<>();
+        RecordingObserver observer = new RecordingObserver() {
+            @Override
+            public void onTransfer(Account from, Transaction debit, Account to, Transaction credit) {
+                transfers.add(from.getAccountId() + "->" + to.getAccountId() + ":" + credit.getAmountCents());
+            }
+        };
+        try (AsyncObserverDispatcher dispatcher = new AsyncObserverDispatcher.Builder()
+                .observer(observer)
+                .build()) {
+            service.addObserver(dispatcher);
+            service.deposit("CA001", 10);
+            service.transfer("CA001", "CA002", 4);
+            assertTrue(dispatcher.awaitIdle(Duration.ofSeconds(5)));
+            assertEquals(2, dispatcher.getStats().get(0).getDelivered());
+        }
+        assertEquals(List.of("CA001->CA002:400"), transfers);
+        assertEquals(List.of(1000L), observer.balances.get("CA001"));
+        assertNull(observer.balances.get("CA002"));
+    }
+
+    @Test
+    @DisplayName("should preserve per-account order under concurrent postings")
+    void shouldPreservePerAccountOrder() throws InterruptedException {
+        RecordingObserver first = new RecordingObserver();
+        RecordingObserver second = new RecordingObserver();
+        try (AsyncObserverDispatcher dispatcher = new AsyncObserverDispatcher.Builder()
+                .observer(first)
+                .observer(second)
+                .ringSize(64)
+                .build()) {
+            service.addObserver(dispatcher);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < 4000; i++) {
+                String id = i % 2 == 0 ? "CA001" : "CA002";
+                executor.submit(() -> service.depositCents(id, 1));
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        for (RecordingObserver observer : List.of(first, second)) {
+            for (String id : List.of("CA001", "CA002")) {
+                List<Long> balances = observer.balances.get(id);
+                assertEquals(2000, balances.size());
+                for (int i = 0; i < balances.size(); i++) {
+                    assertEquals(i + 1, balances.get(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("should drop events for a stalled observer and count them")
+    void shouldDropWhenFull() {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingObserver fast = new RecordingObserver();
+        try (AsyncObserverDispatcher dispatcher = new AsyncObserverDispatcher.Builder()
+                .observer((account, txn) -> awaitQuietly(release))
+                .observer(fast)
+                .ringSize(8)
+                .backpressure(BackpressurePolicy.DROP)
+                .build()) {
+            service.addObserver(dispatcher);
+            for (int i = 0; i < 100; i++) {
+                service.depositCents("CA001", 1);
+            }
+            ObserverStats stalled = dispatcher.getStats().get(0);
+            assertTrue(stalled.getDropped() > 0);
+            assertTrue(stalled.getLag() > 0);
+            assertEquals(100, stalled.getPublished() + stalled.getDropped());
+            release.countDown();
+            assertTrue(dispatcher.awaitIdle(Duration.ofSeconds(5)));
+            assertEquals(0, dispatcher.getStats().get(0).getLag());
+            assertEquals(dispatcher.getStats().get(1).getDelivered(), fast.balances.get("CA001").size());
+        }
+    }
+
+    @Test
+    @DisplayName("should keep publishing to other observers while one ring is full under BLOCK")
+    void shouldBlockOnlyTheFullRing() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingObserver fast = new RecordingObserver();
+        try (AsyncObserverDispatcher dispatcher = new AsyncObserverDispatcher.Builder()
+                .observer(fast)
+                .observer((account, txn) -> awaitQuietly(release))
+                .ringSize(2)
+                .build()) {
+            service.addObserver(dispatcher);
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                // The stalled consumer holds the first event; the third finds its ring full.
+                Future<?> blocked = executor.submit(() -> {
+                    for (int i = 0; i < 3; i++) {
+                        service.depositCents("CA001", 1);
+                    }
+                });
+                awaitDelivered(fast, "CA001", 3);
+                Future<?> other = executor.submit(() -> service.depositCents("CA002", 1));
+
+                awaitDelivered(fast, "CA002", 1);
+                assertFalse(blocked.isDone());
+                release.countDown();
+                blocked.get(5, TimeUnit.SECONDS);
+                other.get(5, TimeUnit.SECONDS);
+            } finally {
+                release.countDown();
+                executor.shutdown();
+            }
+            assertTrue(dispatcher.awaitIdle(Duration.ofSeconds(5)));
+            assertEquals(4, dispatcher.getStats().get(1).getDelivered());
+        }
+    }
+
+    @Test
+    @DisplayName("should spill overflow and still deliver everything in order")
+    void shouldSpillWhenFull() {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingObserver slow = new RecordingObserver();
+        try (AsyncObserverDispatcher dispatcher = new AsyncObserverDispatcher.Builder()
+                .observer((account, txn) -> {
+                    awaitQuietly(release);
+                    slow.onTransaction(account, txn);
+                })
+                .ringSize(8)
+                .backpressure(BackpressurePolicy.SPILL)
+                .build()) {
+            service.addObserver(dispatcher);
+            for (int i = 0; i < 100; i++) {
+                service.depositCents("CA001", 1);
+            }
+            assertTrue(dispatcher.getStats().get(0).getSpilled() > 0);
+            release.countDown();
+        }
+        List<Long> balances = slow.balances.get("CA001");
+        assertEquals(100, balances.size());
+        for (int i = 0; i < balances.size(); i++) {
+            assertEquals(i + 1, balances.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("should keep delivering after an observer throws")
+    void shouldCountObserverFailures() {
+        RecordingObserver recording = new RecordingObserver();
+        try (AsyncObserverDispatcher dispatcher = new AsyncObserverDispatcher.Builder()
+                .observer((account, txn) -> {
+                    if (txn.getBalanceAfterCents() == 100) {
+                        throw new IllegalStateException("boom");
+                    }
+                    recording.onTransaction(account, txn);
+                })
+                .build()) {
+            service.addObserver(dispatcher);
+            service.deposit("CA001", 1);
+            service.deposit("CA001", 1);
+            assertTrue(dispatcher.awaitIdle(Duration.ofSeconds(5)));
+            assertEquals(1, dispatcher.getStats().get(0).getFailed());
+        }
+        assertEquals(List.of(200L), recording.balances.get("CA001"));
+    }
+
+    @Test
+    @DisplayName("should count events after close as dropped without failing the posting")
+    void shouldDropAfterClose() {
+        RecordingObserver recording = new RecordingObserver();
+        AsyncObserverDispatcher dispatcher = new AsyncObserverDispatcher.Builder()
+                .observer(recording)
+                .build();
+        dispatcher.close();
+        service.addObserver(dispatcher);
+
+        assertDoesNotThrow(() -> service.deposit("CA001", 1));
+        assertEquals(100, service.getAccount("CA001").getBalanceCents());
+        ObserverStats stats = dispatcher.getStats().get(0);
+        assertEquals(1, stats.getDropped());
+        assertEquals(0, stats.getPublished());
+        assertTrue(recording.balances.isEmpty());
+    }
+
+    private static void awaitDelivered(RecordingObserver observer, String accountId, int count) {
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (observer.balances.getOrDefault(accountId, List.of()).size() < count) {
+                Thread.sleep(1);
+            }
+        });
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
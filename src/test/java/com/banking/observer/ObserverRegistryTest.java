@@ -0,0 +1,179 @@
+package com.banking.observer;
+
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.CurrentAccount;
+import com.banking.model.SavingsAccount;
+import com.banking.model.Transaction;
+import com.banking.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ObserverRegistry Tests")
+class ObserverRegistryTest {
+    private ObserverRegistry registry;
+    private Account savings;
+    private Account current;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ObserverRegistry();
+        savings = new SavingsAccount.Builder("SA001", "Alice").balance(5000).build();
+        current = new CurrentAccount.Builder("CA001", "Bob").balance(5000).build();
+    }
+
+    private Transaction deposit(Account account) {
+        account.deposit(10);
+        return account.getLastTransaction();
+    }
+
+    private Transaction withdraw(Account account) {
+        account.withdraw(10);
+        return account.getLastTransaction();
+    }
+
+    @Test
+    @DisplayName("should notify observers in registration order")
+    void shouldNotifyInOrder() {
+        List<String> calls = new ArrayList<>();
+        registry.add((account, txn) -> calls.add("first"));
+        registry.add((account, txn) -> calls.add("second"));
+
+        registry.notify(savings, deposit(savings));
+        assertEquals(List.of("first", "second"), calls);
+    }
+
+    @Test
+    @DisplayName("should count an observer failure and keep notifying the others")
+    void shouldIsolateObserverFailures() {
+        List<String> calls = new ArrayList<>();
+        registry.add((account, txn) -> {
+            throw new IllegalStateException("broken");
+        });
+        registry.add((account, txn) -> calls.add("second"));
+
+        assertDoesNotThrow(() -> registry.notify(savings, deposit(savings)));
+        assertDoesNotThrow(() -> registry.notify(savings, List.of(deposit(savings))));
+        assertDoesNotThrow(() -> registry.notifyTransfer(savings, withdraw(savings), current, deposit(current)));
+        // The transfer reaches the second observer as two legs.
+        assertEquals(4, calls.size());
+        assertEquals(3, registry.getFailures());
+    }
+
+    @Test
+    @DisplayName("should remove only the given observer")
+    void shouldRemoveObserver() {
+        List<String> calls = new ArrayList<>();
+        TransactionObserver first = (account, txn) -> calls.add("first");
+        registry.add(first);
+        registry.add((account, txn) -> calls.add("second"));
+
+        assertTrue(registry.remove(first));
+        assertFalse(registry.remove(first));
+        registry.notify(savings, deposit(savings));
+        assertEquals(List.of("second"), calls);
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    @DisplayName("should skip observers whose transaction type filter does not match")
+    void shouldFilterByTransactionType() {
+        List<TransactionType> seen = new ArrayList<>();
+        registry.add((account, txn) -> seen.add(txn.getType()),
+                ObserverFilter.transactionTypes(TransactionType.WITHDRAWAL));
+
+        registry.notify(savings, deposit(savings));
+        registry.notify(savings, withdraw(savings));
+        assertEquals(List.of(TransactionType.WITHDRAWAL), seen);
+    }
+
+    @Test
+    @DisplayName("should combine transaction and account type filters")
+    void shouldFilterByAccountType() {
+        List<String> seen = new ArrayList<>();
+        registry.add((account, txn) -> seen.add(account.getAccountId()),
+                ObserverFilter.accountTypes(AccountType.CURRENT)
+                        .andTransactionTypes(TransactionType.DEPOSIT));
+
+        registry.notify(savings, deposit(savings));
+        registry.notify(current, deposit(current));
+        registry.notify(current, withdraw(current));
+        assertEquals(List.of("CA001"), seen);
+    }
+
+    @Test
+    @DisplayName("should deliver transfer legs together or per leg when filtered")
+    void shouldDeliverTransfers() {
+        List<String> legs = new ArrayList<>();
+        List<String> transfers = new ArrayList<>();
+        registry.add((account, txn) -> legs.add(account.getAccountId()));
+        registry.add((account, txn) -> legs.add("filtered " + account.getAccountId()),
+                ObserverFilter.transactionTypes(TransactionType.DEPOSIT));
+        registry.add(new TransactionObserver() {
+            @Override
+            public void onTransaction(Account account, Transaction transaction) {
+                fail("transfer should arrive through onTransfer");
+            }
+
+            @Override
+            public void onTransfer(Account from, Transaction debit, Account to, Transaction credit) {
+                transfers.add(from.getAccountId() + "->" + to.getAccountId());
+            }
+        });
+
+        registry.notifyTransfer(savings, withdraw(savings), current, deposit(current));
+        assertEquals(List.of("SA001", "CA001", "filtered CA001"), legs);
+        assertEquals(List.of("SA001->CA001"), transfers);
+    }
+
+    @Test
+    @DisplayName("should tolerate add and remove while other threads notify")
+    void shouldAllowConcurrentChanges() throws Exception {
+        AtomicLong stableCalls = new AtomicLong();
+        registry.add((account, txn) -> stableCalls.incrementAndGet());
+        Transaction transaction = deposit(savings);
+        AtomicBoolean stop = new AtomicBoolean();
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        List<Future<Long>> notifiers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            notifiers.add(executor.submit(() -> {
+                long notified = 0;
+                while (!stop.get()) {
+                    registry.notify(savings, transaction);
+                    notified++;
+                }
+                return notified;
+            }));
+        }
+        Future<?> mutator = executor.submit(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                TransactionObserver temporary = (account, txn) -> { };
+                registry.add(temporary);
+                assertTrue(registry.remove(temporary));
+            }
+        });
+        mutator.get(30, TimeUnit.SECONDS);
+        stop.set(true);
+        long notified = 0;
+        for (Future<Long> notifier : notifiers) {
+            notified += notifier.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(notified, stableCalls.get());
+        assertEquals(1, registry.size());
+    }
+}
@@ -0,0 +1,185 @@
+package com.banking.reporting;
+
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.Transaction;
+import com.banking.model.TransactionType;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import com.banking.service.Posting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BookAggregates Tests")
+class BookAggregatesTest {
+
+    private InMemoryAccountRepository repository;
+    private BankingService service;
+    private BookAggregates aggregates;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryAccountRepository();
+        service = new BankingService(repository);
+        aggregates = new BookAggregates.Builder().build();
+    }
+
+    private void openBook() {
+        service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 1000);
+        service.createAccount(AccountType.SAVINGS, "SA002", "Carol", 2500);
+        service.createAccount(AccountType.CURRENT, "CA001", "Bob", 300);
+        service.createAccount(AccountType.LOAN, "LA001", "Dave", 5000);
+    }
+
+    private void post() {
+        service.deposit("SA001", 200);
+        service.withdraw("SA002", 150.50);
+        service.withdraw("CA001", 400);
+        service.transfer("SA001", "LA001", 700);
+        service.transfer("SA002", "CA001", 25);
+        service.applyBatch(List.of(Posting.deposit("CA001", 10), Posting.withdrawal("SA001", 5),
+                Posting.deposit("LA001", 100)));
+        service.calculateInterest("LA001");
+    }
+
+    // What a full scan of the book reports, to compare the aggregates against.
+    private long scannedBalance(AccountType type) {
+        return service.getAllAccounts().stream()
+                .filter(account -> AccountType.of(account) == type)
+                .mapToLong(Account::getBalanceCents)
+                .sum();
+    }
+
+    private long scannedAmount(LocalDate date, TransactionType transactionType) {
+        return service.getAllAccounts().stream()
+                .flatMap(account -> account.getTransactions().stream())
+                .filter(t -> t.getType() == transactionType && t.getTimestamp().toLocalDate().equals(date))
+                .mapToLong(Transaction::getAmountCents)
+                .sum();
+    }
+
+    private void assertMatchesScan() {
+        LocalDate today = LocalDate.now();
+        for (AccountType type : AccountType.values()) {
+            assertEquals(scannedBalance(type), aggregates.getBalanceCents(type), type.name());
+        }
+        for (TransactionType type : TransactionType.values()) {
+            assertEquals(scannedAmount(today, type), aggregates.getDailyAmountCents(today, type), type.name());
+        }
+    }
+
+    @Test
+    @DisplayName("should track balances and daily postings as they happen")
+    void shouldTrackPostings() {
+        service.setAggregates(aggregates);
+        openBook();
+        post();
+
+        assertMatchesScan();
+        assertEquals(2, aggregates.getAccountCount(AccountType.SAVINGS));
+        assertEquals(1, aggregates.getAccountCount(AccountType.LOAN));
+        assertEquals(service.getAccount("LA001").getBalanceCents(), aggregates.getOutstandingLoanCents());
+        LocalDate today = LocalDate.now();
+        assertEquals(2, aggregates.getDailyCount(today, AccountType.LOAN, TransactionType.DEPOSIT));
+        assertEquals(80000, aggregates.getDailyAmountCents(today, AccountType.LOAN, TransactionType.DEPOSIT));
+        assertEquals(1, aggregates.getDailyCount(today, AccountType.LOAN, TransactionType.INTEREST));
+    }
+
+    @Test
+    @DisplayName("should seed from an existing book and carry on incrementally")
+    void shouldSeedFromRepository() {
+        openBook();
+        post();
+        service.setAggregates(aggregates);
+
+        assertMatchesScan();
+        assertEquals(1, aggregates.getAccountCount(AccountType.CURRENT));
+
+        service.deposit("SA001", 1000);
+        post();
+        service.createAccount(AccountType.CURRENT, "CA002", "Erin", 50);
+        assertMatchesScan();
+        assertEquals(2, aggregates.getAccountCount(AccountType.CURRENT));
+    }
+
+    @Test
+    @DisplayName("should stay exact under concurrent postings")
+    void shouldCountConcurrentPostings() throws Exception {
+        service.setAggregates(aggregates);
+        for (int i = 0; i < 8; i++) {
+            service.createAccount(AccountType.CURRENT, "CA00" + i, "Holder " + i, 0);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    String from = "CA00" + (thread * 2 + i % 2);
+                    service.depositCents(from, 3);
+                    service.tryTransferCents(from, "CA00" + (i % 8), 1);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(4 * 2000 * 3, aggregates.getBalanceCents(AccountType.CURRENT));
+        assertMatchesScan();
+    }
+
+    @Test
+    @DisplayName("should recycle days that fall out of the retention window")
+    void shouldAgeOutOldDays() {
+        BookAggregates week = new BookAggregates.Builder().retentionDays(7).build();
+        service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 0);
+        Account account = service.getAccount("SA001");
+        LocalDate day = LocalDate.of(2024, 3, 1);
+
+        week.onTransaction(account, deposit(day, 500));
+        week.onTransaction(account, deposit(day.plusDays(3), 200));
+        assertEquals(500, week.getDailyAmountCents(day, TransactionType.DEPOSIT));
+
+        week.onTransaction(account, deposit(day.plusDays(7), 100));
+        assertEquals(0, week.getDailyAmountCents(day, TransactionType.DEPOSIT));
+        assertEquals(200, week.getDailyAmountCents(day.plusDays(3), TransactionType.DEPOSIT));
+        assertEquals(100, week.getDailyAmountCents(day.plusDays(7), TransactionType.DEPOSIT));
+
+        // A late posting for a recycled day still moves the balance.
+        week.onTransaction(account, deposit(day, 1));
+        assertEquals(0, week.getDailyCount(day, TransactionType.DEPOSIT));
+        assertEquals(801, week.getBalanceCents(AccountType.SAVINGS));
+    }
+
+    private static Transaction deposit(LocalDate day, long amount) {
+        return new Transaction(1, TransactionType.DEPOSIT, amount, "SA001", amount,
+                LocalDateTime.of(day, LocalTime.NOON), "Deposit");
+    }
+
+    @Test
+    @DisplayName("should render an end-of-day report")
+    void shouldRenderReport() {
+        service.setAggregates(aggregates);
+        openBook();
+        post();
+
+        String report = aggregates.endOfDayReport(LocalDate.now());
+        assertTrue(report.contains("LOAN"), report);
+        assertTrue(report.contains("WITHDRAWAL"), report);
+    }
+}
@@ -6,8 +6,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -91,4 +97,128 @@ class InMemoryAccountRepositoryTest {
         assertEquals(1, repository.findAll().size());
         assertEquals("Alice Updated", repository.findById("SA001").get().getHolderName());
     }
+
+    @Test
+    @DisplayName("should only save first account with same ID")
+    void shouldSaveIfAbsent() {
+        assertTrue(repository.saveIfAbsent(testAccount));
+        Account duplicate = new SavingsAccount.Builder("SA001", "Mallory")
+                .balance(1).build();
+
+        assertFalse(repository.saveIfAbsent(duplicate));
+        assertEquals("Alice", repository.findById("SA001").get().getHolderName());
+    }
+
+    @Test
+    @DisplayName("should re-index holder name when an account is replaced or deleted")
+    void shouldKeepHolderIndexInSync() {
+        repository.save(testAccount);
+        repository.save(new SavingsAccount.Builder("SA001", "Carol").balance(1).build());
+
+        assertTrue(repository.findByHolderName("Alice").isEmpty());
+        assertEquals(1, repository.findByHolderName("CAROL").size());
+
+        repository.delete("SA001");
+        assertTrue(repository.findByHolderName("carol").isEmpty());
+        assertFalse(repository.findByHolderNamePrefix("car", null, 10).hasNext());
+        assertTrue(repository.findByHolderNamePrefix("car", null, 10).getItems().isEmpty());
+    }
+
+    @Test
+    @DisplayName("should page prefix matches in name then id order")
+    void shouldPageByHolderNamePrefix() {
+        for (InMemoryAccountRepository repo : List.of(new InMemoryAccountRepository(true),
+                new InMemoryAccountRepository(false))) {
+            repo.save(new SavingsAccount.Builder("SA3", "Alicia").build());
+            repo.save(new SavingsAccount.Builder("SA2", "alice").build());
+            repo.save(new SavingsAccount.Builder("SA1", "ALICE").build());
+            repo.save(new SavingsAccount.Builder("SA4", "Bob").build());
+            repo.save(new SavingsAccount.Builder("SA5", "Al").build());
+
+            List<String> ids = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                Page<Account> page = repo.findByHolderNamePrefix("ALI", cursor, 2);
+                page.getItems().forEach(a -> ids.add(a.getAccountId()));
+                cursor = page.getNextCursor();
+                pages++;
+            } while (cursor != null);
+
+            assertEquals(List.of("SA1", "SA2", "SA3"), ids);
+            assertEquals(2, pages);
+        }
+    }
+
+    @Test
+    @DisplayName("should keep holder index consistent under concurrent save and delete")
+    void shouldIndexConcurrently() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 20_000; i++) {
+            String id = "SA" + (i % 500);
+            String holder = i % 3 == 0 ? "Alice" : "Bob";
+            int op = i % 7;
+            executor.submit(() -> {
+                if (op == 0) {
+                    repository.delete(id);
+                } else {
+                    repository.save(new SavingsAccount.Builder(id, holder).build());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        for (String holder : List.of("alice", "bob")) {
+            long expected = repository.findAll().stream()
+                    .filter(a -> a.getHolderName().equalsIgnoreCase(holder))
+                    .count();
+            assertEquals(expected, repository.findByHolderName(holder).size());
+            assertEquals(expected, repository.findByHolderNamePrefix(holder, null, 1000).getItems().size());
+        }
+    }
+
+    @Test
+    @DisplayName("should page through all accounts in id order")
+    void shouldPageFindAll() {
+        for (InMemoryAccountRepository repo : List.of(new InMemoryAccountRepository(true),
+                new InMemoryAccountRepository(false))) {
+            for (int i = 9; i >= 0; i--) {
+                repo.save(new SavingsAccount.Builder("SA" + i, "Holder").build());
+            }
+            repo.delete("SA4");
+
+            List<String> ids = new ArrayList<>();
+            Page<Account> page = repo.findAll(null, 4);
+            page.getItems().forEach(a -> ids.add(a.getAccountId()));
+            while (page.hasNext()) {
+                page = repo.findAll(page.getNextCursor(), 4);
+                page.getItems().forEach(a -> ids.add(a.getAccountId()));
+            }
+            assertEquals(List.of("SA0", "SA1", "SA2", "SA3", "SA5", "SA6", "SA7", "SA8", "SA9"), ids);
+        }
+    }
+
+    @Test
+    @DisplayName("should stream and split the account set for parallel scans")
+    void shouldStreamAccounts() {
+        for (int i = 0; i < 10_000; i++) {
+            repository.save(new SavingsAccount.Builder("SA" + i, "Holder").balance(1).build());
+        }
+        assertEquals(10_000, repository.count());
+        assertEquals(1_000_000, repository.stream().parallel().mapToLong(Account::getBalanceCents).sum());
+
+        AtomicLong visited = new AtomicLong();
+        repository.forEach(a -> visited.incrementAndGet());
+        assertEquals(10_000, visited.get());
+
+        Spliterator<Account> whole = repository.spliterator();
+        Spliterator<Account> half = whole.trySplit();
+        assertNotNull(half);
+        long[] counts = {0, 0};
+        half.forEachRemaining(a -> counts[0]++);
+        whole.forEachRemaining(a -> counts[1]++);
+        assertEquals(10_000, counts[0] + counts[1]);
+        assertTrue(Math.min(counts[0], counts[1]) > 2_000);
+    }
 }
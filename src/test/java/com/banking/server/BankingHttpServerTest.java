@@ -0,0 +1,154 @@
+package com.banking.server;
+
+import com.banking.factory.AccountType;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BankingHttpServer Tests")
+class BankingHttpServerTest {
+    private BankingService service;
+    private BankingHttpServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new BankingService(new InMemoryAccountRepository());
+        service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 5000);
+        service.createAccount(AccountType.CURRENT, "CA001", "Bob", 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private void start(BankingHttpServer.Builder builder) throws Exception {
+        server = builder.port(0).build().start();
+    }
+
+    private HttpResponse<String> send(String method, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    @DisplayName("should serve deposits, withdrawals, transfers, balances and history")
+    void shouldServeEndpoints() throws Exception {
+        start(new BankingHttpServer.Builder(service));
+
+        assertEquals(200, send("POST", "/accounts/SA001/deposit?amount=1000").statusCode());
+        assertEquals(200, send("POST", "/accounts/SA001/withdraw?amount=500.50").statusCode());
+        assertEquals(200, send("POST", "/transfers?from=SA001&to=CA001&amount=250").statusCode());
+
+        HttpResponse<String> balance = send("GET", "/accounts/SA001/balance");
+        assertEquals(200, balance.statusCode());
+        assertEquals("{\"accountId\":\"SA001\",\"balance\":5249.5}", balance.body());
+
+        HttpResponse<String> history = send("GET", "/accounts/SA001/history?limit=2");
+        assertEquals(200, history.statusCode());
+        assertTrue(history.body().startsWith("[{"));
+        assertEquals(2, history.body().split("\"id\"").length - 1);
+        assertEquals(250, service.getAccount("CA001").getBalance());
+    }
+
+    @Test
+    @DisplayName("should map outcomes and errors to status codes")
+    void shouldMapStatusCodes() throws Exception {
+        start(new BankingHttpServer.Builder(service));
+
+        HttpResponse<String> rejected = send("POST", "/accounts/SA001/withdraw?amount=100000");
+        assertEquals(422, rejected.statusCode());
+        assertTrue(rejected.body().contains("INSUFFICIENT_FUNDS"));
+        assertEquals(404, send("POST", "/accounts/NOPE/deposit?amount=1").statusCode());
+        assertEquals(404, send("GET", "/accounts/NOPE/balance").statusCode());
+        assertEquals(400, send("POST", "/accounts/SA001/deposit?amount=abc").statusCode());
+        assertEquals(400, send("POST", "/accounts/SA001/deposit").statusCode());
+        assertEquals(405, send("GET", "/accounts/SA001/deposit?amount=1").statusCode());
+        assertEquals(404, send("GET", "/nowhere").statusCode());
+        assertEquals(5000, service.getAccount("SA001").getBalance());
+    }
+
+    @Test
+    @DisplayName("should escape control characters in JSON strings")
+    void shouldEscapeControlCharacters() throws Exception {
+        start(new BankingHttpServer.Builder(service));
+
+        HttpResponse<String> missing = send("GET", "/accounts/NO%0A%22PE%01/balance");
+        assertEquals(404, missing.statusCode());
+        assertTrue(missing.body().contains("NO\\n\\\"PE\\u0001"), missing.body());
+        assertFalse(missing.body().chars().anyMatch(c -> c < 0x20), missing.body());
+    }
+
+    @Test
+    @DisplayName("should create accounts")
+    void shouldCreateAccounts() throws Exception {
+        start(new BankingHttpServer.Builder(service));
+
+        assertEquals(201, send("POST", "/accounts?id=SA002&holder=Carol&type=savings&amount=100").statusCode());
+        assertEquals(400, send("POST", "/accounts?id=SA002&holder=Carol&type=savings&amount=100").statusCode());
+        assertEquals(100, service.getAccount("SA002").getBalance());
+    }
+
+    @Test
+    @DisplayName("should answer 503 beyond the concurrency limit")
+    void shouldRejectBeyondLimit() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        service.addObserver((account, txn) -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        start(new BankingHttpServer.Builder(service)
+                .maxConcurrentRequests(1)
+                .acquireTimeout(Duration.ZERO));
+
+        CompletableFuture<HttpResponse<String>> blocked = CompletableFuture.supplyAsync(() -> {
+            try {
+                return send("POST", "/accounts/SA001/deposit?amount=1");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        assertEquals(503, send("GET", "/accounts/SA001/balance").statusCode());
+        release.countDown();
+        assertEquals(200, blocked.get(5, TimeUnit.SECONDS).statusCode());
+        assertEquals(200, send("GET", "/accounts/SA001/balance").statusCode());
+    }
+
+    @Test
+    @DisplayName("should report latency percentiles from the load generator")
+    void shouldRunLoadGenerator() throws Exception {
+        start(new BankingHttpServer.Builder(service));
+
+        LatencyReport report = new HttpLoadGenerator(URI.create("http://127.0.0.1:" + server.getPort()),
+                4, 25, "LG", 5).run();
+        assertEquals(100, report.getRequests());
+        assertEquals(0, report.getErrors());
+        assertTrue(report.getP50Nanos() > 0);
+        assertTrue(report.getP99Nanos() >= report.getP50Nanos());
+    }
+}
@@ -0,0 +1,188 @@
+package com.banking.server;
+
+import com.banking.factory.AccountType;
+import com.banking.model.Account;
+import com.banking.model.PostingOutcome;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.service.BankingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BinaryProtocolServer Tests")
+class BinaryProtocolServerTest {
+    private BankingService service;
+    private BinaryProtocolServer server;
+    private InetSocketAddress address;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        service = new BankingService(new InMemoryAccountRepository());
+        service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 5000);
+        service.createAccount(AccountType.CURRENT, "CA001", "Bob", 0);
+        server = new BinaryProtocolServer.Builder(service).port(0).eventLoops(2).build().start();
+        address = new InetSocketAddress("127.0.0.1", server.getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("should answer each operation with its outcome and balance")
+    void shouldRoundTrip() throws IOException {
+        try (BinaryProtocolClient client = new BinaryProtocolClient(address)) {
+            BinaryProtocolClient.Reply deposit = client.deposit("SA001", 100_00);
+            assertEquals(PostingOutcome.OK, deposit.getOutcome());
+            assertEquals(5100_00, deposit.getBalanceCents());
+
+            assertEquals(PostingOutcome.INSUFFICIENT_FUNDS, client.withdraw("SA001", 1_000_000_00).getOutcome());
+            assertEquals(PostingOutcome.OK, client.transfer("SA001", "CA001", 100_00).getOutcome());
+            assertEquals(100_00, client.balance("CA001").getBalanceCents());
+            assertEquals(PostingOutcome.NOT_FOUND, client.balance("NOPE").getOutcome());
+            assertEquals(PostingOutcome.NOT_FOUND, client.deposit("NOPE", 1).getOutcome());
+            assertEquals(PostingOutcome.INVALID_AMOUNT, client.deposit("SA001", -1).getOutcome());
+        }
+        assertEquals(5000, service.getAccount("SA001").getBalance());
+    }
+
+    @Test
+    @DisplayName("should refuse to send account ids that do not fit ISO-8859-1")
+    void shouldRejectWideAccountIds() throws IOException {
+        try (BinaryProtocolClient client = new BinaryProtocolClient(address)) {
+            // U+0153 would otherwise be truncated to 0x53, the "S" of SA001.
+            assertThrows(IllegalArgumentException.class, () -> client.deposit("\u0153A001", 100_00));
+            assertThrows(IllegalArgumentException.class, () -> client.transfer("SA001", "C\u4e00001", 100_00));
+            assertEquals(PostingOutcome.OK, client.deposit("SA001", 100_00).getOutcome());
+        }
+        assertEquals(5100, service.getAccount("SA001").getBalance());
+        assertEquals(0, service.getAccount("CA001").getBalance());
+    }
+
+    @Test
+    @DisplayName("should answer pipelined requests in order")
+    void shouldPipeline() throws IOException {
+        try (BinaryProtocolClient client = new BinaryProtocolClient(address)) {
+            for (int round = 0; round < 5; round++) {
+                int first = client.sendDeposit("CA001", 1);
+                for (int i = 1; i < 2000; i++) {
+                    client.sendDeposit("CA001", 1);
+                }
+                for (int i = 0; i < 2000; i++) {
+                    BinaryProtocolClient.Reply reply = client.receive();
+                    assertEquals(first + i, reply.getCorrelationId());
+                    assertEquals(PostingOutcome.OK, reply.getOutcome());
+                }
+            }
+        }
+        assertEquals(10_000, service.getAccount("CA001").getBalanceCents());
+    }
+
+    @Test
+    @DisplayName("should serve many connections at once")
+    void shouldServeConcurrentConnections() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Future<?>[] futures = new Future<?>[8];
+        for (int c = 0; c < futures.length; c++) {
+            futures[c] = executor.submit(() -> {
+                try (BinaryProtocolClient client = new BinaryProtocolClient(address)) {
+                    for (int i = 0; i < 500; i++) {
+                        client.sendDeposit("CA001", 1);
+                    }
+                    for (int i = 0; i < 500; i++) {
+                        assertEquals(PostingOutcome.OK, client.receive().getOutcome());
+                    }
+                }
+                return null;
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertEquals(4000, service.getAccount("CA001").getBalanceCents());
+    }
+
+    @Test
+    @DisplayName("should close connections that send malformed frames")
+    void shouldCloseOnMalformedFrame() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            ByteBuffer frame = ByteBuffer.allocate(32);
+            frame.putInt(1 + 4 + 8 + 1 + 5).put((byte) 99).putInt(1).putLong(1)
+                    .put((byte) 5).put("SA001".getBytes()).flip();
+            channel.write(frame);
+            assertEquals(-1, channel.read(ByteBuffer.allocate(32)));
+        }
+        try (BinaryProtocolClient client = new BinaryProtocolClient(address)) {
+            assertEquals(PostingOutcome.OK, client.balance("SA001").getOutcome());
+        }
+    }
+
+    @Test
+    @DisplayName("should close only the connection whose request failed in the service")
+    void shouldSurviveServiceFailures() throws IOException {
+        InMemoryAccountRepository repository = new InMemoryAccountRepository() {
+            @Override
+            public Optional<Account> findById(String accountId) {
+                if (accountId.equals("CA001")) {
+                    throw new IllegalStateException("repository unavailable");
+                }
+                return super.findById(accountId);
+            }
+        };
+        repository.save(service.getAccount("SA001"));
+        server.close();
+        server = new BinaryProtocolServer.Builder(new BankingService(repository))
+                .port(0).eventLoops(2).build().start();
+        address = new InetSocketAddress("127.0.0.1", server.getPort());
+        try (BinaryProtocolClient bystander = new BinaryProtocolClient(address);
+             BinaryProtocolClient failing = new BinaryProtocolClient(address);
+             BinaryProtocolClient third = new BinaryProtocolClient(address)) {
+            assertEquals(PostingOutcome.OK, bystander.balance("SA001").getOutcome());
+            // The reply to the request ahead of the failing one still arrives.
+            failing.sendDeposit("SA001", 1);
+            failing.sendDeposit("CA001", 1);
+            assertEquals(PostingOutcome.OK, failing.receive().getOutcome());
+            assertThrows(IOException.class, failing::receive);
+
+            assertEquals(PostingOutcome.OK, bystander.deposit("SA001", 1).getOutcome());
+            assertEquals(PostingOutcome.OK, third.deposit("SA001", 1).getOutcome());
+        }
+        assertEquals(5000.03, repository.findById("SA001").orElseThrow().getBalance(), 0.001);
+        // New connections go to both loops; none may be handed to a loop that is gone.
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < 4; i++) {
+                try (BinaryProtocolClient client = new BinaryProtocolClient(address)) {
+                    assertEquals(PostingOutcome.OK, client.balance("SA001").getOutcome());
+                }
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("should not post a frame with trailing bytes")
+    void shouldRejectTrailingBytesBeforePosting() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            ByteBuffer frame = ByteBuffer.allocate(32);
+            frame.putInt(1 + 4 + 8 + 1 + 5 + 2).put((byte) 1).putInt(1).putLong(100_00)
+                    .put((byte) 5).put("SA001".getBytes()).putShort((short) 0).flip();
+            channel.write(frame);
+            assertEquals(-1, channel.read(ByteBuffer.allocate(32)));
+        }
+        assertEquals(5000, service.getAccount("SA001").getBalance());
+    }
+}
@@ -5,16 +5,24 @@ import com.banking.exception.InsufficientFundsException;
 import com.banking.exception.InvalidTransactionException;
 import com.banking.factory.AccountType;
 import com.banking.model.Account;
+import com.banking.model.PostingOutcome;
 import com.banking.model.Transaction;
+import com.banking.model.TransactionType;
+import com.banking.observer.ObserverFilter;
 import com.banking.observer.TransactionObserver;
 import com.banking.repository.InMemoryAccountRepository;
+import com.banking.repository.Page;
 import com.banking.strategy.SimpleInterestStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -69,6 +77,20 @@ class BankingServiceTest {
             assertThrows(AccountNotFoundException.class,
                     () -> service.deposit("INVALID", 1000));
         }
+
+        @Test
+        @DisplayName("should reject amounts with no cents value as invalid transactions")
+        void shouldRejectUnrepresentableAmounts() {
+            service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 5000);
+            service.createAccount(AccountType.CURRENT, "CA001", "Bob", 0);
+            assertThrows(InvalidTransactionException.class, () -> service.deposit("SA001", Double.NaN));
+            assertThrows(InvalidTransactionException.class, () -> service.withdraw("SA001", 1e300));
+            assertThrows(InvalidTransactionException.class,
+                    () -> service.transfer("SA001", "CA001", Double.POSITIVE_INFINITY));
+            assertThrows(InvalidTransactionException.class, () -> Posting.deposit("SA001", Double.NaN));
+            assertThrows(InvalidTransactionException.class, () -> Posting.withdrawal("SA001", -1e300));
+            assertEquals(5000, service.getAccount("SA001").getBalance());
+        }
     }
 
     @Nested
@@ -124,6 +146,38 @@ class BankingServiceTest {
             assertThrows(InsufficientFundsException.class,
                     () -> service.transfer("SA001", "CA001", 50000));
         }
+
+        @Test
+        @DisplayName("should leave source untouched when deposit leg is rejected")
+        void shouldNotDebitWhenCreditRejected() {
+            service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 10000);
+            service.createAccount(AccountType.LOAN, "LA001", "Bob", 1000);
+
+            assertThrows(InvalidTransactionException.class,
+                    () -> service.transfer("SA001", "LA001", 5000));
+            assertEquals(10000, service.getAccount("SA001").getBalance());
+            assertEquals(0, service.getTransactionHistory("SA001").size());
+        }
+
+        @Test
+        @DisplayName("should not deadlock or lose money on concurrent opposite transfers")
+        void shouldHandleConcurrentOppositeTransfers() throws InterruptedException {
+            service.createAccount(AccountType.CURRENT, "CA001", "Alice", 100000);
+            service.createAccount(AccountType.CURRENT, "CA002", "Bob", 100000);
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < 4000; i++) {
+                boolean forward = i % 2 == 0;
+                executor.submit(() -> service.transfer(
+                        forward ? "CA001" : "CA002", forward ? "CA002" : "CA001", 10));
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            assertEquals(100000, service.getAccount("CA001").getBalance());
+            assertEquals(100000, service.getAccount("CA002").getBalance());
+            assertEquals(4000, service.getTransactionHistory("CA001").size());
+        }
     }
 
     @Nested
@@ -192,6 +246,44 @@ class BankingServiceTest {
             service.deposit("SA001", 1000);
             assertEquals(1, count[0]);
         }
+
+        @Test
+        @DisplayName("should only notify filtered observers for matching postings")
+        void shouldNotifyFilteredObserver() {
+            service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 5000);
+            service.createAccount(AccountType.CURRENT, "CA001", "Bob", 5000);
+
+            final int[] count = {0};
+            service.addObserver((account, txn) -> count[0]++,
+                    ObserverFilter.accountTypes(AccountType.SAVINGS)
+                            .andTransactionTypes(TransactionType.WITHDRAWAL));
+
+            service.deposit("SA001", 1000);
+            service.withdraw("CA001", 1000);
+            service.withdraw("SA001", 1000);
+            assertEquals(1, count[0]);
+        }
+
+        @Test
+        @DisplayName("should not fail an applied posting when an observer throws")
+        void shouldIsolateObserverFailures() {
+            service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 5000);
+            service.createAccount(AccountType.CURRENT, "CA001", "Bob", 5000);
+
+            final int[] count = {0};
+            service.addObserver((account, txn) -> {
+                throw new IllegalStateException("broken");
+            });
+            service.addObserver((account, txn) -> count[0]++);
+
+            assertEquals(PostingOutcome.OK, service.tryDepositCents("SA001", 100));
+            assertEquals(PostingOutcome.OK, service.tryWithdrawCents("SA001", 100));
+            assertEquals(PostingOutcome.OK, service.tryTransferCents("SA001", "CA001", 100));
+            assertEquals(499900, service.getAccount("SA001").getBalanceCents());
+            assertEquals(500100, service.getAccount("CA001").getBalanceCents());
+            assertEquals(4, count[0]);
+            assertEquals(3, service.getObserverFailures());
+        }
     }
 
     @Nested
@@ -229,4 +321,200 @@ class BankingServiceTest {
             assertEquals(2, service.getAllAccounts().size());
         }
     }
+
+    @Nested
+    @DisplayName("Posting Outcomes")
+    class PostingOutcomes {
+
+        @Test
+        @DisplayName("should return outcomes instead of throwing")
+        void shouldReturnOutcomes() {
+            service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 5000);
+            service.createAccount(AccountType.LOAN, "LA001", "Bob", 1000);
+
+            assertEquals(PostingOutcome.NOT_FOUND, service.tryDepositCents("NOPE", 100));
+            assertEquals(PostingOutcome.INSUFFICIENT_FUNDS, service.tryWithdrawCents("SA001", 1_000_000));
+            assertEquals(PostingOutcome.NOT_SUPPORTED, service.tryWithdrawCents("LA001", 100));
+            assertEquals(PostingOutcome.OVERPAYMENT, service.tryTransferCents("SA001", "LA001", 200_000));
+            assertEquals(PostingOutcome.SAME_ACCOUNT, service.tryTransferCents("SA001", "SA001", 100));
+            assertEquals(PostingOutcome.OK, service.tryTransferCents("SA001", "LA001", 100_000));
+            assertEquals(4000, service.getAccount("SA001").getBalance());
+            assertEquals(0, service.getAccount("LA001").getBalance());
+        }
+
+        @Test
+        @DisplayName("should not notify observers or journal rejected postings")
+        void shouldSkipObserversOnRejection() {
+            service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 5000);
+            List<Transaction> received = new ArrayList<>();
+            service.addObserver((account, txn) -> received.add(txn));
+
+            service.tryWithdrawCents("SA001", 1_000_000);
+            assertTrue(received.isEmpty());
+        }
+
+        @Test
+        @DisplayName("should keep the throwing API for invalid amounts")
+        void shouldThrowForInvalidAmount() {
+            service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 5000);
+            assertThrows(InvalidTransactionException.class, () -> service.withdraw("SA001", -5));
+            assertThrows(InvalidTransactionException.class, () -> service.deposit("SA001", 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Postings")
+    class BatchPostings {
+
+        @Test
+        @DisplayName("should apply postings in order and report each outcome")
+        void shouldReportOutcomes() {
+            service.createAccount(AccountType.SAVINGS, "SA001", "Alice", 5000);
+            service.createAccount(AccountType.CURRENT, "CA001", "Bob", 0);
+
+            BatchResult result = service.applyBatch(List.of(
+                    Posting.deposit("SA001", 1000),
+                    Posting.deposit("CA001", 200),
+                    Posting.withdrawal("SA001", 10000),
+                    Posting.deposit("NOPE", 10),
+                    Posting.withdrawal("SA001", 5500),
+                    Posting.depositCents("CA001", 0)));
+
+            assertEquals(PostingOutcome.OK, result.getOutcome(0));
+            assertEquals(PostingOutcome.OK, result.getOutcome(1));
+            assertEquals(PostingOutcome.INSUFFICIENT_FUNDS, result.getOutcome(2));
+            assertEquals(PostingOutcome.NOT_FOUND, result.getOutcome(3));
+            assertEquals(PostingOutcome.OK, result.getOutcome(4));
+            assertEquals(PostingOutcome.INVALID_AMOUNT, result.getOutcome(5));
+            assertEquals(3, result.getApplied());
+            assertEquals(500, service.getAccount("SA001").getBalance());
+            assertEquals(200, service.getAccount("CA001").getBalance());
+        }
+
+        @Test
+        @DisplayName("should notify observers once per account with the applied postings")
+        void shouldNotifyOncePerAccount() {
+            service.createAccount(AccountType.CURRENT, "CA001", "Alice", 0);
+            service.createAccount(AccountType.CURRENT, "CA002", "Bob", 0);
+            List<List<Long>> batches = new ArrayList<>();
+            service.addObserver(new TransactionObserver() {
+                @Override
+                public void onTransaction(Account account, Transaction transaction) {
+                    fail("batch postings should be delivered as a batch");
+                }
+
+                @Override
+                public void onTransactions(Account account, List<Transaction> transactions) {
+                    batches.add(transactions.stream().map(Transaction::getBalanceAfterCents).toList());
+                }
+            });
+
+            service.applyBatch(List.of(
+                    Posting.depositCents("CA001", 100),
+                    Posting.depositCents("CA002", 5),
+                    Posting.depositCents("CA001", 100),
+                    Posting.depositCents("CA001", -1)));
+
+            assertEquals(List.of(List.of(100L, 200L), List.of(5L)), batches);
+        }
+
+        @Test
+        @DisplayName("should only deliver matching postings to filtered observers")
+        void shouldFilterBatches() {
+            service.createAccount(AccountType.CURRENT, "CA001", "Alice", 1000);
+            List<Transaction> received = new ArrayList<>();
+            service.addObserver((account, txn) -> received.add(txn),
+                    ObserverFilter.transactionTypes(TransactionType.WITHDRAWAL));
+
+            service.applyBatch(List.of(
+                    Posting.deposit("CA001", 10),
+                    Posting.withdrawal("CA001", 20),
+                    Posting.deposit("CA001", 30)));
+
+            assertEquals(1, received.size());
+            assertEquals(TransactionType.WITHDRAWAL, received.get(0).getType());
+        }
+    }
+
+    @Nested
+    @DisplayName("History Queries")
+    class HistoryQueries {
+
+        @BeforeEach
+        void fill() {
+            service.createAccount(AccountType.CURRENT, "CA001", "Bob", 0);
+            for (int i = 1; i <= 25; i++) {
+                service.depositCents("CA001", i * 100L);
+                if (i % 5 == 0) {
+                    service.withdrawCents("CA001", i);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("should return the last N postings newest first")
+        void shouldReturnLastN() {
+            List<Transaction> last = service.getLastTransactions("CA001", 3);
+            List<Transaction> all = service.getTransactionHistory("CA001");
+            assertEquals(List.of(all.get(29).getId(), all.get(28).getId(), all.get(27).getId()),
+                    last.stream().map(Transaction::getId).toList());
+        }
+
+        @Test
+        @DisplayName("should accept the largest limit without overflowing the page probe")
+        void shouldAcceptMaxLimit() {
+            List<Transaction> last = service.getLastTransactions("CA001", Integer.MAX_VALUE);
+            assertEquals(30, last.size());
+            Page<Transaction> page = service.queryHistory("CA001",
+                    new HistoryQuery.Builder().limit(Integer.MAX_VALUE).build());
+            assertEquals(30, page.getItems().size());
+            assertFalse(page.hasNext());
+        }
+
+        @Test
+        @DisplayName("should page through filtered postings with cursors")
+        void shouldPageByType() {
+            HistoryQuery withdrawals = new HistoryQuery.Builder()
+                    .types(TransactionType.WITHDRAWAL)
+                    .newestFirst()
+                    .limit(2)
+                    .build();
+            List<Long> amounts = new ArrayList<>();
+            Page<Transaction> page = service.queryHistory("CA001", withdrawals);
+            int pages = 1;
+            amounts.addAll(page.getItems().stream().map(Transaction::getAmountCents).toList());
+            while (page.hasNext()) {
+                page = service.queryHistory("CA001", withdrawals, page.getNextCursor());
+                amounts.addAll(page.getItems().stream().map(Transaction::getAmountCents).toList());
+                pages++;
+            }
+            assertEquals(List.of(25L, 20L, 15L, 10L, 5L), amounts);
+            assertEquals(3, pages);
+        }
+
+        @Test
+        @DisplayName("should restrict to a time range")
+        void shouldRestrictToTimeRange() {
+            List<Transaction> all = service.getTransactionHistory("CA001");
+            Page<Transaction> page = service.queryHistory("CA001", new HistoryQuery.Builder()
+                    .from(all.get(10).getTimestamp())
+                    .to(all.get(20).getTimestamp().plusNanos(1))
+                    .limit(100)
+                    .build());
+            assertFalse(page.hasNext());
+            assertFalse(page.getItems().isEmpty());
+            for (Transaction txn : page.getItems()) {
+                assertFalse(txn.getTimestamp().isBefore(all.get(10).getTimestamp()));
+                assertFalse(txn.getTimestamp().isAfter(all.get(20).getTimestamp()));
+            }
+            assertTrue(page.getItems().stream().anyMatch(txn -> txn.getId() == all.get(20).getId()));
+        }
+
+        @Test
+        @DisplayName("should reject malformed cursors")
+        void shouldRejectBadCursor() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.queryHistory("CA001", HistoryQuery.last(5), "nope"));
+        }
+    }
 }
@@ -0,0 +1,143 @@
+package com.banking.service;
+
+import com.banking.factory.AccountType;
+import com.banking.journal.JournalReplayer;
+import com.banking.journal.MappedJournal;
+import com.banking.model.Account;
+import com.banking.model.TransactionType;
+import com.banking.repository.InMemoryAccountRepository;
+import com.banking.strategy.InterestStrategy;
+import com.banking.strategy.SimpleInterestStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InterestAccrualJob Tests")
+class InterestAccrualJobTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    @TempDir
+    Path directory;
+
+    private InMemoryAccountRepository repository;
+    private BankingService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryAccountRepository();
+        service = new BankingService(repository);
+    }
+
+    private void openAccounts(int count) {
+        for (int i = 0; i < count; i++) {
+            service.createAccount(AccountType.SAVINGS, String.format("SA%04d", i), "Holder", 1000);
+        }
+    }
+
+    private InterestAccrualJob.Builder job() {
+        return new InterestAccrualJob.Builder(service)
+                .strategy(AccountType.SAVINGS, new SimpleInterestStrategy())
+                .pool(new ForkJoinPool(4))
+                .batchSize(64);
+    }
+
+    private long interestPostings(Account account) {
+        return account.getTransactions().stream()
+                .filter(t -> t.getType() == TransactionType.INTEREST)
+                .count();
+    }
+
+    @Test
+    @DisplayName("should post interest per account type strategy")
+    void shouldAccruePerAccountType() {
+        openAccounts(1000);
+        service.createAccount(AccountType.CURRENT, "CA0001", "Holder", 1000);
+
+        AccrualReport report = job().build().run(TODAY);
+
+        assertEquals(1001, report.getAccountsScanned());
+        assertEquals(1000, report.getAccountsPosted());
+        assertEquals(1, report.getAccountsSkipped());
+        assertEquals(1000 * 4000, report.getTotalInterestCents());
+        assertTrue(report.getAccountsPerSecond() > 0);
+        Account savings = repository.findById("SA0042").orElseThrow();
+        assertEquals(104000, savings.getBalanceCents());
+        assertEquals(TODAY, savings.getLastAccrualDate());
+        assertEquals(0, interestPostings(repository.findById("CA0001").orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("should not accrue twice for the same date")
+    void shouldBeIdempotentPerDate() {
+        openAccounts(200);
+        InterestAccrualJob job = job().build();
+        job.run(TODAY);
+
+        AccrualReport rerun = job.run(TODAY);
+        assertEquals(0, rerun.getAccountsPosted());
+        assertEquals(200, rerun.getAccountsSkipped());
+
+        assertEquals(200, job.run(TODAY.plusDays(1)).getAccountsPosted());
+        assertEquals(2, interestPostings(repository.findById("SA0000").orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("should resume from the checkpoint after a failed run")
+    void shouldResumeFromCheckpoint() {
+        openAccounts(1000);
+        Path checkpoint = directory.resolve("accrual.properties");
+        AtomicInteger calls = new AtomicInteger();
+        InterestStrategy flaky = new SimpleInterestStrategy() {
+            @Override
+            public void calculateInterestCents(long[] balances, double[] rates, long[] interest, int count) {
+                if (calls.incrementAndGet() == 5) {
+                    throw new IllegalStateException("rate service unavailable");
+                }
+                super.calculateInterestCents(balances, rates, interest, count);
+            }
+        };
+        InterestAccrualJob job = job().strategy(AccountType.SAVINGS, flaky).checkpointFile(checkpoint).build();
+
+        assertThrows(IllegalStateException.class, () -> job.run(TODAY));
+        AccrualReport resumed = job.run(TODAY);
+        assertTrue(resumed.isResumed());
+        assertTrue(resumed.getAccountsScanned() < 1000);
+        AccrualReport finished = job.run(TODAY);
+        assertEquals(0, finished.getAccountsScanned());
+
+        for (Account account : repository.findAll()) {
+            assertEquals(1, interestPostings(account), account.getAccountId());
+            assertEquals(104000, account.getBalanceCents());
+        }
+    }
+
+    @Test
+    @DisplayName("should remember accrual dates across journal recovery")
+    void shouldRecoverAccrualDates() {
+        try (MappedJournal journal = new MappedJournal.Builder(directory).build()) {
+            service.setJournal(journal);
+            openAccounts(300);
+            job().build().run(TODAY);
+        }
+
+        InMemoryAccountRepository recovered = new InMemoryAccountRepository();
+        new JournalReplayer(recovered).recover(directory);
+        BankingService restarted = new BankingService(recovered);
+        AccrualReport rerun = new InterestAccrualJob.Builder(restarted)
+                .strategy(AccountType.SAVINGS, new SimpleInterestStrategy())
+                .build()
+                .run(TODAY);
+
+        assertEquals(0, rerun.getAccountsPosted());
+        assertEquals(104000, recovered.findById("SA0100").orElseThrow().getBalanceCents());
+        assertEquals(TODAY, recovered.findById("SA0100").orElseThrow().getLastAccrualDate());
+    }
+}
@@ -0,0 +1,79 @@
+package com.banking.strategy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bulk InterestStrategy Tests")
+class BulkInterestTest {
+    private static final int COUNT = 1003;
+
+    private final long[] balances = new long[COUNT];
+    private final double[] rates = new double[COUNT];
+
+    BulkInterestTest() {
+        Random random = new Random(42);
+        double[] bookRates = {0.01, 0.025, 0.04, 0.0725};
+        for (int i = 0; i < COUNT; i++) {
+            balances[i] = random.nextInt(10) == 0 ? -random.nextInt(1_000_000) : random.nextLong(10_000_000_000L);
+            rates[i] = bookRates[random.nextInt(bookRates.length)];
+        }
+        balances[0] = 50;
+        rates[0] = 0.01;
+        balances[1] = 150;
+        rates[1] = 0.01;
+    }
+
+    @Test
+    @DisplayName("should run with the Vector API when the module is present")
+    void shouldBeVectorized() {
+        assertTrue(InterestKernels.isVectorized());
+    }
+
+    @Test
+    @DisplayName("should match the per-account result for every built-in strategy")
+    void shouldMatchScalar() {
+        List<InterestStrategy> strategies = List.of(new SimpleInterestStrategy(),
+                new CompoundInterestStrategy(12),
+                new CompoundInterestStrategy(365),
+                new TieredInterestStrategy(10000, 0.02, 50000, 0.035, 0.05));
+        for (InterestStrategy strategy : strategies) {
+            long[] interest = new long[COUNT];
+            strategy.calculateInterestCents(balances, rates, interest, COUNT);
+            for (int i = 0; i < COUNT; i++) {
+                assertEquals(strategy.calculateInterestCents(balances[i], rates[i]), interest[i],
+                        strategy.getStrategyName() + " at " + balances[i]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("should round half-even in both the vector and scalar kernels")
+    void shouldRoundHalfEven() {
+        long[] halfway = {5, 15, 25, -5, -15, 1L << 54, 7};
+        double[] factors = {0.5, 0.5, 0.5, 0.5, 0.5, 1.0, 0.5};
+        long[] expected = {2, 8, 12, -2, -8, 1L << 54, 4};
+        long[] vector = new long[halfway.length];
+        long[] scalar = new long[halfway.length];
+
+        InterestKernels.multiply(halfway, factors, vector, halfway.length);
+        InterestKernels.multiplyScalar(halfway, factors, scalar, 0, halfway.length);
+        assertArrayEquals(expected, vector);
+        assertArrayEquals(expected, scalar);
+    }
+
+    @Test
+    @DisplayName("should only write the first count entries")
+    void shouldRespectCount() {
+        long[] interest = new long[COUNT];
+        new SimpleInterestStrategy().calculateInterestCents(balances, rates, interest, 10);
+        assertNotEquals(0, interest[9]);
+        assertEquals(0, interest[10]);
+        assertThrows(IllegalArgumentException.class,
+                () -> new SimpleInterestStrategy().calculateInterestCents(balances, rates, interest, COUNT + 1));
+    }
+}